@@ -0,0 +1,11 @@
+#!/bin/sh
+
+echo
+echo 'start NARS benchmarks (JMH) ------------'
+echo
+
+mvn -q -pl nars_bench -am package && java -jar nars_bench/target/benchmarks.jar "$@"
+
+echo
+echo '------------------------------------ end'
+echo
@@ -0,0 +1,144 @@
+package nars.bench;
+
+import nars.Memory;
+import nars.NAR;
+import nars.bag.Bag;
+import nars.bag.impl.ArrayBag;
+import nars.bag.impl.CurveBag;
+import nars.bag.impl.HeapBag;
+import nars.bag.impl.LevelBag;
+import nars.bag.impl.experimental.BubbleBag;
+import nars.bag.impl.experimental.ChainBag;
+import nars.budget.Item;
+import nars.clock.CycleClock;
+import nars.nar.Default;
+import nars.util.data.random.XORShiftRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * put, pop, forgetNext and statistics throughput of the Bag implementations,
+ * on a bag which is kept near capacity.  forgetNextCycles also advances the
+ * memory's time every selectionsPerCycle selections, as the concept bag of a
+ * cycle which fires that many concepts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BagBenchmark {
+
+    @Param({"LevelBag", "CurveBag", "HeapBag", "ChainBag", "BubbleBag", "ArrayBag", "LazyArrayBag"})
+    public String bag;
+
+    @Param({"1000"})
+    public int capacity;
+
+    private Bag<CharSequence, BenchItem> b;
+    private BenchItem[] items;
+    private Memory memory;
+    private int next;
+    private final double[] histogram = new double[10];
+
+    /** Empty Item with a fixed budget */
+    public static class BenchItem extends Item.StringKeyItem {
+        public final String key;
+
+        public BenchItem(float priority, String key) {
+            super(priority, priority, priority);
+            this.key = key;
+        }
+
+        @Override
+        public CharSequence name() {
+            return key;
+        }
+    }
+
+    static Bag newBag(String type, Random rng, int capacity) {
+        switch (type) {
+            case "LevelBag": return new LevelBag((int)Math.sqrt(capacity), capacity);
+            case "CurveBag": return new CurveBag(rng, capacity, true);
+            case "HeapBag": return new HeapBag(rng, capacity);
+            case "ChainBag": return new ChainBag(rng, capacity);
+            case "BubbleBag": return new BubbleBag(rng, capacity);
+            case "ArrayBag": return new ArrayBag(rng, capacity);
+            case "LazyArrayBag": return new ArrayBag(rng, capacity, true);
+        }
+        throw new RuntimeException("unknown bag type: " + type);
+    }
+
+    @Setup
+    public void setup() {
+        Random rng = new XORShiftRandom(1);
+
+        memory = new NAR(new Default()).memory;
+
+        //twice as many distinct items as the bag holds, so puts also cause removals
+        items = new BenchItem[capacity * 2];
+        for (int i = 0; i < items.length; i++)
+            items[i] = new BenchItem(rng.nextFloat() * 0.99f, "i" + i);
+
+        b = newBag(bag, rng, capacity);
+        for (int i = 0; i < capacity; i++)
+            b.put(items[i]);
+        next = capacity;
+    }
+
+    private BenchItem nextItem() {
+        BenchItem i = items[next++];
+        if (next == items.length) next = 0;
+        return i;
+    }
+
+    @Benchmark
+    public Object put() {
+        return b.put(nextItem());
+    }
+
+    @Benchmark
+    public Object popPut() {
+        BenchItem x = b.pop();
+        if (x != null)
+            b.put(x);
+        return x;
+    }
+
+    @Benchmark
+    public Object forgetNext() {
+        return b.forgetNext(1f, memory);
+    }
+
+    /** how many selections forgetNextCycles makes per cycle */
+    @State(Scope.Thread)
+    public static class Cycle {
+        @Param({"1", "10", "100"})
+        public int selectionsPerCycle;
+
+        int selections;
+    }
+
+    @Benchmark
+    public Object forgetNextCycles(Cycle c) {
+        if (++c.selections == c.selectionsPerCycle) {
+            c.selections = 0;
+            ((CycleClock) memory.clock).tick();
+        }
+        return b.forgetNext(1f, memory);
+    }
+
+    @Benchmark
+    public float prioritySum() {
+        return b.getPrioritySum();
+    }
+
+    @Benchmark
+    public double[] priorityHistogram() {
+        return b.getPriorityHistogram(histogram);
+    }
+
+}
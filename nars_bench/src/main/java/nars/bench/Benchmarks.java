@@ -0,0 +1,36 @@
+package nars.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON, for comparison between releases.
+ *
+ * usage: java -jar nars_bench/target/benchmarks.jar [jmh options] [benchmark regexp]
+ *
+ * unless another result file or format is given (-rff, -rf), results go
+ * to jmh-result.json in the current directory
+ */
+public class Benchmarks {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+
+        OptionsBuilder o = new OptionsBuilder();
+        if (!cmd.getResultFormat().hasValue())
+            o.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue())
+            o.result(DEFAULT_RESULT_FILE);
+
+        Options options = o.parent(cmd).build();
+
+        new Runner(options).run();
+    }
+}
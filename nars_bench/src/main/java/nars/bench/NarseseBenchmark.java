@@ -0,0 +1,40 @@
+package nars.bench;
+
+import nars.NAR;
+import nars.nar.Default;
+import nars.narsese.NarseseParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NarseseParser throughput for tasks and terms of varying complexity
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NarseseBenchmark {
+
+    @Param({
+        "<a --> b>.",
+        "<(&&,<$1 --> lock>,<$2 --> key>) ==> <$1 --> (/,open,$2,_)>>. %0.90;0.80%",
+        "<(*,{tom},(&,[yellow],bird)) --> ^see>! :|:"
+    })
+    public String input;
+
+    private NarseseParser parser;
+
+    @Setup
+    public void setup() {
+        parser = NarseseParser.newParser(new NAR(new Default()));
+    }
+
+    @Benchmark
+    public Object parseTask() {
+        return parser.parseTask(input);
+    }
+
+}
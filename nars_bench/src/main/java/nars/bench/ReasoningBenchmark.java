@@ -0,0 +1,69 @@
+package nars.bench;
+
+import nars.Global;
+import nars.NAR;
+import nars.NARSeed;
+import nars.nar.Default;
+import nars.nar.Neuromorphic;
+import nars.nar.Solid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end NAR.frame() throughput of the different seeds, reasoning
+ * about a small, continually re-input knowledge base
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReasoningBenchmark {
+
+    @Param({"Default", "Solid", "Neuromorphic"})
+    public String seed;
+
+    static final String[] knowledge = {
+        "<a --> b>.",
+        "<b --> c>.",
+        "<c --> d>.",
+        "<(&&,<$1 --> b>,<$1 --> c>) ==> <$1 --> d>>.",
+        "<{x} --> a>.",
+        "<a --> d>?",
+        "<?1 --> d>?",
+        "<x --> (&,b,c)>!"
+    };
+
+    private NAR nar;
+    private int frames;
+
+    static NARSeed newSeed(String type) {
+        switch (type) {
+            case "Default": return new Default().setInternalExperience(null);
+            case "Solid": return new Solid(1, 1024, 1, 3, 1, 5).setInternalExperience(null);
+            case "Neuromorphic": return new Neuromorphic(4).setInternalExperience(null);
+        }
+        throw new RuntimeException("unknown seed: " + type);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Global.DEBUG = false;
+        nar = new NAR(newSeed(seed));
+        nar.memory.randomSeed(1);
+        frames = 0;
+    }
+
+    @Benchmark
+    public long frame() {
+        if (frames++ % 100 == 0) {
+            for (String s : knowledge)
+                nar.input(s);
+        }
+        nar.frame();
+        return nar.time();
+    }
+
+}
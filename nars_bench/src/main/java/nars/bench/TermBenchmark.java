@@ -0,0 +1,59 @@
+package nars.bench;
+
+import nars.nal.nal1.Inheritance;
+import nars.nal.nal3.SetExt;
+import nars.nal.nal4.Product;
+import nars.nal.nal5.Conjunction;
+import nars.nal.nal5.Implication;
+import nars.term.Atom;
+import nars.term.Compound;
+import nars.term.Term;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compound term construction, hashing and comparison
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TermBenchmark {
+
+    private final Atom a = Atom.the("a"), b = Atom.the("b"), c = Atom.the("c"), d = Atom.the("d");
+
+    private Compound x, y;
+
+    @Setup
+    public void setup() {
+        x = build();
+        y = build();
+    }
+
+    /** <(&&,<a --> b>,<{c} --> d>) ==> <(*,a,c) --> d>> */
+    private Compound build() {
+        Term cond = Conjunction.make(Inheritance.make(a, b), Inheritance.make(SetExt.make(c), d));
+        return Implication.make(cond, Inheritance.make(Product.make(a, c), d));
+    }
+
+    @Benchmark
+    public Object construct() {
+        return build();
+    }
+
+    @Benchmark
+    public int constructAndHash() {
+        return build().hashCode();
+    }
+
+    @Benchmark
+    public void equalsCompare(Blackhole bh) {
+        bh.consume(x.equals(y));
+        bh.consume(x.compareTo(y));
+    }
+
+}
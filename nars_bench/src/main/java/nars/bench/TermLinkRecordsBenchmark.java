@@ -0,0 +1,135 @@
+package nars.bench;
+
+import nars.link.TermLinkRecords;
+import nars.term.Atom;
+import nars.term.Term;
+import nars.util.data.random.XORShiftRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the novelty filter's use of a TaskLink's records, a lookup then an update,
+ * with TermLinkRecords and with the LinkedHashMap of Recordings it replaced.
+ *
+ * 'create' measures a TaskLink's first records, which are allocated
+ * for every TaskLink that fires; run with -prof gc to compare their size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TermLinkRecordsBenchmark {
+
+    @Param({"TermLinkRecords", "LinkedHashMap"})
+    public String records;
+
+    /** Default's termLinkRecordLength */
+    @Param({"8"})
+    public int capacity;
+
+    /** the number of distinct terms fired with, as the concept's termlinks */
+    @Param({"16"})
+    public int terms;
+
+    private Term[] t;
+    private int[] sequence;
+    private int next;
+    private Records r;
+
+    interface Records {
+        /** the recorded time, or NaN */
+        float get(Term t);
+        void put(Term t, float time);
+    }
+
+    static final class Compact implements Records {
+        final TermLinkRecords r;
+
+        Compact(int capacity) {
+            r = new TermLinkRecords(capacity);
+        }
+
+        @Override public float get(Term t) { return r.get(t); }
+        @Override public void put(Term t, float time) { r.put(t, time); }
+    }
+
+    /** as TaskLink.newRecordSet() was */
+    static final class Recorded implements Records {
+
+        static final class Recording {
+            float time;
+            Recording(float time) { this.time = time; }
+        }
+
+        final Map<Term,Recording> m;
+
+        Recorded(final int capacity) {
+            m = new LinkedHashMap<Term,Recording>(capacity) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Term,Recording> eldest) {
+                    if (size() > capacity) {
+                        eldest.getValue().time = Float.NaN;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @Override public float get(Term t) {
+            final Recording r = m.get(t);
+            return (r == null) ? Float.NaN : r.time;
+        }
+
+        @Override public void put(Term t, float time) {
+            final Recording r = m.get(t);
+            if (r != null) r.time = time;
+            else m.put(t, new Recording(time));
+        }
+    }
+
+    Records newRecords() {
+        switch (records) {
+            case "TermLinkRecords": return new Compact(capacity);
+            case "LinkedHashMap": return new Recorded(capacity);
+        }
+        throw new RuntimeException("unknown records: " + records);
+    }
+
+    @Setup
+    public void setup() {
+        final Random rng = new XORShiftRandom(1);
+        t = new Term[terms];
+        for (int i = 0; i < terms; i++)
+            t[i] = Atom.the("t" + i);
+
+        sequence = new int[4096];
+        for (int i = 0; i < sequence.length; i++)
+            sequence[i] = rng.nextInt(terms);
+
+        r = newRecords();
+    }
+
+    @Benchmark
+    public float fire() {
+        final Term x = t[sequence[next++ & 4095]];
+        final float time = r.get(x);
+        r.put(x, next);
+        return time;
+    }
+
+    @Benchmark
+    public Object create() {
+        final Records c = newRecords();
+        for (int i = 0; i < capacity; i++)
+            c.put(t[i % terms], i);
+        return c;
+    }
+
+}
@@ -0,0 +1,49 @@
+package nars.bench;
+
+import nars.NAR;
+import nars.Symbols;
+import nars.nar.Default;
+import nars.term.Term;
+import nars.term.Variables;
+import nars.util.data.random.XORShiftRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variables.unify of independent variables against concrete terms
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnifyBenchmark {
+
+    @Param({
+        "<$1 --> bird>|<robin --> bird>",
+        "<<$1 --> (/,open,$2,_)> ==> <$1 --> key>>|<<lock1 --> (/,open,key1,_)> ==> <lock1 --> key>>",
+        "(&&,<$1 --> [red]>,<$1 --> (/,on,$2,_)>)|(&&,<apple --> [red]>,<apple --> (/,on,table,_)>)"
+    })
+    public String terms;
+
+    private Term a, b;
+    private final Random rng = new XORShiftRandom(1);
+
+    @Setup
+    public void setup() {
+        NAR n = new NAR(new Default());
+        String[] ab = terms.split("\\|");
+        a = n.term(ab[0]);
+        b = n.term(ab[1]);
+    }
+
+    @Benchmark
+    public boolean unify() {
+        //the array is modified by unify
+        return Variables.unify(Symbols.VAR_INDEPENDENT, new Term[] { a, b }, rng);
+    }
+
+}
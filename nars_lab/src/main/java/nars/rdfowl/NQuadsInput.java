@@ -5,13 +5,7 @@ import nars.Global;
 import nars.NAR;
 import nars.gui.NARSwing;
 import nars.nar.Default;
-import nars.nal.nal1.Inheritance;
-import nars.nal.nal1.Negation;
-import nars.nal.nal2.Similarity;
-import nars.nal.nal4.Product;
-import nars.nal.nal5.Equivalence;
 import nars.nal.nal7.Tense;
-import nars.nal.nal8.Operation;
 import nars.term.Atom;
 import nars.term.Compound;
 import nars.term.Term;
@@ -19,12 +13,11 @@ import nars.narsese.InvalidInputException;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
 
 /**
  * Created by me on 6/4/15.
@@ -49,9 +42,6 @@ abstract public class NQuadsInput {
 
 
 
-    final static Pattern nQuads = Pattern.compile("((?:\"[^\"\\\\]*(?:\\\\.[^\"\\\\]*)*\"(?:@\\w+(?:-\\w+)?|\\^\\^<[^>]+>)?)|<[^>]+>|\\_\\:\\w+|\\.)");
-
-
     /**
      * These parsing rules were devised by physically looking at the OWL file
      * and figuring out what goes where. This should by no means be considered a
@@ -80,36 +70,33 @@ abstract public class NQuadsInput {
      * relation_name tag@rdf:resource = target entity
      */
     public void input(File f) throws Exception {
+        try (Reader r = new BufferedReader(new FileReader(f), 65536)) {
+            input(r);
+        }
+    }
 
-        List<String> items = new ArrayList(4);
-
-        new Scanner(f).useDelimiter("\n").forEachRemaining(s -> {
-            Matcher m = nQuads.matcher(s);
-            int count = 0;
-            items.clear();
-            while(m.find()) {
-                String t = s.substring(m.start(), m.end());
-                items.add(t);
-            }
-
-            if (items.size() >= 3) {
-
-                Atom subj = resource(items.get(0));
-                Atom pred = resource(items.get(1));
-                Term obj = resourceOrValue(items.get(2));
-                if (subj != null && obj != null && pred != null) {
-                    if (!subj.equals(obj))  { //avoid equal subj & obj, if only namespace differs
-                        try {
-                            input(subj, pred, obj);
-                        }
-                        catch (InvalidInputException iie) {
-                            System.err.println(iie);
-                            //iie.printStackTrace();
-                        }
+    /** reads the statements one at a time, inputting the belief of each as it is read */
+    public void input(Reader r) throws IOException {
+        NQuadsParser p = new NQuadsParser(r);
+        while (p.next()) {
+            if (p.subjectKind != NQuadsParser.Kind.IRI || p.objectKind != NQuadsParser.Kind.IRI)
+                continue;
+
+            Atom subj = RDFImport.resource(p.subject);
+            Atom pred = RDFImport.resource(p.predicate);
+            Term obj = RDFImport.resource(p.object);
+            if (subj != null && obj != null && pred != null) {
+                if (!subj.equals(obj))  { //avoid equal subj & obj, if only namespace differs
+                    try {
+                        input(subj, pred, obj);
+                    }
+                    catch (InvalidInputException iie) {
+                        System.err.println(iie);
+                        //iie.printStackTrace();
                     }
                 }
             }
-        });
+        }
     }
 
     public Atom resource(String s) {
@@ -175,94 +162,16 @@ abstract public class NQuadsInput {
 //        return Instance.make(clas, owlClass);
 //    }
 
-    public static final Atom owlClass = Atom.the("Class");
-    static final Atom parentOf = Atom.the("parentOf");
-    static final Atom type = Atom.the("type");
-    static final Atom subClassOf = Atom.the("subClassOf");
-    static final Atom subPropertyOf = Atom.the("subPropertyOf");
-    static final Atom equivalentClass = Atom.the("equivalentClass");
-    static final Atom equivalentProperty = Atom.the("equivalentProperty");
-    static final Atom inverseOf = Atom.the("inverseOf");
-    static final Atom disjointWith = Atom.the("disjointWith");
-    static final Atom domain = Atom.the("domain");
-    static final Atom range = Atom.the("range");
-    static final Atom sameAs = Atom.the("sameAs");
-    static final Atom dataTypeProperty = Atom.the("DatatypeProperty");
+    public static final Atom owlClass = RDFImport.owlClass;
 
     /**
-     * Saves the relation into the database. Both entities must exist if the
-     * relation is to be saved. Takes care of updating relation_types as well.
-     *
+     * Inputs the belief representing a statement, if there is one.
      */
     private void input(final Atom subject, final Atom predicate, final Term object) {
-
-        //http://www.w3.org/TR/owl-ref/
-
-        Compound belief = null;
-
-        if (predicate.equals(parentOf) || predicate.equals(type)
-                ||predicate.equals(subClassOf)||predicate.equals(subPropertyOf)) {
-
-            if (object.equals(owlClass)) {
-                return;
-            }
-
-            if (!includeDataType) {
-                if (object.equals(dataTypeProperty)) {
-                    return;
-                }
-            }
-
-            belief = (Inheritance.make(subject, object));
-
-        }
-        else if (predicate.equals(equivalentClass)) {
-            belief = (Equivalence.make(subject, object));
-        }
-        else if (predicate.equals(sameAs)) {
-            belief = (Similarity.make(subject, object));
-            //belief = (Equivalence.make(subject, object));
-        }
-        else if (predicate.equals(domain)) {
-            // PROPERTY domain CLASS
-            //<PROPERTY($subj, $obj) ==> <$subj {-- CLASS>>.
-
-            belief = nar.term(
-                //"<" + subject + "($subj,$obj) ==> <$subj {-- " + object + ">>"
-                    "(" + subject + "($subj,$obj) && <$subj {-- " + object + ">)"
-            );
-            //System.err.println(belief);
-        }
-        else if (predicate.equals(range)) {
-            // PROPERTY range CLASS
-            //<PROPERTY($subj, $obj) ==> <$obj {-- CLASS>>.
-            belief = nar.term(
-                    //"<" + subject + "($subj,$obj) ==> <$obj {-- " + object + ">>"
-                    "(" + subject + "($subj,$obj) && <$obj {-- " + object + ">)"
-            );
-
-        }
-        else if (predicate.equals(equivalentProperty)) {
-            belief = (Equivalence.make(subject, object));
-        }
-        else if (predicate.equals(inverseOf)) {
-
-            //TODO: PREDSUBJ(#subj, #obj) <=> PREDOBJ(#obj, #subj)
-        }
-        else if (predicate.equals(disjointWith)) {
-            //System.out.println(subject + " " + predicate + " " + object);
-            belief = (Compound)Negation.make(Similarity.make(subject, object));
-        }
-        else {
-            //System.out.println(subject + " " + predicate + " " + object);
-            belief = (Operation.make(predicate,
-                    Product.make(subject, object)));
-        }
-
+        Compound belief = RDFImport.belief(subject, predicate, object, includeDataType);
         if (belief!=null) {
             believe(belief);
         }
-
     }
 
 
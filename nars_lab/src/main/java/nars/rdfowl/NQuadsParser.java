@@ -0,0 +1,455 @@
+package nars.rdfowl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental parser of N-Triples, N-Quads and the common subset of Turtle:
+ * prefix and base directives, prefixed names, 'a', predicate (;) and object (,)
+ * lists, and bare numbers and booleans.  Blank node property lists ([...]) and
+ * collections ((...)) are not supported; statements using them are skipped.
+ *
+ * Each call to next() reads one statement from the Reader, through a fixed
+ * buffer, so the memory used does not depend on the size of the input.  The
+ * graph label of an N-Quads statement is ignored.
+ *
+ * A malformed statement is skipped, up to the next '.' ending a statement, and
+ * counted in errors().
+ */
+public class NQuadsParser {
+
+    public enum Kind { IRI, Blank, Literal }
+
+    static final String RDF_TYPE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+    static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+    /** the current statement; IRIs are given without their angle brackets,
+     *  blank nodes without their "_:" prefix and literals by their lexical form */
+    public String subject, predicate, object;
+    public Kind subjectKind, objectKind;
+    /** the datatype IRI or language tag of a literal object, or null */
+    public String datatype, language;
+
+    private final Reader in;
+    private final char[] buf = new char[8192];
+    private int pos = 0, len = 0;
+
+    private final Map<String, String> prefixes = new HashMap();
+    private String base = "";
+    private final StringBuilder sb = new StringBuilder();
+
+    /** the separator which ended the previous statement: ';' and ',' carry its subject (and predicate) over */
+    private int continuation = 0;
+    private long line = 1, errors = 0;
+
+
+    public NQuadsParser(Reader in) {
+        this.in = in;
+    }
+
+    /** number of statements skipped because they could not be parsed */
+    public long errors() {
+        return errors;
+    }
+
+    /** line of the input being read */
+    public long line() {
+        return line;
+    }
+
+    /** reads the next statement into the subject, predicate and object fields
+     *  @return false at the end of the input */
+    public boolean next() throws IOException {
+        for (;;) {
+            try {
+                if (continuation == ',') {
+                    readObject();
+                    endOfStatement();
+                    return true;
+                }
+                if (continuation == ';') {
+                    int c;
+                    while ((c = skipWhitespace()) == ';')
+                        pos++;
+                    if (c == '.') {
+                        //a predicate list may end with ';'
+                        pos++;
+                        continuation = 0;
+                        continue;
+                    }
+                    readPredicate();
+                    readObject();
+                    endOfStatement();
+                    return true;
+                }
+
+                int c = skipWhitespace();
+                if (c == -1)
+                    return false;
+                if (c == '@') {
+                    pos++;
+                    readName();
+                    readDirective(sb.toString(), true);
+                    continue;
+                }
+                if (c == '<' || c == '_') {
+                    subjectKind = readNode();
+                    subject = sb.toString();
+                }
+                else {
+                    readName();
+                    String name = sb.toString();
+                    if (name.equalsIgnoreCase("prefix") || name.equalsIgnoreCase("base")) {
+                        readDirective(name, false);
+                        continue;
+                    }
+                    if (name.isEmpty())
+                        throw new SyntaxException("unsupported: " + (char) c);
+                    subjectKind = Kind.IRI;
+                    subject = resolvePrefixed(name);
+                }
+
+                readPredicate();
+                readObject();
+                endOfStatement();
+                return true;
+            }
+            catch (SyntaxException e) {
+                errors++;
+                continuation = 0;
+                skipStatement();
+            }
+        }
+    }
+
+    static final class SyntaxException extends Exception {
+        SyntaxException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private void readPredicate() throws IOException, SyntaxException {
+        int c = skipWhitespace();
+        if (c == 'a') {
+            pos++;
+            int d = peek();
+            if (d == -1 || Character.isWhitespace(d) || d == '<') {
+                predicate = RDF_TYPE;
+                return;
+            }
+            pos--;
+        }
+        if (readNode() != Kind.IRI)
+            throw new SyntaxException("predicate must be an IRI");
+        predicate = sb.toString();
+    }
+
+    private void readObject() throws IOException, SyntaxException {
+        datatype = language = null;
+        int c = skipWhitespace();
+        if (c == '"' || c == '\'') {
+            pos++;
+            readString((char) c);
+            object = sb.toString();
+            objectKind = Kind.Literal;
+            c = peek();
+            if (c == '@') {
+                pos++;
+                readName();
+                language = sb.toString();
+            }
+            else if (c == '^') {
+                pos++;
+                if (read() != '^' || readNode() != Kind.IRI)
+                    throw new SyntaxException("invalid datatype");
+                datatype = sb.toString();
+            }
+        }
+        else if ((c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.') {
+            readNumber();
+        }
+        else if (c == 't' || c == 'f') {
+            readName();
+            String s = sb.toString();
+            if (s.equals("true") || s.equals("false")) {
+                object = s;
+                objectKind = Kind.Literal;
+                datatype = XSD + "boolean";
+            }
+            else {
+                object = resolvePrefixed(s);
+                objectKind = Kind.IRI;
+            }
+        }
+        else {
+            objectKind = readNode();
+            object = sb.toString();
+        }
+    }
+
+    /** reads the terminator of a statement, after an optional graph label */
+    private void endOfStatement() throws IOException, SyntaxException {
+        int c = skipWhitespace();
+        if (c == '<' || c == '_') {
+            readNode();
+            c = skipWhitespace();
+        }
+        if (c != '.' && c != ';' && c != ',')
+            throw new SyntaxException("expected '.', ';' or ','");
+        pos++;
+        continuation = (c == '.') ? 0 : c;
+    }
+
+    /** reads an IRI, prefixed name or blank node label into sb */
+    private Kind readNode() throws IOException, SyntaxException {
+        int c = skipWhitespace();
+        if (c == '<') {
+            pos++;
+            sb.setLength(0);
+            while ((c = read()) != '>') {
+                if (c == -1 || c == '\n')
+                    throw new SyntaxException("unterminated IRI");
+                if (c == '\\')
+                    sb.append(readEscape());
+                else
+                    sb.append((char) c);
+            }
+            if (!base.isEmpty() && sb.indexOf(":") == -1)
+                sb.insert(0, base);
+            return Kind.IRI;
+        }
+        if (c == '_') {
+            pos++;
+            if (read() != ':')
+                throw new SyntaxException("invalid blank node");
+            readName();
+            return Kind.Blank;
+        }
+        if (c == '[' || c == '(')
+            throw new SyntaxException("unsupported: " + (char) c);
+        if (c == -1)
+            throw new SyntaxException("unexpected end of input");
+
+        readName();
+        String resolved = resolvePrefixed(sb.toString());
+        sb.setLength(0);
+        sb.append(resolved);
+        return Kind.IRI;
+    }
+
+    private String resolvePrefixed(String name) throws SyntaxException {
+        int colon = name.indexOf(':');
+        if (colon == -1)
+            throw new SyntaxException("invalid name: " + name);
+        String ns = prefixes.get(name.substring(0, colon));
+        if (ns == null)
+            throw new SyntaxException("undefined prefix: " + name);
+        return ns + name.substring(colon + 1);
+    }
+
+    /** reads the characters of a name (prefixed name, blank node label, language tag) into sb;
+     *  a name can contain '.' but not end with it */
+    private void readName() throws IOException {
+        sb.setLength(0);
+        int c;
+        while ((c = peek()) != -1 && (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == ':' || c == '.' || c == '%')) {
+            pos++;
+            sb.append((char) c);
+        }
+        while (sb.length() > 0 && sb.charAt(sb.length() - 1) == '.') {
+            sb.setLength(sb.length() - 1);
+            pos--;
+        }
+    }
+
+    private void readNumber() throws IOException, SyntaxException {
+        sb.setLength(0);
+        int c;
+        boolean decimal = false, exponent = false;
+        while ((c = peek()) != -1 && ((c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.' || c == 'e' || c == 'E')) {
+            pos++;
+            sb.append((char) c);
+            if (c == '.') decimal = true;
+            if (c == 'e' || c == 'E') exponent = true;
+        }
+        //the '.' ending the statement
+        if (sb.charAt(sb.length() - 1) == '.') {
+            sb.setLength(sb.length() - 1);
+            pos--;
+            decimal = sb.indexOf(".") != -1;
+        }
+        if (sb.length() == 0 || sb.charAt(sb.length() - 1) < '0' || sb.charAt(sb.length() - 1) > '9')
+            throw new SyntaxException("invalid number");
+        object = sb.toString();
+        objectKind = Kind.Literal;
+        datatype = XSD + (exponent ? "double" : decimal ? "decimal" : "integer");
+    }
+
+    /** reads a string literal, after its opening quote, into sb */
+    private void readString(char quote) throws IOException, SyntaxException {
+        sb.setLength(0);
+        boolean isLong = false;
+        if (peek() == quote) {
+            pos++;
+            if (peek() != quote)
+                return; //empty string
+            pos++;
+            isLong = true;
+        }
+        for (;;) {
+            int c = read();
+            if (c == -1)
+                throw new SyntaxException("unterminated string");
+            if (c == '\\') {
+                sb.append(readEscape());
+            }
+            else if (c == quote) {
+                if (!isLong)
+                    return;
+                if (peek() == quote) {
+                    pos++;
+                    if (peek() == quote) {
+                        pos++;
+                        return;
+                    }
+                    sb.append(quote);
+                }
+                sb.append(quote);
+            }
+            else if (c == '\n' && !isLong) {
+                throw new SyntaxException("unterminated string");
+            }
+            else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private String readEscape() throws IOException, SyntaxException {
+        int c = read();
+        switch (c) {
+            case 't': return "\t";
+            case 'n': return "\n";
+            case 'r': return "\r";
+            case 'b': return "\b";
+            case 'f': return "\f";
+            case 'u': return new String(Character.toChars(readHex(4)));
+            case 'U': return new String(Character.toChars(readHex(8)));
+            case '"': case '\'': case '\\': return String.valueOf((char) c);
+            default:
+                throw new SyntaxException("invalid escape");
+        }
+    }
+
+    private int readHex(int digits) throws IOException, SyntaxException {
+        int v = 0;
+        for (int i = 0; i < digits; i++) {
+            int d = Character.digit(read(), 16);
+            if (d == -1)
+                throw new SyntaxException("invalid escape");
+            v = v * 16 + d;
+        }
+        if (!Character.isValidCodePoint(v))
+            throw new SyntaxException("invalid escape");
+        return v;
+    }
+
+    /** reads a prefix or base directive, in Turtle (@prefix ... .) or SPARQL (PREFIX ...) form */
+    private void readDirective(String keyword, boolean turtle) throws IOException, SyntaxException {
+        keyword = keyword.toLowerCase();
+        if (keyword.equals("prefix")) {
+            skipWhitespace();
+            readName();
+            String p = sb.toString();
+            if (!p.endsWith(":"))
+                throw new SyntaxException("invalid prefix: " + p);
+            if (readNode() != Kind.IRI)
+                throw new SyntaxException("invalid prefix IRI");
+            prefixes.put(p.substring(0, p.length() - 1), sb.toString());
+        }
+        else if (keyword.equals("base")) {
+            String previous = base;
+            base = "";
+            if (readNode() != Kind.IRI) {
+                base = previous;
+                throw new SyntaxException("invalid base IRI");
+            }
+            base = sb.toString();
+        }
+        else {
+            throw new SyntaxException("unknown directive: " + keyword);
+        }
+        if (turtle) {
+            if (skipWhitespace() != '.')
+                throw new SyntaxException("expected '.'");
+            pos++;
+        }
+    }
+
+    /** skips the rest of a malformed statement, up to a '.' followed by whitespace, outside IRIs and strings */
+    private void skipStatement() throws IOException {
+        int c, quote = 0;
+        boolean iri = false;
+        while ((c = read()) != -1) {
+            if (quote != 0) {
+                if (c == '\\') read();
+                else if (c == quote || c == '\n') quote = 0;
+            }
+            else if (iri) {
+                if (c == '>' || c == '\n') iri = false;
+            }
+            else if (c == '"' || c == '\'') quote = c;
+            else if (c == '<') iri = true;
+            else if (c == '.') {
+                int d = peek();
+                if (d == -1 || Character.isWhitespace(d))
+                    return;
+            }
+        }
+    }
+
+    /** skips whitespace and comments
+     *  @return the next character, which is not consumed, or -1 at the end of the input */
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == '#') {
+                while ((c = read()) != -1 && c != '\n') { }
+                line++;
+            }
+            else if (Character.isWhitespace(c)) {
+                if (c == '\n') line++;
+                pos++;
+            }
+            else
+                break;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pos == len && !fill())
+            return -1;
+        return buf[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == len && !fill())
+            return -1;
+        return buf[pos++];
+    }
+
+    /** refills the buffer, keeping its last characters so that a name can be unread */
+    private boolean fill() throws IOException {
+        final int keep = Math.min(len, 64);
+        System.arraycopy(buf, len - keep, buf, 0, keep);
+        pos = len = keep;
+        final int n = in.read(buf, keep, buf.length - keep);
+        if (n <= 0)
+            return false;
+        len += n;
+        return true;
+    }
+}
@@ -18,6 +18,7 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.Attribute;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -99,9 +100,15 @@ public class OWLInput  {
      * relation_name tag@rdf:resource = target entity
      */
     public void input(File f) throws Exception {
+        try (InputStream is = new FileInputStream(f)) {
+            input(is);
+        }
+    }
+
+    /** reads the document as a stream of StAX events, inputting the beliefs as they are found */
+    public void input(InputStream is) throws Exception {
         XMLInputFactory factory = XMLInputFactory.newInstance();
-        XMLStreamReader parser = factory.createXMLStreamReader(
-                new FileInputStream(f));
+        XMLStreamReader parser = factory.createXMLStreamReader(is);
         int depth = 0;
         for (;;) {
             int event = parser.next();
@@ -378,7 +385,12 @@ public class OWLInput  {
     }
 
     private void inputClassBelief(Term clas) {
-        nar.believe(isAClass(clas));
+        believe(isAClass(clas));
+    }
+
+    /** inputs a belief found in the document */
+    protected void believe(Compound belief) {
+        nar.believe(belief);
     }
 
     public static final Atom owlClass = Atom.the("class");
@@ -430,10 +442,10 @@ public class OWLInput  {
             return;
         }
         if (predicate.equals("parentOf")) {
-            nar.believe(Inheritance.make(atom(subject), atom(object)));
+            believe(Inheritance.make(atom(subject), atom(object)));
         }
         else {
-            nar.believe(Operation.make(atom(predicate),
+            believe(Operation.make(atom(predicate),
                     Product.make(atom(subject), atom(object))));
         }
 
@@ -0,0 +1,265 @@
+package nars.rdfowl;
+
+import nars.Global;
+import nars.NAR;
+import nars.Symbols;
+import nars.budget.BudgetFunctions;
+import nars.io.in.IngestionInput;
+import nars.nal.nal1.Inheritance;
+import nars.nal.nal1.Negation;
+import nars.nal.nal2.Instance;
+import nars.nal.nal2.Similarity;
+import nars.nal.nal4.Product;
+import nars.nal.nal5.Conjunction;
+import nars.nal.nal5.Equivalence;
+import nars.nal.nal8.Operation;
+import nars.nar.Default;
+import nars.task.Sentence;
+import nars.task.Task;
+import nars.task.stamp.Stamp;
+import nars.term.Atom;
+import nars.term.Compound;
+import nars.term.Term;
+import nars.term.Variable;
+import nars.truth.DefaultTruth;
+import nars.truth.Truth;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams RDF into a NAR in bounded memory, whatever the size of the input.
+ *
+ * A producer thread reads N-Triples, N-Quads or Turtle (with NQuadsParser) or
+ * OWL/XML (with OWLInput's StAX reader), builds each belief's term directly,
+ * without writing and parsing Narsese, and offers the tasks to an IngestionInput.
+ * Its bounded queue blocks the producer while the reasoner catches up, so only
+ * the statements between the reader's buffer and the reasoner are in memory.
+ *
+ * ex:
+ *   RDFImport i = new RDFImport(nar, 1024, 0.9f);
+ *   Thread t = i.start(new File("dump.nq.gz"));
+ *   while (t.isAlive() || i.input.size() > 0) nar.frame(1);
+ */
+public class RDFImport {
+
+    public final NAR nar;
+    public final IngestionInput input;
+
+    public float priority = Global.DEFAULT_JUDGMENT_PRIORITY, durability = Global.DEFAULT_JUDGMENT_DURABILITY;
+    public float frequency = 1.0f, confidence;
+
+    /** whether statements typing something as owl:DatatypeProperty are input */
+    public boolean includeDataType = false;
+    /** whether statements with a literal object are input, with the literal as a quoted atom */
+    public boolean includeLiterals = false;
+
+    private final AtomicLong statements = new AtomicLong(), beliefs = new AtomicLong();
+
+
+    /** @param capacity the number of tasks which may wait for the reasoner */
+    public RDFImport(NAR nar, int capacity, float confidence) {
+        this.nar = nar;
+        this.confidence = confidence;
+        //one idle worker: tasks are offered ready-made, there are no lines to parse
+        this.input = new IngestionInput(nar, 1, capacity, 64, IngestionInput.Overflow.Block);
+    }
+
+    /** reads a file in a new daemon thread; the format is chosen by the file's extension,
+     *  .owl, .rdf and .xml being OWL/XML, and a .gz file being decompressed */
+    public Thread start(final File f) {
+        final Thread t = new Thread(() -> {
+            try {
+                read(f);
+            } catch (Exception e) {
+                System.err.println(f + ": " + e);
+            }
+        }, "rdf import");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /** reads a file in the calling thread, which waits while the reasoner is behind */
+    public void read(final File f) throws Exception {
+        String name = f.getName().toLowerCase();
+        InputStream is = new FileInputStream(f);
+        try {
+            if (name.endsWith(".gz")) {
+                is = new GZIPInputStream(is, 65536);
+                name = name.substring(0, name.length() - 3);
+            }
+            if (name.endsWith(".owl") || name.endsWith(".rdf") || name.endsWith(".xml")) {
+                new OWLInput(nar) {
+                    @Override
+                    protected void believe(Compound c) {
+                        RDFImport.this.believe(c);
+                    }
+                }.input(is);
+            }
+            else {
+                read(new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8), 65536));
+            }
+        } finally {
+            is.close();
+        }
+    }
+
+    /** reads N-Triples, N-Quads or Turtle in the calling thread, which waits while the reasoner is behind
+     *  @return the number of statements which could not be parsed */
+    public long read(final Reader r) throws IOException {
+        final NQuadsParser p = new NQuadsParser(r);
+        while (p.next()) {
+            statements.incrementAndGet();
+
+            if (p.subjectKind != NQuadsParser.Kind.IRI) continue;
+            final Atom subj = resource(p.subject);
+            final Atom pred = resource(p.predicate);
+            final Term obj;
+            if (p.objectKind == NQuadsParser.Kind.IRI)
+                obj = resource(p.object);
+            else if (includeLiterals && p.objectKind == NQuadsParser.Kind.Literal)
+                obj = Atom.quote(p.object);
+            else
+                continue;
+
+            //avoid equal subj & obj, if only namespace differs
+            if (subj == null || pred == null || obj == null || subj.equals(obj)) continue;
+
+            final Compound belief = belief(subj, pred, obj, includeDataType);
+            if (belief != null)
+                believe(belief);
+        }
+        return p.errors();
+    }
+
+    /** offers an eternal belief, waiting while the queue is full
+     *  @return false if the term is not valid for a belief, or the calling thread was interrupted */
+    public boolean believe(final Compound belief) {
+        final Compound term = Sentence.termOrNull(belief);
+        if (term == null) return false;
+
+        final Truth tv = DefaultTruth.the(frequency, confidence);
+        final Task t = new Task(term, Symbols.JUDGMENT, tv,
+                priority, durability, BudgetFunctions.truthToQuality(tv));
+        t.setCreationTime(Stamp.TIMELESS);
+        t.setOccurrenceTime(Stamp.ETERNAL);
+        t.setEvidentialSet(nar.memory.newStampSerial());
+
+        if (!input.offer(t)) return false;
+        beliefs.incrementAndGet();
+        return true;
+    }
+
+    /** number of statements read */
+    public long statements() {
+        return statements.get();
+    }
+
+    /** number of beliefs offered to the reasoner */
+    public long beliefs() {
+        return beliefs.get();
+    }
+
+    /** discards the pending tasks and stops the input's worker */
+    public void close() {
+        input.close();
+    }
+
+
+    /** the atom of an IRI: its fragment, or else its last path segment (the namespace is ignored) */
+    public static Atom resource(final String iri) {
+        final int hash = iri.indexOf('#');
+        String s;
+        if (hash != -1) {
+            s = iri.substring(hash + 1);
+        }
+        else {
+            final int slash = iri.lastIndexOf('/', iri.length() - 2);
+            s = iri.substring(slash + 1);
+            if (s.endsWith("/")) s = s.substring(0, s.length() - 1);
+        }
+        if (s.isEmpty()) return null;
+        return Atom.the(s, true);
+    }
+
+
+    static final Atom owlClass = Atom.the("Class");
+    static final Atom parentOf = Atom.the("parentOf");
+    static final Atom type = Atom.the("type");
+    static final Atom subClassOf = Atom.the("subClassOf");
+    static final Atom subPropertyOf = Atom.the("subPropertyOf");
+    static final Atom equivalentClass = Atom.the("equivalentClass");
+    static final Atom equivalentProperty = Atom.the("equivalentProperty");
+    static final Atom inverseOf = Atom.the("inverseOf");
+    static final Atom disjointWith = Atom.the("disjointWith");
+    static final Atom domain = Atom.the("domain");
+    static final Atom range = Atom.the("range");
+    static final Atom sameAs = Atom.the("sameAs");
+    static final Atom dataTypeProperty = Atom.the("DatatypeProperty");
+
+    /**
+     * The belief representing a statement (see http://www.w3.org/TR/owl-ref/),
+     * or null if it is not represented.
+     */
+    public static Compound belief(final Atom subject, final Atom predicate, final Term object, final boolean includeDataType) {
+
+        if (predicate.equals(parentOf) || predicate.equals(type)
+                || predicate.equals(subClassOf) || predicate.equals(subPropertyOf)) {
+
+            if (object.equals(owlClass))
+                return null;
+            if (!includeDataType && object.equals(dataTypeProperty))
+                return null;
+
+            return Inheritance.make(subject, object);
+        }
+        else if (predicate.equals(equivalentClass) || predicate.equals(equivalentProperty)) {
+            return Equivalence.make(subject, object);
+        }
+        else if (predicate.equals(sameAs)) {
+            return Similarity.make(subject, object);
+        }
+        else if (predicate.equals(domain) || predicate.equals(range)) {
+            // PROPERTY domain CLASS:  (PROPERTY($subj,$obj) && <$subj {-- CLASS>)
+            // PROPERTY range CLASS:  (PROPERTY($subj,$obj) && <$obj {-- CLASS>)
+            final Variable s = new Variable("$subj"), o = new Variable("$obj");
+            return (Compound) Conjunction.make(
+                    Operation.make(subject, Product.make(s, o)),
+                    Instance.make(predicate.equals(domain) ? s : o, object));
+        }
+        else if (predicate.equals(inverseOf)) {
+            //TODO: PREDSUBJ(#subj, #obj) <=> PREDOBJ(#obj, #subj)
+            return null;
+        }
+        else if (predicate.equals(disjointWith)) {
+            return (Compound) Negation.make(Similarity.make(subject, object));
+        }
+        else {
+            return Operation.make(predicate, Product.make(subject, object));
+        }
+    }
+
+
+    /** imports a file into a new NAR.  arguments: file [cycles to run afterwards] */
+    public static void main(String[] args) throws Exception {
+        final NAR n = new NAR(new Default(1000, 16, 3).setInternalExperience(null).level(7));
+
+        final RDFImport i = new RDFImport(n, 4096, 0.94f);
+        final Thread t = i.start(new File(args[0]));
+        while (t.isAlive() || i.input.size() > 0)
+            n.frame(1);
+        System.out.println(i.statements() + " statements, " + i.beliefs() + " beliefs");
+
+        if (args.length > 1)
+            n.frame(Integer.parseInt(args[1]));
+    }
+}
@@ -0,0 +1,90 @@
+package nars.rdfowl;
+
+import nars.NAR;
+import nars.nar.Default;
+import nars.term.Atom;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class RDFImportTest {
+
+    static List<String> parse(String input, long expectedErrors) throws IOException {
+        NQuadsParser p = new NQuadsParser(new StringReader(input));
+        List<String> statements = new ArrayList();
+        while (p.next())
+            statements.add(p.subject + ' ' + p.predicate + ' ' + p.objectKind + ':' + p.object +
+                    (p.language != null ? "@" + p.language : "") + (p.datatype != null ? "^^" + p.datatype : ""));
+        assertEquals(expectedErrors, p.errors());
+        return statements;
+    }
+
+    @Test
+    public void testNQuads() throws IOException {
+        List<String> s = parse(
+                "<http://x.org/a> <http://x.org/p> <http://x.org/b> <http://x.org/graph> .\n" +
+                "# a comment\n" +
+                "_:b1 <http://x.org/p> \"say \\\"hi\\\"\\u00e9\"@en-GB .\n" +
+                "<http://x.org/a> <http://x.org/q> \"1\"^^<http://www.w3.org/2001/XMLSchema#integer> .\n", 0);
+        assertEquals(3, s.size());
+        assertEquals("http://x.org/a http://x.org/p IRI:http://x.org/b", s.get(0));
+        assertEquals("b1 http://x.org/p Literal:say \"hi\"\u00e9@en-GB", s.get(1));
+        assertEquals("http://x.org/a http://x.org/q Literal:1^^http://www.w3.org/2001/XMLSchema#integer", s.get(2));
+    }
+
+    @Test
+    public void testTurtle() throws IOException {
+        List<String> s = parse(
+                "@prefix x: <http://x.org/> .\n" +
+                "PREFIX y: <http://y.org/>\n" +
+                "x:a a y:C ;\n" +
+                "    x:p x:b, x:c ;\n" +
+                "    x:n 4.5 ; x:t true ;\n" +
+                "    .\n" +
+                "x:d x:s '''two\nlines''' .\n", 0);
+        assertEquals(6, s.size());
+        assertEquals("http://x.org/a " + NQuadsParser.RDF_TYPE + " IRI:http://y.org/C", s.get(0));
+        assertEquals("http://x.org/a http://x.org/p IRI:http://x.org/b", s.get(1));
+        assertEquals("http://x.org/a http://x.org/p IRI:http://x.org/c", s.get(2));
+        assertEquals("http://x.org/a http://x.org/n Literal:4.5^^" + NQuadsParser.XSD + "decimal", s.get(3));
+        assertEquals("http://x.org/a http://x.org/t Literal:true^^" + NQuadsParser.XSD + "boolean", s.get(4));
+        assertEquals("http://x.org/d http://x.org/s Literal:two\nlines", s.get(5));
+    }
+
+    @Test
+    public void testMalformedStatementsAreSkipped() throws IOException {
+        List<String> s = parse(
+                "<http://x.org/a> <http://x.org/p> .\n" +
+                "u:a <http://x.org/p> <http://x.org/b> .\n" +
+                "<http://x.org/a> <http://x.org/p> [ <http://x.org/q> <http://x.org/r> ] .\n" +
+                "<http://x.org/a> <http://x.org/p> <http://x.org/b> .\n", 3);
+        assertEquals(1, s.size());
+    }
+
+    @Test
+    public void testImport() throws IOException {
+        NAR n = new NAR(new Default());
+        RDFImport i = new RDFImport(n, 4, 0.9f);
+        long errors = i.read(new StringReader(
+                "<http://x.org/cat> <http://www.w3.org/2000/01/rdf-schema#subClassOf> <http://x.org/animal> .\n" +
+                "<http://x.org/tom> <http://x.org/chases> <http://x.org/jerry> .\n" +
+                "<http://x.org/chases> <http://www.w3.org/2000/01/rdf-schema#domain> <http://x.org/cat> .\n"));
+        assertEquals(0, errors);
+        assertEquals(3, i.statements());
+        assertEquals(3, i.beliefs());
+        assertEquals(3, i.input.size());
+
+        n.frame(3);
+        assertTrue(n.concept("<cat --> animal>") != null);
+        //operations written in Narsese have the implicit SELF argument, so the term is built
+        assertTrue(n.concept(RDFImport.belief(Atom.the("tom"), Atom.the("chases"), Atom.the("jerry"), false)) != null);
+        i.close();
+    }
+}
@@ -208,6 +208,10 @@ public class Global {
      * malformed term due to a serious inference bug */
     public static short COMPOUND_MASS_LIMIT = 1024;
 
+    /** share one canonical instance of structurally equal (variable-free) compound terms
+     *  among sentences and concepts; see TermInterner */
+    public static boolean TERM_INTERNING = false;
+
 
     //TEMPORARY
     public static float rankDecayPerTimeDuration = 0.9f;
@@ -31,6 +31,7 @@ import nars.budget.Itemized;
 import nars.clock.Clock;
 import nars.concept.Concept;
 import nars.concept.ConceptBuilder;
+import nars.meter.CycleProfiler;
 import nars.meter.EmotionMeter;
 import nars.meter.LogicMetrics;
 import nars.nal.LogicPolicy;
@@ -53,7 +54,10 @@ import nars.nal.nal7.AbstractInterval;
 import nars.nal.nal7.TemporalRules;
 import nars.nal.nal8.Operation;
 import nars.process.CycleProcess;
+import nars.process.ConceptProcess;
 import nars.process.NAL;
+import nars.process.TaskProcess;
+import nars.task.Sentence;
 import nars.task.Task;
 import nars.task.TaskSeed;
 import nars.task.stamp.AbstractStamper;
@@ -61,6 +65,10 @@ import nars.task.stamp.Stamp;
 import nars.term.*;
 import nars.util.data.buffer.Perception;
 import nars.util.event.EventEmitter;
+import nars.util.event.EventRecord.One;
+import nars.util.event.EventRecord.Three;
+import nars.util.event.EventRecord.Two;
+import nars.util.event.Topic;
 import nars.util.meter.ResourceMeter;
 
 import java.io.Serializable;
@@ -68,6 +76,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 /**
@@ -91,9 +100,19 @@ public class Memory implements Serializable, AbstractStamper {
     public final CycleProcess cycle;
     public final EventEmitter<Class> event;
     public final EventEmitter<Term> exe;
+
+    /** typed channels of the most frequent events, whose emission allocates nothing,
+     *  and is skipped entirely when they have no subscribers */
+    public final Topic<Class, One<Task>> taskIn, taskOut, taskDerive;
+    public final Topic<Class, Two<Task, NAL>> taskDeriveFuture;
+    public final Topic<Class, Three<Task, TaskProcess, Concept>> taskProcess;
+    public final Topic<Class, One<ConceptProcess>> conceptProcessed;
+    public final Topic<Class, Three<Sentence, Task, ConceptProcess>> beliefReason;
     public final EmotionMeter emotion = new EmotionMeter();
     public final LogicMetrics logic;
     public final ResourceMeter resource;
+    /** measures the phases of the cycle when not null, see CycleProfiler */
+    public volatile CycleProfiler profiler = null;
     public final Param param;
     final List<ConceptBuilder> conceptBuilders;
     private final Deque<Runnable> nextTasks = new ConcurrentLinkedDeque();
@@ -111,7 +130,7 @@ public class Memory implements Serializable, AbstractStamper {
 
 
     private int level;
-    private long currentStampSerial = 1;
+    private final AtomicLong currentStampSerial = new AtomicLong(1);
     /**
      * The remaining number of steps to be carried out (stepLater mode)
      */
@@ -149,6 +168,14 @@ public class Memory implements Serializable, AbstractStamper {
         this.exe = new EventEmitter.DefaultEventEmitter();
         //this.exe = new EventEmitter.FastDefaultEventEmitter();
 
+        this.taskIn = event.topic(Events.IN.class, One::new);
+        this.taskOut = event.topic(Events.OUT.class, One::new);
+        this.taskDerive = event.topic(Events.TaskDerive.class, One::new);
+        this.taskDeriveFuture = event.topic(Events.TaskDeriveFuture.class, Two::new);
+        this.taskProcess = event.topic(TaskProcess.class, Three::new);
+        this.conceptProcessed = event.topic(Events.ConceptProcessed.class, One::new);
+        this.beliefReason = event.topic(Events.BeliefReason.class, Three::new);
+
 
         this.conceptBuilders = new ArrayList(1);
 
@@ -544,7 +571,7 @@ public class Memory implements Serializable, AbstractStamper {
             t = ((Compound)t).normalized();
             if (t == null) return null;
         }
-        return concepts.get(t);
+        return concepts.get(TermInterner.intern(t));
     }
 
     /**
@@ -571,7 +598,7 @@ public class Memory implements Serializable, AbstractStamper {
         if ((term = term.normalized()) == null)
             return null;
 
-        return cycle.conceptualize(budget, term, true);
+        return cycle.conceptualize(budget, TermInterner.intern(term), true);
     }
 
     private boolean validConceptTerm(Term term) {
@@ -615,8 +642,8 @@ public class Memory implements Serializable, AbstractStamper {
             //we need to buffer unique TaskAdd ("OUT") tasks until the end
             //of the cycle
 
-            if (!t.isInput())
-                emit(Events.OUT.class, t);
+            if (!t.isInput() && taskOut.isActive())
+                taskOut.emit(taskOut.record().set(t));
 
             logic.TASK_ADD_NEW.hit();
             return true;
@@ -637,7 +664,8 @@ public class Memory implements Serializable, AbstractStamper {
 
         if (task.perceivable(this)) {
             if (taskAdd(task)) {
-                emit(Events.IN.class, task);
+                if (taskIn.isActive())
+                    taskIn.emit(taskIn.record().set(task));
                 return 1;
             }
         }
@@ -665,6 +693,15 @@ public class Memory implements Serializable, AbstractStamper {
         //nothing yet
     }
 
+    /**
+     * applies an update of state which all premises share, ex: emotion; while
+     * the calling thread defers its events (see ParallelCycle) it is deferred
+     * with them
+     */
+    final public void defer(final Runnable update) {
+        event.defer(update);
+    }
+
     /** sends an event signal to listeners subscribed to channel 'c' */
     final public void emit(final Class c, final Object... signal) {
         event.emit(c, signal);
@@ -768,9 +805,19 @@ public class Memory implements Serializable, AbstractStamper {
 
     }
 
-    /** produces a new stamp serial #, used to uniquely identify inputs */
+    /** produces a new stamp serial #, used to uniquely identify inputs.
+     *  may be called by other threads than the reasoner's, ex: parsing input */
     public long newStampSerial() {
-        return currentStampSerial++;
+        return currentStampSerial.getAndIncrement();
+    }
+
+    /** the serial which will be assigned to the next new stamp */
+    public long getStampSerial() {
+        return currentStampSerial.get();
+    }
+
+    public void setStampSerial(long nextSerial) {
+        currentStampSerial.set(nextSerial);
     }
 
     public boolean perceiving() {
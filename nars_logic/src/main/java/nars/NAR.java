@@ -5,6 +5,7 @@ import nars.Events.FrameStart;
 import nars.budget.BudgetFunctions;
 import nars.concept.Concept;
 import nars.concept.ConceptBuilder;
+import nars.io.MemorySnapshot;
 import nars.io.TextPerception;
 import nars.io.in.FileInput;
 import nars.io.in.Input;
@@ -22,6 +23,7 @@ import nars.task.stamp.Stamp;
 import nars.term.Atom;
 import nars.term.Compound;
 import nars.term.Term;
+import nars.truth.BasicTruth;
 import nars.truth.DefaultTruth;
 import nars.truth.Truth;
 import nars.util.event.EventEmitter;
@@ -29,8 +31,11 @@ import nars.util.event.Reaction;
 import objenome.Container;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 
 /**
@@ -126,6 +131,24 @@ public class NAR extends Container implements Runnable {
     }
 
 
+    /**
+     * Writes a binary snapshot of the memory's concepts, tasks and clock, see MemorySnapshot
+     */
+    public void save(final File f) throws IOException {
+        try (OutputStream os = new FileOutputStream(f)) {
+            MemorySnapshot.write(memory, os);
+        }
+    }
+
+    /**
+     * Replaces the memory's contents with a snapshot written by save(); returns the number of concepts restored
+     */
+    public int load(final File f) throws IOException {
+        try (InputStream is = new FileInputStream(f)) {
+            return MemorySnapshot.read(memory, is);
+        }
+    }
+
     public Input input(final File input) throws IOException {
         return input(new FileInput(textPerception, input));
     }
@@ -220,7 +243,7 @@ public class NAR extends Container implements Runnable {
 
                         narsese.parseCompoundNormalized(goalTerm),
                         Symbols.GOAL,
-                        tv = new DefaultTruth(freq, conf),
+                        tv = DefaultTruth.the(freq, conf),
 
 
                         pri,
@@ -277,7 +300,7 @@ public class NAR extends Container implements Runnable {
 
         Task t = new Task(belief,
                 Symbols.JUDGMENT,
-                tv = new DefaultTruth(freq, conf),
+                tv = DefaultTruth.the(freq, conf),
                 pri, dur, BudgetFunctions.truthToQuality(tv));
         t.setOccurrenceTime(occurrenceTime);
 
@@ -311,10 +334,13 @@ public class NAR extends Container implements Runnable {
     public NAR input(float priority, float durability, final String taskText, float frequency, float confidence) throws InvalidInputException {
 
         narsese.parse(taskText, t -> {
-            if (frequency != -1)
-                t.sentence.truth.setFrequency(frequency);
-            if (confidence != -1)
-                t.sentence.truth.setConfidence(confidence);
+            if ((frequency != -1) || (confidence != -1)) {
+                final Truth tv = t.sentence.truth;
+                t.sentence.truth = BasicTruth.get(
+                        (frequency != -1) ? frequency : tv.getFrequency(),
+                        (confidence != -1) ? confidence : tv.getConfidence(),
+                        tv.getEpsilon());
+            }
             if (priority != -1)
                 t.setPriority(priority);
             if (durability != -1)
@@ -153,6 +153,9 @@ public class Param implements Serializable {
     
     /** Maximum number of beliefs kept in a Concept */
     public final AtomicInteger conceptBeliefsMax = new AtomicInteger();
+
+    /** Maximum number of temporal beliefs kept in a Concept, besides conceptBeliefsMax eternal beliefs; 0 to keep both in one table */
+    public final AtomicInteger conceptTemporalBeliefsMax = new AtomicInteger();
     
     /** Maximum number of questions, and max # of quests kept in a Concept */
     public final AtomicInteger conceptQuestionsMax = new AtomicInteger();
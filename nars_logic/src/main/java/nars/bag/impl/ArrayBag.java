@@ -0,0 +1,645 @@
+package nars.bag.impl;
+
+import com.google.common.collect.Iterators;
+import com.gs.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import nars.Global;
+import nars.Memory;
+import nars.bag.Bag;
+import nars.budget.Item;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static nars.Global.BUDGET_EPSILON;
+
+/**
+ * Bag which stores the budgets of its items in parallel primitive arrays,
+ * one slot per item, instead of reading them from each item.
+ *
+ * The items occupy slots 0..size-1 in no particular order; a key maps to its
+ * slot, and removing an item moves the last one into its slot.  A binary tree
+ * over the slots, also in arrays, holds the priority sum and the slot of
+ * lowest priority under each node, so:
+ *   - mass() is the root's sum
+ *   - pop() and peekNext() select an item with probability proportional to
+ *     its priority (which CurveBag's FairPriorityProbabilityCurve approximates)
+ *     by descending the tree, in O(log n)
+ *   - the item displaced from a full bag is the root's lowest
+ *   - forgetNext(forgetCycles, accuracy, memory) forgets the next slots in
+ *     turn, in a loop over the arrays without visiting the items
+ *   - forgetNext() forgets the item selected
+ *
+ * An item's budget is copied into the arrays when it is put, and the bag's
+ * changes (forgetting) are copied back into the item whenever the bag returns
+ * it.  If the item's priority was changed meanwhile, by something other than
+ * the bag, that priority is kept instead.  As with the other bags, an item's
+ * budget should otherwise be changed by removing and putting it again.
+ *
+ * With lazy forgetting, see ArrayBag(Random, int, boolean), the bag does not
+ * change the priorities it stores.  Instead it selects by each item's current
+ * priority, as BudgetFunctions.forgetPeriodic would compute it from its stored
+ * priority, last update time and durability for the forgetting time (the
+ * memory's time and forgetCycles, given by setForgetNext or the batch
+ * forgetNext).  That priority decreases linearly in time until it reaches the
+ * item's minimum, so each node of the tree also holds the rate at which its sum
+ * decreases, and the sums as of any time follow from them without visiting the
+ * slots.  Advancing the time only updates the slots which reach their minimum
+ * (or their last update time) meanwhile, in O(log n) each; the slot of lowest
+ * priority is found again, in O(n), only when it is needed after the time
+ * changed.  Each item decays the same however often it is selected.  A
+ * returned item's budget shows its current priority; its stored priority
+ * changes only when it is put again.
+ */
+public class ArrayBag<K, E extends Item<K>> extends Bag<K, E> {
+
+    private final int capacity;
+    private final Random rng;
+
+    private final ObjectIntHashMap<K> slots;
+
+    private final Object[] items;
+    private final float[] priority;
+    private final float[] durability;
+    private final float[] quality;
+    private final long[] lastForgetTime;
+
+    /** the priority each item had when last copied to or from the bag */
+    private final float[] itemPriority;
+
+    private final boolean lazyForget;
+
+    /** with lazy forgetting, the time and forgetCycles which priorities are current for */
+    private long epoch = -1;
+    private float epochForgetCycles = Float.NaN;
+    /** with lazy forgetting, the time which the tree's sums are as of; see sum(int) */
+    private long base = -1;
+    /** with lazy forgetting, whether treeMin may be out of order since the epoch changed */
+    private boolean minStale = false;
+
+    /** with lazy forgetting, the sums are rebased (in O(n)) after this many forgetCycles, to keep them small */
+    static final int REBASE_FORGET_CYCLES = 16;
+
+    private int size = 0;
+
+    /** the tree's leaves, a power of 2 >= capacity; node k has children 2k and 2k+1, and slot i is node leaves+i */
+    private final int leaves;
+    /** the priority sum of each node's slots, as of the base time */
+    private final double[] treeSum;
+    /** with lazy forgetting, the rate at which each node's sum decreases per cycle */
+    private final double[] treeRate;
+    /** with lazy forgetting, the earliest time at which a slot under each node changes its rate */
+    private final long[] treeEvent;
+    /** the slot of lowest priority under each node, or -1 if none */
+    private final int[] treeMin;
+
+    /** the next slot forgetNext(forgetCycles, accuracy, memory) will forget */
+    private int forgetCursor = 0;
+
+    /** settings for forgetNext() */
+    private float forgetCycles;
+    private long forgetNow;
+
+
+    public ArrayBag(Random rng, int capacity) {
+        this(rng, capacity, false);
+    }
+
+    /**
+     * @param lazyForget whether to compute forgetting on read, instead of
+     *                   applying it to the items selected
+     */
+    public ArrayBag(Random rng, int capacity, boolean lazyForget) {
+        super();
+        this.rng = rng;
+        this.capacity = capacity;
+        this.lazyForget = lazyForget;
+
+        this.slots = new ObjectIntHashMap(capacity);
+        this.items = new Object[capacity];
+        this.priority = new float[capacity];
+        this.durability = new float[capacity];
+        this.quality = new float[capacity];
+        this.lastForgetTime = new long[capacity];
+        this.itemPriority = new float[capacity];
+
+        int l = 1;
+        while (l < capacity) l <<= 1;
+        this.leaves = l;
+        this.treeSum = new double[2 * l];
+        this.treeRate = new double[2 * l];
+        this.treeEvent = new long[2 * l];
+        this.treeMin = new int[2 * l];
+        Arrays.fill(treeEvent, Long.MAX_VALUE);
+        Arrays.fill(treeMin, -1);
+    }
+
+    private E item(final int slot) {
+        return (E) items[slot];
+    }
+
+    /** the priority sum of a node's slots, as of the epoch */
+    private double sum(final int k) {
+        final double s = treeSum[k] - treeRate[k] * (epoch - base);
+        return (s > 0) ? s : 0;
+    }
+
+    /** the priority selection uses for a slot: with lazy forgetting, as of the epoch */
+    private float current(final int slot) {
+        return lazyForget ? (float) sum(leaves + slot) : priority[slot];
+    }
+
+    private int lower(final int a, final int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        return (current(b) < current(a)) ? b : a;
+    }
+
+    private void updateNode(final int k) {
+        final int a = 2 * k, b = a + 1;
+        treeSum[k] = treeSum[a] + treeSum[b];
+        treeMin[k] = lower(treeMin[a], treeMin[b]);
+        if (lazyForget) {
+            treeRate[k] = treeRate[a] + treeRate[b];
+            treeEvent[k] = Math.min(treeEvent[a], treeEvent[b]);
+        }
+    }
+
+    private void updateLeaf(final int slot) {
+        final int k = leaves + slot;
+        if (slot >= size) {
+            treeSum[k] = treeRate[k] = 0;
+            treeEvent[k] = Long.MAX_VALUE;
+            treeMin[k] = -1;
+            return;
+        }
+
+        treeMin[k] = slot;
+        if (lazyForget)
+            decay(slot, k);
+        else
+            treeSum[k] = priority[slot];
+    }
+
+    /**
+     * with lazy forgetting, sets a slot's leaf to its priority as a linear
+     * function of time, valid from the epoch until the leaf's event: the
+     * priority stays until the last update time, then decreases as
+     * BudgetFunctions.forgetPeriodic computes until it reaches the minimum
+     */
+    private void decay(final int slot, final int k) {
+        final float p = priority[slot];
+        final long last = lastForgetTime[slot];
+        final float forgetCycles = epochForgetCycles;
+
+        treeRate[k] = 0;
+        treeEvent[k] = Long.MAX_VALUE;
+        treeSum[k] = p;
+
+        if ((last == -1) || !(forgetCycles > 0)) return;
+
+        final float minPriority = quality[slot] * Global.MIN_FORGETTABLE_PRIORITY;
+        if (!(p > minPriority)) return;
+
+        if (last > epoch) {
+            treeEvent[k] = last;
+            return;
+        }
+
+        final double perCycle = (1.0 - durability[slot]) / forgetCycles;
+        if (!(perCycle > 0)) return;
+
+        final double end = last + 1.0 / perCycle;
+        if (epoch >= end) {
+            treeSum[k] = minPriority;
+            return;
+        }
+
+        final double rate = (p - minPriority) * perCycle;
+        treeRate[k] = rate;
+        treeSum[k] = p - rate * (base - last);
+        treeEvent[k] = (long) Math.ceil(end);
+    }
+
+    /** updates the tree after a slot's priority changed or it was emptied, in O(log n) */
+    private void update(final int slot) {
+        updateLeaf(slot);
+        for (int k = (leaves + slot) >> 1; k > 0; k >>= 1)
+            updateNode(k);
+    }
+
+    /** rebuilds the whole tree, in O(n) */
+    private void rebuild() {
+        for (int i = 0; i < leaves; i++)
+            updateLeaf(i);
+        for (int k = leaves - 1; k > 0; k--)
+            updateNode(k);
+        minStale = false;
+    }
+
+    /** the slot of lowest priority, finding it again if the time changed */
+    private int minSlot() {
+        if (minStale) {
+            for (int k = leaves - 1; k > 0; k--)
+                treeMin[k] = lower(treeMin[2 * k], treeMin[2 * k + 1]);
+            minStale = false;
+        }
+        return treeMin[1];
+    }
+
+    /** copies an item's budget into a slot */
+    private void load(final int slot, final E x) {
+        items[slot] = x;
+        priority[slot] = itemPriority[slot] = x.getPriority();
+        durability[slot] = x.getDurability();
+        quality[slot] = x.getQuality();
+        lastForgetTime[slot] = x.getLastForgetTime();
+        if (lazyForget && (lastForgetTime[slot] == -1) && (epoch != -1))
+            lastForgetTime[slot] = epoch;
+        update(slot);
+    }
+
+    /** reconciles a slot with its item, before the item is returned */
+    private E sync(final int slot) {
+        final E x = item(slot);
+
+        final float p = x.getPriority();
+        final long t = x.getLastForgetTime();
+        final float d = x.getDurability(), q = x.getQuality();
+        boolean changed = lazyForget && ((d != durability[slot]) || (q != quality[slot]));
+        durability[slot] = d;
+        quality[slot] = q;
+
+        if (p != itemPriority[slot]) {
+            //changed outside the bag, which takes precedence
+            priority[slot] = p;
+            if (lazyForget)
+                lastForgetTime[slot] = Math.max(t, epoch);
+            changed = true;
+        }
+        if (changed)
+            update(slot);
+
+        final float c = current(slot);
+        if (p != c)
+            x.budgetDirect(c, d, q);
+        itemPriority[slot] = c;
+
+        if (lazyForget) {
+            //its priority is as of the epoch
+            if (t < epoch)
+                x.setLastForgetTime(epoch);
+        }
+        else if (t > lastForgetTime[slot])
+            lastForgetTime[slot] = t;
+        else if (t < lastForgetTime[slot])
+            x.setLastForgetTime(lastForgetTime[slot]);
+
+        return x;
+    }
+
+    /** removes the item in a slot, moving the last item into it */
+    private E removeSlot(final int slot) {
+        final E x = sync(slot);
+        slots.removeKeyIfAbsent(x.name(), -1);
+
+        final int last = --size;
+        if (slot != last) {
+            items[slot] = items[last];
+            priority[slot] = priority[last];
+            durability[slot] = durability[last];
+            quality[slot] = quality[last];
+            lastForgetTime[slot] = lastForgetTime[last];
+            itemPriority[slot] = itemPriority[last];
+            slots.put(item(slot).name(), slot);
+            update(slot);
+        }
+        items[last] = null;
+        update(last);
+        return x;
+    }
+
+    /** a slot chosen with probability proportional to its priority, or uniformly if all are 0 */
+    protected int nextSlot() {
+        final double total = sum(1);
+        if (!(total > 0))
+            return rng.nextInt(size);
+
+        double r = rng.nextFloat() * total;
+        int k = 1;
+        while (k < leaves) {
+            k <<= 1;
+            final double left = sum(k);
+            if (r >= left) {
+                r -= left;
+                k++;
+            }
+        }
+
+        //rounding can descend past the last slot
+        final int slot = k - leaves;
+        return (slot < size) ? slot : size - 1;
+    }
+
+    /**
+     * applies forgetting to a slot, as ForgetNext with
+     * BudgetFunctions.forgetPeriodic would to its item
+     * @return whether its priority changed
+     */
+    private boolean forget(final int slot, final float forgetCycles, final long now) {
+        final long last = lastForgetTime[slot];
+        if (last == -1) {
+            lastForgetTime[slot] = now;
+            return false;
+        }
+        if (last == now) return false;
+
+        final float minPriority = quality[slot] * Global.MIN_FORGETTABLE_PRIORITY;
+        final float p = priority[slot];
+        if (!(p > minPriority) || (forgetCycles <= 0)) return false;
+
+        lastForgetTime[slot] = now;
+
+        final float q = forgotten(p, durability[slot], minPriority, now - last, forgetCycles);
+        if (Math.abs(q - p) < BUDGET_EPSILON)
+            return false;
+        priority[slot] = q;
+        return true;
+    }
+
+    /** a priority after forgetting for 'elapsed' cycles, as BudgetFunctions.forgetPeriodic computes it */
+    private static float forgotten(final float p, final float durability, final float minPriority, final long elapsed, final float forgetCycles) {
+        float forgetProportion = elapsed / forgetCycles;
+        if (forgetProportion <= 0) return p;
+        forgetProportion *= (1.0 - durability);
+
+        float q = (forgetProportion > 1.0f) ? minPriority :
+                p * (1.0f - forgetProportion) + minPriority * forgetProportion;
+        if (q > 1.0f) q = 1.0f;
+        else if (q < 0) q = 0;
+        return q;
+    }
+
+    /**
+     * with lazy forgetting, makes the priorities current for a time, unless
+     * they already are: updates the slots whose rate changes meanwhile, or
+     * the whole tree if forgetCycles changed or the sums are to be rebased.
+     * Items never forgotten start from the first time they are in the bag,
+     * as ForgetNext would start them.
+     */
+    private void advance(final float forgetCycles, final long now) {
+        if ((now == epoch) && (forgetCycles == epochForgetCycles))
+            return;
+
+        if ((forgetCycles != epochForgetCycles) || (now < epoch) ||
+                (now - base > REBASE_FORGET_CYCLES * Math.max(forgetCycles, 1f))) {
+            epoch = base = now;
+            epochForgetCycles = forgetCycles;
+            for (int i = 0; i < size; i++) {
+                if (lastForgetTime[i] == -1)
+                    lastForgetTime[i] = now;
+            }
+            rebuild();
+            return;
+        }
+
+        epoch = now;
+        minStale = true;
+        while (treeEvent[1] <= now) {
+            //descend to the slot of the earliest event
+            int k = 1;
+            while (k < leaves) {
+                k <<= 1;
+                if (treeEvent[k + 1] < treeEvent[k]) k++;
+            }
+            update(k - leaves);
+        }
+    }
+
+
+    @Override
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        slots.clear();
+        size = 0;
+        forgetCursor = 0;
+        rebuild();
+    }
+
+    @Override
+    public void delete() {
+        clear();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public E get(final K key) {
+        final int slot = slots.getIfAbsent(key, -1);
+        if (slot == -1) return null;
+        return sync(slot);
+    }
+
+    @Override
+    public boolean contains(final E it) {
+        final int slot = slots.getIfAbsent(it.name(), -1);
+        return (slot != -1) && (items[slot] == it);
+    }
+
+    @Override
+    public E remove(final K key) {
+        final int slot = slots.getIfAbsent(key, -1);
+        if (slot == -1) return null;
+        return removeSlot(slot);
+    }
+
+    @Override
+    public E put(final E i) {
+        final K key = i.name();
+        final int existing = slots.getIfAbsent(key, -1);
+        if (existing != -1) {
+            //the same or a replacing instance: take its budget
+            load(existing, i);
+            return null;
+        }
+
+        E displaced = null;
+        if (size >= capacity) {
+            if (capacity == 0) return i;
+
+            final int min = minSlot();
+            if (i.getPriority() < current(min))
+                return i;
+            displaced = removeSlot(min);
+        }
+
+        final int slot = size++;
+        load(slot, i);
+        slots.put(key, slot);
+        return displaced;
+    }
+
+    @Override
+    public E pop() {
+        if (size == 0) return null;
+        return removeSlot(nextSlot());
+    }
+
+    @Override
+    public E peekNext() {
+        if (size == 0) return null;
+        return sync(nextSlot());
+    }
+
+    @Override
+    public void setForgetNext(final float forgetDurations, final Memory m) {
+        super.setForgetNext(forgetDurations, m);
+        this.forgetCycles = m.param.cycles(forgetDurations);
+        this.forgetNow = m.time();
+        if (lazyForget)
+            advance(forgetCycles, forgetNow);
+    }
+
+    /** forgets the item selected, in place, unless forgetting is lazy */
+    @Override
+    public E forgetNext() {
+        if (size == 0) return null;
+        final int slot = nextSlot();
+        if (!lazyForget && forget(slot, forgetCycles, forgetNow))
+            update(slot);
+        return sync(slot);
+    }
+
+    /**
+     * forgets the next round(size * accuracy) slots in turn, without visiting
+     * their items; the tree is updated per slot changed, or rebuilt if that
+     * would be slower.  With lazy forgetting, advances the priorities to
+     * the time instead.
+     */
+    @Override
+    public void forgetNext(final float forgetCycles, final float accuracy, final Memory m) {
+        if (lazyForget) {
+            advance(forgetCycles, m.time());
+            return;
+        }
+
+        final int n = Math.min(size, Math.round(size * accuracy));
+        if (n == 0) return;
+
+        final long now = m.time();
+        final boolean rebuild = n >= (size >> 3);
+        int slot = forgetCursor;
+        for (int i = 0; i < n; i++) {
+            if (slot >= size) slot = 0;
+            if (forget(slot, forgetCycles, now) && !rebuild)
+                update(slot);
+            slot++;
+        }
+        forgetCursor = slot;
+
+        if (rebuild)
+            rebuild();
+    }
+
+    /** with lazy forgetting, the bag decays the item itself, so it is only put */
+    @Override
+    public E putBack(final E oldItem, final float forgetCycles, final Memory m) {
+        if (lazyForget)
+            return put(oldItem);
+        return super.putBack(oldItem, forgetCycles, m);
+    }
+
+    @Override
+    public float getPrioritySum() {
+        return (float) sum(1);
+    }
+
+    @Override
+    public float mass() {
+        return (float) sum(1) + size;
+    }
+
+    @Override
+    public float getPriorityMean() {
+        final int s = size;
+        if (s == 0) return 0.01f;
+        final float f = (float) sum(1) / s;
+        if (f > 1.0f) return 1.0f;
+        if (f < 0.01f) return 0.01f;
+        return f;
+    }
+
+    @Override
+    public double[] getPriorityHistogram(final double[] x) {
+        final int bins = x.length;
+        for (int i = 0; i < size; i++)
+            x[bin(current(i), bins - 1)]++;
+        //as Bag.getPriorityHistogram: normalized by the bins' total, which includes any counts x already had
+        double total = 0;
+        for (final double e : x)
+            total += e;
+        if (total > 0) {
+            for (int i = 0; i < bins; i++)
+                x[i] /= total;
+        }
+        return x;
+    }
+
+    @Override
+    public float getMinPriority() {
+        if (size == 0) return 0;
+        return current(minSlot());
+    }
+
+    @Override
+    public float getMaxPriority() {
+        float max = 0;
+        for (int i = 0; i < size; i++) {
+            final float c = current(i);
+            if (c > max) max = c;
+        }
+        return max;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return slots.keySet();
+    }
+
+    /** iterates the items in descending priority, as of when the iterator is created */
+    @Override
+    public Iterator<E> iterator() {
+        //priorities are not negative, so their float bits sort in the same order
+        final int n = size;
+        final long[] order = new long[n];
+        for (int i = 0; i < n; i++)
+            order[i] = (((long) Float.floatToIntBits(current(i))) << 32) | i;
+        Arrays.sort(order);
+
+        final Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++)
+            sorted[i] = sync((int) order[n - 1 - i]);
+        return (Iterator) Iterators.forArray(sorted);
+    }
+
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        for (int i = 0; i < size; i++)
+            action.accept(sync(i));
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + '{' + size + '/' + capacity + '}';
+    }
+}
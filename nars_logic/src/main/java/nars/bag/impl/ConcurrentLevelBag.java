@@ -0,0 +1,320 @@
+package nars.bag.impl;
+
+import com.google.common.collect.Iterators;
+import nars.bag.Bag;
+import nars.budget.Item;
+import nars.util.math.Distributor;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Lock-free variant of LevelBag which can be shared by several threads.
+ *
+ * Each level is a ConcurrentLinkedDeque of entries; an entry is the placement
+ * of an item in a level, at the priority it had when it was put.  An entry is
+ * claimed by compare-and-set of its live flag: whichever thread claims it
+ * (pop, remove, or a put merging a new budget into it) is the only one which
+ * removes it from the key index and accounts for it in size and mass.  Claimed
+ * entries which are still in a level's deque are discarded when they are reached
+ * by pop() or peekNext().
+ *
+ * A new item is first inserted in the key index, in a pending state which
+ * other threads wait on, then it reserves a slot in the size counter, so size()
+ * never exceeds capacity; when the bag is full, an item of the lowest non-empty
+ * level is displaced, as in LevelBag.
+ *
+ * Unlike LevelBag, which by default fires a selected level completely before
+ * moving to the next, every pop() and peekNext() selects a level through the
+ * distributor.  update() (the default Bag implementation) and clear() are not
+ * atomic, and iteration is weakly consistent.
+ */
+public class ConcurrentLevelBag<E extends Item<K>, K> extends Bag<K, E> {
+
+    public final int levels;
+    final int capacity;
+
+    /** shared distributor that produces the probability distribution of levels */
+    final short[] DISTRIBUTOR;
+    final AtomicInteger levelIndex = new AtomicInteger();
+
+    final ConcurrentHashMap<K, Entry<E>> index;
+    final ConcurrentLinkedDeque<Entry<E>>[] level;
+
+    final AtomicInteger size = new AtomicInteger();
+    final DoubleAdder mass = new DoubleAdder();
+
+
+    static final class Entry<E> {
+        /** states: in the index but not yet counted or placed in a level; in the bag; taken out */
+        static final int PENDING = 2, LIVE = 1, REMOVED = 0;
+
+        final E item;
+        final float priority;
+        final int level;
+
+        volatile int state;
+
+        static final AtomicIntegerFieldUpdater<Entry> STATE = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        Entry(E item, float priority, int level, int state) {
+            this.item = item;
+            this.priority = priority;
+            this.level = level;
+            this.state = state;
+        }
+
+        /** returns true if this call took the entry out of the bag */
+        boolean claim() {
+            return STATE.compareAndSet(this, LIVE, REMOVED);
+        }
+
+        boolean isLive() {
+            return state == LIVE;
+        }
+    }
+
+
+    public ConcurrentLevelBag(final int levels, final int capacity) {
+        this.levels = levels;
+        this.capacity = capacity;
+        this.index = new ConcurrentHashMap<>(capacity * 3 / 2);
+        this.level = new ConcurrentLinkedDeque[levels];
+        for (int i = 0; i < levels; i++)
+            level[i] = new ConcurrentLinkedDeque();
+
+        DISTRIBUTOR = Distributor.get(levels).order;
+    }
+
+    public int getLevel(final E item) {
+        final int l = (int)(item.getPriority() * levels);
+        if (l < 0) return 0;
+        if (l >= levels) return levels - 1;
+        return l;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        for (ConcurrentLinkedDeque<Entry<E>> l : level)
+            l.clear();
+        size.set(0);
+        mass.reset();
+    }
+
+    @Override
+    public E get(final K key) {
+        final Entry<E> e = index.get(key);
+        return (e != null) ? e.item : null;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return index.keySet();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public float mass() {
+        return (float) mass.sum();
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    public int getLevelSize(final int l) {
+        int n = 0;
+        for (Entry<E> e : level[l])
+            if (e.isLive()) n++;
+        return n;
+    }
+
+    /** accounts for an entry which the calling thread has claimed */
+    private void removed(final Entry<E> e) {
+        index.remove(e.item.name(), e);
+        mass.add(-e.priority);
+        size.decrementAndGet();
+    }
+
+    private Entry<E> newEntry(final E item, final int state) {
+        return new Entry(item, item.getPriority(), getLevel(item), state);
+    }
+
+    private void place(final Entry<E> e) {
+        mass.add(e.priority);
+        level[e.level].offerLast(e);
+    }
+
+    /** reserves a slot for a new item; returns false if the bag is full */
+    private boolean reserve() {
+        int s;
+        do {
+            s = size.get();
+            if (s >= capacity) return false;
+        } while (!size.compareAndSet(s, s + 1));
+        return true;
+    }
+
+    @Override
+    public E remove(final K key) {
+        Entry<E> e;
+        while ((e = index.get(key)) != null) {
+            if (e.claim()) {
+                removed(e);
+                return e.item;
+            }
+            //claimed, or not yet inserted, by another thread
+            Thread.yield();
+        }
+        return null;
+    }
+
+    @Override
+    public E put(final E newItem) {
+        if (newItem == null)
+            throw new RuntimeException("PUT item must be non-null");
+
+        final K key = newItem.name();
+
+        for (;;) {
+            final Entry<E> existing = index.get(key);
+
+            if (existing != null) {
+                if (!existing.claim()) {
+                    //claimed, or not yet inserted, by another thread
+                    Thread.yield();
+                    continue;
+                }
+
+                if (existing.item != newItem)
+                    merge(newItem, existing.item);
+
+                final Entry<E> e = newEntry(newItem, Entry.LIVE);
+                index.replace(key, existing, e);
+                mass.add(-existing.priority);
+                place(e);
+                return null;
+            }
+
+            final Entry<E> e = newEntry(newItem, Entry.PENDING);
+            if (index.putIfAbsent(key, e) != null)
+                continue; //inserted concurrently: merge into it
+
+            E overflow = null;
+            while (!reserve()) {
+                //full: take over the slot of an item of the lowest non-empty level not above the new item's
+                final Entry<E> displaced = claimLowest(e.level);
+                if (displaced != null) {
+                    index.remove(displaced.item.name(), displaced);
+                    mass.add(-displaced.priority);
+                    overflow = displaced.item;
+                    break;
+                }
+                if (size.get() >= capacity) {
+                    //insufficient budget
+                    e.state = Entry.REMOVED;
+                    index.remove(key, e);
+                    return newItem;
+                }
+            }
+
+            e.state = Entry.LIVE;
+            place(e);
+            return overflow;
+        }
+    }
+
+    private Entry<E> claimLowest(final int maxLevel) {
+        for (int i = 0; i <= maxLevel; i++) {
+            final Entry<E> e = pollLive(level[i]);
+            if (e != null)
+                return e;
+        }
+        return null;
+    }
+
+    /** claims the first live entry of a level, discarding claimed ones on the way */
+    private Entry<E> pollLive(final ConcurrentLinkedDeque<Entry<E>> l) {
+        Entry<E> e;
+        while ((e = l.pollFirst()) != null) {
+            if (e.claim())
+                return e;
+        }
+        return null;
+    }
+
+    /** selects a non-empty level through the distributor, or returns -1 if all are empty */
+    private int nextLevel() {
+        final short[] D = DISTRIBUTOR;
+        final int n = D.length;
+        final int start = (levelIndex.getAndIncrement() & Integer.MAX_VALUE) % n;
+        for (int i = 0; i < n; i++) {
+            final int l = D[(start + i) % n];
+            if (!level[l].isEmpty())
+                return l;
+        }
+        return -1;
+    }
+
+    @Override
+    public E pop() {
+        while (size.get() > 0) {
+            final int l = nextLevel();
+            if (l == -1) return null;
+
+            final Entry<E> e = pollLive(level[l]);
+            if (e != null) {
+                removed(e);
+                return e.item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E peekNext() {
+        while (size.get() > 0) {
+            final int l = nextLevel();
+            if (l == -1) return null;
+
+            final ConcurrentLinkedDeque<Entry<E>> q = level[l];
+            Entry<E> e;
+            while ((e = q.pollFirst()) != null) {
+                if (e.isLive()) {
+                    //rotate to the end of its level; if it is claimed meanwhile it will be discarded later
+                    q.offerLast(e);
+                    return e.item;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** iterates live items from the highest level to the lowest */
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E>[] l = new Iterator[levels];
+        for (int i = 0; i < levels; i++) {
+            l[i] = Iterators.transform(
+                    Iterators.filter(level[levels - 1 - i].iterator(), Entry::isLive),
+                    e -> e.item);
+        }
+        return Iterators.concat(l);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + size() + "/" + capacity + ")";
+    }
+}
@@ -0,0 +1,495 @@
+package nars.bag.impl;
+
+import com.google.common.collect.Iterators;
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
+import com.gs.collections.impl.map.mutable.primitive.IntIntHashMap;
+import nars.Events;
+import nars.Global;
+import nars.Memory;
+import nars.budget.Budget;
+import nars.concept.Concept;
+import nars.concept.TaskTable;
+import nars.narsese.NarseseParser;
+import nars.task.Task;
+import nars.term.Compound;
+import nars.term.Term;
+import nars.term.TermInterner;
+import nars.truth.DefaultTruth;
+import nars.truth.Truth;
+import nars.util.event.Reaction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concept index which keeps forgotten concepts in a memory-mapped file
+ * instead of on the heap.
+ *
+ * New and active concepts are held as usual.  At the end of each cycle, the
+ * concepts which were forgotten during it are written to the file and released;
+ * when one of them is requested again (by get(), remove() or iteration) it is
+ * read back and materialized as a new Concept instance, in the Forgotten state,
+ * which is released again at the end of the cycle unless it has become active.
+ * Heap use is then proportional to the active concepts plus 8 bytes per
+ * dormant concept for the hash index.
+ *
+ * A dormant concept keeps its budget and its belief, goal, question and quest
+ * tables; its term- and task- links are not kept, they are rebuilt from its
+ * term-link templates and tasks as it is used again.  Task history, cause and
+ * parent references are not kept either.  Materialization emits ConceptNew as
+ * for any other new Concept instance.
+ *
+ * Records are appended to the file; space of records which have been read back
+ * is reclaimed by compaction when the file needs to grow.
+ *
+ * Record layout: next record offset with the same term hash (int), record length
+ * (int, negative once removed), term hash (int), term (Narsese, UTF-8), budget,
+ * then the belief, goal, question and quest tables.
+ */
+public class MappedCacheBag extends CacheBag<Term, Concept> implements Reaction<Class> {
+
+    static final int NEXT = 0, LENGTH = 4, HASH = 8, HEADER = 12;
+    static final int NONE = -1;
+
+    private final Map<Term, Concept> resident = Global.newHashMap(1024);
+
+    /** term hash -> offset of the first record with that hash; records with equal hashes are chained */
+    private final IntIntHashMap dormant = new IntIntHashMap();
+    private int dormantCount;
+
+    /** concepts forgotten during the current cycle, written out at its end */
+    private final List<Concept> forgotten = Global.newArrayList();
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private MappedByteBuffer data;
+
+    /** end of the last record */
+    private int end;
+    /** bytes of removed records, reclaimed by compact() */
+    private int garbage;
+
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(4096);
+
+    private Memory memory;
+    private NarseseParser parser;
+
+
+    /** uses a temporary file which is deleted on exit */
+    public MappedCacheBag() throws IOException {
+        this(tempFile(), 1024 * 1024);
+    }
+
+    public MappedCacheBag(File f, int initialSize) throws IOException {
+        super();
+        this.file = new RandomAccessFile(f, "rw");
+        this.channel = file.getChannel();
+        map(initialSize);
+    }
+
+    static File tempFile() throws IOException {
+        File f = File.createTempFile("concepts", ".map");
+        f.deleteOnExit();
+        return f;
+    }
+
+    private void map(int size) throws IOException {
+        data = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /** attaches to the memory of the first concept, to be notified of forgotten concepts */
+    private void attach(final Memory m) {
+        if (memory == m) return;
+        if (memory != null)
+            throw new RuntimeException(this + " already used by another Memory");
+
+        memory = m;
+        m.event.on(this, Events.ConceptForget.class, Events.CycleEnd.class);
+    }
+
+    @Override
+    public synchronized void event(final Class event, final Object... args) {
+        if (event == Events.ConceptForget.class) {
+            Concept c = (Concept) args[0];
+            if (resident.get(c.getTerm()) == c)
+                forgotten.add(c);
+        }
+        else if (event == Events.CycleEnd.class) {
+            flush();
+        }
+    }
+
+    /** writes and releases the concepts forgotten since the last call */
+    public synchronized void flush() {
+        final int n = forgotten.size();
+        for (int i = 0; i < n; i++) {
+            final Concept c = forgotten.get(i);
+
+            //may have been reactivated or deleted since
+            if (c.isForgotten() && resident.get(c.getTerm()) == c) {
+                store(c);
+                resident.remove(c.getTerm());
+            }
+        }
+        forgotten.clear();
+    }
+
+    @Override
+    public synchronized void clear() {
+        resident.clear();
+        forgotten.clear();
+        dormant.clear();
+        dormantCount = 0;
+        end = garbage = 0;
+    }
+
+    @Override
+    public synchronized Concept get(final Term key) {
+        Concept c = resident.get(key);
+        if (c == null) {
+            int r = find(key);
+            if (r != NONE)
+                c = materialize(r);
+        }
+        return c;
+    }
+
+    @Override
+    public synchronized Concept remove(final Term key) {
+        Concept c = get(key);
+        if (c != null)
+            resident.remove(key);
+        return c;
+    }
+
+    @Override
+    public synchronized void put(final Concept c) {
+        attach(c.getMemory());
+
+        final Term t = c.getTerm();
+        if (dormantCount > 0) {
+            int r = find(t);
+            if (r != NONE)
+                unlink(r);
+        }
+        resident.put(t, c);
+    }
+
+    @Override
+    public synchronized int size() {
+        return resident.size() + dormantCount;
+    }
+
+    /** number of concepts which are currently only in the file */
+    public int dormantSize() {
+        return dormantCount;
+    }
+
+    /** bytes used by records in the file */
+    public int fileSize() {
+        return end;
+    }
+
+    /** iterates all concepts; dormant concepts are materialized as they are reached,
+     *  so the iteration should be completed before the end of the cycle */
+    @Override
+    public synchronized Iterator<Concept> iterator() {
+        final List<Concept> r = new ArrayList(resident.values());
+        if (dormantCount == 0)
+            return r.iterator();
+
+        final IntArrayList records = new IntArrayList(dormantCount);
+        dormant.forEachValue(first -> {
+            for (int o = first; o != NONE; o = data.getInt(o + NEXT))
+                records.add(o);
+        });
+
+        Iterator<Concept> d = new Iterator<Concept>() {
+            int i = 0;
+            @Override public boolean hasNext() {
+                return i < records.size();
+            }
+            @Override public Concept next() {
+                synchronized (MappedCacheBag.this) {
+                    return materialize(records.get(i++));
+                }
+            }
+        };
+        return Iterators.concat(r.iterator(), d);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + resident.size() + " resident, " + dormantCount + " dormant]";
+    }
+
+    /** offset of the record for the term, or NONE */
+    private int find(final Term t) {
+        int o = dormant.getIfAbsent(t.hashCode(), NONE);
+        if (o == NONE) return NONE;
+
+        final byte[] name = t.toString().getBytes(StandardCharsets.UTF_8);
+        for ( ; o != NONE; o = data.getInt(o + NEXT)) {
+            if (termEquals(o, name))
+                return o;
+        }
+        return NONE;
+    }
+
+    private boolean termEquals(final int o, final byte[] name) {
+        final int len = data.getShort(o + HEADER) & 0xffff;
+        if (len != name.length) return false;
+        final int start = o + HEADER + 2;
+        for (int i = 0; i < len; i++)
+            if (data.get(start + i) != name[i]) return false;
+        return true;
+    }
+
+    /** removes the record from its hash chain and marks its space as garbage */
+    private void unlink(final int r) {
+        final int hash = data.getInt(r + HASH);
+        final int next = data.getInt(r + NEXT);
+
+        int o = dormant.get(hash);
+        if (o == r) {
+            if (next == NONE) dormant.remove(hash);
+            else dormant.put(hash, next);
+        }
+        else {
+            int prev;
+            do {
+                prev = o;
+                o = data.getInt(o + NEXT);
+            } while (o != r);
+            data.putInt(prev + NEXT, next);
+        }
+
+        final int len = data.getInt(r + LENGTH);
+        data.putInt(r + LENGTH, -len);
+        garbage += len;
+        dormantCount--;
+    }
+
+
+    private void store(final Concept c) {
+        ByteBuffer b = writeBuffer;
+        b.clear();
+
+        final Term term = c.getTerm();
+        final int hash = term.hashCode();
+
+        for (;;) {
+            try {
+                b.putInt(NONE).putInt(0).putInt(hash);
+                putString(b, term.toString());
+
+                final Budget budget = c.getBudget();
+                b.putFloat(budget.getPriority()).putFloat(budget.getDurability()).putFloat(budget.getQuality());
+                b.putLong(budget.getLastForgetTime());
+
+                putTasks(b, term, c.getBeliefs());
+                putTasks(b, term, c.getGoals());
+                putTasks(b, term, c.getQuestions());
+                putTasks(b, term, c.getQuests());
+                break;
+            }
+            catch (java.nio.BufferOverflowException e) {
+                b = writeBuffer = ByteBuffer.allocate(b.capacity() * 2);
+            }
+        }
+
+        final int len = b.position();
+        final int r = allocate(len);
+
+        b.putInt(NEXT, dormant.getIfAbsent(hash, NONE));
+        b.putInt(LENGTH, len);
+        b.flip();
+
+        final ByteBuffer dst = data.duplicate();
+        dst.position(r);
+        dst.put(b);
+
+        dormant.put(hash, r);
+        dormantCount++;
+    }
+
+    private static void putString(final ByteBuffer b, final String s) {
+        final byte[] x = s.getBytes(StandardCharsets.UTF_8);
+        if (x.length > 0xffff)
+            throw new RuntimeException("term too long to store: " + s);
+        b.putShort((short) x.length);
+        b.put(x);
+    }
+
+    private static String getString(final ByteBuffer b) {
+        final byte[] x = new byte[b.getShort() & 0xffff];
+        b.get(x);
+        return new String(x, StandardCharsets.UTF_8);
+    }
+
+    private static void putTasks(final ByteBuffer b, final Term conceptTerm, final TaskTable table) {
+        b.putInt(table.size());
+        for (final Task t : table) {
+            b.putChar(t.getPunctuation());
+
+            final Truth truth = t.getTruth();
+            if (truth != null) {
+                b.put((byte) 1);
+                b.putFloat(truth.getFrequency()).putFloat(truth.getConfidence());
+            }
+            else {
+                b.put((byte) 0);
+            }
+
+            b.putFloat(t.getPriority()).putFloat(t.getDurability()).putFloat(t.getQuality());
+            b.putLong(t.getCreationTime()).putLong(t.getOccurrenceTime());
+            b.putInt(t.getDuration());
+            b.put((byte) (t.isCyclic() ? 1 : 0));
+
+            final long[] e = t.getEvidentialSet();
+            b.put((byte) e.length);
+            for (final long x : e)
+                b.putLong(x);
+
+            //the task's term is usually the concept's
+            final Compound tt = t.getTerm();
+            if (tt.equals(conceptTerm)) {
+                b.put((byte) 0);
+            }
+            else {
+                b.put((byte) 1);
+                putString(b, tt.toString());
+            }
+        }
+    }
+
+    private void getTasks(final ByteBuffer b, final Compound conceptTerm, final TaskTable table) {
+        final int n = b.getInt();
+        for (int i = 0; i < n; i++) {
+            final char punc = b.getChar();
+            final Truth truth = (b.get() != 0) ? DefaultTruth.the(b.getFloat(), b.getFloat()) : null;
+            final float p = b.getFloat(), d = b.getFloat(), q = b.getFloat();
+            final long creation = b.getLong(), occurrence = b.getLong();
+            final int duration = b.getInt();
+            final boolean cyclic = b.get() != 0;
+
+            final long[] e = new long[b.get()];
+            for (int j = 0; j < e.length; j++)
+                e[j] = b.getLong();
+
+            final Compound term = (b.get() == 0) ? conceptTerm : (Compound) parse(getString(b));
+
+            final Task t = new Task(term, punc, truth, p, d, q);
+            t.setDuration(duration);
+            t.setTime(creation, occurrence);
+            t.setEvidence(e);
+            t.setCyclic(cyclic);
+
+            //tables are stored in their order
+            table.add(t);
+        }
+    }
+
+    private Term parse(final String s) {
+        if (parser == null)
+            parser = NarseseParser.newParser(memory);
+        return TermInterner.intern(parser.parseTermNormalized(s));
+    }
+
+    private Concept materialize(final int r) {
+        final ByteBuffer b = data.duplicate();
+        b.position(r + HEADER);
+
+        final Term term = parse(getString(b));
+        final Budget budget = new Budget(b.getFloat(), b.getFloat(), b.getFloat());
+        final long lastForgetTime = b.getLong();
+
+        unlink(r);
+
+        //adds the concept to this index through put()
+        final Concept c = memory.newConcept(budget, term);
+        if (lastForgetTime != -1)
+            c.getBudget().setLastForgetTime(lastForgetTime);
+
+        if (term instanceof Compound) {
+            final Compound ct = (Compound) c.getTerm();
+            getTasks(b, ct, c.getBeliefs());
+            getTasks(b, ct, c.getGoals());
+            getTasks(b, ct, c.getQuestions());
+            getTasks(b, ct, c.getQuests());
+        }
+
+        //released again at the end of the cycle unless reactivated
+        c.setState(Concept.State.Forgotten);
+
+        return c;
+    }
+
+    /** returns the offset for a new record of the given length, compacting or growing the file when necessary */
+    private int allocate(final int len) {
+        final int capacity = data.capacity();
+        if (end + len > capacity) {
+            if (garbage > capacity / 2)
+                compact();
+
+            if (end + len > data.capacity()) {
+                long next = Math.max((long) capacity * 2, (long) end + len);
+                if (next > Integer.MAX_VALUE)
+                    throw new RuntimeException(this + " exceeds maximum file size");
+                try {
+                    map((int) next);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        final int r = end;
+        end += len;
+        return r;
+    }
+
+    /** moves the remaining records to the start of the file and rebuilds the hash index */
+    private void compact() {
+        dormant.clear();
+
+        final ByteBuffer src = data.duplicate(), dst = data.duplicate();
+        byte[] tmp = new byte[1024];
+
+        int to = 0;
+        for (int from = 0; from < end; ) {
+            int len = data.getInt(from + LENGTH);
+            if (len < 0) {
+                from -= len;
+                continue;
+            }
+
+            if (from != to) {
+                if (tmp.length < len) tmp = new byte[len];
+                src.position(from);
+                src.get(tmp, 0, len);
+                dst.position(to);
+                dst.put(tmp, 0, len);
+            }
+
+            final int hash = data.getInt(to + HASH);
+            data.putInt(to + NEXT, dormant.getIfAbsent(hash, NONE));
+            dormant.put(hash, to);
+
+            from += len;
+            to += len;
+        }
+
+        end = to;
+        garbage = 0;
+    }
+
+}
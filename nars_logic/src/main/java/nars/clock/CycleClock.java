@@ -17,6 +17,11 @@ public class CycleClock implements Clock {
         return t;
     }
 
+    /** sets the current time, ex: when a memory is restored */
+    public void set(long t) {
+        this.t = t;
+    }
+
     public void tick() {
         t++;
     }
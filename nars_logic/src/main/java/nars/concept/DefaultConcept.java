@@ -96,7 +96,10 @@ public class DefaultConcept extends Item<Term> implements Concept {
         this.creationTime = memory.time();
         this.deletionTime = creationTime - 1; //set to one cycle before created meaning it was potentially reborn
 
-        this.beliefs = new ArrayListBeliefTable(memory.param.conceptBeliefsMax.intValue());
+        final int maxTemporalBeliefs = memory.param.conceptTemporalBeliefsMax.intValue();
+        this.beliefs = (maxTemporalBeliefs > 0) ?
+                new TemporalBeliefTable(memory.param.conceptBeliefsMax.intValue(), maxTemporalBeliefs) :
+                new ArrayListBeliefTable(memory.param.conceptBeliefsMax.intValue());
         this.goals = new ArrayListBeliefTable(memory.param.conceptGoalsMax.intValue());
 
         final int maxQuestions = memory.param.conceptQuestionsMax.intValue();
@@ -433,9 +436,8 @@ public class DefaultConcept extends Item<Term> implements Concept {
             }
 
             float Satisfaction = 1.0f - AntiSatisfaction;
-            Truth T = BasicTruth.clone(goal.getTruth());
-
-            T.setFrequency((float) (T.getFrequency() - Satisfaction)); //decrease frequency according to satisfaction value
+            final Truth G = goal.getTruth();
+            Truth T = BasicTruth.get(G.getFrequency() - Satisfaction, G.getConfidence(), G.getEpsilon()); //decrease frequency according to satisfaction value
 
             if (AntiSatisfaction >= Global.SATISFACTION_TRESHOLD && goal.sentence.truth.getExpectation() > nal.memory.param.executionThreshold.get()) {
 
@@ -25,6 +25,9 @@ public interface TaskTable extends Iterable<Task> {
      */
     public Task add(Task q, Equality<Task> e, Concept c);
 
+    /** appends a task as-is, without ranking or checking for duplicates, as when a table is restored */
+    public boolean add(Task t);
+
     /**
      *
      * @return null if no duplicate was discovered, or the first Task that matched if one was
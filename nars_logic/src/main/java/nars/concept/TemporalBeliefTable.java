@@ -0,0 +1,242 @@
+package nars.concept;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import nars.Global;
+import nars.Memory;
+import nars.concept.ArrayListBeliefTable.BeliefConfidenceAndCurrentTime;
+import nars.task.Task;
+import javolution.util.function.Equality;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Stores eternal and temporal beliefs separately, each with its own capacity.
+ *
+ * Eternal beliefs are ranked by confidence alone, in an ArrayListBeliefTable.
+ * Temporal beliefs are kept sorted by occurrence time, so:
+ *   - the best belief near a time (BeliefConfidenceAndCurrentTime) is found by
+ *     a binary search and a scan outward, which stops as soon as no farther
+ *     belief could rank higher than the best one found
+ *   - a duplicate of an input, which has the same occurrence time, is found by
+ *     binary search
+ *   - when full, the belief displaced is the weaker of the earliest and the
+ *     latest, which are the farthest from the present
+ * so a large table costs little more to use than a small one, which suits
+ * concepts of frequent events.
+ *
+ * Iterates the eternal beliefs, strongest first, then the temporal ones,
+ * latest first.
+ */
+public class TemporalBeliefTable implements BeliefTable {
+
+    protected final ArrayListBeliefTable eternal;
+
+    /** sorted by occurrence time, ties in the order of insertion */
+    protected final ArrayList<Task> temporal;
+    protected int temporalCapacity;
+
+    /** bounds of the confidences and durations of the temporal beliefs,
+     *  not lowered by removals, for ending the search of the best belief */
+    private float maxConfidence = 0;
+    private int maxDuration = 0;
+
+    /** the time of the latest insertion, at which top() ranks the temporal beliefs */
+    private long now = 0;
+
+
+    public TemporalBeliefTable(int eternalCapacity, int temporalCapacity) {
+        this.eternal = new ArrayListBeliefTable(eternalCapacity);
+        this.temporal = new ArrayList(temporalCapacity);
+        this.temporalCapacity = temporalCapacity;
+    }
+
+    /** sets the capacity of the eternal beliefs */
+    @Override
+    public void setCapacity(int newCapacity) {
+        eternal.setCapacity(newCapacity);
+    }
+
+    public void setTemporalCapacity(int newCapacity) {
+        this.temporalCapacity = newCapacity;
+    }
+
+    @Override
+    public int size() {
+        return eternal.size() + temporal.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return eternal.isEmpty() && temporal.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        eternal.clear();
+        temporal.clear();
+        maxConfidence = 0;
+        maxDuration = 0;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return Iterators.concat(eternal.iterator(), Lists.reverse(temporal).iterator());
+    }
+
+    /** appends a task without ranking it, as when a table is restored */
+    @Override
+    public boolean add(final Task t) {
+        if (t.isEternal())
+            return eternal.add(t);
+        insert(t);
+        return true;
+    }
+
+    @Override
+    public Task add(final Task q, final Equality<Task> e, final Concept c) {
+        final Task existing = getFirstEquivalent(q, e);
+        if (existing != null) return existing;
+        return add(q, new BeliefConfidenceAndCurrentTime(c.getMemory().time()), c);
+    }
+
+    @Override
+    public Task add(final Task input, final Ranker r, final Concept c) {
+        final Memory memory = c.getMemory();
+        now = memory.time();
+
+        if (r == null) {
+            //just return the top item if no ranker is provided
+            if (!isEmpty()) return top();
+            add(input);
+            return input;
+        }
+
+        if (input.isEternal())
+            return eternal.add(input, r, c);
+
+        final long when = input.getOccurrenceTime();
+        final int n = temporal.size();
+        for (int i = lowerBound(when); i < n; i++) {
+            final Task existing = temporal.get(i);
+            if (existing.getOccurrenceTime() != when) break;
+            //truth and stamp:
+            if (input.equivalentTo(existing, false, false, true, true, false))
+                return existing;
+        }
+
+        if (n >= temporalCapacity) {
+            if (n == 0) {
+                memory.removed(input, "Unbelievable/Undesirable");
+                return null;
+            }
+            final float first = r.rank(temporal.get(0)), last = r.rank(temporal.get(n - 1));
+            final int weakest = (Float.isNaN(first) || (!Float.isNaN(last) && first <= last)) ? 0 : n - 1;
+            final float weakestRank = (weakest == 0) ? first : last;
+            if (!Float.isNaN(weakestRank) && !(r.rank(input) >= weakestRank)) {
+                memory.removed(input, "Unbelievable/Undesirable");
+                return null;
+            }
+            memory.removed(temporal.remove(weakest), "Displaced");
+        }
+
+        insert(input);
+        return input;
+    }
+
+    private void insert(final Task t) {
+        temporal.add(upperBound(t.getOccurrenceTime()), t);
+        maxConfidence = Math.max(maxConfidence, t.getTruth().getConfidence());
+        maxDuration = Math.max(maxDuration, t.getDuration());
+    }
+
+    /** index of the first temporal belief occurring at or after a time */
+    private int lowerBound(final long when) {
+        int lo = 0, hi = temporal.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (temporal.get(mid).getOccurrenceTime() < when) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** index of the first temporal belief occurring after a time */
+    private int upperBound(final long when) {
+        int lo = 0, hi = temporal.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (temporal.get(mid).getOccurrenceTime() <= when) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    @Override
+    public Task top(final boolean eternal, final boolean temporal) {
+        if (eternal && temporal)
+            return top(new BeliefConfidenceAndCurrentTime(now));
+        if (eternal)
+            return this.eternal.top(true, false);
+        if (temporal)
+            return nearest(new BeliefConfidenceAndCurrentTime(now), null, Float.MIN_VALUE);
+        return null;
+    }
+
+    @Override
+    public Task top(final Ranker r) {
+        if (r instanceof BeliefConfidenceAndCurrentTime) {
+            final Task e = eternal.top(r);
+            return nearest((BeliefConfidenceAndCurrentTime) r, e, e != null ? r.rank(e) : Float.MIN_VALUE);
+        }
+
+        float s = Float.MIN_VALUE;
+        Task b = null;
+        for (final Task t : this) {
+            final float x = r.rank(t, s);
+            if (Float.isFinite(x) && (x > s)) {
+                s = x;
+                b = t;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * the temporal belief ranking highest at r.now, if it ranks higher than the
+     * current best, visiting the beliefs in order of their distance from r.now
+     * while a belief that far could still rank higher.
+     */
+    protected Task nearest(final BeliefConfidenceAndCurrentTime r, Task best, float bestRank) {
+        final long now = r.now;
+        final int n = temporal.size();
+        int hi = lowerBound(now), lo = hi - 1;
+
+        while (lo >= 0 || hi < n) {
+            final long dLo = lo >= 0 ? now - temporal.get(lo).getOccurrenceTime() : Long.MAX_VALUE;
+            final long dHi = hi < n ? temporal.get(hi).getOccurrenceTime() - now : Long.MAX_VALUE;
+            final long d = Math.min(dLo, dHi);
+
+            if (d > 0) {
+                final float bound = maxConfidence / (1.0f + (d / (float) maxDuration) * Global.rankDecayPerTimeDuration);
+                if (bound <= bestRank) break;
+            }
+
+            final Task t = (dHi <= dLo) ? temporal.get(hi++) : temporal.get(lo--);
+            final float x = r.rank(t, bestRank);
+            if (Float.isFinite(x) && (x > bestRank)) {
+                bestRank = x;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Task project(final Task t, final long now) {
+        final Task closest = top(new BeliefConfidenceAndCurrentTime(now));
+        if (closest == null) return null;
+        return closest.projectTask(t.getOccurrenceTime(), now);
+    }
+}
@@ -5,6 +5,8 @@ import nars.Memory;
 import nars.bag.Bag;
 import nars.concept.Concept;
 import nars.link.TaskLink;
+import nars.meter.CycleProfiler;
+import nars.meter.CycleProfiler.Phase;
 import nars.process.ConceptProcess;
 import nars.process.TaskProcess;
 import nars.task.Sentence;
@@ -91,31 +93,87 @@ public class DefaultCycle extends SequentialCycle {
     @Override
     public synchronized void cycle() {
 
+        final CycleProfiler p = memory.profiler;
+
+        //each phase is ended even if it fails, so that the profiler's nesting stays balanced
+
         //inputs
-        memory.perceiveNext(memory.param.inputsMaxPerCycle.get());
+        if (p != null) p.begin();
+        try {
+            memory.perceiveNext(memory.param.inputsMaxPerCycle.get());
+        }
+        finally {
+            if (p != null) p.end(Phase.Perceive);
+        }
 
 
         //all new tasks
         int numNewTasks = newTasks.size();
-        if (numNewTasks > 0)
-            runNewTasks();
+        if (numNewTasks > 0) {
+            if (p != null) p.begin();
+            try {
+                runNewTasks();
+            }
+            finally {
+                if (p != null) p.end(Phase.NewTasks);
+            }
+        }
 
 
         //1 novel tasks if numNewTasks empty
         if (newTasks.isEmpty()) {
-            int numNovelTasks = 1;
-            for (int i = 0; i < numNovelTasks; i++) {
-                Runnable novel = nextNovelTask();
-                if (novel != null) novel.run();
-                else
-                    break;
+            if (p != null) p.begin();
+            try {
+                int numNovelTasks = 1;
+                for (int i = 0; i < numNovelTasks; i++) {
+                    Runnable novel = nextNovelTask();
+                    if (novel != null) novel.run();
+                    else
+                        break;
+                }
+            }
+            finally {
+                if (p != null) p.end(Phase.NovelTask);
             }
         }
 
 
         //1 concept if (memory.newTasks.isEmpty())*/
         int conceptsToFire = newTasks.isEmpty() ? memory.param.conceptsFiredPerCycle.get() : 0;
+        if (conceptsToFire > 0) {
+            if (p != null) p.begin();
+            try {
+                fireConcepts(conceptsToFire);
+            }
+            finally {
+                if (p != null) p.end(Phase.FireConcepts);
+            }
+        }
 
+        if (p != null) p.begin();
+        try {
+            concepts.forgetNext(
+                    memory.param.conceptForgetDurations,
+                    memory.random.nextFloat() * Global.CONCEPT_FORGETTING_EXTRA_DEPTH,
+                    memory);
+        }
+        finally {
+            if (p != null) p.end(Phase.Forget);
+        }
+
+        if (p != null) p.begin();
+        try {
+            memory.runNextTasks();
+        }
+        finally {
+            if (p != null) p.end(Phase.NextTasks);
+        }
+        run.clear();
+
+    }
+
+    /** selects and fires up to N concepts, one after another */
+    protected void fireConcepts(int conceptsToFire) {
         float tasklinkForgetDurations = memory.param.taskLinkForgetDurations.floatValue();
         float conceptForgetDurations = memory.param.conceptForgetDurations.floatValue();
         for (int i = 0; i < conceptsToFire; i++) {
@@ -124,15 +182,6 @@ public class DefaultCycle extends SequentialCycle {
                 f.run();
             }
         }
-
-        concepts.forgetNext(
-                memory.param.conceptForgetDurations,
-                memory.random.nextFloat() * Global.CONCEPT_FORGETTING_EXTRA_DEPTH,
-                memory);
-
-        memory.runNextTasks();
-        run.clear();
-
     }
 
     private void runNewTasks() {
@@ -213,7 +262,7 @@ public class DefaultCycle extends SequentialCycle {
     }
 
 
-    private ConceptProcess nextTaskLink(final Concept concept, float taskLinkForgetDurations) {
+    protected ConceptProcess nextTaskLink(final Concept concept, float taskLinkForgetDurations) {
         if (concept == null) return null;
 
 
@@ -243,53 +292,3 @@ public class DefaultCycle extends SequentialCycle {
 
 
 }
-      /*
-    //private final Cycle loop = new Cycle();
-    class Cycle {
-        public final AtomicInteger threads = new AtomicInteger();
-        private final int numThreads;
-
-        public Cycle() {
-            this(Parameters.THREADS);
-        }
-
-        public Cycle(int threads) {
-            this.numThreads = threads;
-            this.threads.set(threads);
-
-        }
-
-        int t(int threads) {
-            if (threads == 1) return 1;
-            else {
-                return threads;
-            }
-        }
-
-
-
-
-        public int newTasksPriority() {
-            return memory.newTasks.size();
-        }
-
-        public int novelTasksPriority() {
-            if (memory.getNewTasks().isEmpty()) {
-                return t(numThreads);
-            } else {
-                return 0;
-            }
-        }
-
-        public int conceptsPriority() {
-            if (memory.getNewTasks().isEmpty()) {
-                return memory.param.conceptsFiredPerCycle.get();
-            } else {
-                return 0;
-            }
-        }
-
-
-    }
-
-    */
@@ -0,0 +1,200 @@
+package nars.cycle;
+
+import nars.Global;
+import nars.Memory;
+import nars.bag.Bag;
+import nars.concept.Concept;
+import nars.link.TaskLink;
+import nars.link.TermLink;
+import nars.process.ConceptProcess;
+import nars.task.Sentence;
+import nars.task.Task;
+import nars.term.Compound;
+import nars.term.Term;
+import nars.util.data.random.XORShiftRandom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * DefaultCycle variant which fires the cycle's batch of concepts concurrently
+ * on a ForkJoinPool.
+ *
+ * Selection of the (concept, tasklink) premises is done sequentially on the
+ * cycle's thread, as are the updates of each selected concept's links (which may
+ * create new concepts) and the selection of the termlinks each premise will fire,
+ * since the bags share the memory's random generator.  Only the rule application
+ * itself runs in parallel; each premise has its own random generator, seeded in
+ * selection order from the memory's generator.
+ *
+ * A concept, and a task, is fired at most once per batch, so the task- and termlink
+ * bags of a fired concept and the budget of a fired task are only modified by one
+ * thread at a time.  The other effects of a premise on state which premises share
+ * (derived tasks, emitted events, Memory.defer updates ex: EmotionMeter) are buffered
+ * per premise and replayed on the cycle's thread at the end of the batch, in
+ * selection order.  So results for a fixed random seed are repeatable, and the same
+ * for any number of threads.
+ */
+public class ParallelCycle extends DefaultCycle {
+
+    private final ForkJoinPool pool;
+
+    /** effect buffer of the premise currently running on a worker thread */
+    private final ThreadLocal<List<Runnable>> effects = new ThreadLocal();
+
+    private final List<ParallelConceptProcess> batch = new ArrayList();
+
+    public ParallelCycle(Bag<Term, Concept> concepts, Bag<Sentence<Compound>, Task<Compound>> novelTasks) {
+        this(concepts, novelTasks, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelCycle(Bag<Term, Concept> concepts, Bag<Sentence<Compound>, Task<Compound>> novelTasks, int threads) {
+        this(concepts, novelTasks, new ForkJoinPool(threads));
+    }
+
+    public ParallelCycle(Bag<Term, Concept> concepts, Bag<Sentence<Compound>, Task<Compound>> novelTasks, ForkJoinPool pool) {
+        super(concepts, novelTasks);
+        this.pool = pool;
+    }
+
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void reset(Memory m, boolean delete) {
+        super.reset(m, delete);
+        batch.clear();
+        if (delete)
+            pool.shutdown();
+    }
+
+    @Override
+    public boolean addTask(Task t) {
+        final List<Runnable> buffer = effects.get();
+        if (buffer != null) {
+            //in parallel phase: replayed at the end of the batch
+            return buffer.add(() -> super.addTask(t));
+        }
+        return super.addTask(t);
+    }
+
+    @Override
+    protected ConceptProcess newConceptProcess(Concept c, TaskLink t) {
+        return new ParallelConceptProcess(c, t, new XORShiftRandom(memory.random.nextLong()));
+    }
+
+    @Override
+    protected void fireConcepts(int conceptsToFire) {
+
+        final float tasklinkForgetDurations = memory.param.taskLinkForgetDurations.floatValue();
+        final float conceptForgetDurations = memory.param.conceptForgetDurations.floatValue();
+
+        //1. sequential selection; each concept and task at most once per batch
+        final Set<Object> selected = Collections.newSetFromMap(new IdentityHashMap(conceptsToFire * 2));
+        for (int i = 0; i < conceptsToFire; i++) {
+            Concept c = nextConceptToProcess(conceptForgetDurations);
+            if (c == null || !selected.add(c)) continue;
+
+            ParallelConceptProcess f = (ParallelConceptProcess) nextTaskLink(c, tasklinkForgetDurations);
+            if (f != null && selected.add(f.getCurrentTask())) {
+                f.select();
+                batch.add(f);
+            }
+        }
+
+        final int n = batch.size();
+        if (n == 0) return;
+
+        //2. parallel firing
+        if (n == 1 || getThreads() == 1) {
+            for (int i = 0; i < n; i++)
+                batch.get(i).run();
+        }
+        else {
+            final List<ForkJoinTask<?>> pending = new ArrayList(n);
+            for (int i = 0; i < n; i++)
+                pending.add(pool.submit(batch.get(i)));
+            for (int i = 0; i < n; i++)
+                pending.get(i).join();
+        }
+
+        //3. barrier: replay the effects in selection order
+        for (int i = 0; i < n; i++) {
+            final List<Runnable> e = batch.get(i).effects;
+            for (int j = 0; j < e.size(); j++)
+                e.get(j).run();
+        }
+
+        batch.clear();
+    }
+
+
+    protected final class ParallelConceptProcess extends DefaultConceptProcess {
+
+        private final Random rng;
+        final List<Runnable> effects = Global.newArrayList(0);
+        private final List<TermLink> termLinks = Global.newArrayList(0);
+
+        public ParallelConceptProcess(Concept concept, TaskLink taskLink, Random rng) {
+            super(concepts, concept, taskLink);
+            this.rng = rng;
+        }
+
+        @Override
+        public Random getRandom() {
+            return rng;
+        }
+
+        /** the sequential part of the premise, run on the cycle's thread: marks
+         *  the concept as used, updates its links and selects the termlinks to fire */
+        void select() {
+            if (!currentConcept.isActive()) return;
+
+            super.prepare();
+
+            if (currentTaskLink.type == TermLink.TRANSFORM || currentConcept.getTermLinks().size() == 0)
+                return;
+
+            currentConcept.updateTermLinks();
+
+            final float noveltyHorizon = memory.param.noveltyHorizon.floatValue();
+            for (int i = 0; i < termLinksToFire; i++) {
+                TermLink t = nextTermLink(noveltyHorizon, termLinksToFire);
+                if (t != null)
+                    termLinks.add(t);
+            }
+        }
+
+        @Override
+        protected void prepare() {
+            //already done in select()
+        }
+
+        @Override
+        protected void processTerms() {
+            for (int i = 0; i < termLinks.size(); i++)
+                processTerm(termLinks.get(i));
+        }
+
+        @Override
+        public void run() {
+            ParallelCycle.this.effects.set(effects);
+            memory.event.deferTo(effects);
+            try {
+                super.run();
+            }
+            finally {
+                memory.event.deferTo(null);
+                ParallelCycle.this.effects.remove();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,472 @@
+package nars.io;
+
+import nars.Memory;
+import nars.bag.Bag;
+import nars.budget.Budget;
+import nars.clock.CycleClock;
+import nars.concept.Concept;
+import nars.concept.ConceptActivator;
+import nars.concept.DefaultConcept;
+import nars.concept.TaskTable;
+import nars.link.TaskLink;
+import nars.link.TermLink;
+import nars.link.TermLinkKey;
+import nars.link.TermLinkTemplate;
+import nars.narsese.NarseseParser;
+import nars.task.Sentence;
+import nars.task.Task;
+import nars.term.Compound;
+import nars.term.Term;
+import nars.term.TermInterner;
+import nars.truth.DefaultTruth;
+import nars.truth.Truth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary snapshot of the contents of a Memory: its clock time and stamp serial,
+ * and every concept of its index with its budget and state, belief, goal,
+ * question and quest tables, termlink template budgets, and tasklink and
+ * termlink bags.
+ *
+ * Terms are written once each, in a table referenced by index, and so are
+ * tasks, which are shared by the tables and tasklinks of several concepts.  A
+ * task's parent task, parent belief and best solution are kept when they are
+ * themselves in the snapshot.
+ *
+ * Restoring replaces the contents of the target Memory, which is reset first
+ * and should have been built with the same parameters.  Not included: inputs
+ * and tasks not yet processed (ex: novel tasks of the cycle), TaskLink records
+ * of recently used termlinks, operation causes and task histories.  The clock is
+ * restored if it is a CycleClock; other clocks measure external time.
+ */
+public class MemorySnapshot {
+
+    static final int MAGIC = 0x4e415253; //"NARS"
+    static final int VERSION = 1;
+
+    static final byte CYCLIC = 1, REVISIBLE = 2, TEMPORAL_INDUCTABLE = 4;
+
+    private MemorySnapshot() {
+    }
+
+
+    static List<TermLinkTemplate> templates(final Concept c) {
+        return (c instanceof DefaultConcept) ? ((DefaultConcept) c).getTermLinkTemplates() : null;
+    }
+
+    public static void write(final Memory m, final OutputStream os) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+        new Writer(m, out).write();
+        out.flush();
+    }
+
+    /** replaces the contents of the memory with a snapshot; returns the number of concepts restored */
+    public static int read(final Memory m, final InputStream is) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(is, 1 << 16));
+        return new Reader(m, in).read();
+    }
+
+
+    static final class Writer {
+
+        final Memory memory;
+        final DataOutputStream out;
+
+        final List<Concept> concepts = new ArrayList();
+        /** keyed by text: terms which differ only in their intervals are equal, but restore differently */
+        final Map<String, Integer> terms = new HashMap();
+        final List<Term> termList = new ArrayList();
+        final Map<Task, Integer> tasks = new IdentityHashMap();
+        final List<Task> taskList = new ArrayList();
+
+        Writer(final Memory memory, final DataOutputStream out) {
+            this.memory = memory;
+            this.out = out;
+        }
+
+        void write() throws IOException {
+            //collect the concepts and the tasks they reference
+            final Map<Task, Boolean> referenced = new IdentityHashMap();
+            final Set<String> names = new HashSet();
+            final Iterator<Concept> ic = memory.getConcepts().iterator();
+            while (ic.hasNext()) {
+                final Concept c = ic.next();
+                if (c.isDeleted()) continue;
+
+                //terms with variables can be unequal but have the same text, which would restore as one concept
+                if (!names.add(c.getTerm().toString())) continue;
+
+                concepts.add(c);
+                term(c.getTerm());
+
+                for (final Task t : c.getBeliefs()) referenced.put(t, true);
+                for (final Task t : c.getGoals()) referenced.put(t, true);
+                for (final Task t : c.getQuestions()) referenced.put(t, true);
+                for (final Task t : c.getQuests()) referenced.put(t, true);
+                for (final TaskLink l : c.getTaskLinks()) referenced.put(l.getTask(), true);
+                for (final TermLink l : c.getTermLinks()) term(l.getTarget());
+            }
+
+            for (final Task t : referenced.keySet())
+                order(t, referenced);
+
+            for (final Task t : taskList)
+                term(t.getTerm());
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(memory.time());
+            out.writeLong(memory.getStampSerial());
+
+            out.writeInt(termList.size());
+            for (final Term t : termList)
+                out.writeUTF(t.toString());
+
+            out.writeInt(taskList.size());
+            for (int i = 0; i < taskList.size(); i++)
+                writeTask(i, taskList.get(i));
+
+            out.writeInt(concepts.size());
+            for (final Concept c : concepts)
+                writeConcept(c);
+        }
+
+        int term(final Term t) {
+            final String s = t.toString();
+            Integer i = terms.get(s);
+            if (i == null) {
+                terms.put(s, i = termList.size());
+                termList.add(t);
+            }
+            return i;
+        }
+
+        /** assigns task ids so that a task's parents and solution, if referenced, precede it */
+        void order(final Task root, final Map<Task, Boolean> referenced) {
+            if (tasks.containsKey(root)) return;
+
+            //visited tasks are marked false until they are numbered
+            final Deque<Task> stack = new ArrayDeque();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                final Task t = stack.peek();
+                if (tasks.containsKey(t)) {
+                    stack.pop();
+                }
+                else if (referenced.get(t)) {
+                    referenced.put(t, false);
+                    push(stack, t.getParentTask(), referenced);
+                    push(stack, t.getParentBelief(), referenced);
+                    push(stack, t.getBestSolution(), referenced);
+                }
+                else {
+                    stack.pop();
+                    tasks.put(t, taskList.size());
+                    taskList.add(t);
+                }
+            }
+        }
+
+        static void push(final Deque<Task> stack, final Sentence s, final Map<Task, Boolean> referenced) {
+            //a dependency which is not referenced, or is being visited (a cycle), is not kept
+            if ((s instanceof Task) && (referenced.get(s) == Boolean.TRUE))
+                stack.push((Task) s);
+        }
+
+        /** id of a task numbered before the given one, or -1 */
+        int dependency(final Sentence s, final int before) {
+            if (!(s instanceof Task)) return -1;
+            final Integer i = tasks.get(s);
+            return ((i == null) || (i >= before)) ? -1 : i;
+        }
+
+        void writeTask(final int id, final Task t) throws IOException {
+            final DataOutputStream out = this.out;
+
+            out.writeInt(term(t.getTerm()));
+            out.writeChar(t.getPunctuation());
+
+            final Truth truth = t.getTruth();
+            if (truth != null) {
+                out.writeBoolean(true);
+                out.writeFloat(truth.getFrequency());
+                out.writeFloat(truth.getConfidence());
+            }
+            else {
+                out.writeBoolean(false);
+            }
+
+            writeBudget(t.getBudget());
+
+            out.writeLong(t.getCreationTime());
+            out.writeLong(t.getOccurrenceTime());
+            out.writeInt(t.getDuration());
+            out.writeByte((t.isCyclic() ? CYCLIC : 0) | (t.isRevisible() ? REVISIBLE : 0) |
+                    (t.isTemporalInductable() ? TEMPORAL_INDUCTABLE : 0));
+
+            final long[] e = t.getEvidentialSet();
+            out.writeShort(e.length);
+            for (final long x : e)
+                out.writeLong(x);
+
+            out.writeInt(dependency(t.getParentTask(), id));
+            out.writeInt(dependency(t.getParentBelief(), id));
+            out.writeInt(dependency(t.getBestSolution(), id));
+        }
+
+        void writeBudget(final Budget b) throws IOException {
+            out.writeFloat(b.getPriority());
+            out.writeFloat(b.getDurability());
+            out.writeFloat(b.getQuality());
+            out.writeLong(b.getLastForgetTime());
+        }
+
+        void writeTable(final TaskTable table) throws IOException {
+            out.writeInt(table.size());
+            for (final Task t : table)
+                out.writeInt(tasks.get(t));
+        }
+
+        static void writeIndex(final DataOutputStream out, final short[] index) throws IOException {
+            if (index == null) {
+                out.writeByte(-1);
+                return;
+            }
+            out.writeByte(index.length);
+            for (final short s : index)
+                out.writeShort(s);
+        }
+
+        void writeConcept(final Concept c) throws IOException {
+            final DataOutputStream out = this.out;
+
+            out.writeInt(term(c.getTerm()));
+            out.writeByte(c.getState().ordinal());
+            out.writeBoolean(c.isConstant());
+            writeBudget(c.getBudget());
+
+            writeTable(c.getBeliefs());
+            writeTable(c.getGoals());
+            writeTable(c.getQuestions());
+            writeTable(c.getQuests());
+
+            //budget accumulated in termlink templates, not yet applied
+            final List<TermLinkTemplate> templates = templates(c);
+            final int numTemplates = (templates == null) ? 0 : templates.size();
+            out.writeInt(numTemplates);
+            for (int i = 0; i < numTemplates; i++) {
+                final TermLinkTemplate t = templates.get(i);
+                out.writeFloat(t.getPriority());
+                out.writeFloat(t.getDurability());
+                out.writeFloat(t.getQuality());
+            }
+
+            final Bag<Sentence, TaskLink> taskLinks = c.getTaskLinks();
+            out.writeInt(taskLinks.size());
+            for (final TaskLink l : taskLinks) {
+                out.writeInt(tasks.get(l.getTask()));
+                out.writeShort(l.type);
+                writeIndex(out, l.index);
+                writeBudget(l);
+                out.writeFloat(l.getLastFireTime());
+            }
+
+            final Bag<TermLinkKey, TermLink> termLinks = c.getTermLinks();
+            out.writeInt(termLinks.size());
+            for (final TermLink l : termLinks) {
+                out.writeInt(term(l.getTarget()));
+                out.writeShort(l.type);
+                writeIndex(out, l.index);
+                writeBudget(l);
+            }
+        }
+    }
+
+
+    static final class Reader {
+
+        final Memory memory;
+        final DataInputStream in;
+
+        Term[] terms;
+        Task[] tasks;
+
+        Reader(final Memory memory, final DataInputStream in) {
+            this.memory = memory;
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            final DataInputStream in = this.in;
+
+            if (in.readInt() != MAGIC)
+                throw new IOException("not a memory snapshot");
+            final int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("unsupported memory snapshot version: " + version);
+
+            final long time = in.readLong();
+            final long stampSerial = in.readLong();
+
+            memory.reset(false, false);
+            if (memory.clock instanceof CycleClock)
+                ((CycleClock) memory.clock).set(time);
+            memory.setStampSerial(stampSerial);
+
+            final NarseseParser parser = NarseseParser.newParser(memory);
+            terms = new Term[in.readInt()];
+            for (int i = 0; i < terms.length; i++)
+                terms[i] = TermInterner.intern(parser.parseTermNormalized(in.readUTF()));
+
+            tasks = new Task[in.readInt()];
+            for (int i = 0; i < tasks.length; i++)
+                tasks[i] = readTask();
+
+            final int numConcepts = in.readInt();
+            for (int i = 0; i < numConcepts; i++)
+                readConcept();
+
+            return numConcepts;
+        }
+
+        Task task(final int id) {
+            return (id == -1) ? null : tasks[id];
+        }
+
+        Task readTask() throws IOException {
+            final DataInputStream in = this.in;
+
+            final Compound term = (Compound) terms[in.readInt()];
+            final char punc = in.readChar();
+            final Truth truth = in.readBoolean() ? DefaultTruth.the(in.readFloat(), in.readFloat()) : null;
+            final float p = in.readFloat(), d = in.readFloat(), q = in.readFloat();
+            final long lastForgetTime = in.readLong();
+            final long creation = in.readLong(), occurrence = in.readLong();
+            final int duration = in.readInt();
+            final byte flags = in.readByte();
+
+            final long[] e = new long[in.readShort()];
+            for (int j = 0; j < e.length; j++)
+                e[j] = in.readLong();
+
+            final Task parentTask = task(in.readInt());
+            final Task parentBelief = task(in.readInt());
+            final Task solution = task(in.readInt());
+
+            final Task t = new Task(term, punc, truth, p, d, q, parentTask, parentBelief, solution);
+            t.budgetDirect(p, d, q);
+            t.setLastForgetTime(lastForgetTime);
+            t.setDuration(duration);
+            t.setTime(creation, occurrence);
+            t.setEvidence(e);
+            t.setCyclic((flags & CYCLIC) != 0);
+            t.setRevisible((flags & REVISIBLE) != 0);
+            t.setTemporalInducting((flags & TEMPORAL_INDUCTABLE) != 0);
+            return t;
+        }
+
+        void readBudget(final Budget b) throws IOException {
+            b.budgetDirect(in.readFloat(), in.readFloat(), in.readFloat());
+            b.setLastForgetTime(in.readLong());
+        }
+
+        void readTable(final TaskTable table) throws IOException {
+            final int n = in.readInt();
+            for (int i = 0; i < n; i++)
+                table.add(tasks[in.readInt()]);
+        }
+
+        short[] readIndex() throws IOException {
+            final int n = in.readByte();
+            if (n == -1) return null;
+            final short[] index = new short[n];
+            for (int i = 0; i < n; i++)
+                index[i] = in.readShort();
+            return index;
+        }
+
+        void readConcept() throws IOException {
+            final DataInputStream in = this.in;
+
+            final Term term = terms[in.readInt()];
+            final Concept.State state = Concept.State.values()[in.readByte()];
+            final boolean constant = in.readBoolean();
+
+            final Budget budget = new Budget();
+            readBudget(budget);
+
+            //adds the concept to the index
+            final Concept c = memory.newConcept(budget, term);
+            c.getBudget().set(budget);
+            c.getBudget().setLastForgetTime(budget.getLastForgetTime());
+            if (constant)
+                c.setConstant(true);
+
+            readTable(c.getBeliefs());
+            readTable(c.getGoals());
+            readTable(c.getQuestions());
+            readTable(c.getQuests());
+
+            final List<TermLinkTemplate> templates = templates(c);
+            final int numTemplates = in.readInt();
+            for (int i = 0; i < numTemplates; i++)
+                templates.get(i).budgetDirect(in.readFloat(), in.readFloat(), in.readFloat());
+
+            final Bag<Sentence, TaskLink> taskLinks = c.getTaskLinks();
+            final int numTaskLinks = in.readInt();
+            for (int i = 0; i < numTaskLinks; i++) {
+                final Task t = tasks[in.readInt()];
+                final short type = in.readShort();
+                final TaskLink l = new TaskLink(t, new Budget(), readIndex(), type,
+                        memory.param.termLinkRecordLength.get());
+                readBudget(l);
+                l.setFired(in.readFloat());
+                taskLinks.put(l);
+            }
+
+            final Bag<TermLinkKey, TermLink> termLinks = c.getTermLinks();
+            final int numTermLinks = in.readInt();
+            for (int i = 0; i < numTermLinks; i++) {
+                final Term target = terms[in.readInt()];
+                final short type = in.readShort();
+                final TermLink l = new TermLink(target, type, readIndex(), new Budget());
+                readBudget(l);
+                termLinks.put(l);
+            }
+
+            switch (state) {
+                case Active:
+                    if (memory.cycle instanceof ConceptActivator) {
+                        c.setState(Concept.State.Active);
+                        ((ConceptActivator) memory.cycle).remember(c);
+                    }
+                    else {
+                        //activates the indexed concept if its budget is sufficient
+                        memory.cycle.conceptualize(c.getBudget(), term, true);
+                    }
+                    break;
+                case Forgotten:
+                    c.setState(Concept.State.Forgotten);
+                    break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,283 @@
+package nars.io.in;
+
+import nars.NAR;
+import nars.io.TextPerception;
+import nars.narsese.NarseseParser;
+import nars.task.Task;
+import nars.term.Term;
+import nars.util.data.buffer.Perception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Input stage for high-rate streams, ex: sensors.  Lines are parsed into tasks
+ * by worker threads, each with its own TextPerception and parser, into a bounded
+ * queue of ready tasks; already constructed tasks can be offered directly.
+ *
+ * The reasoner drains the ready queue in batches of up to batchSize tasks, so
+ * the queue's lock is acquired once per batch rather than once per task.
+ *
+ * When input outpaces reasoning, the Overflow policy decides, for both the
+ * line queue and the ready queue, whether producers wait or inputs are lost.
+ *
+ * The input attaches itself to the memory's perception when a task becomes
+ * ready, and is detached by perception when it has nothing more to give, so
+ * an idle input costs nothing to the reasoner.
+ */
+public class IngestionInput implements Input {
+
+    public enum Overflow {
+        /** producers and workers wait for space (backpressure) */
+        Block,
+        /** the new input is discarded */
+        DropNewest,
+        /** the oldest pending input is discarded */
+        DropOldest,
+        /** a ready task with the same term and punctuation as a pending one replaces it,
+         *  with their budgets merged; when full, the oldest pending input is discarded */
+        Merge
+    }
+
+    public final Overflow overflow;
+    public final int batchSize;
+
+    private final Perception<Task> perception;
+
+    private final BlockingQueue<String> lines;
+    private final BlockingQueue<Task> ready;
+    /** for Merge: the latest task of each term and punctuation in the ready queue */
+    private final ConcurrentHashMap<Key, Task> pending;
+
+    /** drained from the ready queue; only accessed by the reasoner */
+    private final List<Task> batch;
+    private int batchPos = 0;
+
+    private final AtomicBoolean attached = new AtomicBoolean(false);
+
+    private final ExecutorService workers;
+
+    private final LongAdder received = new LongAdder(), dropped = new LongAdder(), merged = new LongAdder(), failed = new LongAdder();
+
+
+    public IngestionInput(NAR nar, int workers, int capacity) {
+        this(nar, workers, capacity, 64, Overflow.Block);
+    }
+
+    public IngestionInput(NAR nar, int workers, int capacity, int batchSize, Overflow overflow) {
+        this.perception = nar.memory.perception;
+        this.overflow = overflow;
+        this.batchSize = batchSize;
+
+        this.lines = new ArrayBlockingQueue<>(capacity);
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.pending = (overflow == Overflow.Merge) ? new ConcurrentHashMap<>(capacity) : null;
+        this.batch = new ArrayList<>(batchSize);
+
+        this.workers = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "ingest");
+            t.setDaemon(true);
+            return t;
+        });
+
+        final ThreadLocal<TextPerception> parsers = ThreadLocal.withInitial(
+                () -> new TextPerception(nar, NarseseParser.newParser(nar)));
+        for (int i = 0; i < workers; i++) {
+            this.workers.execute(() -> {
+                final TextPerception p = parsers.get();
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        final String line = lines.take();
+                        try {
+                            p.perceive(line, this::ready);
+                        } catch (RuntimeException e) {
+                            //a line which can not be perceived must not end the worker, which would not be restarted
+                            failed.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    //closed
+                }
+            });
+        }
+    }
+
+    /** queues a line of text to be parsed by a worker.
+     *  @return false if it was discarded, or the calling thread was interrupted while waiting */
+    public boolean offer(final String line) {
+        received.increment();
+        return enqueue(lines, line);
+    }
+
+    /** queues a task which needs no parsing */
+    public boolean offer(final Task task) {
+        received.increment();
+        return ready(task);
+    }
+
+    private <X> boolean enqueue(final BlockingQueue<X> q, final X x) {
+        switch (overflow) {
+            case Block:
+                try {
+                    q.put(x);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                    return false;
+                }
+            case DropNewest:
+                if (q.offer(x))
+                    return true;
+                dropped.increment();
+                return false;
+            default:
+                while (!q.offer(x))
+                    dropOldest(q);
+                return true;
+        }
+    }
+
+    private void dropOldest(final BlockingQueue<?> q) {
+        final Object x = q.poll();
+        if (x == null) return;
+        if ((q == ready) && (pending != null))
+            pending.remove(new Key((Task) x));
+        dropped.increment();
+    }
+
+    private boolean ready(final Task t) {
+        if (pending != null) {
+            final boolean[] added = { false };
+            pending.compute(new Key(t), (k, existing) -> {
+                if (existing == null) {
+                    added[0] = true;
+                }
+                else {
+                    t.merge(existing);
+                    merged.increment();
+                }
+                return t;
+            });
+            //the ready queue holds the first task of a key, which is resolved to the latest when it is drained
+            if (added[0] && !enqueue(ready, t))
+                return false;
+        }
+        else if (!enqueue(ready, t))
+            return false;
+
+        if (attached.compareAndSet(false, true))
+            perception.accept(this);
+        return true;
+    }
+
+    @Override
+    public Task get() {
+        Task t;
+        while ((t = next()) == null) {
+            attached.set(false);
+            //a task which became ready before the flag was cleared would not re-attach this input
+            if (ready.isEmpty() || !attached.compareAndSet(false, true))
+                return null;
+        }
+        return t;
+    }
+
+    private Task next() {
+        if (batchPos == batch.size()) {
+            batch.clear();
+            batchPos = 0;
+            if (ready.drainTo(batch, batchSize) == 0)
+                return null;
+        }
+
+        final Task t = batch.set(batchPos++, null);
+        if (pending != null) {
+            final Task latest = pending.remove(new Key(t));
+            if (latest != null)
+                return latest;
+        }
+        return t;
+    }
+
+    /** discards all pending input; the workers continue */
+    @Override
+    public void stop() {
+        lines.clear();
+        ready.clear();
+        if (pending != null)
+            pending.clear();
+        batch.clear();
+        batchPos = 0;
+        attached.set(false);
+    }
+
+    /** discards all pending input and terminates the workers */
+    public void close() {
+        workers.shutdownNow();
+        stop();
+    }
+
+    /** number of lines and tasks offered */
+    public long received() {
+        return received.sum();
+    }
+
+    /** number of lines and tasks discarded by the overflow policy */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** number of lines which could not be perceived, ex: empty or malformed */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /** number of tasks which replaced a pending task, in Merge mode */
+    public long merged() {
+        return merged.sum();
+    }
+
+    /** number of tasks ready to be perceived */
+    public int size() {
+        return ready.size() + (batch.size() - batchPos);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + overflow + ", " + lines.size() + " lines, " + size() + " tasks)";
+    }
+
+
+    static final class Key {
+        final Term term;
+        final char punctuation;
+        final int hash;
+
+        Key(final Task t) {
+            this.term = t.getTerm();
+            this.punctuation = t.getPunctuation();
+            this.hash = term.hashCode() * 31 + punctuation;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key k = (Key) obj;
+            return (punctuation == k.punctuation) && term.equals(k.term);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Access to library of examples/unit tests
@@ -116,7 +117,7 @@ public class LibraryInput extends TextInput {
         return input;
     }
 
-    protected static Map<String, String> examples = new HashMap(); //path -> script data
+    protected static Map<String, String> examples = new ConcurrentHashMap(); //path -> script data
 
     public static String getExample(String path) {
         try {
@@ -28,11 +28,6 @@ import nars.task.Task;
 import nars.term.Term;
 import nars.term.Termed;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 /**
  * Reference to a Task.
  * <p>
@@ -54,75 +49,7 @@ public class TaskLink extends Item<Sentence> implements TLink<Task>, Termed, Sen
 
 
     /* Remember the TermLinks, and when they has been used recently with this TaskLink */
-    public final static class Recording {
-
-        public final TermLink link;
-        float time;
-
-        public Recording(TermLink link, float time) {
-            this.time = time;
-            this.link = link;
-        }
-
-        public float getTime() {
-            return time;
-        }
-
-
-        public boolean setTime(float t) {
-            if (this.time!=t) {
-                this.time = t;
-                return true;
-            }
-            return false;
-        }
-
-        @Override
-        public String toString() {
-            return link + "@" + time;
-        }
-
-        public Term getTerm() {
-            return link.getTerm();
-        }
-
-        public void setRemoved() {
-            setTime(Float.NaN);
-        }
-    }
-
-    Map<Term,Recording> records;
-//
-//
-//    /** allows re-use of the Recording object since it would otherwise be instantiated frequently */
-//    public static class RecordingList extends CircularArrayList<Recording> {
-//
-//        public RecordingList(int capacity) {
-//            super(capacity);
-//        }
-//
-//
-//        public void add(final TermLink t, final long time) {
-//            add(new Recording(t, time));
-//        }
-//
-//    }
-
-    public Map<Term,Recording> newRecordSet() {
-        //TODO use more efficient collection?
-
-        return new LinkedHashMap<Term,Recording>(recordLength) {
-            protected boolean removeEldestEntry(Map.Entry<Term,Recording> eldest) {
-                if (size() > recordLength) {
-
-                    eldest.getValue().setRemoved();
-                    return true;
-                }
-                return false;
-            }
-        };
-    }
-
+    TermLinkRecords records;
 
 
 
@@ -137,7 +64,7 @@ public class TaskLink extends Item<Sentence> implements TLink<Task>, Termed, Sen
     public final short[] index;
 
 
-    protected TaskLink(Task t, Budget v, short[] index, short type, int recordLength) {
+    public TaskLink(Task t, Budget v, short[] index, short type, int recordLength) {
         super(v);
         this.targetTask = t;
         this.recordLength = recordLength;
@@ -171,9 +98,9 @@ public class TaskLink extends Item<Sentence> implements TLink<Task>, Termed, Sen
         return getSentence().hashCode();
     }
 
-    public Collection<Recording> getRecords() {
-        if (records == null) return Collections.EMPTY_LIST;
-        return records.values();
+    public TermLinkRecords getRecords() {
+        if (records == null) return TermLinkRecords.NONE;
+        return records;
     }
 
     @Override
@@ -220,40 +147,19 @@ public class TaskLink extends Item<Sentence> implements TLink<Task>, Termed, Sen
         return !(t.getTarget().equals(getTerm()));
     }
 
-    /** returns the record associated with a termlink, or null if none exists (or if no records exist) */
-    public Recording get(final TermLink termLink) {
-        final Term bTerm = termLink.getTarget();
-
-        if (records == null) {
-            return null;
-        }
+    /** returns the time recorded for a termlink's target, or NaN if none exists (or if no records exist) */
+    public float getRecordTime(final TermLink termLink) {
+        if (records == null)
+            return Float.NaN;
 
-        Recording r = records.get(bTerm);
-        if (r == null) {
-            return null;
-        }
-        else {
-            return r;
-        }
+        return records.get(termLink.getTarget());
     }
 
     public void put(final TermLink t, final float now) {
-        put(new Recording(t, now));
-    }
-
-    public void put(final Recording r, final float now) {
-        //if the time has changed, then actually insert it.
-        //this works because if the recordlink has been removed by
-        //the collection, it will have its time set to NaN
-        if (r.setTime(now))
-            put(r);
-    }
-
-    protected void put(final Recording r) {
         if (records == null)
-            records = newRecordSet();
+            records = new TermLinkRecords(recordLength);
 
-        records.put(r.getTerm(), r);
+        records.put(t.getTarget(), now);
     }
 
 //    /**
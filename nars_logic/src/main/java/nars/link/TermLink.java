@@ -102,6 +102,22 @@ public class TermLink extends Item<TermLinkKey> implements TermLinkKey, TLink<Te
         this.hash = hash;
     }
 
+    /**
+     * Constructor to restore a TermLink, ex: from a snapshot, given the type and
+     * index it was built with; its key is the same as if it was built from a template
+     */
+    public TermLink(final Term t, final short type, final short[] index, final Budget v) {
+        super(v);
+
+        this.target = t;
+        this.type = type;
+        this.index = index;
+
+        //the prefix of an outgoing link encodes the template type decremented, which is the link's type
+        this.prefix = TermLinkTemplate.prefix(type, index, true);
+        this.hash = TermLinkKey.hash(prefix, t);
+    }
+
     @Override
     public byte[] prefix() {
         return prefix;
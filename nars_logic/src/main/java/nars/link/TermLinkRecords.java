@@ -0,0 +1,104 @@
+package nars.link;
+
+import nars.term.Term;
+
+import java.util.Arrays;
+
+/**
+ * Remembers when a TaskLink fired with each of the TermLinks it fired with
+ * most recently, for the novelty filter of ConceptProcess.
+ *
+ * Holds at most 'capacity' terms; recording another term forgets the one
+ * recorded first, and recording a term again only updates its time.
+ *
+ * The terms, their hash codes and times are kept in parallel arrays used as
+ * a ring, the next term replacing the oldest, so a record set is a fixed 4
+ * objects instead of a LinkedHashMap with an entry and a Recording for each
+ * term.  A term is found by comparing the hash codes in order, which for the
+ * few terms recorded (termLinkRecordLength) is faster than hashing into an
+ * open-addressing table, whose removals must also move entries.
+ */
+public final class TermLinkRecords {
+
+    /** records nothing; shared, as it can not change */
+    public static final TermLinkRecords NONE = new TermLinkRecords(0);
+
+    private final int capacity;
+
+    private final Term[] terms;
+    private final int[] hashes;
+    private final float[] times;
+
+    /** the slot of the next term recorded, which holds the oldest when full */
+    private int next = 0;
+    private int size = 0;
+
+
+    public TermLinkRecords(final int capacity) {
+        this.capacity = capacity;
+        this.terms = new Term[capacity];
+        this.hashes = new int[capacity];
+        this.times = new float[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(final Term t) {
+        final int h = t.hashCode();
+        final int[] hashes = this.hashes;
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == h) {
+                final Term u = terms[i];
+                if (u == t || u.equals(t))
+                    return i;
+            }
+        }
+        return -1;
+    }
+
+    /** the time recorded for a term, or NaN if there is none */
+    public float get(final Term t) {
+        final int i = indexOf(t);
+        return (i == -1) ? Float.NaN : times[i];
+    }
+
+    /** records the time of a term, forgetting the oldest term if this one is new and the records are full */
+    public void put(final Term t, final float time) {
+        if (capacity == 0) return;
+
+        int i = indexOf(t);
+        if (i == -1) {
+            i = next;
+            terms[i] = t;
+            hashes[i] = t.hashCode();
+            if (++next == capacity) next = 0;
+            if (size < capacity) size++;
+        }
+        times[i] = time;
+    }
+
+    public void clear() {
+        Arrays.fill(terms, null);
+        next = size = 0;
+    }
+
+    /** the records, oldest first, as term@time */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder().append('[');
+        //until full, the oldest is at 0 and next == size
+        final int oldest = (size < capacity) ? 0 : next;
+        for (int n = 0; n < size; n++) {
+            final int i = (oldest + n) % capacity;
+            if (n > 0) sb.append(", ");
+            sb.append(terms[i]).append('@').append(times[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
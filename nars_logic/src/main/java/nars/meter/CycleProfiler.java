@@ -0,0 +1,257 @@
+package nars.meter;
+
+import nars.Memory;
+import nars.NAR;
+import nars.process.NAL;
+import nars.util.meter.FunctionMeter;
+import nars.util.meter.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in profiler of the phases of a memory cycle, of NAL processes
+ * (ConceptProcess, TaskProcess) and of the concept processing rules.
+ * Each records a latency histogram and, where the JVM supports it, the bytes
+ * allocated by the thread.  Measurements are inclusive: a ConceptProcess is
+ * also counted in the FireConcepts phase which runs it.
+ *
+ * Instrumented code checks memory.profiler, which is null unless a profiler
+ * is attached, and brackets a measured section with begin() and end(..).
+ *
+ * Results are available as NARMetrics signals (mean and 99th percentile per
+ * phase, in microseconds) and in the Prometheus text format.
+ */
+public class CycleProfiler extends FunctionMeter<Double> {
+
+    public enum Phase {
+        Perceive, NewTasks, NovelTask, FireConcepts, Forget, NextTasks
+    }
+
+    public static final class Timing {
+        public final String kind, name;
+        public final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder allocated = new LongAdder();
+
+        Timing(String kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        public long allocated() {
+            return allocated.sum();
+        }
+
+        public void reset() {
+            latency.reset();
+            allocated.reset();
+        }
+
+        @Override
+        public String toString() {
+            return kind + ':' + name + ' ' + latency + " alloc=" + allocated();
+        }
+    }
+
+    /** start marks of the sections being measured by a thread */
+    static final class Marks {
+        long[] time = new long[8], alloc = new long[8];
+        int depth;
+    }
+
+    static final Phase[] phases = Phase.values();
+
+    private final Memory memory;
+    private final Timing[] phase = new Timing[phases.length];
+    private final Map<Class, Timing> processes = new ConcurrentHashMap(), rules = new ConcurrentHashMap();
+    private final ThreadLocal<Marks> marks = ThreadLocal.withInitial(Marks::new);
+
+    private final com.sun.management.ThreadMXBean threads;
+
+
+    public CycleProfiler(NAR n) {
+        this(n.memory, true);
+    }
+
+    /** attaches a profiler to the memory; allocations are counted if allocations is true and the JVM can measure them */
+    public CycleProfiler(Memory m, boolean allocations) {
+        super(signalIDs());
+        this.memory = m;
+
+        for (Phase p : phases)
+            phase[p.ordinal()] = new Timing("phase", p.name());
+
+        java.lang.management.ThreadMXBean t = ManagementFactory.getThreadMXBean();
+        if (allocations && (t instanceof com.sun.management.ThreadMXBean)
+                && ((com.sun.management.ThreadMXBean) t).isThreadAllocatedMemorySupported()) {
+            ((com.sun.management.ThreadMXBean) t).setThreadAllocatedMemoryEnabled(true);
+            this.threads = (com.sun.management.ThreadMXBean) t;
+        }
+        else
+            this.threads = null;
+
+        m.profiler = this;
+    }
+
+    static String[] signalIDs() {
+        String[] s = new String[phases.length * 2];
+        for (Phase p : phases) {
+            s[p.ordinal() * 2] = "cycle." + p.name() + ".mean";
+            s[p.ordinal() * 2 + 1] = "cycle." + p.name() + ".p99";
+        }
+        return s;
+    }
+
+    /** detaches the profiler from the memory */
+    public void stop() {
+        if (memory.profiler == this)
+            memory.profiler = null;
+    }
+
+    private long allocated() {
+        return (threads != null) ? threads.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /** starts measuring a section, which is ended by one of the end methods */
+    public void begin() {
+        final Marks m = marks.get();
+        final int d = m.depth++;
+        if (d == m.time.length) {
+            m.time = Arrays.copyOf(m.time, d * 2);
+            m.alloc = Arrays.copyOf(m.alloc, d * 2);
+        }
+        m.alloc[d] = allocated();
+        m.time[d] = System.nanoTime();
+    }
+
+    private void end(final Timing t) {
+        final long now = System.nanoTime();
+        final Marks m = marks.get();
+        final int d = --m.depth;
+        t.latency.record(now - m.time[d]);
+        if (threads != null)
+            t.allocated.add(allocated() - m.alloc[d]);
+    }
+
+    public void end(final Phase p) {
+        end(phase[p.ordinal()]);
+    }
+
+    /** ends the measure of a NAL process, which is counted as its kind
+     *  (the direct subclass of NAL, ex: ConceptProcess) */
+    public void endProcess(final NAL process) {
+        Class c = process.getClass();
+        while (c.getSuperclass() != NAL.class)
+            c = c.getSuperclass();
+        end(timing(processes, "process", c));
+    }
+
+    /** ends the measure of a concept processing rule */
+    public void endRule(final Object rule) {
+        end(timing(rules, "rule", rule.getClass()));
+    }
+
+    private static Timing timing(final Map<Class, Timing> m, final String kind, final Class c) {
+        Timing t = m.get(c);
+        if (t == null)
+            t = m.computeIfAbsent(c, k -> new Timing(kind, k.getSimpleName()));
+        return t;
+    }
+
+    public Timing get(final Phase p) {
+        return phase[p.ordinal()];
+    }
+
+    public Timing getProcess(final Class c) {
+        return processes.get(c);
+    }
+
+    public Timing getRule(final Class c) {
+        return rules.get(c);
+    }
+
+    public void reset() {
+        for (Timing t : phase) t.reset();
+        for (Timing t : processes.values()) t.reset();
+        for (Timing t : rules.values()) t.reset();
+    }
+
+    @Override
+    protected Double getValue(final Object key, final int index) {
+        final LatencyHistogram h = phase[index / 2].latency;
+        return ((index % 2 == 0) ? h.mean() : h.percentile(0.99)) / 1.0e3;
+    }
+
+
+    static final double[] quantiles = { 0.5, 0.9, 0.99, 0.999 };
+
+    /** writes the measurements in the Prometheus text exposition format */
+    public void writePrometheus(final Writer w) throws IOException {
+        w.write("# HELP nars_latency_seconds Duration of cycle phases, processes and rules\n");
+        w.write("# TYPE nars_latency_seconds summary\n");
+        forEach(t -> {
+            final String l = labels(t);
+            for (double q : quantiles)
+                w.write("nars_latency_seconds{" + l + ",quantile=\"" + q + "\"} " + seconds(t.latency.percentile(q)) + '\n');
+            w.write("nars_latency_seconds_sum{" + l + "} " + seconds(t.latency.sum()) + '\n');
+            w.write("nars_latency_seconds_count{" + l + "} " + t.latency.count() + '\n');
+        });
+
+        w.write("# HELP nars_latency_max_seconds Longest duration of cycle phases, processes and rules\n");
+        w.write("# TYPE nars_latency_max_seconds gauge\n");
+        forEach(t -> w.write("nars_latency_max_seconds{" + labels(t) + "} " + seconds(t.latency.max()) + '\n'));
+
+        if (threads != null) {
+            w.write("# HELP nars_allocated_bytes_total Bytes allocated by cycle phases, processes and rules\n");
+            w.write("# TYPE nars_allocated_bytes_total counter\n");
+            forEach(t -> w.write("nars_allocated_bytes_total{" + labels(t) + "} " + t.allocated() + '\n'));
+        }
+    }
+
+    /** writes the measurements to a file, which is replaced atomically so that a collector never reads it partially written */
+    public void writePrometheus(final File f) throws IOException {
+        final File tmp = new File(f.getPath() + ".tmp");
+        try (Writer w = new FileWriter(tmp)) {
+            writePrometheus(w);
+        }
+        Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    interface TimingWriter {
+        void write(Timing t) throws IOException;
+    }
+
+    private void forEach(final TimingWriter w) throws IOException {
+        for (Timing t : phase) w.write(t);
+        for (Timing t : processes.values()) w.write(t);
+        for (Timing t : rules.values()) w.write(t);
+    }
+
+    static String labels(final Timing t) {
+        return "kind=\"" + t.kind + "\",name=\"" + t.name + '"';
+    }
+
+    static double seconds(final long nanos) {
+        return nanos / 1.0e9;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            forEach(t -> sb.append(t).append('\n'));
+        } catch (IOException e) {
+            //not thrown by a StringBuilder
+        }
+        return sb.toString();
+    }
+}
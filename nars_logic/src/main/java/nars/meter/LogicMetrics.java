@@ -4,11 +4,14 @@ import nars.Events;
 import nars.Memory;
 import nars.concept.Concept;
 import nars.event.NARReaction;
+import nars.nal.RuleTables;
+import nars.nal.RuleTables.Syllogism;
 import nars.task.Task;
 import nars.util.meter.event.DoubleMeter;
 import nars.util.meter.event.HitMeter;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -70,6 +73,10 @@ public class LogicMetrics extends NARReaction {
     public final HitMeter ANALOGY = new HitMeter("rule.analogy");
 
 
+    /** applications of each entry of the syllogism table, indexed by Syllogism.id; accumulated, not reset each frame */
+    private final LongAdder[] syllogisms;
+
+
     //public final DoubleMeter DERIVATION_LATENCY = new DoubleMeter("rule.derivation.latency");
     public final DoubleMeter SOLUTION_BEST = new DoubleMeter("task.solution.best");
 
@@ -92,9 +99,25 @@ public class LogicMetrics extends NARReaction {
     public LogicMetrics(Memory m) {
         super(m, false, Events.IN.class, Events.FrameEnd.class);
         this.m = m;
+
+        final int numSyllogisms = RuleTables.syllogisms().size();
+        this.syllogisms = new LongAdder[numSyllogisms];
+        for (int i = 0; i < numSyllogisms; i++)
+            syllogisms[i] = new LongAdder();
+
         reset();
     }
 
+    /** counts an application of a syllogism */
+    public void syllogism(final Syllogism s) {
+        syllogisms[s.id].increment();
+    }
+
+    /** number of applications of a syllogism in this memory */
+    public long getApplications(final Syllogism s) {
+        return syllogisms[s.id].sum();
+    }
+
     @Override
     public void event(Class event, Object[] args) {
         if (event == Events.IN.class) {
@@ -0,0 +1,341 @@
+package nars.meter;
+
+import nars.Events;
+import nars.NARSeed;
+import nars.event.NARReaction;
+import nars.io.in.LibraryInput;
+import nars.meter.condition.OutputCondition;
+import nars.nar.Default;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs NAL example scripts (ex: nal/test1/*.nal) as tests, in parallel.  Each
+ * test runs on its own thread with its own TestNAR, created from a new
+ * NARSeed, so tests share no reasoner state.
+ *
+ * For each test, the number of cycles to solution, the wall time, the bytes
+ * allocated by its thread and the peak number of active concepts are recorded.
+ * Results are written as CSV, sorted by script and build, so that the report of
+ * a run can be compared with a previous one to find regressions.
+ */
+public class NALSuite {
+
+    public static final class Result {
+        public final String script, build;
+        public final long seed;
+        public final boolean solved;
+        /** time at which the last condition was satisfied (0 if the script has none), or -1 if not solved */
+        public final long solutionCycles;
+        /** cycles run */
+        public final long cycles;
+        public final long wallNanos;
+        /** bytes allocated by the test's thread, or -1 if it can not be measured */
+        public final long allocated;
+        public final int peakConcepts;
+        /** the exception thrown by the test, or null */
+        public final String error;
+
+        public Result(String script, String build, long seed, boolean solved, long solutionCycles, long cycles,
+                      long wallNanos, long allocated, int peakConcepts, String error) {
+            this.script = script;
+            this.build = build;
+            this.seed = seed;
+            this.solved = solved;
+            this.solutionCycles = solutionCycles;
+            this.cycles = cycles;
+            this.wallNanos = wallNanos;
+            this.allocated = allocated;
+            this.peakConcepts = peakConcepts;
+            this.error = error;
+        }
+
+        public String id() {
+            return script + ' ' + build + ' ' + seed;
+        }
+
+        @Override
+        public String toString() {
+            return id() + (solved ? " solved in " + solutionCycles : " FAIL") + " (" + cycles + " cycles, " +
+                    (wallNanos / 1000000) + "ms, " + allocated + " bytes, " + peakConcepts + " concepts)" +
+                    (error != null ? ' ' + error : "");
+        }
+    }
+
+    static final Comparator<Result> byId = Comparator.<Result, String>comparing(r -> r.script)
+            .thenComparing(r -> r.build).thenComparingLong(r -> r.seed);
+
+    static final String header = "script,build,seed,solved,solutionCycles,cycles,wallNanos,allocated,peakConcepts,error";
+
+
+    public final int maxCycles;
+    public final long seed;
+    private final int threads;
+
+    private final com.sun.management.ThreadMXBean allocations;
+
+
+    public NALSuite(int threads, int maxCycles, long seed) {
+        this.threads = threads;
+        this.maxCycles = maxCycles;
+        this.seed = seed;
+
+        java.lang.management.ThreadMXBean t = ManagementFactory.getThreadMXBean();
+        if ((t instanceof com.sun.management.ThreadMXBean)
+                && ((com.sun.management.ThreadMXBean) t).isThreadAllocatedMemorySupported()) {
+            ((com.sun.management.ThreadMXBean) t).setThreadAllocatedMemoryEnabled(true);
+            this.allocations = (com.sun.management.ThreadMXBean) t;
+        }
+        else
+            this.allocations = null;
+    }
+
+    /** runs every script of the example directories (ex: "test1") with every build */
+    public List<Result> runDirs(Collection<String> directories, Supplier<NARSeed>... builds) throws InterruptedException {
+        List<String> scripts = new ArrayList();
+        for (String p : LibraryInput.getPaths(directories.toArray(new String[directories.size()])))
+            if (!p.contains("README"))
+                scripts.add(p);
+        return run(scripts, builds);
+    }
+
+    /** runs every script with every build; a build supplies a new NARSeed for each test
+     *  @return the results, sorted by script and build */
+    public List<Result> run(Collection<String> scripts, Supplier<NARSeed>... builds) throws InterruptedException {
+        final ExecutorService exe = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "nal test");
+            t.setDaemon(true);
+            return t;
+        });
+
+        final List<Future<Result>> pending = new ArrayList(scripts.size() * builds.length);
+        try {
+            for (String s : scripts)
+                for (Supplier<NARSeed> b : builds)
+                    pending.add(exe.submit(() -> run(s, b.get())));
+
+            final List<Result> results = new ArrayList(pending.size());
+            for (Future<Result> f : pending) {
+                try {
+                    results.add(f.get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+            results.sort(byId);
+            return results;
+        } finally {
+            exe.shutdownNow();
+        }
+    }
+
+    /** cycle and concept counts of a test, which its NAR forgets when it stops */
+    static final class Probe extends NARReaction {
+        final TestNAR nar;
+        long cycles = 0;
+        int peakConcepts = 0;
+
+        Probe(TestNAR nar) {
+            super(nar, Events.CycleEnd.class);
+            this.nar = nar;
+        }
+
+        @Override
+        public void event(Class event, Object[] args) {
+            cycles = nar.time();
+            peakConcepts = Math.max(peakConcepts, nar.memory.cycle.size());
+        }
+    }
+
+    /** runs a script in the calling thread */
+    public Result run(final String path, final NARSeed build) {
+        final String[] p = path.split("/");
+        final String script = p[p.length - 1];
+        final String example = LibraryInput.getExample(path);
+
+        final long threadID = Thread.currentThread().getId();
+        final long allocatedStart = allocations != null ? allocations.getThreadAllocatedBytes(threadID) : 0;
+        final long start = System.nanoTime();
+
+        final TestNAR n = new TestNAR(build);
+        final Probe probe = new Probe(n);
+        String error = null;
+        try {
+            n.memory.randomSeed(seed);
+            n.requires.addAll(OutputCondition.getConditions(n, example, 0));
+            n.inputTest(example);
+            n.run(maxCycles);
+            if (n.getError() != null)
+                error = n.getError().toString();
+        } catch (RuntimeException e) {
+            error = e.toString();
+        }
+
+        final long wall = System.nanoTime() - start;
+        final long allocated = allocations != null ? allocations.getThreadAllocatedBytes(threadID) - allocatedStart : -1;
+
+        boolean solved = (error == null);
+        for (OutputCondition c : n.requires)
+            solved &= c.isTrue();
+        final double cost = OutputCondition.cost(n.requires);
+
+        return new Result(script, build.toString(), seed, solved, !solved ? -1 : Double.isFinite(cost) ? (long) cost : 0,
+                probe.cycles, wall, allocated, probe.peakConcepts, error);
+    }
+
+
+    public static void writeCSV(final List<Result> results, final Writer w) throws IOException {
+        w.write(header);
+        w.write('\n');
+        for (Result r : results) {
+            w.write(csv(r.script) + ',' + csv(r.build) + ',' + r.seed + ',' + r.solved + ',' + r.solutionCycles + ',' +
+                    r.cycles + ',' + r.wallNanos + ',' + r.allocated + ',' + r.peakConcepts + ',' +
+                    (r.error != null ? csv(r.error) : "") + '\n');
+        }
+        w.flush();
+    }
+
+    public static List<Result> readCSV(final Reader r) throws IOException {
+        final BufferedReader b = new BufferedReader(r);
+        final String h = b.readLine();
+        if (!header.equals(h))
+            throw new IOException("not a NALSuite report: " + h);
+
+        final List<Result> results = new ArrayList();
+        String line;
+        while ((line = b.readLine()) != null) {
+            if (line.isEmpty()) continue;
+            final List<String> f = fields(line);
+            if (f.size() != 10)
+                throw new IOException("invalid line: " + line);
+            results.add(new Result(f.get(0), f.get(1), Long.parseLong(f.get(2)), Boolean.parseBoolean(f.get(3)),
+                    Long.parseLong(f.get(4)), Long.parseLong(f.get(5)), Long.parseLong(f.get(6)),
+                    Long.parseLong(f.get(7)), Integer.parseInt(f.get(8)), f.get(9).isEmpty() ? null : f.get(9)));
+        }
+        return results;
+    }
+
+    static String csv(final String s) {
+        if (s.indexOf(',') == -1 && s.indexOf('"') == -1 && s.indexOf('\n') == -1)
+            return s;
+        return '"' + s.replace("\"", "\"\"").replace('\n', ' ') + '"';
+    }
+
+    static List<String> fields(final String line) {
+        final List<String> f = new ArrayList();
+        final StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    }
+                    else
+                        quoted = false;
+                }
+                else
+                    sb.append(c);
+            }
+            else if (c == '"')
+                quoted = true;
+            else if (c == ',') {
+                f.add(sb.toString());
+                sb.setLength(0);
+            }
+            else
+                sb.append(c);
+        }
+        f.add(sb.toString());
+        return f;
+    }
+
+    /** compares the results of a run with a previous one.
+     *  @param tolerance allowed relative increase (ex: 0.25) of the cycles to solution, wall time, allocation and peak concepts
+     *  @return a description of each test which is no longer solved, or became slower or larger beyond the tolerance */
+    public static List<String> regressions(final List<Result> baseline, final List<Result> current, final double tolerance) {
+        final Map<String, Result> before = new TreeMap();
+        for (Result r : baseline)
+            before.put(r.id(), r);
+
+        final List<String> regressions = new ArrayList();
+        for (Result r : current) {
+            final Result b = before.get(r.id());
+            if (b == null) continue;
+
+            if (b.solved && !r.solved) {
+                regressions.add(r.id() + ": no longer solved" + (r.error != null ? " (" + r.error + ')' : ""));
+                continue;
+            }
+            if (!b.solved || !r.solved) continue;
+
+            worse(regressions, r, "cycles to solution", b.solutionCycles, r.solutionCycles, tolerance);
+            worse(regressions, r, "wall time (ns)", b.wallNanos, r.wallNanos, tolerance);
+            if (b.allocated >= 0 && r.allocated >= 0)
+                worse(regressions, r, "allocated bytes", b.allocated, r.allocated, tolerance);
+            worse(regressions, r, "peak concepts", b.peakConcepts, r.peakConcepts, tolerance);
+        }
+        return regressions;
+    }
+
+    private static void worse(List<String> regressions, Result r, String measure, long before, long now, double tolerance) {
+        if (now > before * (1.0 + tolerance) && now > before)
+            regressions.add(r.id() + ": " + measure + ' ' + before + " -> " + now);
+    }
+
+
+    /** runs the unit test examples with the Default build.
+     *  arguments: [report file] [baseline report file to compare with] */
+    public static void main(String[] args) throws Exception {
+        final NALSuite suite = new NALSuite(Runtime.getRuntime().availableProcessors(), 3000, 1);
+
+        final List<Result> results = suite.runDirs(
+                Arrays.asList("test1", "test2", "test3", "test4", "test5", "test6", "test7", "test8"),
+                () -> new Default().setInternalExperience(null));
+
+        int solved = 0;
+        for (Result r : results) {
+            System.out.println(r);
+            if (r.solved) solved++;
+        }
+        System.out.println(solved + "/" + results.size() + " solved");
+
+        if (args.length > 0) {
+            try (Writer w = new FileWriter(args[0])) {
+                writeCSV(results, w);
+            }
+        }
+        if (args.length > 1) {
+            final List<Result> baseline;
+            try (Reader r = new FileReader(new File(args[1]))) {
+                baseline = readCSV(r);
+            }
+            final List<String> regressions = regressions(baseline, results, 0.25);
+            for (String s : regressions)
+                System.out.println("REGRESSION " + s);
+            if (!regressions.isEmpty())
+                System.exit(1);
+        }
+    }
+}
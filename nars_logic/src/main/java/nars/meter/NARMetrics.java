@@ -33,6 +33,9 @@ public class NARMetrics extends NARReaction {
         if (n.memory.resource!=null)
             metrics.addMeter(new FirstOrderDifference(metrics, n.memory.resource.CYCLE_RAM_USED.id()));
 
+        if (n.memory.profiler!=null)
+            metrics.addMeter(n.memory.profiler);
+
         metrics.addMeters(n.memory.logic);
         n.memory.logic.setActive(isActive());
     }
@@ -813,7 +813,7 @@ OUT: <lock1 --> lock>.
     http://code.google.com/p/open-nars/issues/detail?id=40&can=1
     */
     public static void eliminateVariableOfConditionAbductive(final int figure, final Task<Statement> sentence, final Sentence<Statement> belief, final NAL nal) {
-        final Random m = nal.memory.random;
+        final Random m = nal.getRandom();
 
         Statement T1 = sentence.getTerm();
         Statement T2 = belief.getTerm();
@@ -1,6 +1,7 @@
 package nars.nal;
 
 import com.google.common.collect.Lists;
+import nars.meter.CycleProfiler;
 import nars.process.ConceptProcess;
 import nars.process.NAL;
 import nars.task.Sentence;
@@ -37,9 +38,27 @@ public class LogicPolicy {
     public void fire(final ConceptProcess fireConcept) {
         final List<LogicRule<ConceptProcess>> rules = conceptProcessing.rules;
         final int n = rules.size();
-        for (int l = 0; l < n; l++) {
-            if (!rules.get(l).test(fireConcept))
-                break;
+        final CycleProfiler p = fireConcept.memory.profiler;
+        if (p == null) {
+            for (int l = 0; l < n; l++) {
+                if (!rules.get(l).test(fireConcept))
+                    break;
+            }
+        }
+        else {
+            for (int l = 0; l < n; l++) {
+                final LogicRule<ConceptProcess> r = rules.get(l);
+                final boolean next;
+                p.begin();
+                try {
+                    next = r.test(fireConcept);
+                }
+                finally {
+                    p.endRule(r);
+                }
+                if (!next)
+                    break;
+            }
         }
     }
 
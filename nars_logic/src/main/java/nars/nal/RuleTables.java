@@ -21,6 +21,7 @@
 package nars.nal;
 
 import nars.Global;
+import nars.Op;
 import nars.Symbols;
 import nars.link.TLink;
 import nars.link.TaskLink;
@@ -38,6 +39,9 @@ import nars.task.Sentence;
 import nars.task.Task;
 import nars.term.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 
 import static nars.Symbols.*;
@@ -100,9 +104,116 @@ public class RuleTables {
     
     /* ----- syllogistic inferences ----- */
 
+    /** a syllogistic rule, applied to a task and belief on statements of a certain pair of operators */
+    @FunctionalInterface
+    public interface SyllogismRule {
+        void apply(TaskLink tLink, TermLink bLink, Task<Statement> task, Task beliefTask, Sentence belief, NAL nal);
+    }
+
+    /** an entry of the syllogism table; its applications are counted per Memory, by LogicMetrics */
+    public static final class Syllogism {
+        public final String name;
+        /** index in syllogisms() */
+        public final int id;
+        private final SyllogismRule rule;
+
+        Syllogism(final String name, final int id, final SyllogismRule rule) {
+            this.name = name;
+            this.id = id;
+            this.rule = rule;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
     /**
-     * Meta-table of syllogistic rules, indexed by the content classes of the
-     * taskSentence and the belief
+     * Meta-table of syllogistic rules, indexed by the operators of the task
+     * and the belief statements (ordinals of Op).  Built once from the
+     * statement kinds below; the temporal variants of implication and
+     * equivalence share the entries of their kind.  Null where no rule applies.
+     *
+     * Only this choice of syllogism is table driven.  The other dispatchers of
+     * this class (ex: compoundAndStatement, componentAndStatement, the figure
+     * switches inside each syllogism) also depend on unification results, the
+     * punctuation of the task or the type of a component, and keep their
+     * instanceof tests.
+     */
+    private static final Syllogism[][] syllogismTable;
+    private static final List<Syllogism> syllogismList = new ArrayList();
+
+    static {
+        final Op[] inh = { Op.INHERITANCE, Op.OPERATION };
+        final Op[] sim = { Op.SIMILARITY };
+        final Op[] imp = { Op.IMPLICATION, Op.IMPLICATION_AFTER, Op.IMPLICATION_WHEN, Op.IMPLICATION_BEFORE };
+        final Op[] equ = { Op.EQUIVALENCE, Op.EQUIVALENCE_AFTER, Op.EQUIVALENCE_WHEN };
+
+        final int n = Op.values().length;
+        syllogismTable = new Syllogism[n][n];
+
+        syllogism(inh, inh, "asymmetricAsymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricAsymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+        syllogism(inh, sim, "asymmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+        final SyllogismRule inhDetachment = (tLink, bLink, task, beliefTask, belief, nal) ->
+                detachmentWithVar(task, belief, bLink.getIndex(0), nal);
+        syllogism(inh, imp, "detachmentWithVar", inhDetachment);
+        syllogism(inh, equ, "detachmentWithVar", inhDetachment);
+
+        syllogism(sim, inh, "symmetricAsymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(beliefTask, task, indexToFigure(bLink, tLink), nal));
+        syllogism(sim, sim, "symmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                symmetricSymmetric(task, belief, indexToFigure(bLink, tLink), nal));
+        //bridges to higher order statements:
+        syllogism(sim, imp, "symmetricAsymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(beliefTask, task, indexToFigure(tLink, bLink), nal));
+        syllogism(sim, equ, "symmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                symmetricSymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+
+        syllogism(imp, imp, "asymmetricAsymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricAsymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+        syllogism(imp, equ, "asymmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+        final SyllogismRule detachment = (tLink, bLink, task, beliefTask, belief, nal) ->
+                detachmentWithVar(task, belief, tLink.getIndex(0), nal);
+        syllogism(imp, inh, "detachmentWithVar", detachment);
+        //bridge to higher order statements:
+        syllogism(imp, sim, "asymmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+
+        syllogism(equ, imp, "symmetricAsymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                asymmetricSymmetric(beliefTask, task, indexToFigure(bLink, tLink), nal));
+        syllogism(equ, equ, "symmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                symmetricSymmetric(task, belief, indexToFigure(bLink, tLink), nal));
+        syllogism(equ, inh, "detachmentWithVar", detachment);
+        //bridge to higher order statements:
+        syllogism(equ, sim, "symmetricSymmetric", (tLink, bLink, task, beliefTask, belief, nal) ->
+                symmetricSymmetric(task, belief, indexToFigure(tLink, bLink), nal));
+    }
+
+    private static void syllogism(final Op[] taskOps, final Op[] beliefOps, final String name, final SyllogismRule rule) {
+        final Syllogism s = new Syllogism(taskOps[0] + "," + beliefOps[0] + ":" + name, syllogismList.size(), rule);
+        syllogismList.add(s);
+        for (final Op t : taskOps)
+            for (final Op b : beliefOps)
+                syllogismTable[t.ordinal()][b.ordinal()] = s;
+    }
+
+    /** the syllogism table entry for a pair of operators, or null */
+    public static Syllogism syllogism(final Op task, final Op belief) {
+        return syllogismTable[task.ordinal()][belief.ordinal()];
+    }
+
+    /** the distinct entries of the syllogism table */
+    public static List<Syllogism> syllogisms() {
+        return Collections.unmodifiableList(syllogismList);
+    }
+
+    /**
+     * Applies the syllogistic rules for the operators of the task and belief
+     * statements, selected from the syllogism table
      *
      * @param tLink      The tlink to task
      * @param bLink      The tlink to belief
@@ -111,73 +222,14 @@ public class RuleTables {
      * @param nal        Reference to the memory
      */
     public static void syllogisms(TaskLink tLink, TermLink bLink, Task<Statement> task, Statement beliefTerm, NAL nal) {
-        //final Task task = nal.getCurrentTask();
-        Sentence<Statement> taskSentence = task.sentence;
-
-        Task beliefTask = nal.getCurrentBeliefTask();
-        Sentence belief = nal.getCurrentBelief();
+        final Sentence belief = nal.getCurrentBelief();
 
         if (!(belief.getTerm() instanceof Statement)) return;
 
-        final Term taskTerm = task.getTerm();
-
-        int figure;
-        if (taskTerm instanceof Inheritance) {
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(task, belief, figure, nal);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(task, belief, figure, nal);
-            } else {
-                detachmentWithVar(task, belief, bLink.getIndex(0), nal);
-            }
-        } else if (taskTerm instanceof Similarity) {
-
-            if (beliefTerm instanceof Inheritance) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(beliefTask, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Similarity) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(task, belief, figure, nal);
-            } else if (beliefTerm instanceof Implication) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(beliefTask, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                symmetricSymmetric(task, belief, figure, nal);
-            }
-
-        } else if (taskTerm instanceof Implication) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricAsymmetric(task, belief, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(task, belief, figure, nal);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(task, belief, tLink.getIndex(0), nal);
-            } else if (beliefTerm instanceof Similarity) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                asymmetricSymmetric(task, belief, figure, nal);
-            }
-        } else if (taskTerm instanceof Equivalence) {
-            if (beliefTerm instanceof Implication) {
-                figure = indexToFigure(bLink, tLink);
-                asymmetricSymmetric(beliefTask, taskSentence, figure, nal);
-            } else if (beliefTerm instanceof Equivalence) {
-                figure = indexToFigure(bLink, tLink);
-                symmetricSymmetric(task, belief, figure, nal);
-            } else if (beliefTerm instanceof Inheritance) {
-                detachmentWithVar(task, belief, tLink.getIndex(0), nal);
-            } else if (beliefTerm instanceof Similarity) {
-                //Bridge to higher order statements:
-                figure = indexToFigure(tLink, bLink);
-                symmetricSymmetric(task, belief, figure, nal);
-            }
+        final Syllogism s = syllogismTable[task.getTerm().operator().ordinal()][beliefTerm.operator().ordinal()];
+        if (s != null) {
+            nal.memory.logic.syllogism(s);
+            s.rule.apply(tLink, bLink, task, nal.getCurrentBeliefTask(), belief, nal);
         }
     }
 
@@ -204,7 +256,7 @@ public class RuleTables {
      * @param nal          Reference to the memory
      */
     public static void asymmetricAsymmetric(final Task<Statement> taskSentence, final Sentence<Statement> belief, int figure, final NAL nal) {
-        final Random r = nal.memory.random;
+        final Random r = nal.getRandom();
 
         Statement taskStatement = taskSentence.getTerm();
         Statement beliefStatement = belief.getTerm();
@@ -353,7 +405,7 @@ public class RuleTables {
      * @param nal    Reference to the memory
      */
     public static void asymmetricSymmetric(final Task asym, final Sentence sym, final int figure, final NAL nal) {
-        final Random r = nal.memory.random;
+        final Random r = nal.getRandom();
 
         Statement asymSt = (Statement) asym.getTerm();
         Statement symSt = (Statement) sym.getTerm();
@@ -452,7 +504,7 @@ public class RuleTables {
         }
 
         Term[] u = new Term[]{s1, s2};
-        if (Variables.unify(VAR_INDEPENDENT, ut1, ut2, u, nal.memory.random)) {
+        if (Variables.unify(VAR_INDEPENDENT, ut1, ut2, u, nal.getRandom())) {
 
             Term rt1, rt2;  //parameters for resemblance()
 
@@ -518,7 +570,7 @@ public class RuleTables {
 
             if (!component.hasVarIndep()) {
                 SyllogisticRules.detachment(mainSentence, subSentence, index, nal);
-            } else if (Variables.unify(VAR_INDEPENDENT, component, content, u, nal.memory.random)) {
+            } else if (Variables.unify(VAR_INDEPENDENT, component, content, u, nal.getRandom())) {
                 Task<Statement> mainSentenceTask = mainSentence.clone((Statement) u[0]);
 
                 subSentence = subSentence.clone(u[1]);
@@ -565,7 +617,7 @@ public class RuleTables {
         }
 
         if (component2 != null) {
-            Random r = nal.memory.random;
+            Random r = nal.getRandom();
 
             Term[] u = new Term[]{conditional, statement};
             boolean unifiable = Variables.unify(VAR_INDEPENDENT, component, component2, u, r);
@@ -645,7 +697,7 @@ public class RuleTables {
         Task task = nal.getCurrentTask();
         if (Terms.equalType(component, statement, true)) {
             if ((compound instanceof Conjunction) && (nal.getCurrentBelief() != null)) {
-                final Random r = nal.memory.random;
+                final Random r = nal.getRandom();
 
                 Term[] u = new Term[]{compound, statement};
                 if (Variables.unify(VAR_DEPENDENT, component, statement, u, r)) {
@@ -176,7 +176,7 @@ public class LocalRules {
             float oldQ = TemporalRules.solutionQuality(question, oldBest, now);
             if (oldQ >= newQ) {
                 if (question.isGoal()) {
-                    memory.emotion.happy(oldQ, questionTask, nal);
+                    memory.defer(() -> memory.emotion.happy(oldQ, questionTask, nal));
                 }
                 //System.out.println("Unsolved: Solution of lesser quality");
                 //memory.emit(Unsolved.class, task, belief, "Lower quality");
@@ -188,7 +188,7 @@ public class LocalRules {
         if (content.hasVarIndep()) {
             Term u[] = new Term[]{content, question.getTerm()};
 
-            boolean unified = Variables.unify(Symbols.VAR_INDEPENDENT, u, nal.memory.random);
+            boolean unified = Variables.unify(Symbols.VAR_INDEPENDENT, u, nal.getRandom());
             if (!unified) return null;
 
             content = u[0];
@@ -205,10 +205,11 @@ public class LocalRules {
 
         questionTask.setBestSolution(memory, belief);
 
-        memory.logic.SOLUTION_BEST.set(questionTask.getPriority());
+        final float solutionPriority = questionTask.getPriority();
+        memory.defer(() -> memory.logic.SOLUTION_BEST.set(solutionPriority));
 
         if (question.isGoal()) {
-            memory.emotion.happy(newQ, questionTask, nal);
+            memory.defer(() -> memory.emotion.happy(newQ, questionTask, nal));
         }
 
         Budget budget = TemporalRules.solutionEval(question, belief, questionTask, nal);
@@ -591,7 +591,7 @@ public final class SyllogisticRules {
         final Sentence taskSentence = task.sentence;
         final Sentence belief = nal.getCurrentBelief();
         boolean deduction = (side != 0);
-        boolean conditionalTask = Variables.hasSubstitute(Symbols.VAR_INDEPENDENT, premise2, belief.getTerm(), nal.memory.random);
+        boolean conditionalTask = Variables.hasSubstitute(Symbols.VAR_INDEPENDENT, premise2, belief.getTerm(), nal.getRandom());
         Term commonComponent;
         Term newComponent = null;
         if (side == 0) {
@@ -617,7 +617,7 @@ public final class SyllogisticRules {
             index = (short) index2;
         } else {
             Term[] u = new Term[]{premise1, premise2};
-            boolean match = Variables.unify(Symbols.VAR_INDEPENDENT, oldCondition.term[index], commonComponent, u, nal.memory.random);
+            boolean match = Variables.unify(Symbols.VAR_INDEPENDENT, oldCondition.term[index], commonComponent, u, nal.getRandom());
             premise1 = (Implication) u[0];
             premise2 = u[1];
 
@@ -630,7 +630,7 @@ public final class SyllogisticRules {
                     match = Variables.unify(Symbols.VAR_INDEPENDENT,
                             oldCondition.term[index],
                             compoundCommonComponent.term[index],
-                            u, nal.memory.random);
+                            u, nal.getRandom());
                     premise1 = (Implication) u[0];
                     premise2 = u[1];
                 }
@@ -764,7 +764,7 @@ public final class SyllogisticRules {
      * @param nal      Reference to the memory
      */
     public static boolean conditionalAna(Equivalence premise1, short index, Term premise2, int side, NAL nal) {
-        final Random r = nal.memory.random;
+        final Random r = nal.getRandom();
 
         Task task = nal.getCurrentTask();
         final Sentence taskSentence = task.sentence;
@@ -905,7 +905,7 @@ public final class SyllogisticRules {
         Truth value2 = belief.truth;
         Term content;
 
-        boolean keepOrder = Variables.hasSubstitute(Symbols.VAR_INDEPENDENT, st1, task.getTerm(), nal.memory.random);
+        boolean keepOrder = Variables.hasSubstitute(Symbols.VAR_INDEPENDENT, st1, task.getTerm(), nal.getRandom());
 
         Truth truth = null;
         Budget budget;
@@ -143,27 +143,25 @@ public class Sequence extends Conjunction implements Intermval {
             long[] ii = intervals();
             final int ni = ii.length;
 
+            final boolean separateFirst = (nterms > 1 && appendedOperator);
+
             int subtermsWritten = 0;
-            for (int i = 0; i < nterms + 1; i++) {
-                if ((subtermsWritten != 0) || (i == 0 && nterms > 1 && appendedOperator)) {
-                    p.append(ARGUMENT_SEPARATOR);
-                    if (pretty) p.append(' ');
-                }
+            for (int i = 0; i < ni; i++) {
 
                 final long iii = ii[i];
 
                 if (iii!=0) {
                     //insert Interval psuedo-term
+                    if ((subtermsWritten != 0) || separateFirst)
+                        appendSeparator(p, pretty);
                     p.append(Symbols.INTERVAL_PREFIX);
                     p.append(Long.toString(iii));
-                    if (i!=ni-1) {
-                        p.append(ARGUMENT_SEPARATOR);
-                        if (pretty) p.append(' ');
-                    }
                     subtermsWritten++;
                 }
 
                 if (i < nterms) {
+                    if ((subtermsWritten != 0) || separateFirst)
+                        appendSeparator(p, pretty);
                     term[i].append(p, pretty);
                     subtermsWritten++;
                 }
@@ -174,4 +172,9 @@ public class Sequence extends Conjunction implements Intermval {
 
 
     }
+
+    static void appendSeparator(final Writer p, final boolean pretty) throws IOException {
+        p.append(ARGUMENT_SEPARATOR);
+        if (pretty) p.append(' ');
+    }
 }
@@ -192,7 +192,7 @@ public abstract class TermFunction<O> extends SynchOperator {
 
         if (y instanceof Boolean) {
             boolean by = (Boolean)y;
-            y = new DefaultTruth(by ? 1 : 0, 0.99f);
+            y = DefaultTruth.the(by ? 1 : 0, 0.99f);
         }
         if (y instanceof Truth) {
             //this will get the original input operation term, not after it has been inlined.
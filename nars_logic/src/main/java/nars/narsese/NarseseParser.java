@@ -163,7 +163,7 @@ public class NarseseParser extends BaseParser<Object> {
 
         Truth t = truth.get();
         if ((t == null) && ((p == Symbols.JUDGMENT) || (p == Symbols.GOAL)))
-            t = new DefaultTruth(p);
+            t = DefaultTruth.the(p);
 
         float[] b = budget.get();
         if (b != null && ((b.length == 0) || (Float.isNaN(b[0]))))
@@ -249,10 +249,10 @@ public class NarseseParser extends BaseParser<Object> {
                 firstOf(
                         sequence(
                             Symbols.VALUE_SEPARATOR, ShortFloat(),
-                            swap() && push(new DefaultTruth((float) pop(), (float) pop()))
+                            swap() && push(DefaultTruth.the((float) pop(), (float) pop()))
                         ),
 
-                        push(new DefaultTruth((float) pop(), Global.DEFAULT_JUDGMENT_CONFIDENCE))
+                        push(DefaultTruth.the((float) pop(), Global.DEFAULT_JUDGMENT_CONFIDENCE))
 
                 ),
 
@@ -0,0 +1,210 @@
+package nars.op.app;
+
+import nars.Global;
+import nars.task.Task;
+import nars.term.Compound;
+import nars.term.Term;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static nars.term.Terms.equalSubTermsInRespectToImageAndProduct;
+
+/**
+ * Window of the latest events perceived, for temporal induction (STMInduction,
+ * PerceptionAccel).  Events are kept in a ring buffer of bounded capacity, in
+ * the order they were added, and indexed by term so that the events similar to
+ * a term can be looked up without scanning the window.
+ *
+ * The term index files an event under every distinct atomic term it contains
+ * (or under null if it contains none).  An event whose term is equal to another
+ * in respect to image and product (Terms.equalSubTermsInRespectToImageAndProduct)
+ * shares at least one atomic term with it, but may also contain others: for
+ * Similarity the containment is tested both ways, so ex: <c <-> (/,a,_,b)> is
+ * similar to <a <-> (/,a,_,b)>.  So it is found among the events filed under the
+ * atomic terms of the other term, once each.
+ */
+public class EventWindow {
+
+    static final class Event {
+        final Task task;
+        final long seq;
+        /** the distinct atomic terms under which the event is indexed, {null} if it has none */
+        final Term[] keys;
+
+        Event(Task task, long seq) {
+            this.task = task;
+            this.seq = seq;
+
+            final Set<Term> atoms = Global.newHashSet(4);
+            atoms(task.getTerm(), atoms);
+            this.keys = atoms.isEmpty() ? new Term[] { null } : atoms.toArray(new Term[atoms.size()]);
+        }
+    }
+
+    private Event[] ring;
+    /** ring position of the oldest event */
+    private int head = 0;
+    private int size = 0;
+    private long seq = 0;
+
+    private final Map<Term, List<Event>> terms = Global.newHashMap();
+
+
+    public EventWindow(int capacity) {
+        this.ring = new Event[Math.max(1, capacity)];
+    }
+
+    public synchronized int capacity() {
+        return ring.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** changes the number of events kept; when reduced, the oldest events are discarded */
+    public synchronized void setCapacity(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == ring.length) return;
+
+        while (size > capacity)
+            removeOldest();
+
+        final Event[] r = new Event[capacity];
+        for (int i = 0; i < size; i++)
+            r[i] = ring[index(i)];
+        ring = r;
+        head = 0;
+    }
+
+    private int index(final int i) {
+        return (head + i) % ring.length;
+    }
+
+    /** adds an event as the latest, discarding the oldest if the window is full
+     *  @return the discarded event, or null */
+    public synchronized Task add(final Task t) {
+        final Task removed = (size == ring.length) ? removeOldest() : null;
+
+        final Event e = new Event(t, seq++);
+        ring[index(size++)] = e;
+        for (final Term k : e.keys)
+            terms.computeIfAbsent(k, x -> new ArrayList<>(1)).add(e);
+
+        return removed;
+    }
+
+    private Task removeOldest() {
+        final Event e = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+        unindex(e);
+        return e.task;
+    }
+
+    private void unindex(final Event e) {
+        for (final Term k : e.keys) {
+            final List<Event> l = terms.get(k);
+            l.remove(e);
+            if (l.isEmpty())
+                terms.remove(k);
+        }
+    }
+
+    /** the i-th event, from 0 (the oldest) to size()-1 (the latest) */
+    public synchronized Task get(final int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException(i + " of " + size);
+        return ring[index(i)].task;
+    }
+
+    /** the events, from the oldest to the latest */
+    public synchronized Task[] toArray() {
+        final Task[] t = new Task[size];
+        for (int i = 0; i < size; i++)
+            t[i] = ring[index(i)].task;
+        return t;
+    }
+
+    /** visits the events whose term is equal to t in respect to image and product, from the oldest to the latest */
+    public synchronized void forEachSimilar(final Term t, final Consumer<Task> each) {
+        for (Event e : similar(t))
+            each.accept(e.task);
+    }
+
+    /** removes the events whose term is equal to t in respect to image and product
+     *  @return the number of events removed */
+    public synchronized int removeSimilar(final Term t) {
+        final List<Event> s = similar(t);
+        if (s.isEmpty()) return 0;
+
+        for (Event e : s)
+            unindex(e);
+
+        //compact the ring, keeping the order of the remaining events
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            final Event e = ring[index(i)];
+            if (!s.contains(e))
+                ring[index(n++)] = e;
+        }
+        for (int i = n; i < size; i++)
+            ring[index(i)] = null;
+        size = n;
+
+        return s.size();
+    }
+
+    private List<Event> similar(final Term t) {
+        final Set<Term> atoms = Global.newHashSet(4);
+        atoms(t, atoms);
+        atoms.add(null);
+
+        //an event is filed under each of its atomic terms, so it is tested once
+        final Set<Event> tested = Global.newHashSet(4);
+        List<Event> s = null;
+        for (Term a : atoms) {
+            final List<Event> l = terms.get(a);
+            if (l == null) continue;
+            for (Event e : l) {
+                if (tested.add(e) && equalSubTermsInRespectToImageAndProduct(t, e.task.getTerm())) {
+                    if (s == null) s = new ArrayList<>(2);
+                    s.add(e);
+                }
+            }
+        }
+        if (s == null)
+            return Collections.emptyList();
+
+        if (s.size() > 1)
+            s.sort((a, b) -> Long.compare(a.seq, b.seq));
+        return s;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        head = size = 0;
+        terms.clear();
+    }
+
+
+    private static void atoms(final Term t, final Set<Term> target) {
+        if (!(t instanceof Compound)) {
+            target.add(t);
+            return;
+        }
+        for (Term x : ((Compound) t).term)
+            atoms(x, target);
+    }
+}
@@ -1,53 +1,67 @@
 package nars.op.app;
 
 import nars.Events;
-import nars.Global;
 import nars.Memory;
 import nars.NAR;
+import nars.concept.Concept;
 import nars.event.NARReaction;
 import nars.nal.nal7.TemporalRules;
 import nars.process.TaskProcess;
 import nars.task.Sentence;
 import nars.task.Task;
-
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import nars.util.event.EventEmitter;
+import nars.util.event.EventRecord.Three;
+import nars.util.event.Topic;
 
 import static nars.nal.nal7.TemporalRules.containsMentalOperator;
-import static nars.term.Terms.equalSubTermsInRespectToImageAndProduct;
 
 /**
  * Short-term memory Event Induction.  Empties task buffer when plugin is (re)started.
  */
 public class STMInduction extends NARReaction {
 
-    public final Deque<Task> stm;
+    public final EventWindow stm;
     int stmSize;
     //public static STMInduction I=null;
 
+    /** typed subscription to TaskProcess, which is emitted for every processed task */
+    private final Topic<Class, Three<Task, TaskProcess, Concept>> processed;
+    private EventEmitter.EventRegistration onProcessed;
+
     public STMInduction(NAR nar) {
         super(nar);
         this.stmSize = 1;
-        stm = Global.THREADS == 1 ? new ArrayDeque() : new ConcurrentLinkedDeque<>();
+        stm = new EventWindow(stmSize + 1);
         //I=this; //hm there needs to be a way to query plugins from the NAR/NAL object like in 1.6.x, TODO find out
+
+        processed = nar.memory.taskProcess;
+        setActive(isActive());
     }
 
     @Override
     public Class[] getEvents() {
-        return new Class[]{TaskProcess.class, Events.ResetStart.class};
+        return new Class[]{Events.ResetStart.class};
     }
 
+    @Override
+    public void setActive(boolean b) {
+        super.setActive(b);
+
+        //null while the superclass constructor activates this
+        if (processed == null) return;
+
+        if (b && (onProcessed == null)) {
+            onProcessed = processed.on(e -> inductionOnSucceedingEvents(e.a, e.b, false));
+        }
+        else if (!b && (onProcessed != null)) {
+            onProcessed.off();
+            onProcessed = null;
+        }
+    }
 
     @Override
     public void event(Class event, Object[] args) {
-        if (event == TaskProcess.class) {
-            Task t = (Task) args[0];
-            TaskProcess n = (TaskProcess) args[1];
-            inductionOnSucceedingEvents(t, n, false);
-        }
-        else if (event == Events.ResetStart.class) {
+        if (event == Events.ResetStart.class) {
             stm.clear();
         }
     }
@@ -82,28 +96,15 @@ public class STMInduction extends NARReaction {
         //final long now = nal.memory.time();
 
 
-        Iterator<Task> ss = stm.iterator();
-
         int numToRemoveFromBeginning = stm.size() - stmSize;
 
-        while (ss.hasNext()) {
-
-            Task stmLast = ss.next();
-
-
-            if (!equalSubTermsInRespectToImageAndProduct(currentTask.sentence.getTerm(), stmLast.sentence.getTerm())) {
-                continue;
-            }
-
-
-            if (numToRemoveFromBeginning > 0) {
-                ss.remove();
-            }
+        if (numToRemoveFromBeginning > 0) {
+            stm.removeSimilar(currentTask.sentence.getTerm());
         }
 
 
         //iterate on a copy because temporalInduction seems like it sometimes calls itself recursively and this will cause a concurrent modification exception otherwise
-        Task[] stmCopy = stm.toArray(new Task[stm.size()]);
+        Task[] stmCopy = stm.toArray();
 
         for (Task previousTask : stmCopy) {
 
@@ -127,9 +128,8 @@ public class STMInduction extends NARReaction {
         ////if(currentTask.getPriority()>Parameters.TEMPORAL_INDUCTION_MIN_PRIORITY) {
         //stmLast = currentTask;
         ////}
-        while (stm.size() > stmSize) {
-            stm.removeFirst();
-        }
+        //keeps the stmSize latest events, and the current one
+        stm.setCapacity(stmSize + 1);
         stm.add(currentTask);
 
         return true;
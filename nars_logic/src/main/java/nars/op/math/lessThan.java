@@ -27,7 +27,7 @@ public class lessThan extends TermPredicate {
             return null;
         }
 
-        return new DefaultTruth(v, 0.9f);
+        return DefaultTruth.the(v, 0.9f);
     }
 
 
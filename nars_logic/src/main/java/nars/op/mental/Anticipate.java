@@ -45,9 +45,9 @@ import nars.truth.DefaultTruth;
 import nars.truth.Truth;
 
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Operator that creates a judgment with a given statement
@@ -68,11 +68,11 @@ import java.util.Set;
  */
 public class Anticipate extends NARReaction implements Mental {
 
-    final static Truth expiredTruth = new DefaultTruth(0.0f, Global.DEFAULT_JUDGMENT_CONFIDENCE);
+    final static Truth expiredTruth = DefaultTruth.the(0.0f, Global.DEFAULT_JUDGMENT_CONFIDENCE);
     final static Budget expiredBudget = new Budget(Global.DEFAULT_JUDGMENT_PRIORITY, Global.DEFAULT_JUDGMENT_DURABILITY, BudgetFunctions.truthToQuality(expiredTruth));
 
 
-    final Multimap<Compound,TaskTime> anticipations = LinkedHashMultimap.create();
+    final Anticipations anticipations = new Anticipations();
 
     /** buffers the terms of new incoming tasks */
     final Set<Compound> newTaskTerms = Global.newHashSet(16);
@@ -88,7 +88,6 @@ public class Anticipate extends NARReaction implements Mental {
     boolean operatorEnabled = false;
     private Memory memory;
     private final boolean debug = false;
-    private long nextUpdateTime = -1;
     private final STMInduction stm;
 
 
@@ -125,9 +124,7 @@ public class Anticipate extends NARReaction implements Mental {
         if (debug)
             System.err.println("Anticipating " + term + " in " + (occurenceTime - now));
 
-        TaskTime tt = new TaskTime(t, memory.param.duration);
-        anticipations.put(term, tt);
-        updateNextRequiredTime(tt, now);
+        anticipations.add(term, new TaskTime(t, memory.param.duration));
 
         /*
         Move this to a separate Operator class
@@ -190,75 +187,30 @@ public class Anticipate extends NARReaction implements Mental {
 
         int news = newTaskTerms.size(), dids = 0, didnts =0, expireds = 0;
 
-        //1. filter anticipations which occurred
+        //1. remove anticipations which occurred, or expired
         for (Compound t : newTaskTerms) {
 
-            Collection<TaskTime> a = anticipations.get(t);
-            if (a == null) continue;
-
-            Iterator<TaskTime> tti = a.iterator();
-            while (tti.hasNext()) {
-
-                TaskTime tt = tti.next();
-
-                long tOccurrs = tt.occurrTime;
-
-                if (now > tOccurrs - dur/2) {
-                    tti.remove();
+            for (TaskTime tt : anticipations.remove(t)) {
+                if (now > tt.occurrTime - dur/2)
                     expireds++;
-                    continue;
-                }
-
-                if (!tt.didNotAlreadyOccurr(now)) {
-                    //it happened, temporal induction will do the rest
-                    tti.remove();
-                    dids++;
-                }
+                else
+                    dids++; //it happened, temporal induction will do the rest
             }
 
         }
 
         newTaskTerms.clear();
 
-        if ((nextUpdateTime == -1) || (nextUpdateTime > now)) return;
-
-        nextUpdateTime = -1;
-
-        //2. derive from remaining anticipations
-
-        Iterator<Map.Entry<Compound, TaskTime>> it = anticipations.entries().iterator();
-        while (it.hasNext()) {
-
-            Map.Entry<Compound, TaskTime> t = it.next();
-            Compound term = t.getKey();
-            TaskTime tt = t.getValue();
-
-            if (tt.didNotAlreadyOccurr(now)) {
-                deriveDidntHappen(term, tt);
-
-                it.remove();
-
-                didnts++;
-            }
-            else {
-                updateNextRequiredTime(tt, now);
-            }
-        }
+        //2. derive from the anticipations whose time has passed
+        didnts = anticipations.expire(now, this::deriveDidntHappen);
 
 
         if (debug)
-            System.err.println(now + ": Anticipations: pending=" + anticipations.size() + " newTasks=" + news + ", dids=" + dids + " , didnts=" + didnts + ", expired=" + expireds + ", nextUpdate=" + nextUpdateTime);
+            System.err.println(now + ": Anticipations: pending=" + anticipations.size() + " newTasks=" + news + ", dids=" + dids + " , didnts=" + didnts + ", expired=" + expireds + ", nextUpdate=" + anticipations.nextExpiry());
 
 
     }
 
-    private void updateNextRequiredTime(final TaskTime tt, final long now) {
-        final long nextRequiredUpdate = tt.expiredate;
-        if ((nextUpdateTime == -1) || (nextUpdateTime > nextRequiredUpdate) && (nextRequiredUpdate > now)) {
-            nextUpdateTime = nextRequiredUpdate;
-        }
-    }
-
 //    @Override
 //    public void onEnabled(NAR n) {
 //            newTaskTerms.clear();
@@ -333,6 +285,78 @@ public class Anticipate extends NARReaction implements Mental {
     }
 
 
+    /**
+     * Pending anticipations, indexed by term, for their confirmation, and by
+     * expiry date in a min-heap, so that neither confirming nor expiring one
+     * scans the others.  Removal by term only marks the heap entries, which are
+     * discarded when they reach the top.
+     */
+    public static class Anticipations {
+
+        final Multimap<Compound,TaskTime> byTerm = LinkedHashMultimap.create();
+        final PriorityQueue<TaskTime> byExpiry = new PriorityQueue<>(16,
+                (a, b) -> Long.compare(a.expiredate, b.expiredate));
+
+        /** returns false if an equal anticipation of the term is already pending */
+        public boolean add(final Compound term, final TaskTime tt) {
+            tt.term = term;
+            if (!byTerm.put(term, tt))
+                return false;
+            byExpiry.add(tt);
+            return true;
+        }
+
+        /** removes the anticipations of a term */
+        public Collection<TaskTime> remove(final Compound term) {
+            final Collection<TaskTime> r = byTerm.removeAll(term);
+            for (final TaskTime tt : r)
+                tt.removed = true;
+            return r;
+        }
+
+        /** removes the anticipations whose expiry date is not after now, in order of expiry,
+         *  and passes each to a consumer; returns how many expired */
+        public int expire(final long now, final BiConsumer<Compound,TaskTime> expired) {
+            int n = 0;
+            TaskTime tt;
+            while (((tt = byExpiry.peek()) != null) && tt.didNotAlreadyOccurr(now)) {
+                byExpiry.poll();
+                if (tt.removed) continue;
+
+                byTerm.remove(tt.term, tt);
+                tt.removed = true;
+                expired.accept(tt.term, tt);
+                n++;
+            }
+            return n;
+        }
+
+        /** the earliest expiry date of the pending anticipations, or -1 if there are none */
+        public long nextExpiry() {
+            TaskTime tt;
+            while (((tt = byExpiry.peek()) != null) && tt.removed)
+                byExpiry.poll();
+            return (tt != null) ? tt.expiredate : -1;
+        }
+
+        public Collection<TaskTime> get(final Compound term) {
+            return byTerm.get(term);
+        }
+
+        public int size() {
+            return byTerm.size();
+        }
+
+        public boolean isEmpty() {
+            return byTerm.isEmpty();
+        }
+
+        public void clear() {
+            byTerm.clear();
+            byExpiry.clear();
+        }
+    }
+
     /** Prediction point vector / centroid of a group of Tasks
      *      time a prediction is made (creationTime), and
      *      tme it is expected (ocurrenceTime) */
@@ -349,6 +373,10 @@ public class Anticipate extends NARReaction implements Mental {
         final public long expiredate;
         private final int hash;
 
+        /** the anticipated term, and whether it was removed from the Anticipations */
+        Compound term;
+        boolean removed;
+
         public TaskTime(Task task, Interval.AtomicDuration dura) {
             super();
             this.task = task;
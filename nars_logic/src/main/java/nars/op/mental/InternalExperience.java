@@ -250,7 +250,7 @@ public class InternalExperience extends NARReaction {
         Term taskTerm = task.getTerm();
         Term beliefTerm = belief.getTerm();
         Memory memory = nal.memory;
-        Random r = memory.random;
+        Random r = nal.getRandom();
 
         if (r.nextFloat() < INTERNAL_EXPERIENCE_RARE_PROBABILITY ) {
 
@@ -264,7 +264,7 @@ public class InternalExperience extends NARReaction {
             }
         }
 
-        if (beliefTerm instanceof Implication && memory.random.nextFloat()<=INTERNAL_EXPERIENCE_PROBABILITY) {
+        if (beliefTerm instanceof Implication && r.nextFloat()<=INTERNAL_EXPERIENCE_PROBABILITY) {
             Implication imp=(Implication) beliefTerm;
             if(imp.getTemporalOrder()==TemporalRules.ORDER_FORWARD) {
                 //1. check if its (&/,term,+i1,...,+in) =/> anticipateTerm form:
@@ -14,6 +14,7 @@ import nars.nal.UtilityFunctions;
 import nars.nal.nal5.Conjunction;
 import nars.nal.nal7.AbstractInterval;
 import nars.nal.nal7.CyclesInterval;
+import nars.op.app.EventWindow;
 import nars.process.NAL;
 import nars.task.Task;
 import nars.task.stamp.Stamp;
@@ -21,7 +22,6 @@ import nars.term.Term;
 import nars.truth.Truth;
 import nars.truth.TruthFunctions;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 
 import static nars.nal.nal7.TemporalRules.ORDER_CONCURRENT;
@@ -42,7 +42,7 @@ public class PerceptionAccel extends NARReaction {
     int[] sv = new int[ConjunctionMemorySize]; //use static array, should suffice for now
     boolean debugMechanism = false;
     float partConceptsPrioThreshold = 0.1f;
-    final ArrayList<Task> eventbuffer = new ArrayList<>();
+    final EventWindow eventbuffer = new EventWindow(2);
     int cur_maxlen = 1;
     final LongArrayList evBase = new LongArrayList();
 
@@ -64,9 +64,7 @@ public class PerceptionAccel extends NARReaction {
 
                 NAL nal = (NAL) args[1];
 
-                while (eventbuffer.size()+1 > cur_maxlen + 1) {
-                    eventbuffer.remove(0);
-                }
+                eventbuffer.setCapacity(cur_maxlen + 1);
                 eventbuffer.add(newEvent);
 
                 perceive(newEvent, nal);
@@ -56,7 +56,7 @@ public class believe extends SynchOperator implements Mental {
 
         AbstractTruth truth;
         return Lists.newArrayList( operation.newSubTask(memory,
-                content, Symbols.JUDGMENT, truth = new DefaultTruth(1, Global.DEFAULT_JUDGMENT_CONFIDENCE), memory.time(),
+                content, Symbols.JUDGMENT, truth = DefaultTruth.the(1, Global.DEFAULT_JUDGMENT_CONFIDENCE), memory.time(),
                 new Budget(Global.DEFAULT_JUDGMENT_PRIORITY, Global.DEFAULT_JUDGMENT_DURABILITY, truth)) );
 
 
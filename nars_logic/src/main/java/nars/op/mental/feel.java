@@ -54,7 +54,7 @@ public abstract class feel extends SynchOperator implements Mental {
         Inheritance content = Inheritance.make(selfSubject, predicate);
 
         return Lists.newArrayList( memory.newTask(content)
-                .judgment().truth(new DefaultTruth(value, 0.999f))
+                .judgment().truth(DefaultTruth.the(value, 0.999f))
                 .budget(Global.DEFAULT_JUDGMENT_PRIORITY, Global.DEFAULT_JUDGMENT_DURABILITY)
                 .occurrNow().get()
         );
@@ -52,7 +52,7 @@ public class name extends SynchOperator implements Mental {
 
         AbstractTruth truth;
         return Lists.newArrayList( operation.newSubTask(memory,
-                content, Symbols.JUDGMENT, truth = new DefaultTruth(1, 0.9999f), memory.time(),
+                content, Symbols.JUDGMENT, truth = DefaultTruth.the(1, 0.9999f), memory.time(),
                 new Budget(Global.DEFAULT_JUDGMENT_PRIORITY, Global.DEFAULT_JUDGMENT_DURABILITY, truth)) );
     }
 }
@@ -49,7 +49,7 @@ public class want extends SynchOperator implements Mental {
 
         Term content = operation.arg(0);
         
-        Truth truth = new DefaultTruth(1, Global.DEFAULT_JUDGMENT_CONFIDENCE);
+        Truth truth = DefaultTruth.the(1, Global.DEFAULT_JUDGMENT_CONFIDENCE);
 
         Budget budget = new Budget(Global.DEFAULT_GOAL_PRIORITY, Global.DEFAULT_GOAL_DURABILITY, truth);
 
@@ -124,14 +124,14 @@ public class js extends TermFunction implements Mental {
             }
 
             if (result instanceof Number) {
-                return new DefaultTruth(((Number)result).floatValue(), 0.99f);
+                return DefaultTruth.the(((Number)result).floatValue(), 0.99f);
             }
             if (result instanceof Object[]) {
                 if (((Object[])result).length > 1) {
                     Object a = ((Object[])result)[0];
                     Object b = ((Object[])result)[1];
                     if ((a instanceof Number) && (b instanceof Number)) {
-                        return new DefaultTruth(((Number) a).floatValue(), ((Number) b).floatValue());
+                        return DefaultTruth.the(((Number) a).floatValue(), ((Number) b).floatValue());
                     }
                 }
             }
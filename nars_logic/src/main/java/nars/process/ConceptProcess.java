@@ -4,7 +4,6 @@
  */
 package nars.process;
 
-import nars.Events;
 import nars.Param;
 import nars.bag.Bag;
 import nars.concept.Concept;
@@ -12,7 +11,12 @@ import nars.link.TaskLink;
 import nars.link.TermLink;
 import nars.link.TermLinkKey;
 import nars.nal.Premise;
+import nars.task.Sentence;
+import nars.task.Task;
 import nars.term.Term;
+import nars.util.event.EventRecord.One;
+import nars.util.event.EventRecord.Three;
+import nars.util.event.Topic;
 
 import java.util.Random;
 
@@ -36,8 +40,8 @@ public class ConceptProcess extends NAL implements Premise {
     final TermLinkNoveltyFilter termLinkNovel = new TermLinkNoveltyFilter();
 
 
-    private final int termLinksToFire;
-    private long now;
+    protected final int termLinksToFire;
+    protected long now;
 
 
     public ConceptProcess(Concept concept, TaskLink taskLink) {
@@ -75,7 +79,9 @@ public class ConceptProcess extends NAL implements Premise {
         beforeFinish();
 
 
-        emit(Events.ConceptProcessed.class, this);
+        final Topic<Class, One<ConceptProcess>> t = memory.conceptProcessed;
+        if (t.isActive())
+            t.emit(t.record().set(this));
         memory.logic.TASKLINK_FIRE.hit();
 
     }
@@ -181,8 +187,8 @@ public class ConceptProcess extends NAL implements Premise {
 
 
 
-            TaskLink.Recording r = taskLink.get(termLink);
-            if (r == null) {
+            final float recordTime = taskLink.getRecordTime(termLink);
+            if (Float.isNaN(recordTime)) {
                 taskLink.put(termLink, now);
                 return true;
             }
@@ -197,7 +203,7 @@ public class ConceptProcess extends NAL implements Premise {
                 }
                 else {
 
-                    float timeSinceLastFire = lft - r.getTime();
+                    float timeSinceLastFire = lft - recordTime;
                     float factor = noveltyFactor(timeSinceLastFire);
 
                     if (factor <= 0) {
@@ -213,7 +219,7 @@ public class ConceptProcess extends NAL implements Premise {
 
 
                 if (result) {
-                    taskLink.put(r, now);
+                    taskLink.put(termLink, now);
                     return true;
                 }
                 else {
@@ -252,7 +258,7 @@ public class ConceptProcess extends NAL implements Premise {
      * @param time The current time
      * @return The selected TermLink
      */
-    TermLink nextTermLink(float noveltyHorizon, int termLinksBeingFired) {
+    protected TermLink nextTermLink(float noveltyHorizon, int termLinksBeingFired) {
 
         final int links = currentConcept.getTermLinks().size();
         if (links == 0) return null;
@@ -267,7 +273,7 @@ public class ConceptProcess extends NAL implements Premise {
         termLinkNovel.set(noveltyHorizon, tl.size(), termLinksBeingFired);
 
 
-        Random rng = memory.random;
+        Random rng = getRandom();
         for (int i = 0; (i < toMatch); i++) {
 
             final TermLink termLink = tl.forgetNext();
@@ -298,7 +304,9 @@ public class ConceptProcess extends NAL implements Premise {
 
         reasoner.fire(this);
 
-        emit(Events.BeliefReason.class, getCurrentBelief(), getCurrentTask(), this);
+        final Topic<Class, Three<Sentence, Task, ConceptProcess>> t = memory.beliefReason;
+        if (t.isActive())
+            t.emit(t.record().set(getCurrentBelief(), getCurrentTask(), this));
     }
 
     @Override
@@ -311,12 +319,7 @@ public class ConceptProcess extends NAL implements Premise {
     @Override
     protected void process() {
 
-        final long now = this.now = memory.time();
-
-        currentConcept.setUsed(now);
-        currentTaskLink.setUsed(now);
-
-        currentConcept.getTermLinks().setForgetNext(memory.param.termLinkForgetDurations, memory);
+        prepare();
 
         processTask();
 
@@ -331,6 +334,16 @@ public class ConceptProcess extends NAL implements Premise {
 
 
 
+    /** marks the concept and tasklink as used at the current time, before any reasoning */
+    protected void prepare() {
+        final long now = this.now = memory.time();
+
+        currentConcept.setUsed(now);
+        currentTaskLink.setUsed(now);
+
+        currentConcept.getTermLinks().setForgetNext(memory.param.termLinkForgetDurations, memory);
+    }
+
     /**
      * @return the currentBeliefLink
      */
@@ -4,9 +4,9 @@
  */
 package nars.process;
 
-import nars.Events;
 import nars.Global;
 import nars.Memory;
+import nars.meter.CycleProfiler;
 import nars.budget.Budget;
 import nars.nal.LogicPolicy;
 import nars.nal.nal7.AbstractInterval;
@@ -19,9 +19,13 @@ import nars.term.Compound;
 import nars.term.Term;
 import nars.truth.Truth;
 import nars.truth.TruthFunctions;
+import nars.util.event.EventRecord.One;
+import nars.util.event.EventRecord.Two;
+import nars.util.event.Topic;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * NAL Reasoner Process.  Includes all reasoning process state and common utility methods that utilize it.
@@ -78,9 +82,24 @@ public abstract class NAL implements Runnable {
 
     @Override
     public void run() {
-        onStart();
-        process();
-        onFinished();
+        final CycleProfiler p = memory.profiler;
+        if (p == null) {
+            onStart();
+            process();
+            onFinished();
+            return;
+        }
+
+        //ended even if the process fails, so that the profiler's nesting stays balanced
+        p.begin();
+        try {
+            onStart();
+            process();
+            onFinished();
+        }
+        finally {
+            p.endProcess(this);
+        }
     }
 
     protected void onStart() {
@@ -102,6 +121,12 @@ public abstract class NAL implements Runnable {
         return memory.nal();
     }
 
+    /** the random number generator used by rules applied in this process;
+     *  defaults to the memory's shared generator */
+    public Random getRandom() {
+        return memory.random;
+    }
+
     /**
      * whether at least NAL level N is enabled
      */
@@ -189,12 +214,15 @@ public abstract class NAL implements Runnable {
         Task taskCreated;
         if (null != (taskCreated = addNewTask(task, "Derived", false, revised, single))) {
 
-            memory.event.emit(Events.TaskDerive.class, taskCreated);
+            final Topic<Class, One<Task>> derived = memory.taskDerive;
+            if (derived.isActive())
+                derived.emit(derived.record().set(taskCreated));
             memory.logic.TASK_DERIVED.hit();
 
             if (nal(7)) {
-                if (taskCreated.getOccurrenceTime() > memory.time()) {
-                    memory.event.emit(Events.TaskDeriveFuture.class, taskCreated, this);
+                final Topic<Class, Two<Task, NAL>> future = memory.taskDeriveFuture;
+                if (future.isActive() && (taskCreated.getOccurrenceTime() > memory.time())) {
+                    future.emit(future.record().set(taskCreated, this));
                 }
             }
 
@@ -8,6 +8,8 @@ import nars.Memory;
 import nars.NAR;
 import nars.concept.Concept;
 import nars.task.Task;
+import nars.util.event.EventRecord.Three;
+import nars.util.event.Topic;
 
 /**
  * "Direct" processing of a new task, in constant time Local processing,
@@ -64,7 +66,9 @@ public class TaskProcess extends NAL {
 
             c.link(currentTask);
 
-            emit(TaskProcess.class, getCurrentTask(), this, c);
+            final Topic<Class, Three<Task, TaskProcess, Concept>> t = memory.taskProcess;
+            if (t.isActive())
+                t.emit(t.record().set(getCurrentTask(), this, c));
             memory.logic.TASK_IMMEDIATE_PROCESS.hit();
         }
     }
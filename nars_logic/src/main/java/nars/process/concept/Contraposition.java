@@ -34,7 +34,7 @@ public class Contraposition extends ConceptFireTask {
 
             float n = taskTerm.getComplexity(); //don't let this rule apply every time, make it dependent on complexity
             float w = 1.0f / ((n * (n - 1)) / 2.0f); //let's assume hierachical tuple (triangle numbers) amount for this
-            if (f.memory.random.nextFloat() < w) { //so that NARS memory will not be spammed with contrapositions
+            if (f.getRandom().nextFloat() < w) { //so that NARS memory will not be spammed with contrapositions
 
                 contraposition(taskSentence, f);
                 //}
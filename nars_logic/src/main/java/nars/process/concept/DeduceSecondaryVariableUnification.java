@@ -132,7 +132,7 @@ OUT: <(&&,<#1 --> lock>,<#1 --> (/,open,$2,_)>) ==> <$2 --> key>>.
 
     public boolean dedSecondLayerVariableUnification(final Task task, final NAL nal) {
 
-        final Random r = nal.memory.random;
+        final Random r = nal.getRandom();
 
         final Sentence taskSentence = task.sentence;
 
@@ -25,7 +25,7 @@ public class TableDerivations extends ConceptFireTaskTerm {
     @Override
     public boolean apply(final ConceptProcess f, final TaskLink tLink, final TermLink bLink) {
 
-        f.memory.emotion.busy(f);
+        f.memory.defer(() -> f.memory.emotion.busy(f));
 
         final Sentence taskSentence = tLink.getSentence();
         final Term taskTerm = tLink.getTerm();
@@ -101,7 +101,7 @@ public class TableDerivations extends ConceptFireTaskTerm {
                         if (belief != null) {
                             if (beliefTerm instanceof Implication) {
                                 Term[] u = new Term[] { beliefTerm, taskTerm };
-                                if (Variables.unify(VAR_INDEPENDENT, ((Statement) beliefTerm).getSubject(), taskTerm, u, f.memory.random)) {
+                                if (Variables.unify(VAR_INDEPENDENT, ((Statement) beliefTerm).getSubject(), taskTerm, u, f.getRandom())) {
                                     if (u[0] instanceof Compound) {
                                         Task<Statement> newBelief = beliefTask.clone((Compound) u[0]/*, Statement.class*/);
                                         if (newBelief != null) {
@@ -80,6 +80,7 @@ public class Sentence<T extends Compound> extends Item<Sentence<T>> implements C
      * Partial record of the derivation path
      */
     private long[] evidentialSet = null;
+    private long evidenceSummary = 0;
 
 
     private long creationTime = Stamp.TIMELESS;
@@ -122,7 +123,7 @@ public class Sentence<T extends Compound> extends Item<Sentence<T>> implements C
 
         this.revisible = !((term instanceof Conjunction) && term.hasVarDep());
 
-        this.term = term;
+        this.term = TermInterner.intern(term);
 
 
 
@@ -422,7 +423,7 @@ public class Sentence<T extends Compound> extends Item<Sentence<T>> implements C
                 float factor = TruthFunctions.temporalProjection(occurrenceTime, targetTime, currentTime);
                 float projectedConfidence = factor * truth.getConfidence();
                 if (projectedConfidence > newTruth.getConfidence()) {
-                    newTruth = new DefaultTruth(truth.getFrequency(), projectedConfidence);
+                    newTruth = DefaultTruth.the(truth.getFrequency(), projectedConfidence);
                 }
             }
         }
@@ -641,6 +642,11 @@ public class Sentence<T extends Compound> extends Item<Sentence<T>> implements C
         return evidentialSet;
     }
 
+    @Override
+    public long getEvidenceSummary() {
+        return evidenceSummary;
+    }
+
     @Override
     public long getCreationTime() {
         return creationTime;
@@ -687,6 +693,7 @@ public class Sentence<T extends Compound> extends Item<Sentence<T>> implements C
     public Sentence setEvidentialSet(long[] evidentialSet) {
         if (evidentialSet!=null) {
             this.evidentialSet = evidentialSet;
+            this.evidenceSummary = Stamp.summary(evidentialSet);
         }
 
         invalidateHash();
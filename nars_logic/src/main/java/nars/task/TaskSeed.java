@@ -154,7 +154,7 @@ public class TaskSeed<T extends Compound> extends DirectBudget implements Abstra
                 if (bs == null)
                     throw new RuntimeException("parentBelief " + getParentBelief() + " has no evidentialSet");
 
-                setEvidentialSet(Stamp.toSetArray(Stamp.zip(as, bs)));
+                setEvidentialSet(as, bs);
 
                 if (getParentTask().isInput() || getParentBelief().isInput()) {
                     setCyclic(false);
@@ -282,11 +282,7 @@ public class TaskSeed<T extends Compound> extends DirectBudget implements Abstra
     }
 
     public TaskSeed<T> truth(float freq, float conf) {
-        if (!(this.truth instanceof DefaultTruth)) //includes the null case as false
-            this.truth = new DefaultTruth(freq, conf);
-        else {
-            this.truth.set(freq, conf);
-        }
+        this.truth = DefaultTruth.the(freq, conf);
         return this;
         //return truth(freq, conf, Global.TRUTH_EPSILON);
     }
@@ -406,7 +402,7 @@ public class TaskSeed<T extends Compound> extends DirectBudget implements Abstra
             throw new RuntimeException("Punctuation must be specified before generating a default budget");
 
         if ((truth == null) && !((punc == Symbols.QUEST) || (punc == Symbols.QUESTION))) {
-            truth = new DefaultTruth(punc);
+            truth = DefaultTruth.the(punc);
         }
 
 //
@@ -459,6 +455,13 @@ public class TaskSeed<T extends Compound> extends DirectBudget implements Abstra
         return this;
     }
 
+    /** sets the evidential set to the merge of two sorted evidential sets, truncated
+     *  to Global.MAXIMUM_EVIDENTAL_BASE_LENGTH in the same pass (see Stamp.zipSet).
+     *  the result may be one of the given arrays, which must not be modified */
+    public TaskSeed setEvidentialSet(final long[] a, final long[] b) {
+        return setEvidentialSet(Stamp.zipSet(a, b));
+    }
+
     public TaskSeed setDuration(int d) {
         this.duration = d;
         return this;
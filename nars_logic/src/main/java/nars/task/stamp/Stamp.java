@@ -69,7 +69,8 @@ public interface Stamp extends StampEvidence, Cloneable, Serializable {
     }
 
 
-    /*** zips two evidentialBase arrays into a new one */
+    /*** zips two evidentialBase arrays into a new one.
+     *  see zipSet for a version which also produces the evidential set */
     static long[] zip(final long[] a, final long[] b) {
 
         final int baseLength = Math.min(a.length + b.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH);
@@ -91,6 +92,85 @@ public interface Stamp extends StampEvidence, Cloneable, Serializable {
     }
 
 
+    /** equivalent to toSetArray(zip(a, b)) for sorted, deduplicated evidential sets
+     *  a and b, but merges them without allocating the intermediate zipped array.
+     *  the result is allocated at its exact size, after counting it; if it is
+     *  equal to a or b (one contains the other) that array is returned instead */
+    static long[] zipSet(final long[] a, final long[] b) {
+
+        final int length = zipSetLength(a, b);
+
+        //if all of a or b is kept and nothing else is added, the result is that array
+        if (length == b.length && b.length <= Global.MAXIMUM_EVIDENTAL_BASE_LENGTH)
+            return b;
+        if (length == a.length && a.length <= Global.MAXIMUM_EVIDENTAL_BASE_LENGTH - Math.min(b.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH))
+            return a;
+
+        return zipSet(a, b, new long[length]);
+    }
+
+    /** number of elements of zipSet(a, b), counted without allocating */
+    static int zipSetLength(final long[] a, final long[] b) {
+
+        //same truncation as zip: all of b (up to the limit) and the beginning of a
+        final int bLength = Math.min(b.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH);
+        final int aLength = Math.min(a.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH - bLength);
+
+        int i = 0, j = 0, k = 0;
+        while (i < aLength && j < bLength) {
+            final long x = a[i], y = b[j];
+            if (x <= y) i++;
+            if (y <= x) j++;
+            k++;
+        }
+        return k + (aLength - i) + (bLength - j);
+    }
+
+    /** merges a and b, truncated as by zip, into target whose length must be
+     *  zipSetLength(a, b).  returns target */
+    static long[] zipSet(final long[] a, final long[] b, final long[] target) {
+
+        final int bLength = Math.min(b.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH);
+        final int aLength = Math.min(a.length, Global.MAXIMUM_EVIDENTAL_BASE_LENGTH - bLength);
+
+        int i = 0, j = 0, k = 0;
+        while (i < aLength && j < bLength) {
+            final long x = a[i], y = b[j];
+            if (x <= y) i++;
+            if (y <= x) j++;
+            target[k++] = (x <= y) ? x : y; //common elements once
+        }
+        while (i < aLength)
+            target[k++] = a[i++];
+        while (j < bLength)
+            target[k++] = b[j++];
+
+        return target;
+    }
+
+    /** whether two sorted evidential sets have any element in common; O(a+b) */
+    static boolean overlaps(final long[] a, final long[] b) {
+        final int aLength = a.length, bLength = b.length;
+        int i = 0, j = 0;
+        while (i < aLength && j < bLength) {
+            final long x = a[i], y = b[j];
+            if (x == y) return true;
+            if (x < y) i++;
+            else j++;
+        }
+        return false;
+    }
+
+    /** 64-bit bloom-style summary of an evidential set: one bit per element.
+     *  if the summaries of two sets have no bits in common, the sets can not overlap.
+     *  serials are sequential so their low 6 bits alone spread them well. */
+    static long summary(final long[] evidentialSet) {
+        long s = 0;
+        for (final long e : evidentialSet)
+            s |= 1L << e; //shift distance uses the lowest 6 bits of e
+        return s;
+    }
+
     public static long getOccurrenceTime(long creationTime, final Tense tense, Memory m) {
         return getOccurrenceTime(creationTime, tense, m.duration());
     }
@@ -146,39 +226,35 @@ public interface Stamp extends StampEvidence, Cloneable, Serializable {
         if (l < 2)
             return x;
 
+        //0. if it is already sorted without duplicates, there is nothing to do
+        boolean set = true;
+        for (int i = 1; i < l; i++) {
+            if (x[i - 1] >= x[i]) {
+                set = false;
+                break;
+            }
+        }
+        if (set)
+            return x;
 
         //1. copy evidentialBase and sort it
         long[] sorted = Arrays.copyOf(x, l);
         Arrays.sort(sorted);
 
-        //2. count unique elements
-        long lastValue = -1;
-        int uniques = 0; //# of unique items
-        final int sLen = sorted.length;
-
-        for (int i = 0; i < sLen; i++) {
+        //2. de-duplicate in place
+        int uniques = 1; //# of unique items
+        for (int i = 1; i < l; i++) {
             long v = sorted[i];
-            if (lastValue != v)
-                uniques++;
-            lastValue = v;
+            if (sorted[uniques - 1] != v)
+                sorted[uniques++] = v;
         }
 
-        if (uniques == sLen) {
+        if (uniques == l) {
             //if no duplicates, just return it
             return sorted;
         }
 
-        //3. de-duplicate
-        lastValue = -1;
-        long[] deduplicated = new long[uniques];
-        uniques = 0;
-        for (int i = 0; i < sLen; i++) {
-            long v = sorted[i];
-            if (lastValue != v)
-                deduplicated[uniques++] = v;
-            lastValue = v;
-        }
-        return deduplicated;
+        return Arrays.copyOf(sorted, uniques);
     }
 
     default public boolean before(Stamp s, int duration) {
@@ -475,26 +551,16 @@ public interface Stamp extends StampEvidence, Cloneable, Serializable {
 
         if ( a.isInput() || b.isInput() ) return false;
 
-        /** TODO since these are sorted, we can compare these faster by
-            iterating both arrays simultaneously skipping ahead when one
-            has a higher value than the other until the shorter reaches the end
-
-            or at least compare a triangular half of the matrix with these
-            2 loops
-         */
+        //quick rejection: disjoint summaries can not have common elements
+        if ((a.getEvidenceSummary() & b.getEvidenceSummary()) == 0)
+            return false;
 
-        for (long l : a.getEvidentialSet()) {
-            for (long h : b.getEvidentialSet()) {
-                if (l == h) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return overlaps(a.getEvidentialSet(), b.getEvidentialSet());
     }
 
 
 
+
 }
 
 
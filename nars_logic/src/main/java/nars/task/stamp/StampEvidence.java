@@ -11,6 +11,12 @@ public interface StampEvidence extends AbstractStamper {
      * since it is the deduplicated and sorted form of it. */
     abstract public long[] getEvidentialSet();
 
+    /** 64-bit summary of the evidential set, for quick overlap rejection
+     * @see Stamp#summary */
+    default public long getEvidenceSummary() {
+        return Stamp.summary(getEvidentialSet());
+    }
+
 
 
     public boolean isCyclic();
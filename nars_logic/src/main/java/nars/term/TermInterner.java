@@ -0,0 +1,78 @@
+package nars.term;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import nars.Global;
+import nars.Op;
+import nars.nal.nal8.Operation;
+
+/**
+ * Global hash-consing table for compound terms, enabled by Global.TERM_INTERNING.
+ *
+ * Structurally equal terms passed through intern() share one canonical instance
+ * (and its lazily generated name, hashes, etc..) so that equality tests between
+ * them, ex: when a Concept is looked up by a Sentence's term, are decided by the
+ * identity check at the start of Compound.equals().  The subterms of a canonical
+ * instance are themselves canonical, so comparisons of different but similar terms
+ * also mostly reduce to reference comparisons of their subterms.
+ *
+ * Entries are weakly referenced and disappear once the term is no longer
+ * used anywhere else.
+ *
+ * Only compounds which can not be modified after construction, and whose
+ * equality covers all they hold, are interned: terms containing variables may
+ * be transformed in-place (ex: normalization), a Sequence (Intermval) carries
+ * intervals not included in its equality, and an Operation references the Task
+ * executing it.  So a compound containing any of these, at any depth, is not
+ * interned, as equal compounds differing in them would share one instance.
+ * Atoms are not interned either.  Other terms are returned unchanged.
+ */
+public class TermInterner {
+
+    private static final Interner<Compound> table = Interners.newWeakInterner();
+
+    private TermInterner() {
+    }
+
+    /** structure bit of a Sequence, the only Intermval term, which compounds containing one also have */
+    private static final long SEQUENCE = 1L << Op.SEQUENCE.ordinal();
+
+    public static boolean internable(final Term t) {
+        return (t instanceof Compound) && !t.hasVar() &&
+                ((t.structuralHash() & SEQUENCE) == 0) &&
+                !containsOperation((Compound) t);
+    }
+
+    private static boolean containsOperation(final Compound c) {
+        if (c instanceof Operation) return true;
+        for (final Term x : c.term) {
+            if ((x instanceof Compound) && containsOperation((Compound) x))
+                return true;
+        }
+        return false;
+    }
+
+    /** returns the canonical instance equal to t, which may be t itself, if interning is enabled */
+    public static <T extends Term> T intern(final T t) {
+        if (!Global.TERM_INTERNING || !internable(t))
+            return t;
+
+        return (T) canonical((Compound) t);
+    }
+
+    /** interns an internable compound; its subterms, being internable too, are not checked again */
+    private static Compound canonical(final Compound c) {
+        final Compound canonical = table.intern(c);
+        if (canonical == c) {
+            //newly added: replace its subterms with their canonical instances.
+            //they are equal so this changes neither its hash nor its name.
+            final Term[] sub = c.term;
+            for (int i = 0; i < sub.length; i++) {
+                if (sub[i] instanceof Compound)
+                    sub[i] = canonical((Compound) sub[i]);
+            }
+        }
+        return canonical;
+    }
+
+}
@@ -24,7 +24,7 @@ abstract public class AbstractDefaultTruth extends AbstractTruth {
      * @param c The confidence value
      */
     public AbstractDefaultTruth(final float f, final float c) {
-        super(f, c);
+        super(f, c, DefaultTruth.DEFAULT_TRUTH_EPSILON);
     }
 
 
@@ -7,30 +7,48 @@ import static nars.Symbols.GOAL;
 import static nars.Symbols.JUDGMENT;
 
 /**
- * Created by me on 7/1/15.
+ * Immutable truth value, so that instances can be shared
  */
 public abstract class AbstractTruth implements Truth {
 
     /**
      * The frequency factor of the truth value
      */
-    private float frequency;
+    private final float frequency;
 
     /**
      * The confidence factor of the truth value
      */
-    private float confidence;
+    private final float confidence;
 
+    /** computed once, as the truth value does not change */
+    private final float expectation;
 
 
-    public AbstractTruth(final float freq, final float conf) {
+    public AbstractTruth(final float freq, final float conf, final float epsilon) {
         super();
-        setFrequency(freq);
-        setConfidence(conf);
+        this.frequency = frequency(freq, epsilon);
+        this.confidence = confidence(conf, epsilon);
+        this.expectation = Truth.expectation(frequency, confidence);
     }
 
-    public AbstractTruth() {
-        //freq and conf will begin at 0
+    /** a frequency limited to 0..1 and rounded to epsilon */
+    static float frequency(float f, final float epsilon) {
+        if (f > 1.0f) f = 1.0f;
+        if (f < 0f) f = 0f;
+        //if ((f > 1.0f) || (f < 0f)) throw new RuntimeException("Invalid frequency: " + f); //f = 0f;
+
+        return FastMath.round(f / epsilon) * epsilon;
+    }
+
+    /** a confidence limited to 0..MAX_CONFIDENCE and rounded to epsilon */
+    static float confidence(float c, final float epsilon) {
+        //if ((c > 1.0f) || (c < 0f)) throw new RuntimeException("Invalid confidence: " + c);
+        final float maxConf = Global.MAX_CONFIDENCE;
+        if (c > maxConf) c = maxConf;
+        if (c < 0) c = 0;
+
+        return Math.round(c / epsilon) * epsilon;
     }
 
     public float getFrequency() {
@@ -42,30 +60,14 @@ public abstract class AbstractTruth implements Truth {
         return Truth.hash(this);
     }
 
-    public Truth setFrequency(float f) {
-        if (f > 1.0f) f = 1.0f;
-        if (f < 0f) f = 0f;
-        //if ((f > 1.0f) || (f < 0f)) throw new RuntimeException("Invalid frequency: " + f); //f = 0f;
-
-        final float e = getEpsilon();
-        this.frequency = FastMath.round(f / e) * e;
-        return this;
-    }
-
     @Override
     public float getConfidence() {
         return confidence;
     }
 
-    public Truth setConfidence(float c) {
-        //if ((c > 1.0f) || (c < 0f)) throw new RuntimeException("Invalid confidence: " + c);
-        final float maxConf = getConfidenceMax();
-        if (c > maxConf) c = maxConf;
-        if (c < 0) c = 0;
-
-        final float e = getEpsilon();
-        this.confidence = Math.round(c / e) * e;
-        return this;
+    @Override
+    public float getExpectation() {
+        return expectation;
     }
 
     public BasicTruth clone() {
@@ -7,6 +7,22 @@ import nars.Memory;
  */
 public class AnalyticTruth extends BasicTruth {
 
+    /** shared instances at DEFAULT_TRUTH_EPSILON, as in DefaultTruth.the */
+    private static final AnalyticTruth[] shared = new AnalyticTruth[DefaultTruth.STEPS * DefaultTruth.STEPS];
+
+    /** the analytic truth value for (f, c), shared if the epsilon is default */
+    public static AnalyticTruth the(final float f, final float c, final float epsilon) {
+        if (epsilon != DefaultTruth.DEFAULT_TRUTH_EPSILON)
+            return new AnalyticTruth(f, c, epsilon);
+
+        final int i = DefaultTruth.index(f, c);
+        if (i == -1)
+            return new AnalyticTruth(f, c, epsilon);
+        AnalyticTruth t = shared[i];
+        if (t == null)
+            shared[i] = t = new AnalyticTruth(f, c, epsilon);
+        return t;
+    }
 
     /** returns null if the confidence is zero */
     public static AnalyticTruth get(final float f, final float c, final Truth t) {
@@ -23,7 +39,7 @@ public class AnalyticTruth extends BasicTruth {
             if (conf <= 0)
                 return null;
         }
-        return new AnalyticTruth(freq, conf, copyEpsilonFrom);
+        return the(freq, conf, copyEpsilonFrom.getEpsilon());
     }
 
     protected AnalyticTruth(float freq, float conf, Truth copyEpsilonFrom) {
@@ -45,8 +61,7 @@ public class AnalyticTruth extends BasicTruth {
 
     @Override
     public AnalyticTruth negate() {
-        super.negate();
-        return this;
+        return the(1 - getFrequency(), getConfidence(), getEpsilon());
     }
 
 }
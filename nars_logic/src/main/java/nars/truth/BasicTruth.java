@@ -10,9 +10,8 @@ public class BasicTruth extends AbstractTruth {
     public final float epsilon;
 
     public BasicTruth(final float freq, final float conf, final float epsilon) {
-        super();
-        this.epsilon = epsilon; //epsilon must be set first
-        set(freq, conf);
+        super(freq, conf, epsilon);
+        this.epsilon = epsilon;
     }
 
     BasicTruth(final Truth cloneFrom) {
@@ -38,10 +37,10 @@ public class BasicTruth extends AbstractTruth {
         return get(f, c, copyEpsilonFrom.getEpsilon());
     }
 
-    /** use this instead of a constructor to automatically have DefaultTruth used when epsilon is default, saving the storage of a float */
+    /** use this instead of a constructor to automatically have the shared DefaultTruth used when epsilon is default, saving the storage of a float */
     public static AbstractTruth get(final float f, final float c, final float epsilon) {
         if (epsilon == DefaultTruth.DEFAULT_TRUTH_EPSILON)
-            return new DefaultTruth(f, c);
+            return DefaultTruth.the(f, c);
         else
             return new BasicTruth(f, c, epsilon);
     }
@@ -7,6 +7,41 @@ public class DefaultTruth extends AbstractDefaultTruth {
 
     public final static float DEFAULT_TRUTH_EPSILON = 0.01f;
 
+    /** number of frequency (or confidence) values at DEFAULT_TRUTH_EPSILON */
+    static final int STEPS = Math.round(1f / DEFAULT_TRUTH_EPSILON) + 1;
+
+    /**
+     * shared instances, indexed by frequency and confidence in units of
+     * DEFAULT_TRUTH_EPSILON, created when first needed.  as truth values are
+     * immutable (their fields final) a racing thread at worst creates a duplicate.
+     */
+    private static final DefaultTruth[] shared = new DefaultTruth[STEPS * STEPS];
+
+    /** the truth value for (f, c), rounded to DEFAULT_TRUTH_EPSILON; shared, as are all equal ones */
+    public static DefaultTruth the(final float f, final float c) {
+        final int i = index(f, c);
+        if (i == -1)
+            return new DefaultTruth(f, c);
+        DefaultTruth t = shared[i];
+        if (t == null)
+            shared[i] = t = new DefaultTruth(f, c);
+        return t;
+    }
+
+    public static DefaultTruth the(final char punctuation) {
+        return the(1f, getDefaultConfidence(punctuation));
+    }
+
+    /** index of (f, c), as they would be rounded, among STEPS x STEPS shared truths; -1 if outside them */
+    static int index(final float f, final float c) {
+        final float e = DEFAULT_TRUTH_EPSILON;
+        final int fi = Math.round(frequency(f, e) / e);
+        final int ci = Math.round(confidence(c, e) / e);
+        if ((fi >= STEPS) || (ci >= STEPS))
+            return -1;
+        return fi * STEPS + ci;
+    }
+
 
     public DefaultTruth(final float f, final float c) {
         super(f, c);
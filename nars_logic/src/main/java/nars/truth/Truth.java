@@ -49,8 +49,6 @@ abstract public interface Truth extends Cloneable, Serializable { // implements
      */
     public float getFrequency();
 
-    public Truth setFrequency(float f);
-
     /**
      * Get the confidence value
      *
@@ -63,9 +61,6 @@ abstract public interface Truth extends Cloneable, Serializable { // implements
     public float getConfidenceMax();
 
 
-    public Truth setConfidence(float c);
-
-
     /**
      * Get the isAnalytic flag
      *
@@ -214,16 +209,9 @@ abstract public interface Truth extends Cloneable, Serializable { // implements
         return Truth_UNSURE;
     }
 
-    default public Truth set(float frequency, float confidence) {
-        setFrequency(frequency);
-        setConfidence(confidence);
-        return this;
-    }
-
-    /** negation that modifies the truth instance itself */
+    /** the negated truth value, of frequency 1 - f */
     default public Truth negate() {
-        final float f = 1 - getFrequency();
-        return setFrequency(1 - getFrequency());
+        return BasicTruth.get(1 - getFrequency(), getConfidence(), getEpsilon());
     }
 
     default float projectionQuality(Sentence s, long targetTime, long currentTime, boolean problemHasQueryVar) {
@@ -284,7 +272,7 @@ abstract public interface Truth extends Cloneable, Serializable { // implements
      * @return Truth value, null for question
      */
     default public AnalyticTruth discountConfidence() {
-        return new AnalyticTruth(getFrequency(), getConfidence() * Global.DISCOUNT_RATE, this);
+        return AnalyticTruth.the(getFrequency(), getConfidence() * Global.DISCOUNT_RATE, getEpsilon());
     }
 
 }
@@ -83,18 +83,15 @@ public final class TruthFunctions extends UtilityFunctions {
      */
     public static final Truth revision(final Truth a, final Truth b) {
 
-        return revision(a, b, BasicTruth.get(0, 0, a, b));
-    }
-    
-    static final Truth revision(final Truth a, final Truth b, final Truth result) {
         final float f1 = a.getFrequency();
         final float f2 = b.getFrequency();
         final float w1 = c2w(a.getConfidence());
         final float w2 = c2w(b.getConfidence());
         final float w = w1 + w2;
-        return result.set(
+        return BasicTruth.get(
                 (w1 * f1 + w2 * f2) / w,
-                w2c(w)
+                w2c(w),
+                a, b
         );
     }
     
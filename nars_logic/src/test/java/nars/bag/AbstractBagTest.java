@@ -5,10 +5,14 @@ import nars.bag.impl.CurveBag;
 import nars.util.data.random.XORShiftRandom;
 import nars.util.data.sorted.SortedIndex;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 /**
  * Created by me on 1/18/15.
@@ -151,6 +155,84 @@ public class AbstractBagTest {
     }
 
 
+    /**
+     * multi-threaded stress: each thread performs a random mix of put, pop + putBack,
+     * peekNext and remove, on keys shared with the other threads.  afterward the bag
+     * must be consistent: no duplicate or missing items, size within capacity, and
+     * mass equal to the sum of the priorities.
+     *
+     * if the bag can hold all the keys, every popped item is put back and none are
+     * removed, so no item can be lost: the bag must contain all keys at the end.
+     */
+    public static void testConcurrentStress(int threads, int opsPerThread, int keys, Bag<CharSequence, BagPerf.NullItem> f) throws InterruptedException {
+
+        final boolean conserving = keys <= f.capacity();
+        final List<Throwable> errors = new ArrayList();
+
+        Thread[] t = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            t[i] = new Thread(() -> {
+                try {
+                    final Random r = ThreadLocalRandom.current();
+                    for (int j = 0; j < opsPerThread; j++) {
+                        String key = "k" + r.nextInt(keys);
+                        switch (r.nextInt(conserving ? 3 : 4)) {
+                            case 0:
+                                f.put(new BagPerf.NullItem(r.nextFloat() * 0.99f, key));
+                                break;
+                            case 1:
+                                BagPerf.NullItem x = f.pop();
+                                if (x != null) {
+                                    x.setPriority(r.nextFloat() * 0.99f);
+                                    f.putBack(x);
+                                }
+                                break;
+                            case 2:
+                                f.peekNext();
+                                break;
+                            case 3:
+                                f.remove(key);
+                                break;
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            t[i].start();
+        }
+        for (Thread x : t)
+            x.join();
+
+        if (!errors.isEmpty())
+            throw new RuntimeException(errors.get(0));
+
+        Set<CharSequence> seen = new HashSet();
+        double priSum = 0;
+        for (BagPerf.NullItem x : f) {
+            assertTrue("duplicate " + x, seen.add(x.name()));
+            assertSame(x, f.get(x.name()));
+            priSum += x.getPriority();
+        }
+
+        assertEquals(seen.size(), f.size());
+        assertEquals(seen, f.keySet());
+        assertTrue(f.size() <= f.capacity());
+        assertEquals(priSum, f.mass(), 0.001 * (1 + f.size()));
+
+        if (conserving)
+            assertEquals(keys, f.size());
+
+        //still usable
+        int n = f.size();
+        for (int i = 0; i < n; i++)
+            assertNotNull(f.pop());
+        assertEquals(0, f.size());
+        assertNull(f.pop());
+    }
+
     /** removal rates are approximately monotonically increasing function; tests first, mid and last for this  ordering */
     public static boolean semiMonotonicallyIncreasing(int[] count) {
 
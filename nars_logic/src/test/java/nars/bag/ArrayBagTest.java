@@ -0,0 +1,237 @@
+package nars.bag;
+
+import nars.Global;
+import nars.Memory;
+import nars.NAR;
+import nars.analyze.experimental.BagPerf.NullItem;
+import nars.bag.impl.ArrayBag;
+import nars.bag.impl.CurveBag;
+import nars.budget.Budget;
+import nars.budget.BudgetFunctions;
+import nars.nar.Default;
+import nars.util.data.random.XORShiftRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class ArrayBagTest extends AbstractBagTest {
+
+    @Test
+    public void testPutRemove() {
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(rng, 8);
+
+        NullItem x = new NullItem(0.25f), y = new NullItem(0.5f), z = new NullItem(0.75f);
+        assertNull(b.put(x));
+        assertNull(b.put(y));
+        assertNull(b.put(z));
+        assertEquals(3, b.size());
+        assertEquals(3, b.keySet().size());
+        assertEquals(1.5f, b.getPrioritySum(), 0.001f);
+        assertEquals(1.5f + 3, b.mass(), 0.001f);
+        assertEquals(0.5f, b.getPriorityMean(), 0.001f);
+        assertEquals(0.25f, b.getMinPriority(), 0);
+        assertEquals(0.75f, b.getMaxPriority(), 0);
+
+        assertSame(x, b.remove(x.name()));
+        assertNull(b.remove(x.name()));
+        assertEquals(2, b.size());
+        assertFalse(b.contains(x));
+        //the last slot moved into the removed one
+        assertSame(y, b.get(y.name()));
+        assertSame(z, b.get(z.name()));
+
+        //descending priority
+        NullItem prev = null;
+        for (NullItem i : b) {
+            if (prev != null) assertTrue(prev.getPriority() >= i.getPriority());
+            prev = i;
+        }
+
+        assertNotNull(b.pop());
+        assertNotNull(b.pop());
+        assertNull(b.pop());
+        assertEquals(0, b.size());
+        assertEquals(0, b.mass(), 0);
+    }
+
+    @Test
+    public void testCapacity() {
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(rng, 3);
+        NullItem low = new NullItem(0.2f);
+        b.put(low);
+        b.put(new NullItem(0.4f));
+        b.put(new NullItem(0.6f));
+
+        NullItem lower = new NullItem(0.1f);
+        assertSame(lower, b.put(lower));
+        assertEquals(3, b.size());
+
+        assertSame(low, b.put(new NullItem(0.8f)));
+        assertEquals(3, b.size());
+        assertFalse(b.contains(low));
+        assertEquals(0.4f, b.getMinPriority(), 0);
+    }
+
+    @Test
+    public void testSelectionByPriority() {
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(new XORShiftRandom(1), 4);
+        NullItem[] x = new NullItem[4];
+        for (int i = 0; i < 4; i++)
+            b.put(x[i] = new NullItem(0.1f + 0.2f * i, "x" + i));
+
+        int[] count = new int[4];
+        for (int i = 0; i < 16000; i++)
+            count[Integer.parseInt(b.peekNext().key.substring(1))]++;
+
+        //proportional to 0.1, 0.3, 0.5, 0.7
+        for (int i = 0; i < 4; i++)
+            assertEquals(16000 * x[i].getPriority() / 1.6f, count[i], 400);
+    }
+
+    @Test
+    public void testPriorityHistogram() {
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(rng, 8);
+        CurveBag<CharSequence, NullItem> c = new CurveBag(rng, 8, true);
+        for (int i = 0; i < 6; i++) {
+            b.put(new NullItem(0.1f + 0.15f * i, "x" + i));
+            c.put(new NullItem(0.1f + 0.15f * i, "x" + i));
+        }
+
+        assertArrayEquals(c.getPriorityHistogram(4), b.getPriorityHistogram(4), 0.0001);
+
+        //an array with counts already, as Bag.getPriorityHistogram accumulates them
+        assertArrayEquals(c.getPriorityHistogram(new double[] { 2, 0, 0, 0 }),
+                b.getPriorityHistogram(new double[] { 2, 0, 0, 0 }), 0.0001);
+    }
+
+    @Test
+    public void testBatchForget() {
+        NAR n = new NAR(new Default());
+        Memory m = n.memory;
+        n.frame(1); //so that the items are not new
+
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(rng, 16);
+        Budget[] expected = new Budget[16];
+        for (int i = 0; i < 16; i++) {
+            NullItem x = new NullItem(0.5f + 0.03f * i, "x" + i);
+            x.setLastForgetTime(m.time());
+            expected[i] = new Budget(x);
+            expected[i].setLastForgetTime(m.time());
+            b.put(x);
+        }
+
+        n.frame(10);
+
+        final float forgetCycles = 20;
+        b.forgetNext(forgetCycles, 1.0f, m);
+        for (int i = 0; i < 16; i++) {
+            BudgetFunctions.forgetPeriodic(expected[i], forgetCycles, Global.MIN_FORGETTABLE_PRIORITY, m.time());
+            NullItem x = b.get("x" + i);
+            assertEquals(expected[i].getPriority(), x.getPriority(), 0.0001f);
+            assertEquals(m.time(), x.getLastForgetTime());
+        }
+        assertTrue(b.getPrioritySum() < 16 * 0.5f + 0.03f * 120);
+    }
+
+    @Test
+    public void testLazyForget() {
+        NAR n = new NAR(new Default());
+        Memory m = n.memory;
+        n.frame(1); //so that the items are not new
+
+        //the same items, one selected many times per cycle, the other not at all
+        ArrayBag<CharSequence, NullItem> lazy = new ArrayBag(rng, 8, true);
+        ArrayBag<CharSequence, NullItem> untouched = new ArrayBag(rng, 8, true);
+        Budget[] expected = new Budget[8];
+        for (int i = 0; i < 8; i++) {
+            NullItem x = new NullItem(0.5f + 0.05f * i, "x" + i);
+            x.setLastForgetTime(m.time());
+            expected[i] = new Budget(x);
+            expected[i].setLastForgetTime(m.time());
+            lazy.put(x);
+            NullItem y = new NullItem(x.getPriority(), x.key);
+            y.setLastForgetTime(m.time());
+            untouched.put(y);
+        }
+
+        final float forgetDurations = 2;
+        final float forgetCycles = m.param.cycles(forgetDurations);
+        for (int c = 0; c < 10; c++) {
+            n.frame(1);
+            lazy.setForgetNext(forgetDurations, m);
+            for (int i = 0; i < 50; i++)
+                assertNotNull(lazy.forgetNext());
+        }
+        untouched.forgetNext(forgetCycles, 0, m);
+
+        for (int i = 0; i < 8; i++) {
+            //decayed once, from when it was put
+            BudgetFunctions.forgetPeriodic(expected[i], forgetCycles, Global.MIN_FORGETTABLE_PRIORITY, m.time());
+            NullItem x = lazy.get("x" + i);
+            assertEquals(expected[i].getPriority(), x.getPriority(), 0.0001f);
+            assertEquals(m.time(), x.getLastForgetTime());
+            assertEquals(x.getPriority(), untouched.get("x" + i).getPriority(), 0);
+        }
+        assertEquals(lazy.getPrioritySum(), untouched.getPrioritySum(), 0.0001f);
+
+        //putting it again keeps its current priority, from now
+        NullItem x = lazy.remove("x0");
+        float p = x.getPriority();
+        lazy.put(x);
+        n.frame(1);
+        lazy.setForgetNext(forgetDurations, m);
+        assertTrue(lazy.get("x0").getPriority() < p);
+    }
+
+    @Test
+    public void testLazyForgetManyCycles() {
+        NAR n = new NAR(new Default());
+        Memory m = n.memory;
+        n.frame(1);
+
+        //durabilities such that the items reach their minimum at different times, past several rebases
+        ArrayBag<CharSequence, NullItem> lazy = new ArrayBag(rng, 16, true);
+        Budget[] put = new Budget[16];
+        for (int i = 0; i < 16; i++) {
+            NullItem x = new NullItem(0.2f + 0.05f * i, "x" + i);
+            x.budgetDirect(x.getPriority(), 0.05f * i, 0.5f);
+            x.setLastForgetTime(m.time());
+            put[i] = new Budget(x);
+            put[i].setLastForgetTime(m.time());
+            lazy.put(x);
+        }
+
+        final float forgetDurations = 1;
+        final float forgetCycles = m.param.cycles(forgetDurations);
+        for (int c = 0; c < 20 * forgetCycles; c++) {
+            n.frame(1);
+            lazy.setForgetNext(forgetDurations, m);
+            lazy.forgetNext();
+
+            float sum = 0, min = 1;
+            for (int i = 0; i < 16; i++) {
+                Budget e = new Budget(put[i]);
+                e.setLastForgetTime(put[i].getLastForgetTime());
+                BudgetFunctions.forgetPeriodic(e, forgetCycles, Global.MIN_FORGETTABLE_PRIORITY, m.time());
+                sum += e.getPriority();
+                min = Math.min(min, e.getPriority());
+            }
+            assertEquals(sum, lazy.getPrioritySum(), 0.001f);
+            assertEquals(min, lazy.getMinPriority(), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testChangedOutsideBag() {
+        ArrayBag<CharSequence, NullItem> b = new ArrayBag(rng, 4);
+        NullItem x = new NullItem(0.5f);
+        b.put(x);
+
+        x.setPriority(0.9f);
+        assertSame(x, b.get(x.name()));
+        assertEquals(0.9f, x.getPriority(), 0);
+        assertEquals(0.9f, b.getPrioritySum(), 0);
+    }
+
+}
@@ -0,0 +1,36 @@
+package nars.bag;
+
+import nars.analyze.experimental.BagPerf.NullItem;
+import nars.bag.impl.ConcurrentLevelBag;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+
+public class ConcurrentLevelBagTest extends AbstractBagTest {
+
+    @Test
+    public void testBagSequence() {
+        BagOperationsTest.testBagSequence(new ConcurrentLevelBag(2, 2));
+    }
+
+    @Test
+    public void testRemovalDistribution() {
+        for (int capacity : new int[] { 10, 51, 100, 256 }) {
+            ConcurrentLevelBag<NullItem, CharSequence> b = new ConcurrentLevelBag(10, capacity);
+            int[] count = testRemovalPriorityDistribution(8, capacity, 0.2f, 0.2f, b);
+            assertTrue(semiMonotonicallyIncreasing(count));
+        }
+    }
+
+    @Test
+    public void testConcurrentConserving() throws InterruptedException {
+        testConcurrentStress(8, 20000, 64, new ConcurrentLevelBag(10, 64));
+    }
+
+    @Test
+    public void testConcurrentOverflow() throws InterruptedException {
+        testConcurrentStress(8, 20000, 256, new ConcurrentLevelBag(10, 32));
+    }
+
+}
@@ -0,0 +1,195 @@
+package nars.bag;
+
+import com.google.common.collect.Iterators;
+import nars.NAR;
+import nars.bag.impl.CacheBag;
+import nars.bag.impl.MappedCacheBag;
+import nars.concept.Concept;
+import nars.concept.TemporalBeliefTable;
+import nars.nar.Default;
+import nars.task.Task;
+import nars.term.Term;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+
+public class MappedCacheBagTest {
+
+    static class MappedDefault extends Default {
+
+        final int initialSize;
+        MappedCacheBag index;
+
+        MappedDefault(int initialSize) {
+            this.initialSize = initialSize;
+            setInternalExperience(null);
+        }
+
+        @Override
+        public CacheBag<Term, Concept> newIndex() {
+            try {
+                File f = File.createTempFile("concepts", ".map");
+                f.deleteOnExit();
+                return (index = new MappedCacheBag(f, initialSize));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Test
+    public void testDormantConcept() {
+        MappedDefault d = new MappedDefault(1024);
+        NAR n = new NAR(d);
+
+        n.input("$0$ <a --> b>. %0.75;0.80%");
+        n.frame();
+
+        //forgotten immediately, and written at the end of the cycle
+        assertEquals(3, d.index.size());
+        assertEquals(3, d.index.dormantSize());
+
+        Concept c = n.concept("<a --> b>");
+        assertNotNull(c);
+        assertEquals(Concept.State.Forgotten, c.getState());
+        assertEquals(2, d.index.dormantSize());
+        assertEquals(3, d.index.size());
+
+        assertEquals(1, c.getBeliefs().size());
+        Task belief = c.getBeliefs().top();
+        assertEquals("<a --> b>", belief.getTerm().toString());
+        assertSame(c.getTerm(), belief.getTerm());
+        assertEquals(0.75f, belief.getTruth().getFrequency(), 0.01f);
+        assertEquals(0.80f, belief.getTruth().getConfidence(), 0.01f);
+        assertEquals(1, belief.getEvidentialSet().length);
+
+        //same instance until the end of the cycle
+        assertSame(c, n.concept("<a --> b>"));
+
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+        assertEquals(3, d.index.size());
+    }
+
+    @Test
+    public void testNewEvidence() {
+        MappedDefault d = new MappedDefault(1024);
+        NAR n = new NAR(d);
+
+        n.input("$0$ <a --> b>.");
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+
+        //new evidence is added to the materialized concept, beside its stored belief
+        n.input("<a --> b>. %0.25;0.90%");
+        n.frame(2);
+        assertEquals(3, d.index.dormantSize());
+
+        Concept c = n.concept("<a --> b>");
+        assertNotNull(c);
+        assertEquals(2, c.getBeliefs().size());
+        assertEquals(2, d.index.dormantSize());
+
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+        assertNotSame(c, n.concept("<a --> b>"));
+        assertEquals(2, n.concept("<a --> b>").getBeliefs().size());
+    }
+
+    @Test
+    public void testTemporalBeliefTable() {
+        MappedDefault d = new MappedDefault(1024);
+        NAR n = new NAR(d);
+        n.param.conceptTemporalBeliefsMax.set(4);
+
+        n.input("$0$ <a --> b>. :|: %0.75;0.80%");
+        n.frame();
+        n.input("$0$ <a --> b>. :|: %0.25;0.90%");
+        n.frame(2);
+        assertEquals(3, d.index.dormantSize());
+
+        //restored into the temporal table, which is not a List
+        Concept c = n.concept("<a --> b>");
+        assertNotNull(c);
+        assertTrue(c.getBeliefs() instanceof TemporalBeliefTable);
+        assertEquals(2, c.getBeliefs().size());
+        assertEquals("{0=0.75, 2=0.25}", frequencies(c));
+
+        //and again, from what the restored concept wrote
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+        c = n.concept("<a --> b>");
+        assertEquals("{0=0.75, 2=0.25}", frequencies(c));
+    }
+
+    @Test
+    public void testLargeBeliefTable() {
+        MappedDefault d = new MappedDefault(1024);
+        NAR n = new NAR(d);
+        final int beliefs = 300; //more than fit in a byte
+        n.param.conceptTemporalBeliefsMax.set(beliefs);
+
+        for (int i = 0; i < beliefs; i++) {
+            n.input("$0$ <a --> b>. :|: %" + ((i % 2 == 0) ? "0.75" : "0.25") + ";0.80%");
+            n.frame();
+        }
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+
+        Concept c = n.concept("<a --> b>");
+        assertNotNull(c);
+        assertEquals(beliefs, c.getBeliefs().size());
+
+        //and the next term stored after it is still readable
+        n.frame();
+        assertEquals(3, d.index.dormantSize());
+        assertEquals(beliefs, n.concept("<a --> b>").getBeliefs().size());
+        assertNotNull(n.concept("a"));
+    }
+
+    /** the beliefs' frequencies by occurrence time */
+    static String frequencies(Concept c) {
+        Map<Long, Float> m = new TreeMap();
+        for (Task t : c.getBeliefs())
+            m.put(t.getOccurrenceTime(), t.getTruth().getFrequency());
+        return m.toString();
+    }
+
+    @Test
+    public void testGrowAndCompact() {
+        MappedDefault d = new MappedDefault(256);
+        NAR n = new NAR(d);
+
+        final int num = 50;
+        for (int i = 0; i < num; i++)
+            n.input("$0$ <x" + i + " --> y>.");
+        n.frame(num);
+
+        //x0..x49, y, and the 50 inheritances
+        final int concepts = num * 2 + 1;
+        assertEquals(concepts, d.index.size());
+        assertEquals(concepts, d.index.dormantSize());
+
+        //materialize and release everything a few times, which requires compaction to reuse the space
+        int size = d.index.fileSize();
+        for (int j = 0; j < 4; j++) {
+            assertEquals(concepts, Iterators.size(d.index.iterator()));
+            n.frame();
+            assertEquals(concepts, d.index.dormantSize());
+        }
+        assertTrue(d.index.fileSize() <= size * 2);
+
+        for (int i = 0; i < num; i++) {
+            Concept c = n.concept("<x" + i + " --> y>");
+            assertNotNull(c);
+            assertEquals(1, c.getBeliefs().size());
+        }
+    }
+
+}
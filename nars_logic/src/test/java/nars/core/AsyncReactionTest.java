@@ -0,0 +1,125 @@
+package nars.core;
+
+import nars.Events;
+import nars.util.event.AsyncReaction;
+import nars.util.event.AsyncReaction.Overflow;
+import nars.util.event.EventEmitter;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+
+public class AsyncReactionTest {
+
+    @Test
+    public void testOrderedDelivery() throws InterruptedException {
+        EventEmitter<Class> e = new EventEmitter.DefaultEventEmitter();
+        List<Object> received = new CopyOnWriteArrayList<>();
+        Thread emitter = Thread.currentThread();
+
+        EventEmitter.Registrations r = e.onAsync((c, a) -> {
+            assertNotSame(emitter, Thread.currentThread());
+            received.add(a[0]);
+        }, 8, Overflow.Block, Events.OUT.class);
+
+        assertTrue(e.isActive(Events.OUT.class));
+
+        for (int i = 0; i < 1000; i++)
+            e.emit(Events.OUT.class, i);
+
+        AsyncReaction a = (AsyncReaction) e.all(Events.OUT.class).get(0);
+        a.flush();
+
+        assertEquals(1000, received.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, received.get(i));
+        assertEquals(0, a.dropped());
+
+        r.off();
+        assertFalse(e.isActive(Events.OUT.class));
+        e.emit(Events.OUT.class, -1);
+        assertEquals(1000, received.size());
+    }
+
+    /** a reaction which waits until it is released */
+    static class Stalled implements nars.util.event.Reaction<Class> {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<Object> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void event(Class event, Object... args) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            received.add(args[0]);
+        }
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException {
+        Stalled s = new Stalled();
+        AsyncReaction<Class> a = new AsyncReaction<>(s, 4, 1, Overflow.DropNewest);
+
+        a.event(Events.OUT.class, 0);
+        s.started.await();
+        for (int i = 1; i <= 10; i++)
+            a.event(Events.OUT.class, i);
+
+        assertEquals(4, a.size());
+        assertEquals(6, a.dropped());
+
+        s.release.countDown();
+        a.flush();
+        assertEquals("[0, 1, 2, 3, 4]", s.received.toString());
+        a.close();
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        Stalled s = new Stalled();
+        AsyncReaction<Class> a = new AsyncReaction<>(s, 4, 1, Overflow.DropOldest);
+
+        a.event(Events.OUT.class, 0);
+        s.started.await();
+        for (int i = 1; i <= 10; i++)
+            a.event(Events.OUT.class, i);
+
+        assertEquals(6, a.dropped());
+
+        s.release.countDown();
+        a.flush();
+        assertEquals("[0, 7, 8, 9, 10]", s.received.toString());
+        a.close();
+    }
+
+    @Test
+    public void testCoalesce() throws InterruptedException {
+        Stalled s = new Stalled();
+        AsyncReaction<Class> a = new AsyncReaction<>(s, 4, 1, Overflow.Coalesce);
+
+        a.event(Events.OUT.class, 0);
+        s.started.await();
+        a.event(Events.OUT.class, 1);
+        a.event(Events.IN.class, "x");
+        a.event(Events.OUT.class, 2);
+        a.event(Events.OUT.class, 3);
+
+        assertEquals(2, a.size());
+        assertEquals(2, a.coalesced());
+
+        s.release.countDown();
+        a.flush();
+        //the latest OUT, in the position of the first pending one
+        assertEquals("[0, 3, x]", s.received.toString());
+        a.close();
+    }
+
+}
@@ -0,0 +1,80 @@
+package nars.core;
+
+import nars.Events;
+import nars.NAR;
+import nars.cycle.ParallelCycle;
+import nars.nar.Default;
+import nars.process.CycleProcess;
+import nars.task.Task;
+import nars.util.event.Reaction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class ParallelCycleTest {
+
+    static NAR newNAR(int threads) {
+        return new NAR(new Default(1024, 8, 3) {
+            @Override
+            public CycleProcess newControlCycle() {
+                return new ParallelCycle(newConceptBag(), newNovelTaskBag(), threads);
+            }
+        });
+    }
+
+    /** the derived tasks, with their truth and budget, in the order derived */
+    static List<String> derivations(int threads, long seed, int cycles) {
+        NAR n = newNAR(threads);
+        n.memory.randomSeed(seed);
+
+        List<String> derived = Collections.synchronizedList(new ArrayList());
+        n.on(new Reaction<Class>() {
+            @Override
+            public void event(Class event, Object... args) {
+                derived.add(((Task) args[0]).toString());
+            }
+        }, Events.TaskDerive.class);
+
+        n.input("<a --> b>.");
+        n.input("<b --> c>.");
+        n.input("<c --> d>.");
+        n.input("<a --> d>?");
+        n.frame(cycles);
+
+        return derived;
+    }
+
+    @Test
+    public void testThreads() {
+        NAR n = newNAR(4);
+        assertTrue(n.memory.cycle instanceof ParallelCycle);
+        assertEquals(4, ((ParallelCycle) n.memory.cycle).getThreads());
+    }
+
+    @Test
+    public void testParallelDeduction() {
+        String d = derivations(4, 1, 200).toString();
+        assertTrue(d.contains("<a --> c>"));
+        assertTrue(d.contains("<b --> d>"));
+    }
+
+    @Test
+    public void testSingleThreadRepeatable() {
+        assertEquals(derivations(1, 1, 100), derivations(1, 1, 100));
+    }
+
+    @Test
+    public void testParallelRepeatable() {
+        List<String> d = derivations(4, 1, 100);
+        assertTrue(d.size() > 0);
+        assertEquals(d, derivations(4, 1, 100));
+        assertEquals(d, derivations(1, 1, 100));
+    }
+
+}
@@ -0,0 +1,134 @@
+package nars.core;
+
+import nars.NAR;
+import nars.Symbols;
+import nars.concept.ArrayListBeliefTable;
+import nars.concept.ArrayListBeliefTable.BeliefConfidenceAndCurrentTime;
+import nars.concept.Concept;
+import nars.concept.TemporalBeliefTable;
+import nars.nar.Default;
+import nars.task.Task;
+import nars.task.stamp.Stamp;
+import nars.term.Compound;
+import nars.truth.DefaultTruth;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class TemporalBeliefTableTest {
+
+    NAR n;
+    Concept c;
+    long serial = 0;
+
+    @Before
+    public void start() {
+        n = new NAR(new Default());
+        n.input("<a --> b>.");
+        n.frame(1);
+        c = n.concept("<a --> b>");
+        assertNotNull(c);
+    }
+
+    Task belief(long when, float conf, int dur) {
+        final Task t = new Task((Compound) c.getTerm(), Symbols.JUDGMENT, new DefaultTruth(1.0f, conf), 0.5f, 0.5f, 0.5f);
+        t.setCreationTime(0);
+        t.setOccurrenceTime(when);
+        t.setDuration(dur);
+        t.setEvidentialSet(new long[] { ++serial });
+        return t;
+    }
+
+    @Test
+    public void testTopMatchesLinearScan() {
+        final Random rng = new Random(1);
+        final TemporalBeliefTable table = new TemporalBeliefTable(10, 1000);
+        final ArrayListBeliefTable all = new ArrayListBeliefTable(1000);
+
+        for (int i = 0; i < 500; i++) {
+            final Task t = (i % 50 == 0) ?
+                    belief(Stamp.ETERNAL, 0.1f + 0.1f * rng.nextFloat(), 5) :
+                    belief(rng.nextInt(10000), 0.1f + 0.8f * rng.nextFloat(), 1 + rng.nextInt(10));
+            //an eternal belief weaker than those before it may not be kept
+            if (table.add(t, new BeliefConfidenceAndCurrentTime(0), c) == t)
+                all.add(t);
+        }
+        assertEquals(all.size(), table.size());
+        assertTrue(all.size() >= 490);
+
+        for (int i = 0; i < 200; i++) {
+            final BeliefConfidenceAndCurrentTime r = new BeliefConfidenceAndCurrentTime(rng.nextInt(12000) - 1000);
+            final Task expected = all.top(r);
+            assertEquals(r.rank(expected), r.rank(table.top(r)), 0f);
+        }
+    }
+
+    @Test
+    public void testDuplicate() {
+        final TemporalBeliefTable table = new TemporalBeliefTable(4, 8);
+        final Task a = belief(10, 0.9f, 5);
+        final Task b = belief(10, 0.9f, 5);
+        b.setEvidentialSet(a.getEvidentialSet());
+
+        final BeliefConfidenceAndCurrentTime r = new BeliefConfidenceAndCurrentTime(10);
+        assertSame(a, table.add(a, r, c));
+        assertSame(a, table.add(b, r, c));
+        assertEquals(1, table.size());
+
+        //same truth and stamp, another time
+        final Task d = belief(11, 0.9f, 5);
+        d.setEvidentialSet(a.getEvidentialSet());
+        assertSame(d, table.add(d, r, c));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testCapacity() {
+        final TemporalBeliefTable table = new TemporalBeliefTable(4, 3);
+        final BeliefConfidenceAndCurrentTime r = new BeliefConfidenceAndCurrentTime(100);
+
+        final Task early = belief(0, 0.9f, 5);
+        table.add(early, r, c);
+        table.add(belief(90, 0.9f, 5), r, c);
+        table.add(belief(110, 0.9f, 5), r, c);
+
+        //the earliest is farthest from now, and displaced
+        final Task present = belief(100, 0.9f, 5);
+        assertSame(present, table.add(present, r, c));
+        assertEquals(3, table.size());
+        for (Task t : table)
+            assertNotSame(early, t);
+
+        //weaker than any it could displace
+        assertNull(table.add(belief(1000, 0.9f, 5), r, c));
+        assertEquals(3, table.size());
+        assertSame(present, table.top(r));
+    }
+
+    @Test
+    public void testIterationOrder() {
+        final TemporalBeliefTable table = new TemporalBeliefTable(4, 8);
+        final BeliefConfidenceAndCurrentTime r = new BeliefConfidenceAndCurrentTime(0);
+        final Task e = belief(Stamp.ETERNAL, 0.5f, 5);
+        final Task t1 = belief(20, 0.9f, 5), t2 = belief(5, 0.9f, 5), t3 = belief(30, 0.9f, 5);
+        table.add(t1, r, c);
+        table.add(e, r, c);
+        table.add(t2, r, c);
+        table.add(t3, r, c);
+
+        final List<Task> l = new ArrayList();
+        for (Task t : table) l.add(t);
+        assertEquals(4, l.size());
+        assertSame(e, l.get(0));
+        assertSame(t3, l.get(1));
+        assertSame(t1, l.get(2));
+        assertSame(t2, l.get(3));
+    }
+
+}
@@ -0,0 +1,85 @@
+package nars.core;
+
+import nars.Global;
+import nars.NAR;
+import nars.concept.Concept;
+import nars.nar.Default;
+import nars.task.Task;
+import nars.term.Compound;
+import nars.term.Term;
+import nars.term.TermInterner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class TermInternerTest {
+
+    final NAR n = new NAR(new Default());
+
+    @Before
+    public void enable() {
+        Global.TERM_INTERNING = true;
+    }
+
+    @After
+    public void disable() {
+        Global.TERM_INTERNING = false;
+    }
+
+    @Test
+    public void testCanonicalInstance() {
+        Compound a = n.term("<(*,x,{y}) --> z>");
+        Compound b = n.term("<(*,x,{y}) --> z>");
+        assertNotSame(a, b);
+
+        Compound ai = TermInterner.intern(a);
+        assertSame(ai, TermInterner.intern(b));
+        assertEquals(a, ai);
+
+        //subterms of the canonical instance are canonical
+        Compound c = n.term("(*,x,{y})");
+        assertSame(ai.term[0], TermInterner.intern(c));
+        assertSame(((Compound)ai.term[0]).term[1], TermInterner.intern(n.term("{y}")));
+    }
+
+    @Test
+    public void testVariablesNotInterned() {
+        Term a = n.term("<$1 --> z>");
+        Term b = n.term("<$1 --> z>");
+        assertSame(a, TermInterner.intern(a));
+        assertSame(b, TermInterner.intern(b));
+    }
+
+    @Test
+    public void testNestedIntervalsNotInterned() {
+        Compound a = n.term("<(&/,a,/3,b) =/> c>");
+        Compound b = n.term("<(&/,a,/7,b) =/> c>");
+        assertEquals(a, b); //equality ignores the intervals
+        assertSame(a, TermInterner.intern(a));
+        assertSame(b, TermInterner.intern(b));
+        assertFalse(TermInterner.internable(n.term("<x --> (&/,a,/3,b)>")));
+    }
+
+    @Test
+    public void testDisabled() {
+        Global.TERM_INTERNING = false;
+        Compound a = n.term("<x --> z>");
+        Compound b = n.term("<x --> z>");
+        assertSame(a, TermInterner.intern(a));
+        assertSame(b, TermInterner.intern(b));
+    }
+
+    @Test
+    public void testConceptAndSentenceShareTerm() {
+        Task t = n.inputTask("<(&,a,b) --> c>.");
+        n.frame(1);
+        Concept c = n.concept("<(&,a,b) --> c>");
+        assertNotNull(c);
+        assertSame(c.getTerm(), t.getTerm());
+        assertSame(c.getTerm(), TermInterner.intern(n.term("<(&,a,b) --> c>")));
+    }
+
+}
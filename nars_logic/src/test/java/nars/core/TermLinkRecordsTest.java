@@ -0,0 +1,81 @@
+package nars.core;
+
+import nars.link.TermLinkRecords;
+import nars.term.Atom;
+import nars.term.Term;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class TermLinkRecordsTest {
+
+    /** the LinkedHashMap which TaskLink used, to compare with */
+    static Map<Term,Float> reference(final int capacity) {
+        return new LinkedHashMap<Term,Float>(capacity) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Term,Float> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Test
+    public void testEvictsOldest() {
+        final TermLinkRecords r = new TermLinkRecords(2);
+        final Term a = Atom.the("a"), b = Atom.the("b"), c = Atom.the("c");
+
+        r.put(a, 1);
+        r.put(b, 2);
+        r.put(a, 3); //updating does not make it newer
+        assertEquals(3f, r.get(a), 0);
+
+        r.put(c, 4);
+        assertTrue(Float.isNaN(r.get(a)));
+        assertEquals(2f, r.get(b), 0);
+        assertEquals(4f, r.get(c), 0);
+        assertEquals("[b@2.0, c@4.0]", r.toString());
+    }
+
+    @Test
+    public void testNone() {
+        TermLinkRecords.NONE.put(Atom.the("a"), 1);
+        assertTrue(TermLinkRecords.NONE.isEmpty());
+        assertEquals("[]", TermLinkRecords.NONE.toString());
+    }
+
+    @Test
+    public void testSameAsLinkedHashMap() {
+        final Random rng = new Random(1);
+        final Term[] terms = new Term[40];
+        for (int i = 0; i < terms.length; i++)
+            terms[i] = Atom.the("t" + i);
+
+        for (final int capacity : new int[] { 1, 3, 8, 13 }) {
+            final TermLinkRecords r = new TermLinkRecords(capacity);
+            final Map<Term,Float> m = reference(capacity);
+
+            for (int i = 0; i < 20000; i++) {
+                final Term t = terms[rng.nextInt(capacity * 3)];
+                final float time = i;
+                r.put(t, time);
+                m.put(t, time);
+
+                assertEquals(m.size(), r.size());
+                for (final Term u : terms) {
+                    final Float expected = m.get(u);
+                    final float actual = r.get(u);
+                    if (expected == null)
+                        assertTrue(Float.isNaN(actual));
+                    else
+                        assertEquals(expected, actual, 0);
+                }
+            }
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package nars.core;
 
+import nars.Global;
 import org.junit.Test;
 
+import nars.task.stamp.Stamp;
+import nars.util.data.random.XORShiftRandom;
+
 import java.util.Arrays;
+import java.util.Random;
 
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static nars.task.stamp.Stamp.toSetArray;
 
 /**
@@ -32,4 +41,62 @@ public class TestStamp {
                 Arrays.hashCode(toSetArray(new long[] { 1,1,3 }))
         );    
     }
+
+    @Test
+    public void testZipSet() {
+        Random rng = new XORShiftRandom(1);
+        for (int n = 0; n < 1000; n++) {
+            long[] a = toSetArray(randomBase(rng));
+            long[] b = toSetArray(randomBase(rng));
+            assertTrue(Arrays.equals(toSetArray(Stamp.zip(a, b)), Stamp.zipSet(a, b)));
+        }
+    }
+
+    @Test
+    public void testZipSetShared() {
+        long[] a = { 1, 3, 5 }, b = { 3 };
+        assertSame(a, Stamp.zipSet(a, b));
+        assertSame(a, Stamp.zipSet(b, a));
+        assertSame(a, Stamp.zipSet(a, a));
+        assertSame(a, Stamp.zipSet(new long[0], a));
+        assertArrayEquals(new long[] { 1, 2, 3, 5 }, Stamp.zipSet(a, new long[] { 2, 3 }));
+
+        //truncated: all of b is kept but not all of a
+        long[] big = new long[Global.MAXIMUM_EVIDENTAL_BASE_LENGTH];
+        for (int i = 0; i < big.length; i++) big[i] = i * 2;
+        long[] odd = { 1 };
+        long[] z = Stamp.zipSet(big, odd);
+        assertEquals(Global.MAXIMUM_EVIDENTAL_BASE_LENGTH, z.length);
+        assertEquals(Stamp.zipSetLength(big, odd), z.length);
+        assertArrayEquals(toSetArray(Stamp.zip(big, odd)), z);
+    }
+
+    @Test
+    public void testOverlaps() {
+        Random rng = new XORShiftRandom(2);
+        for (int n = 0; n < 1000; n++) {
+            long[] a = toSetArray(randomBase(rng));
+            long[] b = toSetArray(randomBase(rng));
+
+            boolean common = false;
+            for (long x : a)
+                for (long y : b)
+                    if (x == y) common = true;
+
+            assertTrue(common == Stamp.overlaps(a, b));
+            if (common)
+                assertTrue((Stamp.summary(a) & Stamp.summary(b)) != 0);
+        }
+
+        assertFalse(Stamp.overlaps(new long[] { 1, 3, 5 }, new long[] { 2, 4, 6 }));
+        assertTrue(Stamp.overlaps(new long[] { 1, 3, 5 }, new long[] { 5 }));
+        assertTrue((Stamp.summary(new long[] { 1, 3 }) & Stamp.summary(new long[] { 2, 4 })) == 0);
+    }
+
+    static long[] randomBase(Random rng) {
+        long[] x = new long[rng.nextInt(6)];
+        for (int i = 0; i < x.length; i++)
+            x[i] = rng.nextInt(20);
+        return x;
+    }
 }
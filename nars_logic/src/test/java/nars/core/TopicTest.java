@@ -0,0 +1,91 @@
+package nars.core;
+
+import nars.Events;
+import nars.NAR;
+import nars.nar.Default;
+import nars.task.Task;
+import nars.util.event.EventEmitter;
+import nars.util.event.EventRecord.One;
+import nars.util.event.EventRecord.Two;
+import nars.util.event.Topic;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+
+public class TopicTest {
+
+    @Test
+    public void testActive() {
+        EventEmitter<Class> e = new EventEmitter.DefaultEventEmitter();
+        Topic<Class, One<String>> t = e.topic(Events.OUT.class, One::new);
+        assertSame(t, e.topic(Events.OUT.class, One::new));
+        assertFalse(t.isActive());
+
+        List<Object> typed = new ArrayList(), reacted = new ArrayList();
+
+        EventEmitter.EventRegistration r = t.on(x -> typed.add(x.a));
+        assertTrue(t.isActive());
+        EventEmitter.Registrations s = e.on((c, a) -> reacted.add(a[0]), Events.OUT.class);
+
+        t.emit(t.record().set("a"));
+        //emitted the usual way, only to the reactions
+        e.emit(Events.OUT.class, "b");
+
+        assertEquals("[a]", typed.toString());
+        assertEquals("[a, b]", reacted.toString());
+
+        r.off();
+        assertTrue(t.isActive());
+        s.off();
+        assertFalse(t.isActive());
+    }
+
+    @Test
+    public void testReusedRecord() {
+        EventEmitter<Class> e = new EventEmitter.DefaultEventEmitter();
+        Topic<Class, Two<String, Integer>> t = e.topic(Events.OUT.class, Two::new);
+
+        List<String> received = new ArrayList();
+        List<Two> records = new ArrayList();
+        t.on(x -> {
+            records.add(x);
+            //nested emission by a subscriber: the outer record must not be overwritten
+            if (x.b == 0)
+                t.emit(t.record().set(x.a + "'", 1));
+            received.add(x.a + x.b);
+        });
+
+        t.emit(t.record().set("x", 0));
+        t.emit(t.record().set("y", 0));
+
+        assertEquals("[x'1, x0, y'1, y0]", received.toString());
+        //the thread's record is reused for non-nested emissions
+        assertSame(records.get(0), records.get(2));
+        assertNotSame(records.get(0), records.get(1));
+    }
+
+    @Test
+    public void testTaskDerive() {
+        NAR n = new NAR(new Default());
+
+        AtomicInteger typed = new AtomicInteger(), reacted = new AtomicInteger();
+        n.memory.taskDerive.on(x -> {
+            assertTrue(x.a instanceof Task);
+            typed.incrementAndGet();
+        });
+        n.on((c, a) -> reacted.incrementAndGet(), Events.TaskDerive.class);
+
+        n.input("<a --> b>.");
+        n.input("<b --> c>.");
+        n.frame(20);
+
+        assertTrue(typed.get() > 0);
+        assertEquals(typed.get(), reacted.get());
+    }
+
+}
@@ -1,12 +1,14 @@
 package nars.core;
 
+import nars.truth.AnalyticTruth;
 import nars.truth.BasicTruth;
 import nars.truth.DefaultTruth;
 import nars.truth.Truth;
+import nars.truth.TruthFunctions;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.*;
 
 
 public class TruthTest {
@@ -51,4 +53,29 @@ public class TruthTest {
         Truth aNotWithinThresh = BasicTruth.get(1.0f - a.getEpsilon(), 0.9f, e);
         assertNotEquals(a, aNotWithinThresh);
     }
+
+    @Test public void testShared() {
+        Truth a = DefaultTruth.the(0.8f, 0.9f);
+        assertSame(a, DefaultTruth.the(0.8f + DefaultTruth.DEFAULT_TRUTH_EPSILON / 4f, 0.9f));
+        assertSame(a, BasicTruth.get(0.8f, 0.9f, DefaultTruth.DEFAULT_TRUTH_EPSILON));
+        assertNotSame(a, DefaultTruth.the(0.81f, 0.9f));
+        assertEquals(new DefaultTruth(0.8f, 0.9f).getExpectation(), a.getExpectation(), 0);
+
+        //derivations of equal truths share one
+        Truth b = DefaultTruth.the(0.6f, 0.7f);
+        assertSame(TruthFunctions.deduction(a, b), TruthFunctions.deduction(a, b));
+        assertSame(TruthFunctions.revision(a, b), TruthFunctions.revision(b, a));
+
+        //analytic truths are shared separately, and negation does not change the original
+        AnalyticTruth x = AnalyticTruth.get(0.8f, 0.9f, a);
+        assertNotSame(a, x);
+        assertEquals(a, x);
+        assertSame(x, AnalyticTruth.get(0.8f, 0.9f, b));
+        Truth nx = x.negate();
+        assertEquals(0.2f, nx.getFrequency(), 0.001f);
+        assertEquals(0.8f, x.getFrequency(), 0.001f);
+
+        //other epsilons are not shared
+        assertNotSame(BasicTruth.get(0.8f, 0.9f, 0.1f), BasicTruth.get(0.8f, 0.9f, 0.1f));
+    }
 }
@@ -0,0 +1,125 @@
+package nars.io;
+
+import nars.Events;
+import nars.NAR;
+import nars.io.in.IngestionInput;
+import nars.io.in.IngestionInput.Overflow;
+import nars.nar.Default;
+import nars.task.Task;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+
+public class IngestionInputTest {
+
+    @Test
+    public void testParallelParsing() throws InterruptedException {
+        NAR n = new NAR(new Default());
+
+        Set<Long> serials = ConcurrentHashMap.newKeySet();
+        n.memory.event.on(Events.IN.class, (e, a) -> {
+            serials.add(((Task) a[0]).getEvidentialSet()[0]);
+        });
+
+        //small capacity: producers are held back by the reasoner
+        IngestionInput in = new IngestionInput(n, 3, 16, 8, Overflow.Block);
+
+        final int producers = 2, lines = 200;
+        Thread[] p = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            final int pi = i;
+            p[i] = new Thread(() -> {
+                for (int j = 0; j < lines; j++)
+                    in.offer("<s" + pi + "_" + j + " --> sensor>. :|:");
+            });
+            p[i].start();
+        }
+
+        long deadline = System.currentTimeMillis() + 20000;
+        while ((serials.size() < producers * lines) && (System.currentTimeMillis() < deadline))
+            n.frame();
+
+        for (Thread t : p) t.join();
+        in.close();
+
+        //each task perceived once, with a unique stamp serial
+        assertEquals(producers * lines, serials.size());
+        assertEquals(producers * lines, in.received());
+        assertEquals(0, in.dropped());
+    }
+
+    @Test
+    public void testWorkerSurvivesBadLine() {
+        NAR n = new NAR(new Default());
+
+        Set<String> perceived = ConcurrentHashMap.newKeySet();
+        n.memory.event.on(Events.IN.class, (e, a) -> {
+            perceived.add(((Task) a[0]).getTerm().toString());
+        });
+
+        //one worker, which must still be running after the bad lines
+        IngestionInput in = new IngestionInput(n, 1, 4, 2, Overflow.Block);
+        in.offer("");
+        in.offer("*volume=x");
+        in.offer("<a --> b>.");
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (perceived.isEmpty() && (System.currentTimeMillis() < deadline))
+            n.frame();
+        in.close();
+
+        assertTrue(perceived.contains("<a --> b>"));
+        assertEquals(2, in.failed());
+    }
+
+    @Test
+    public void testDropNewest() {
+        NAR n = new NAR(new Default());
+        IngestionInput in = new IngestionInput(n, 1, 4, 2, Overflow.DropNewest);
+        for (int i = 0; i < 10; i++)
+            in.offer(n.task("<x" + i + " --> y>."));
+        assertEquals(4, in.size());
+        assertEquals(6, in.dropped());
+        assertEquals("<x0 --> y>", in.get().getTerm().toString());
+        in.close();
+    }
+
+    @Test
+    public void testDropOldest() {
+        NAR n = new NAR(new Default());
+        IngestionInput in = new IngestionInput(n, 1, 4, 2, Overflow.DropOldest);
+        for (int i = 0; i < 10; i++)
+            in.offer(n.task("<x" + i + " --> y>."));
+        assertEquals(4, in.size());
+        assertEquals(6, in.dropped());
+        assertEquals("<x6 --> y>", in.get().getTerm().toString());
+        in.close();
+    }
+
+    @Test
+    public void testMerge() {
+        NAR n = new NAR(new Default());
+        IngestionInput in = new IngestionInput(n, 1, 4, 2, Overflow.Merge);
+        in.offer(n.task("<a --> y>. %1.0;0.9%"));
+        in.offer(n.task("<b --> y>."));
+        in.offer(n.task("<a --> y>. %0.0;0.9%"));
+        in.offer(n.task("<a --> y>?"));
+
+        assertEquals(1, in.merged());
+        assertEquals(3, in.size());
+
+        //the latest reading, in the position of the first
+        Task a = in.get();
+        assertEquals("<a --> y>", a.getTerm().toString());
+        assertEquals(0.0f, a.getTruth().getFrequency(), 0.01f);
+        assertEquals("<b --> y>", in.get().getTerm().toString());
+        assertTrue(in.get().isQuestion());
+        assertNull(in.get());
+        in.close();
+    }
+
+}
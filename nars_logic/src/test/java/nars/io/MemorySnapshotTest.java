@@ -0,0 +1,140 @@
+package nars.io;
+
+import nars.NAR;
+import nars.concept.Concept;
+import nars.link.TaskLink;
+import nars.link.TermLink;
+import nars.nar.Default;
+import nars.task.Task;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+
+public class MemorySnapshotTest {
+
+    static NAR trained() {
+        NAR n = new NAR(new Default());
+        n.input("<a --> b>.");
+        n.input("<b --> c>. %0.9;0.8%");
+        n.input("<(*,a,d) --> e>.");
+        n.input("<c --> d>?");
+        n.input("<a --> e>!");
+        n.frame(60);
+        return n;
+    }
+
+    static byte[] save(NAR n) throws IOException {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        MemorySnapshot.write(n.memory, b);
+        return b.toByteArray();
+    }
+
+    static NAR load(byte[] snapshot) throws IOException {
+        NAR n = new NAR(new Default());
+        MemorySnapshot.read(n.memory, new ByteArrayInputStream(snapshot));
+        return n;
+    }
+
+    @Test
+    public void testRestore() throws IOException {
+        NAR a = trained();
+        NAR b = load(save(a));
+
+        assertEquals(a.time(), b.time());
+        assertEquals(a.memory.getStampSerial(), b.memory.getStampSerial());
+        assertEquals(a.memory.numConcepts(true, false), b.memory.numConcepts(true, false));
+        assertEquals(a.memory.numConcepts(false, true), b.memory.numConcepts(false, true));
+        assertEquals(a.memory.getQuestionConcepts().size(), b.memory.getQuestionConcepts().size());
+
+        Iterator<Concept> ii = a.memory.getConcepts().iterator();
+        int n = 0;
+        while (ii.hasNext()) {
+            Concept x = ii.next();
+            Concept y = b.concept(x.getTerm());
+            assertNotNull(x.toString(), y);
+            assertNotSame(x, y);
+            assertEquals(x.getState(), y.getState());
+            assertEquals(x.getPriority(), y.getPriority(), 0.0001f);
+            assertEquals(x.getLastForgetTime(), y.getLastForgetTime());
+
+            assertEquals(x.getBeliefs().size(), y.getBeliefs().size());
+            assertEquals(x.getGoals().size(), y.getGoals().size());
+            assertEquals(x.getQuestions().size(), y.getQuestions().size());
+            if (!x.getBeliefs().isEmpty()) {
+                Task tx = x.getBeliefs().top(), ty = y.getBeliefs().top();
+                assertEquals(tx, ty);
+                assertEquals(tx.getTruth(), ty.getTruth());
+                assertArrayEquals(tx.getEvidentialSet(), ty.getEvidentialSet());
+                assertEquals(tx.getCreationTime(), ty.getCreationTime());
+            }
+
+            assertEquals(x.getTaskLinks().size(), y.getTaskLinks().size());
+            for (TaskLink l : x.getTaskLinks()) {
+                TaskLink m = y.getTaskLinks().get(l.getSentence());
+                assertNotNull(l.toString(), m);
+                assertEquals(l.type, m.type);
+                assertEquals(l.getPriority(), m.getPriority(), 0.0001f);
+            }
+
+            assertEquals(x.getTermLinks().size(), y.getTermLinks().size());
+            for (TermLink l : x.getTermLinks()) {
+                TermLink m = y.getTermLinks().get(l);
+                assertNotNull(l.toString(), m);
+                assertEquals(l.hashCode(), m.hashCode());
+                assertEquals(l.getPriority(), m.getPriority(), 0.0001f);
+            }
+            n++;
+        }
+        assertTrue(n > 10);
+
+        //continues reasoning
+        b.frame(20);
+        assertEquals(a.time() + 20, b.time());
+    }
+
+    @Test
+    public void testSnapshotOfRestored() throws IOException {
+        byte[] s = save(trained());
+        //same contents, possibly in another order
+        assertEquals(s.length, save(load(s)).length);
+    }
+
+    @Test
+    public void testIntervalVariants() throws IOException {
+        NAR a = new NAR(new Default());
+        a.input("(&/,a,/3,b).");
+        a.input("(&/,a,/7,b).");
+        a.frame(4);
+        assertEquals(2, beliefTerms(a).size());
+
+        assertEquals(beliefTerms(a), beliefTerms(load(save(a))));
+    }
+
+    /** text of the terms of the beliefs in the sequence, which are equal apart from their interval */
+    static Set<String> beliefTerms(NAR n) {
+        Set<String> s = new TreeSet();
+        Iterator<Concept> ii = n.memory.getConcepts().iterator();
+        while (ii.hasNext()) {
+            for (Task t : ii.next().getBeliefs()) {
+                String x = t.getTerm().toString();
+                if (x.startsWith("(&/, a, "))
+                    s.add(x);
+            }
+        }
+        return s;
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalid() throws IOException {
+        load(new byte[] { 1, 2, 3, 4, 0, 0, 0, 1 });
+    }
+
+}
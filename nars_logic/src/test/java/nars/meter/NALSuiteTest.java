@@ -0,0 +1,84 @@
+package nars.meter;
+
+import nars.NARSeed;
+import nars.io.in.LibraryInput;
+import nars.meter.NALSuite.Result;
+import nars.nar.Default;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+
+public class NALSuiteTest {
+
+    static final Supplier<NARSeed> build = () -> new Default().setInternalExperience(null);
+
+    static List<String> scripts() {
+        List<String> s = new ArrayList();
+        for (String p : LibraryInput.getPaths("test1"))
+            if (p.endsWith("nal1.0.nal") || p.endsWith("nal1.1.nal") || p.endsWith("nal1.2.nal") || p.endsWith("nal1.3.nal"))
+                s.add(p);
+        assertEquals(4, s.size());
+        return s;
+    }
+
+    @Test
+    public void testParallelSameAsSequential() throws InterruptedException {
+        List<String> scripts = scripts();
+        List<Result> parallel = new NALSuite(4, 1000, 1).run(scripts, build);
+        List<Result> sequential = new NALSuite(1, 1000, 1).run(scripts, build);
+
+        assertEquals(4, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            Result p = parallel.get(i), s = sequential.get(i);
+            assertEquals(s.id(), p.id());
+            assertEquals(s.solved, p.solved);
+            assertEquals(s.solutionCycles, p.solutionCycles);
+            assertEquals(s.cycles, p.cycles);
+            assertEquals(s.peakConcepts, p.peakConcepts);
+            assertTrue(p.solved ? p.solutionCycles <= p.cycles : p.solutionCycles == -1);
+            assertTrue(p.cycles > 0);
+            assertTrue(p.wallNanos > 0);
+            assertTrue(p.peakConcepts > 0);
+        }
+        //sorted by script
+        assertEquals("nal1.0.nal", parallel.get(0).script);
+        assertEquals("nal1.3.nal", parallel.get(3).script);
+    }
+
+    @Test
+    public void testReport() throws IOException {
+        List<Result> before = new ArrayList();
+        before.add(new Result("a.nal", "Default", 1, true, 10, 10, 1000, 5000, 20, null));
+        before.add(new Result("b.nal", "Default", 1, true, 30, 30, 1000, 5000, 20, null));
+        before.add(new Result("c.nal", "Default", 1, false, -1, 100, 1000, 5000, 20, "java.lang.RuntimeException: x, \"y\""));
+
+        StringWriter w = new StringWriter();
+        NALSuite.writeCSV(before, w);
+        List<Result> read = NALSuite.readCSV(new StringReader(w.toString()));
+        assertEquals(3, read.size());
+        assertEquals(before.get(2).error, read.get(2).error);
+        assertNull(read.get(0).error);
+        assertEquals(30, read.get(1).solutionCycles);
+
+        List<Result> after = new ArrayList();
+        after.add(new Result("a.nal", "Default", 1, true, 11, 11, 1000, 5000, 20, null));
+        after.add(new Result("b.nal", "Default", 1, false, -1, 100, 1000, 5000, 20, null));
+        after.add(new Result("c.nal", "Default", 1, true, 50, 50, 1000, 5000, 20, null));
+        //a.nal within the tolerance, c.nal newly solved
+        List<String> r = NALSuite.regressions(read, after, 0.25);
+        assertEquals(r.toString(), 1, r.size());
+        assertTrue(r.get(0).startsWith("b.nal"));
+
+        r = NALSuite.regressions(read, after, 0.05);
+        assertEquals(r.toString(), 2, r.size());
+        assertTrue(r.get(0).startsWith("a.nal Default 1: cycles to solution 10 -> 11"));
+    }
+}
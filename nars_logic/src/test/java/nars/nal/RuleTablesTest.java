@@ -0,0 +1,52 @@
+package nars.nal;
+
+import nars.NAR;
+import nars.Op;
+import nars.nar.Default;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class RuleTablesTest {
+
+    static final Op[] statements = {
+            Op.INHERITANCE, Op.SIMILARITY,
+            Op.IMPLICATION, Op.IMPLICATION_AFTER, Op.IMPLICATION_WHEN, Op.IMPLICATION_BEFORE,
+            Op.EQUIVALENCE, Op.EQUIVALENCE_AFTER, Op.EQUIVALENCE_WHEN
+    };
+
+    @Test
+    public void testSyllogismTable() {
+        //every pair of statement operators has an entry
+        for (Op t : statements)
+            for (Op b : statements) {
+                RuleTables.Syllogism s = RuleTables.syllogism(t, b);
+                assertNotNull(t + " " + b, s);
+            }
+
+        assertSame(RuleTables.syllogism(Op.IMPLICATION, Op.EQUIVALENCE),
+                RuleTables.syllogism(Op.IMPLICATION_AFTER, Op.EQUIVALENCE_WHEN));
+        assertSame(RuleTables.syllogism(Op.INHERITANCE, Op.INHERITANCE),
+                RuleTables.syllogism(Op.OPERATION, Op.INHERITANCE));
+
+        assertNull(RuleTables.syllogism(Op.PRODUCT, Op.INHERITANCE));
+        assertNull(RuleTables.syllogism(Op.INHERITANCE, Op.CONJUNCTION));
+    }
+
+    @Test
+    public void testApplicationsCounted() {
+        RuleTables.Syllogism s = RuleTables.syllogism(Op.INHERITANCE, Op.INHERITANCE);
+
+        NAR n = new NAR(new Default());
+        n.input("<a --> b>.");
+        n.input("<b --> c>.");
+        n.frame(20);
+
+        assertTrue(n.memory.logic.getApplications(s) > 0);
+
+        //counted per memory
+        assertEquals(0, new NAR(new Default()).memory.logic.getApplications(s));
+    }
+
+}
@@ -0,0 +1,92 @@
+package nars.op.app;
+
+import nars.NAR;
+import nars.nar.Default;
+import nars.task.Task;
+import nars.term.Terms;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class EventWindowTest {
+
+    final NAR n = new NAR(new Default());
+
+    /** an event occurring now */
+    Task event(String term) {
+        return n.task(term + ". :|:");
+    }
+
+    @Test
+    public void testRing() {
+        EventWindow w = new EventWindow(3);
+        Task a = event("<a --> x>"), b = event("<b --> x>"), c = event("<c --> x>"), d = event("<d --> x>");
+
+        assertNull(w.add(a));
+        assertNull(w.add(b));
+        assertNull(w.add(c));
+        assertSame(a, w.add(d));
+        assertEquals(3, w.size());
+        assertSame(b, w.get(0));
+        assertSame(d, w.get(2));
+        assertArrayEquals(new Task[] { b, c, d }, w.toArray());
+
+        w.setCapacity(2);
+        assertArrayEquals(new Task[] { c, d }, w.toArray());
+        w.setCapacity(4);
+        w.add(a);
+        assertArrayEquals(new Task[] { c, d, a }, w.toArray());
+
+        w.clear();
+        assertTrue(w.isEmpty());
+    }
+
+    @Test
+    public void testRemoveSimilar() {
+        EventWindow w = new EventWindow(8);
+        Task p = event("<(*,a,b) --> r>"), i = event("<a --> (/,r,_,b)>"),
+                o = event("<c --> r>"), q = event("<(*,a,c) --> r>");
+        w.add(p);
+        w.add(o);
+        w.add(i);
+        w.add(q);
+
+        List<Task> similar = new ArrayList();
+        w.forEachSimilar(p.getTerm(), similar::add);
+        assertEquals(2, similar.size());
+        assertSame(p, similar.get(0));
+        assertSame(i, similar.get(1));
+
+        assertEquals(2, w.removeSimilar(p.getTerm()));
+        assertArrayEquals(new Task[] { o, q }, w.toArray());
+        assertEquals(0, w.removeSimilar(p.getTerm()));
+
+        //the ring continues in order after its compaction
+        w.add(p);
+        assertSame(p, w.get(2));
+    }
+
+    @Test
+    public void testRemoveSimilarSimilarity() {
+        EventWindow w = new EventWindow(8);
+        //similar both ways, though c is not in the removed term
+        Task s = event("<c <-> (/,a,_,b)>"), o = event("<d --> x>");
+        w.add(s);
+        w.add(o);
+
+        Task t = event("<a <-> (/,a,_,b)>");
+        assertTrue(Terms.equalSubTermsInRespectToImageAndProduct(t.getTerm(), s.getTerm()));
+
+        List<Task> similar = new ArrayList();
+        w.forEachSimilar(t.getTerm(), similar::add);
+        assertEquals(1, similar.size());
+        assertSame(s, similar.get(0));
+
+        assertEquals(1, w.removeSimilar(t.getTerm()));
+        assertArrayEquals(new Task[] { o }, w.toArray());
+    }
+}
@@ -0,0 +1,84 @@
+package nars.op.mental;
+
+import nars.NAR;
+import nars.nar.Default;
+import nars.op.mental.Anticipate.Anticipations;
+import nars.op.mental.Anticipate.TaskTime;
+import nars.task.Task;
+import nars.term.Compound;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class AnticipationsTest {
+
+    final NAR n = new NAR(new Default());
+
+    /** an anticipation of a term, made now, for the next duration */
+    TaskTime predict(String term) {
+        Task t = n.task(term + ". :/:");
+        return new TaskTime(t, n.memory.param.duration);
+    }
+
+    @Test
+    public void testExpireInOrder() {
+        Anticipations a = new Anticipations();
+
+        TaskTime x = predict("<x --> w>");
+        n.frame(3);
+        TaskTime y = predict("<y --> w>");
+        n.frame(3);
+        TaskTime z = predict("<z --> w>");
+        assertTrue(x.expiredate < y.expiredate);
+        assertTrue(y.expiredate < z.expiredate);
+
+        //added out of order
+        assertTrue(a.add((Compound) z.task.getTerm(), z));
+        assertTrue(a.add((Compound) x.task.getTerm(), x));
+        assertTrue(a.add((Compound) y.task.getTerm(), y));
+        assertFalse(a.add((Compound) y.task.getTerm(), y));
+        assertEquals(3, a.size());
+        assertEquals(x.expiredate, a.nextExpiry());
+
+        List<TaskTime> expired = new ArrayList();
+        assertEquals(0, a.expire(x.expiredate - 1, (c, t) -> expired.add(t)));
+        assertEquals(2, a.expire(y.expiredate, (c, t) -> {
+            assertSame(t.task.getTerm(), c);
+            expired.add(t);
+        }));
+        assertEquals(2, expired.size());
+        assertSame(x, expired.get(0));
+        assertSame(y, expired.get(1));
+        assertEquals(1, a.size());
+        assertEquals(z.expiredate, a.nextExpiry());
+    }
+
+    @Test
+    public void testConfirmed() {
+        Anticipations a = new Anticipations();
+
+        TaskTime x = predict("<x --> w>");
+        n.frame(3);
+        TaskTime y = predict("<y --> w>");
+        Compound xt = (Compound) x.task.getTerm();
+        a.add(xt, x);
+        a.add((Compound) y.task.getTerm(), y);
+
+        //confirmed: removed from the term index, and skipped when its heap entry expires
+        assertEquals(1, a.remove(xt).size());
+        assertTrue(a.get(xt).isEmpty());
+        assertEquals(1, a.size());
+        assertEquals(y.expiredate, a.nextExpiry());
+
+        List<TaskTime> expired = new ArrayList();
+        assertEquals(1, a.expire(Long.MAX_VALUE, (c, t) -> expired.add(t)));
+        assertSame(y, expired.get(0));
+        assertTrue(a.isEmpty());
+        assertEquals(-1, a.nextExpiry());
+    }
+
+}
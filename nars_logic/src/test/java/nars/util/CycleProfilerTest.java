@@ -0,0 +1,121 @@
+package nars.util;
+
+import nars.NAR;
+import nars.meter.CycleProfiler;
+import nars.meter.CycleProfiler.Phase;
+import nars.meter.NARMetrics;
+import nars.nar.Default;
+import nars.process.ConceptProcess;
+import nars.process.NAL;
+import nars.process.TaskProcess;
+import nars.util.meter.LatencyHistogram;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+
+public class CycleProfilerTest {
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentile(0.5));
+
+        for (int i = 1; i <= 1000; i++)
+            h.record(i * 1000);
+
+        assertEquals(1000, h.count());
+        assertEquals(1000000, h.max());
+        assertEquals(500500.0, h.mean(), 0.001);
+        //within the relative error of the sub-buckets
+        assertEquals(500000, h.percentile(0.5), 500000 / 32);
+        assertEquals(990000, h.percentile(0.99), 990000 / 32);
+        assertEquals(1000000, h.percentile(1.0));
+
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.max());
+    }
+
+    @Test
+    public void testProfile() throws IOException {
+        NAR n = new NAR(new Default());
+        CycleProfiler p = new CycleProfiler(n);
+        assertSame(p, n.memory.profiler);
+
+        NARMetrics metrics = new NARMetrics(n, 8);
+
+        n.input("<a --> b>.");
+        n.input("<b --> c>.");
+        n.input("<c --> d>?");
+        n.frame(50);
+
+        assertEquals(50, p.get(Phase.Perceive).latency.count());
+        assertEquals(50, p.get(Phase.Forget).latency.count());
+        assertTrue(p.get(Phase.FireConcepts).latency.count() > 0);
+        assertTrue(p.getProcess(ConceptProcess.class).latency.count() > 0);
+        assertTrue(p.getProcess(TaskProcess.class).latency.count() > 0);
+
+        //inclusive: concepts are processed within the FireConcepts phase
+        assertTrue(p.get(Phase.FireConcepts).latency.sum() >= p.getProcess(ConceptProcess.class).latency.sum());
+
+        StringWriter w = new StringWriter();
+        p.writePrometheus(w);
+        String s = w.toString();
+        assertTrue(s, s.contains("# TYPE nars_latency_seconds summary"));
+        assertTrue(s, s.contains("nars_latency_seconds_count{kind=\"phase\",name=\"Perceive\"} 50\n"));
+        assertTrue(s, s.contains("nars_latency_seconds{kind=\"process\",name=\"ConceptProcess\",quantile=\"0.99\"}"));
+        assertTrue(s, s.contains("kind=\"rule\""));
+
+        assertNotNull(metrics.getMetrics().getSignal("cycle.FireConcepts.p99"));
+
+        p.stop();
+        assertNull(n.memory.profiler);
+        n.frame(5);
+        assertEquals(50, p.get(Phase.Perceive).latency.count());
+    }
+
+    @Test
+    public void testFailedProcessEnded() {
+        NAR n = new NAR(new Default());
+        CycleProfiler p = new CycleProfiler(n);
+
+        NAL failing = new NAL(n.memory, null) {
+            @Override
+            protected void process() {
+                throw new RuntimeException("failed");
+            }
+        };
+        for (int i = 0; i < 2; i++) {
+            try {
+                failing.run();
+                fail();
+            } catch (RuntimeException e) {
+                assertEquals("failed", e.getMessage());
+            }
+        }
+        assertEquals(2, p.getProcess(failing.getClass()).latency.count());
+    }
+
+    @Test
+    public void testFailedPhaseEnded() {
+        NAR n = new NAR(new Default());
+        CycleProfiler p = new CycleProfiler(n);
+
+        n.memory.taskNext(() -> { throw new RuntimeException("failed"); });
+        try {
+            n.frame();
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals(1, p.get(Phase.NextTasks).latency.count());
+
+        n.frame();
+        assertEquals(2, p.get(Phase.NextTasks).latency.count());
+    }
+
+}
@@ -36,7 +36,8 @@ public interface ProjogProperties {
    /**
     * Returns the directory to store class files of code generated at runtime.
     * <p>
-    * This value is only used if runtime compilation is enabled. The directory must be in the application's classpath.
+    * This value is only used if runtime compilation is enabled. Generated files are only stored if the directory exists,
+    * and it does not need to be in the application's classpath.
     * 
     * @return the directory to store class files of code generated at runtime
     * @see #isRuntimeCompilationEnabled()
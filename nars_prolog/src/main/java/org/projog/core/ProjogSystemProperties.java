@@ -11,15 +11,16 @@ package org.projog.core;
  * <li><code>projog.spypoints</code> - <code>true</code> if the Projog inference engine should support the creation of
  * spypoints to aid debugging, or <code>false</code> if requests to set spypoints should be ignored. Ignoring spypoints
  * can give small performance improvements. Defaults to <code>true</code>.</li>
- * <li><code>projog.generatedClasses</code> - the directory where the class files of user defined predicates compiled at
- * runtime should be stored. This property is only used if running in "compiled mode". The directory also needs to be
- * included in the Java classpath of the application being executed. Defaults to <code>projogGeneratedClasses</code>.</li>
+ * <li><code>projog.generatedClasses</code> - the directory where the source and class files of user defined predicates
+ * compiled at runtime should be stored. This property is only used if running in "compiled mode". The files are only
+ * stored if the directory exists - it does not need to be included in the Java classpath. Defaults to
+ * <code>projogGeneratedClasses</code>.</li>
  * </ul>
  * </p>
  * Example of setting system properties when launching Java:
  * 
  * <pre>
- * java -Dprojog.spypoints=false -Dprojog.compile=true -Dprojog.generatedClasses=projogGeneratedClasses -cp projogGeneratedClasses;lib/projog-core.jar org.projog.example.ProjogExample
+ * java -Dprojog.spypoints=false -Dprojog.compile=true -cp lib/projog-core.jar org.projog.example.ProjogExample
  * </pre>
  * 
  * </p>
@@ -0,0 +1,166 @@
+package org.projog.core.udp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.projog.core.PredicateKey;
+import org.projog.core.term.DecimalFraction;
+import org.projog.core.term.IntegerNumber;
+import org.projog.core.term.PTerm;
+
+/**
+ * Selects the clauses of a "static" user defined predicate that could match a call.
+ * <p>
+ * Clauses are indexed by the arguments of their heads (consequents). The index of an argument position is only built
+ * the first time a call has that argument bound (i.e. "just in time"). When several arguments of a call are bound, the
+ * position that gives the fewest candidates is used.
+ * <p>
+ * A clause whose head has a variable at a position is a candidate for every call. Candidates are always returned in
+ * the order the clauses were defined.
+ *
+ * @see #key(PTerm)
+ */
+public final class ClauseIndex {
+   private final PTerm[][] heads;
+   private final Position[] positions;
+
+   /**
+    * @param heads the arguments of the head of each clause, in the order the clauses were defined
+    */
+   public ClauseIndex(PTerm[][] heads) {
+      this.heads = heads;
+      this.positions = new Position[heads.length == 0 ? 0 : heads[0].length];
+   }
+
+   public static ClauseIndex create(List<ClauseModel> clauseModels) {
+      PTerm[][] heads = new PTerm[clauseModels.size()][];
+      for (int i = 0; i < heads.length; i++) {
+         heads[i] = clauseModels.get(i).getConsequent().terms();
+      }
+      return new ClauseIndex(heads);
+   }
+
+   /**
+    * Returns the value that a term is indexed by, or {@code null} if the term is an unassigned variable.
+    * <p>
+    * Two terms that can be unified with each other either have the same key or at least one of them has a key of
+    * {@code null}. Atoms are indexed by their name, numbers by their value and structures (including lists) by their
+    * name and number of arguments.
+    */
+   public static Object key(PTerm t) {
+      t = t.get();
+      switch (t.type()) {
+         case ATOM:
+            return t.getName();
+         case INTEGER:
+            return ((IntegerNumber) t).getLong();
+         case FRACTION:
+            // 0.0 and -0.0 unify
+            return ((DecimalFraction) t).getDouble() + 0.0;
+         case EMPTY_LIST:
+            return t;
+         case STRUCTURE:
+         case LIST:
+            return new PredicateKey(t.getName(), t.length());
+         default:
+            return null;
+      }
+   }
+
+   /**
+    * Returns the indexes of the clauses which could match a call with the specified arguments, in ascending order, or
+    * {@code null} if every clause could.
+    */
+   public int[] candidates(PTerm[] args) {
+      if (args.length != positions.length) {
+         return null;
+      }
+      int[] best = null;
+      for (int p = 0; p < positions.length; p++) {
+         Object k = key(args[p]);
+         if (k == null) {
+            continue;
+         }
+         Position position = position(p);
+         if (position == null) {
+            continue;
+         }
+         int[] c = position.get(k);
+         if (best == null || c.length < best.length) {
+            best = c;
+            if (best.length == 0) {
+               break;
+            }
+         }
+      }
+      return best;
+   }
+
+   /** Returns the index of the specified argument position, or {@code null} if every clause has a variable there. */
+   private Position position(int p) {
+      Position position = positions[p];
+      if (position == null) {
+         // threads racing to build the same position build equal ones, and Position's fields are final
+         position = new Position(heads, p);
+         positions[p] = position;
+      }
+      return position.isUseful ? position : null;
+   }
+
+   private static final class Position {
+      private static final int[] NONE = new int[0];
+
+      /** the clauses with a given key, or a variable, at the position */
+      private final Map<Object, int[]> candidates;
+      /** the clauses with a variable at the position */
+      private final int[] variables;
+      private final boolean isUseful;
+
+      Position(PTerm[][] heads, int p) {
+         Map<Object, List<Integer>> keyed = new HashMap<>();
+         List<Integer> variables = new ArrayList<>();
+         for (int i = 0; i < heads.length; i++) {
+            Object k = key(heads[i][p]);
+            if (k == null) {
+               variables.add(i);
+               // also a candidate for the keys already seen
+               for (List<Integer> l : keyed.values()) {
+                  l.add(i);
+               }
+            } else {
+               List<Integer> l = keyed.get(k);
+               if (l == null) {
+                  l = new ArrayList<>(variables);
+                  keyed.put(k, l);
+               }
+               l.add(i);
+            }
+         }
+
+         this.variables = toArray(variables);
+         this.candidates = new HashMap<>(keyed.size() * 2);
+         for (Map.Entry<Object, List<Integer>> e : keyed.entrySet()) {
+            this.candidates.put(e.getKey(), toArray(e.getValue()));
+         }
+         this.isUseful = !keyed.isEmpty();
+      }
+
+      int[] get(Object key) {
+         int[] c = candidates.get(key);
+         return c != null ? c : variables;
+      }
+
+      private static int[] toArray(List<Integer> l) {
+         if (l.isEmpty()) {
+            return NONE;
+         }
+         int[] a = new int[l.size()];
+         for (int i = 0; i < a.length; i++) {
+            a[i] = l.get(i);
+         }
+         return a;
+      }
+   }
+}
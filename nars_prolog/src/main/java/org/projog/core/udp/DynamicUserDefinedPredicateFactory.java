@@ -4,6 +4,8 @@ import static org.projog.core.KnowledgeBaseUtils.getProjogProperties;
 import static org.projog.core.KnowledgeBaseUtils.getSpyPoints;
 
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.projog.core.KB;
 import org.projog.core.Predicate;
@@ -12,6 +14,7 @@ import org.projog.core.SpyPoints;
 import org.projog.core.term.PTerm;
 import org.projog.core.udp.interpreter.ClauseAction;
 import org.projog.core.udp.interpreter.ClauseActionFactory;
+import org.projog.core.udp.interpreter.ClauseActionIterator;
 import org.projog.core.udp.interpreter.InterpretedUserDefinedPredicate;
 
 /**
@@ -19,6 +22,10 @@ import org.projog.core.udp.interpreter.InterpretedUserDefinedPredicate;
  * <p>
  * A "dynamic" user defined predicate is one that can have clauses added and removed <i>after</i> it has been first
  * defined. This is normally done using the {@code asserta/1}, {@code assertz/1} and {@code retract/1} predicates.
+ * <p>
+ * Clauses are also indexed by the first argument of their heads (see {@link ClauseIndex#key(PTerm)}), so that a call
+ * whose first argument is bound only visits the clauses with the same first argument and the clauses with a variable
+ * as their first argument.
  * 
  * @see org.projog.core.udp.interpreter.InterpretedUserDefinedPredicate
  */
@@ -33,6 +40,12 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
    private final PredicateKey predicateKey;
    private final SpyPoints.SpyPoint spyPoint;
    private final ClauseActionMetaData[] ends = new ClauseActionMetaData[2];
+   /** the clauses indexed by the key of their first argument, except those with a variable there */
+   private final Map<Object, ClauseActionMetaData[]> keyed = new ConcurrentHashMap<>();
+   /** the clauses with a variable as their first argument */
+   private final ClauseActionMetaData[] variables = new ClauseActionMetaData[2];
+   /** order of the clauses at the ends of the list, so that any two clauses can be compared */
+   private long firstOrder = 0, lastOrder = 0;
 
    public DynamicUserDefinedPredicateFactory(KB kb, PredicateKey predicateKey) {
       this.kb = kb;
@@ -51,7 +64,14 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
 
    @Override
    public Predicate getPredicate(PTerm... args) {
-      ClauseActionIterator itr = new ClauseActionIterator(ends[FIRST]);
+      Object key = args.length == 0 ? null : ClauseIndex.key(args[0]);
+      final ClauseActionIterator itr;
+      if (key == null) {
+         itr = new AllClausesIterator(ends[FIRST]);
+      } else {
+         ClauseActionMetaData[] chain = keyed.get(key);
+         itr = new CandidatesIterator(chain == null ? null : chain[FIRST], variables[FIRST]);
+      }
       return new InterpretedUserDefinedPredicate(predicateKey, spyPoint, itr);
    }
 
@@ -88,6 +108,8 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
          // if first used in a implication antecedant before being used as a consequent,
          // it will originally been created with first and last both null
          ClauseActionMetaData newClause = createClauseActionMetaData(clauseModel);
+         newClause.order = --firstOrder;
+         linkFirst(chain(newClause.key), newClause);
          ClauseActionMetaData first = ends[FIRST];
          if (first == null) {
             ends[FIRST] = newClause;
@@ -106,6 +128,8 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
          // if first used in a implication antecedant before being used as a consequent,
          // it will originally been created with first and last both null
          ClauseActionMetaData newClause = createClauseActionMetaData(clauseModel);
+         newClause.order = ++lastOrder;
+         linkLast(chain(newClause.key), newClause);
          ClauseActionMetaData last = ends[LAST];
          if (last == null) {
             ends[FIRST] = newClause;
@@ -118,6 +142,70 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
       }
    }
 
+   /** Returns the chain of clauses with the specified first argument key, which is created if it does not exist. */
+   private ClauseActionMetaData[] chain(Object key) {
+      if (key == null) {
+         return variables;
+      }
+      ClauseActionMetaData[] chain = keyed.get(key);
+      if (chain == null) {
+         chain = new ClauseActionMetaData[2];
+         keyed.put(key, chain);
+      }
+      return chain;
+   }
+
+   private static void linkFirst(ClauseActionMetaData[] chain, ClauseActionMetaData c) {
+      ClauseActionMetaData first = chain[FIRST];
+      if (first == null) {
+         chain[LAST] = c;
+      } else {
+         c.nextSameKey = first;
+         first.previousSameKey = c;
+      }
+      chain[FIRST] = c;
+   }
+
+   private static void linkLast(ClauseActionMetaData[] chain, ClauseActionMetaData c) {
+      ClauseActionMetaData last = chain[LAST];
+      if (last == null) {
+         chain[FIRST] = c;
+      } else {
+         last.nextSameKey = c;
+         c.previousSameKey = last;
+      }
+      chain[LAST] = c;
+   }
+
+   private void unlink(ClauseActionMetaData c) {
+      ClauseActionMetaData[] chain = chain(c.key);
+      if (c.previousSameKey != null) {
+         c.previousSameKey.nextSameKey = c.nextSameKey;
+      } else {
+         chain[FIRST] = c.nextSameKey;
+      }
+      if (c.nextSameKey != null) {
+         c.nextSameKey.previousSameKey = c.previousSameKey;
+      } else {
+         chain[LAST] = c.previousSameKey;
+      }
+      if (chain[FIRST] == null && c.key != null) {
+         keyed.remove(c.key);
+      }
+   }
+
+   /** Returns the position of a clause in the list of clauses, or the number of clauses if it has been removed. */
+   private int indexOf(ClauseActionMetaData c) {
+      int i = 0;
+      for (ClauseActionMetaData n = ends[FIRST]; n != null; n = n.next) {
+         if (n == c) {
+            return i;
+         }
+         i++;
+      }
+      return i;
+   }
+
    @Override
    public ClauseModel getClauseModel(int index) {
       ClauseActionMetaData next = ends[FIRST];
@@ -137,10 +225,11 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
       return new ClauseActionMetaData(kb, clauseModel);
    }
 
-   private static class ClauseActionIterator implements Iterator<ClauseAction> {
+   private class AllClausesIterator implements ClauseActionIterator {
       private ClauseActionMetaData next;
+      private ClauseActionMetaData current;
 
-      ClauseActionIterator(ClauseActionMetaData first) {
+      AllClausesIterator(ClauseActionMetaData first) {
          next = first;
       }
 
@@ -152,9 +241,57 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
       /** need to call getFree on result */
       @Override
       public ClauseAction next() {
-         ClauseAction c = next.getClauseAction();
+         current = next;
          next = next.next;
-         return c;
+         return current.getClauseAction();
+      }
+
+      @Override
+      public int getClauseIndex() {
+         return current == null ? -1 : indexOf(current);
+      }
+
+      @Override
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Iterates over the clauses with a given first argument key and the clauses with a variable as their first
+    * argument, in the order of the list of clauses, by merging their two chains.
+    */
+   private class CandidatesIterator implements ClauseActionIterator {
+      private ClauseActionMetaData nextKeyed;
+      private ClauseActionMetaData nextVariable;
+      private ClauseActionMetaData current;
+
+      CandidatesIterator(ClauseActionMetaData firstKeyed, ClauseActionMetaData firstVariable) {
+         nextKeyed = firstKeyed;
+         nextVariable = firstVariable;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return nextKeyed != null || nextVariable != null;
+      }
+
+      /** need to call getFree on result */
+      @Override
+      public ClauseAction next() {
+         if (nextVariable == null || (nextKeyed != null && nextKeyed.order < nextVariable.order)) {
+            current = nextKeyed;
+            nextKeyed = nextKeyed.nextSameKey;
+         } else {
+            current = nextVariable;
+            nextVariable = nextVariable.nextSameKey;
+         }
+         return current.getClauseAction();
+      }
+
+      @Override
+      public int getClauseIndex() {
+         return current == null ? -1 : indexOf(current);
       }
 
       @Override
@@ -189,6 +326,7 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
       @Override
       public void remove() {
          synchronized (LOCK) {
+            unlink(previous);
             if (previous.previous != null) {
                previous.previous.next = previous.next;
             } else {
@@ -214,12 +352,20 @@ public final class DynamicUserDefinedPredicateFactory implements UserDefinedPred
    private static class ClauseActionMetaData {
       final KB kb;
       final ClauseModel clauseModel;
+      /** the key of the first argument of the clause's head, or {@code null} if it is a variable or there is none */
+      final Object key;
+      /** position relative to the other clauses */
+      long order;
       ClauseActionMetaData previous;
       ClauseActionMetaData next;
+      ClauseActionMetaData previousSameKey;
+      ClauseActionMetaData nextSameKey;
 
       ClauseActionMetaData(KB kb, ClauseModel clauseModel) {
          this.kb = kb;
          this.clauseModel = clauseModel;
+         PTerm consequent = clauseModel.getConsequent();
+         this.key = consequent.length() == 0 ? null : ClauseIndex.key(consequent.term(0));
       }
 
       private ClauseAction getClauseAction() {
@@ -25,21 +25,29 @@ public final class MultipleRulesWithMultipleImmutableArgumentsPredicate extends
    public final PTerm[][] data;
    /** Public so can be used directly be code compiled at runtime. */
    public final SpyPoints.SpyPoint spyPoint;
-   private final int numClauses;
+   private final ClauseIndex index;
    private final boolean isDebugEnabled;
+   /** the clauses which could match the arguments, or {@code null} for all of them */
+   private int[] candidates;
+   private int numClauses;
    private int ctr;
    private boolean retrying;
 
    public MultipleRulesWithMultipleImmutableArgumentsPredicate(PTerm[][] data, SpyPoints.SpyPoint spyPoint) {
+      this(data, spyPoint, new ClauseIndex(data));
+   }
+
+   private MultipleRulesWithMultipleImmutableArgumentsPredicate(PTerm[][] data, SpyPoints.SpyPoint spyPoint, ClauseIndex index) {
       this.data = data;
       this.numClauses = data.length;
       this.spyPoint = spyPoint;
+      this.index = index;
       this.isDebugEnabled = spyPoint != null && spyPoint.isEnabled();
    }
 
    @Override
    public Predicate getPredicate(PTerm... args) {
-      return new MultipleRulesWithMultipleImmutableArgumentsPredicate(data, spyPoint);
+      return new MultipleRulesWithMultipleImmutableArgumentsPredicate(data, spyPoint, index);
    }
 
    @Override
@@ -54,9 +62,15 @@ public final class MultipleRulesWithMultipleImmutableArgumentsPredicate extends
             spyPoint.logCall(this, args);
          }
          retrying = true;
+         candidates = index.candidates(args);
+         if (candidates != null) {
+            numClauses = candidates.length;
+         }
       }
       while (ctr < numClauses) {
-         if (TermUtils.unify(args, data[ctr++])) {
+         int i = candidates == null ? ctr : candidates[ctr];
+         ctr++;
+         if (TermUtils.unify(args, data[i])) {
             if (isDebugEnabled) {
                spyPoint.logExit(this, args);
             }
@@ -25,21 +25,37 @@ public final class MultipleRulesWithSingleImmutableArgumentPredicate extends Abs
    public final PTerm[] data;
    /** Public so can be used directly be code compiled at runtime. */
    public final SpyPoints.SpyPoint spyPoint;
+   private final ClauseIndex index;
    private final boolean isDebugEnabled;
-   private final int numClauses;
+   /** the clauses which could match the argument, or {@code null} for all of them */
+   private int[] candidates;
+   private int numClauses;
    private int ctr;
    private boolean retrying;
 
    public MultipleRulesWithSingleImmutableArgumentPredicate(PTerm[] data, SpyPoints.SpyPoint spyPoint) {
+      this(data, spyPoint, new ClauseIndex(toHeads(data)));
+   }
+
+   private MultipleRulesWithSingleImmutableArgumentPredicate(PTerm[] data, SpyPoints.SpyPoint spyPoint, ClauseIndex index) {
       this.data = data;
       this.numClauses = data.length;
       this.spyPoint = spyPoint;
+      this.index = index;
       this.isDebugEnabled = spyPoint != null && spyPoint.isEnabled();
    }
 
+   private static PTerm[][] toHeads(PTerm[] data) {
+      PTerm[][] heads = new PTerm[data.length][];
+      for (int i = 0; i < data.length; i++) {
+         heads[i] = new PTerm[] {data[i]};
+      }
+      return heads;
+   }
+
    @Override
    public Predicate getPredicate(PTerm... args) {
-      return new MultipleRulesWithSingleImmutableArgumentPredicate(data, spyPoint);
+      return new MultipleRulesWithSingleImmutableArgumentPredicate(data, spyPoint, index);
    }
 
    @Override
@@ -54,9 +70,15 @@ public final class MultipleRulesWithSingleImmutableArgumentPredicate extends Abs
             spyPoint.logCall(this, args);
          }
          retrying = true;
+         candidates = index.candidates(args);
+         if (candidates != null) {
+            numClauses = candidates.length;
+         }
       }
       while (ctr < numClauses) {
-         if (args[0].unify(data[ctr++])) {
+         int i = candidates == null ? ctr : candidates[ctr];
+         ctr++;
+         if (args[0].unify(data[i])) {
             if (isDebugEnabled) {
                spyPoint.logExit(this, args);
             }
@@ -20,6 +20,7 @@ import org.projog.core.term.PTerm;
 import org.projog.core.udp.compiler.CompiledPredicateClassGenerator;
 import org.projog.core.udp.interpreter.AlwaysMatchedClauseAction;
 import org.projog.core.udp.interpreter.ClauseAction;
+import org.projog.core.udp.interpreter.ClauseActionIterator;
 import org.projog.core.udp.interpreter.ClauseActionFactory;
 import org.projog.core.udp.interpreter.ImmutableArgumentsClauseAction;
 import org.projog.core.udp.interpreter.InterpretedTailRecursivePredicateFactory;
@@ -251,7 +252,7 @@ public class StaticUserDefinedPredicateFactory implements UserDefinedPredicateFa
       if (tailRecursiveMetaData != null) {
          return new InterpretedTailRecursivePredicateFactory(kb, tailRecursiveMetaData);
       }
-      return new InterpretedUserDefinedPredicatePredicateFactory(predicateKey, getSpyPoint(), clauseActions);
+      return new InterpretedUserDefinedPredicatePredicateFactory(predicateKey, getSpyPoint(), clauseActions, ClauseIndex.create(clauseModels));
    }
 
    private SpyPoints.SpyPoint getSpyPoint() {
@@ -344,20 +345,67 @@ public class StaticUserDefinedPredicateFactory implements UserDefinedPredicateFa
       }
    }
 
+   /**
+    * Iterates over the clause actions at the specified indexes, or over all of them if the indexes are {@code null}.
+    */
+   private static final class CandidatesIterator implements ClauseActionIterator {
+      private final List<ClauseAction> rows;
+      private final int[] candidates;
+      private final int size;
+      private int ctr;
+
+      CandidatesIterator(List<ClauseAction> rows, int[] candidates) {
+         this.rows = rows;
+         this.candidates = candidates;
+         this.size = candidates == null ? rows.size() : candidates.length;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return ctr < size;
+      }
+
+      @Override
+      public ClauseAction next() {
+         return rows.get(index(ctr++));
+      }
+
+      private int index(int i) {
+         return candidates == null ? i : candidates[i];
+      }
+
+      @Override
+      public int getClauseIndex() {
+         return ctr == 0 ? -1 : index(ctr - 1);
+      }
+
+      @Override
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
    public static final class InterpretedUserDefinedPredicatePredicateFactory implements PredicateFactory {
       private final PredicateKey key;
       private final List<ClauseAction> rows;
       private final SpyPoints.SpyPoint spyPoint;
+      private final ClauseIndex index;
 
-      private InterpretedUserDefinedPredicatePredicateFactory(PredicateKey key, SpyPoints.SpyPoint spyPoint, List<ClauseAction> rows) {
+      private InterpretedUserDefinedPredicatePredicateFactory(PredicateKey key, SpyPoints.SpyPoint spyPoint, List<ClauseAction> rows, ClauseIndex index) {
          this.key = key;
          this.spyPoint = spyPoint;
          this.rows = rows;
+         this.index = index;
       }
 
+      /**
+       * Returns a predicate that only evaluates the clauses whose heads could match the specified arguments.
+       *
+       * @see ClauseIndex
+       */
       @Override
       public InterpretedUserDefinedPredicate getPredicate(PTerm... args) {
-         return new InterpretedUserDefinedPredicate(key, spyPoint, rows.iterator());
+         return new InterpretedUserDefinedPredicate(key, spyPoint, new CandidatesIterator(rows, index.candidates(args)));
       }
 
       @Override
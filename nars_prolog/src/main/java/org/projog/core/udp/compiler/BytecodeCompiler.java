@@ -0,0 +1,305 @@
+package org.projog.core.udp.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtBehavior;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.bytecode.ClassFile;
+
+import org.projog.core.ProjogException;
+
+/**
+ * Compiles Java source code, as generated by {@link CompiledPredicateSourceGenerator}, into bytecode.
+ * <p>
+ * Compilation is done in-process by the javassist compiler, so no JDK is needed at runtime. The javassist compiler
+ * only supports a subset of the Java language - the generated source must not use labelled statements, varargs
+ * calls, generics, autoboxing, inner classes or nested classes that are not fully qualified - and compiles each member of a class separately. The source of a class
+ * is therefore split into its members: fields are added first, then methods and constructors with empty bodies (so that
+ * a member can refer to any other) and, finally, the actual bodies are compiled - with the parameters copied to local
+ * variables of the same names.
+ * <p>
+ * The source is split line by line rather than parsed, so it has to be formatted as the generator formats it:
+ * <ul>
+ * <li>the {@code package} and {@code import} statements, the class declaration and the header of each member are each
+ * on a single line;</li>
+ * <li>the class declaration contains {@code " class <simple name> "} and names at most one superclass and one
+ * interface, of the imported packages;</li>
+ * <li>a field is declared, and initialised, on a single line ending with {@code ;};</li>
+ * <li>the header of a method or constructor ends with <code>{</code> and the closing <code>}</code> of its body is
+ * alone on a line;</li>
+ * <li>a constructor's call to {@code this(...)} or {@code super(...)} is alone on the first line of its body;</li>
+ * <li>braces are only counted outside of string literals, and only lines starting with {@code //} are ignored as
+ * comments - so braces must not appear in character literals or in other comments.</li>
+ * </ul>
+ * <p>
+ * All classes are loaded by the same class loader, so a compiled predicate can refer to (and call package-private
+ * methods of) any previously compiled predicate. Each class is compiled in a class pool of its own, which resolves
+ * the previously compiled classes from the bytecode the loader keeps, and imports the packages of its source only;
+ * the pool and the compiled {@code CtClass} are discarded once the class is loaded. The shared pool only holds the
+ * classes of the JDK and of projog, and the loader the classes compiled - which, like the predicates they implement,
+ * are never unloaded.
+ */
+final class BytecodeCompiler {
+   private static final Pattern FINAL_PARAMETER = Pattern.compile("([(,]\\s*)final\\s+");
+   private static final String STUB_BODY = "{ throw new RuntimeException(); }";
+
+   private static final GeneratedClassLoader LOADER = new GeneratedClassLoader(CompiledPredicate.class.getClassLoader());
+   private static final ClassPool POOL = createClassPool();
+
+   private static ClassPool createClassPool() {
+      ClassPool pool = new ClassPool(true);
+      pool.appendClassPath(new LoaderClassPath(CompiledPredicate.class.getClassLoader()));
+      return pool;
+   }
+
+   /**
+    * Compiles the specified java source code and returns the resulting Class object.
+    *
+    * @param className the fully qualified name of the class to compile
+    * @param sourceCode java source code to compile
+    * @param dynamicContentDir directory to store the generated .class file in, or {@code null} if it should not be stored
+    * @return the newly compiled class
+    * @throws ProjogException if the source code could not be compiled
+    */
+   static synchronized Class<?> compileClass(String className, String sourceCode, File dynamicContentDir) {
+      ClassPool pool = new ClassPool(POOL);
+      pool.appendClassPath(new LoaderClassPath(LOADER));
+      CtClass c = pool.makeClass(className);
+      // javassist can generate invalid stack map frames for the variables declared between the case labels of the
+      // generated switch statements - class files older than Java 6 have no stack map, and are verified by type inference
+      c.getClassFile().setMajorVersion(ClassFile.JAVA_5);
+      try {
+         compileMembers(pool, c, sourceCode);
+         byte[] bytecode = c.toBytecode();
+         if (dynamicContentDir != null) {
+            save(dynamicContentDir, className, bytecode);
+         }
+         return LOADER.define(className, bytecode);
+      } catch (Exception e) {
+         throw new ProjogException("Cannot compile: " + className + " " + e.getMessage(), e);
+      } finally {
+         c.detach();
+      }
+   }
+
+   private static void compileMembers(ClassPool pool, CtClass c, String sourceCode) throws Exception {
+      List<Member> members = new ArrayList<>();
+      String simpleName = c.getSimpleName();
+      Pattern constructor = Pattern.compile("^((public|protected|private|static|final)\\s+)*" + Pattern.quote(simpleName) + "\\(.*");
+
+      Member current = null;
+      int depth = 0;
+      for (String line : sourceCode.split("\n")) {
+         line = line.trim();
+         if (line.isEmpty() || line.startsWith("//")) {
+            continue;
+         }
+         if (depth == 0) {
+            if (line.startsWith("package ") || line.startsWith("import ")) {
+               pool.importPackage(line.substring(line.indexOf(' ') + 1, line.length() - 1).replace(".*", ""));
+            } else if (line.contains(" class " + simpleName + " ")) {
+               declareClass(pool, c, line);
+            }
+         } else if (depth == 1 && current == null) {
+            if (line.endsWith(";")) {
+               c.addField(CtField.make(line, c));
+            } else {
+               // javassist does not accept final parameters
+               String header = FINAL_PARAMETER.matcher(line.substring(0, line.length() - 1).trim()).replaceAll("$1");
+               current = new Member(header, constructor.matcher(line).matches());
+            }
+         } else if (current != null && (depth > 2 || !line.equals("}"))) {
+            current.body.append(line).append('\n');
+         }
+         depth += braces(line);
+         if (depth == 1 && current != null) {
+            members.add(current);
+            current = null;
+         }
+      }
+
+      for (Member m : members) {
+         if (m.isConstructor) {
+            m.behavior = CtNewConstructor.make(m.header + STUB_BODY, c);
+            c.addConstructor((CtConstructor) m.behavior);
+         } else {
+            m.behavior = CtNewMethod.make(m.header + STUB_BODY, c);
+            c.addMethod((CtMethod) m.behavior);
+         }
+      }
+      for (Member m : members) {
+         try {
+            m.behavior.setBody(m.getBody());
+         } catch (CannotCompileException e) {
+            throw new CannotCompileException("in " + m.header + ": " + e.getMessage());
+         }
+      }
+   }
+
+   private static void declareClass(ClassPool pool, CtClass c, String header) throws Exception {
+      String[] tokens = header.replace("{", "").trim().split("\\s+");
+      for (int i = 0; i < tokens.length - 1; i++) {
+         if ("extends".equals(tokens[i])) {
+            c.setSuperclass(pool.get(qualify(pool, tokens[i + 1])));
+         } else if ("implements".equals(tokens[i])) {
+            c.addInterface(pool.get(qualify(pool, tokens[i + 1])));
+         }
+      }
+   }
+
+   /** Returns the fully qualified name of a class of one of the imported packages. */
+   private static String qualify(ClassPool pool, String className) {
+      for (Iterator<String> i = pool.getImportedPackages(); i.hasNext();) {
+         String name = i.next() + "." + className;
+         if (pool.getOrNull(name) != null) {
+            return name;
+         }
+      }
+      return className;
+   }
+
+   /** Returns the number of opening braces minus the number of closing braces, ignoring those in string literals. */
+   private static int braces(String line) {
+      int count = 0;
+      boolean inString = false;
+      for (int i = 0; i < line.length(); i++) {
+         char ch = line.charAt(i);
+         if (inString) {
+            if (ch == '\\') {
+               i++;
+            } else if (ch == '"') {
+               inString = false;
+            }
+         } else if (ch == '"') {
+            inString = true;
+         } else if (ch == '{') {
+            count++;
+         } else if (ch == '}') {
+            count--;
+         }
+      }
+      return count;
+   }
+
+   private static void save(File dynamicContentDir, String className, byte[] bytecode) throws IOException {
+      File classFile = new File(dynamicContentDir, className.replace('.', File.separatorChar) + ".class");
+      File parentDir = classFile.getParentFile();
+      if (!parentDir.exists() && !parentDir.mkdirs()) {
+         throw new IOException("Was not able to create directory: " + parentDir);
+      }
+      try (OutputStream os = new FileOutputStream(classFile)) {
+         os.write(bytecode);
+      }
+   }
+
+   private static final class Member {
+      final String header;
+      final boolean isConstructor;
+      final StringBuilder body = new StringBuilder();
+      CtBehavior behavior;
+
+      Member(String header, boolean isConstructor) {
+         this.header = header;
+         this.isConstructor = isConstructor;
+      }
+
+      /**
+       * Returns the body of the member, starting with declarations of local variables named after its parameters.
+       * <p>
+       * Javassist does not keep the names of parameters, which a body can only refer to as {@code $1}, {@code $2}, etc.
+       * A call to another constructor has to be the first statement of a constructor, so its arguments refer to the
+       * parameters directly.
+       */
+      String getBody() {
+         String parameters = header.substring(header.indexOf('(') + 1, header.lastIndexOf(')')).trim();
+         String[] p = parameters.isEmpty() ? new String[0] : parameters.split(",");
+         String body = this.body.toString();
+         String constructorCall = "";
+         if (isConstructor && (body.startsWith("this(") || body.startsWith("super("))) {
+            int end = body.indexOf('\n') + 1;
+            constructorCall = body.substring(0, end);
+            body = body.substring(end);
+            for (int i = 0; i < p.length; i++) {
+               String name = p[i].trim().substring(p[i].trim().lastIndexOf(' ') + 1);
+               constructorCall = constructorCall.replaceAll("\\b" + Pattern.quote(name) + "\\b", "\\$" + (i + 1));
+            }
+         }
+         StringBuilder sb = new StringBuilder("{").append(constructorCall);
+         for (int i = 0; i < p.length; i++) {
+            sb.append(p[i].trim()).append(" = $").append(i + 1).append(";\n");
+         }
+         return sb.append(body).append('}').toString();
+      }
+   }
+
+   /** Loads the compiled classes, and serves their bytecode as resources - for the class pools to read them from. */
+   private static final class GeneratedClassLoader extends ClassLoader {
+      private final Map<String, byte[]> classFiles = new ConcurrentHashMap<>();
+
+      GeneratedClassLoader(ClassLoader parent) {
+         super(parent);
+      }
+
+      Class<?> define(String className, byte[] bytecode) {
+         Class<?> c = defineClass(className, bytecode, 0, bytecode.length);
+         classFiles.put(className.replace('.', '/') + ".class", bytecode);
+         return c;
+      }
+
+      @Override
+      public InputStream getResourceAsStream(String name) {
+         byte[] bytecode = classFiles.get(name);
+         return bytecode != null ? new ByteArrayInputStream(bytecode) : super.getResourceAsStream(name);
+      }
+
+      @Override
+      protected URL findResource(String name) {
+         final byte[] bytecode = classFiles.get(name);
+         if (bytecode == null) {
+            return null;
+         }
+         try {
+            return new URL(null, "projog-generated:/" + name, new URLStreamHandler() {
+               @Override
+               protected URLConnection openConnection(URL u) {
+                  return new URLConnection(u) {
+                     @Override
+                     public void connect() {
+                     }
+
+                     @Override
+                     public InputStream getInputStream() {
+                        return new ByteArrayInputStream(bytecode);
+                     }
+                  };
+               }
+            });
+         } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+         }
+      }
+   }
+}
@@ -14,6 +14,10 @@ import org.projog.core.udp.ClauseModel;
 
 /**
  * Constructs and compiles source code for new {@link CompiledPredicate} classes.
+ * <p>
+ * The source code is compiled into bytecode in-process (see {@link BytecodeCompiler}), so a JDK is not required at
+ * runtime. If the directory specified by {@link org.projog.core.ProjogProperties#getRuntimeCompilationOutputDirectory()}
+ * exists then the source code and class file of each generated class are also stored in it, to aid debugging.
  */
 public final class CompiledPredicateClassGenerator {
    /**
@@ -32,14 +36,16 @@ public final class CompiledPredicateClassGenerator {
          sw.close();
       } catch (Exception e) {
       }
-      writer.save(dynamicContentDir);
+      if (dynamicContentDir != null) {
+         writer.save(dynamicContentDir);
+      }
       return compileSource(kb, dynamicContentDir, writer.getClassName(), sw.toString());
    }
 
    /** Compiles the specified {@code sourceContent} Java code and returns a new instance of the new class. */
    private static CompiledPredicate compileSource(KB kb, File dynamicContentDir, String className, String sourceContent) {
       try {
-         Class<?> c = JavaSourceCompiler.compileClass(dynamicContentDir, className, sourceContent);
+         Class<?> c = BytecodeCompiler.compileClass(className, sourceContent, dynamicContentDir);
          Constructor<?> constructor = c.getConstructor(KB.class);
          return (CompiledPredicate) constructor.newInstance(kb);
       } catch (Throwable e) {
@@ -47,12 +53,9 @@ public final class CompiledPredicateClassGenerator {
       }
    }
 
-   /** Returns the root directory to store generated source files */
+   /** Returns the root directory to store generated source and class files, or {@code null} if it does not exist */
    private static File getDynamicContentDir(KB kb) {
       File f = new File(getProjogProperties(kb).getRuntimeCompilationOutputDirectory());
-      if (!f.exists()) {
-         throw new RuntimeException("Directory required to store classes generated at runtime does not exist: " + f.getAbsolutePath());
-      }
-      return f;
+      return f.isDirectory() ? f : null;
    }
-}
\ No newline at end of file
+}
@@ -8,7 +8,6 @@ import static org.projog.core.udp.compiler.CompiledPredicateSourceGeneratorUtils
 import static org.projog.core.udp.compiler.CompiledPredicateVariables.ARGUMENT_PREFIX;
 import static org.projog.core.udp.compiler.CompiledPredicateVariables.INLINED_CTR_PREFIX;
 import static org.projog.core.udp.compiler.CompiledPredicateVariables.PLACEHOLDER_PREFIX;
-import static org.projog.core.udp.compiler.CompiledPredicateWriter.MAIN_LOOP_LABEL;
 
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -71,7 +70,6 @@ final class CompiledPredicateSourceGenerator {
       w.writeImport("org.projog.core.udp.*");
       w.writeImport("org.projog.core.term.*");
       w.writeImport("org.projog.core.*");
-      w.writeImport("static org.projog.core.term.NumericTermComparator.NUMERIC_TERM_COMPARATOR");
       String s;
       if (factMetaData().isTailRecursive()) {
          s = "extends CompiledTailRecursivePredicate";
@@ -97,11 +95,11 @@ final class CompiledPredicateSourceGenerator {
 
    private void outputStaticMemberVariables() {
       for (Map.Entry<String, PTerm> e : classVariables().getStaticMemberVariables()) {
-         w.writeStatement("private static final Term " + e.getKey() + " = " + w.outputCreateTermStatement(e.getValue(), false));
+         w.writeStatement("private static final PTerm " + e.getKey() + " = " + w.outputCreateTermStatement(e.getValue(), false));
       }
 
       if (w.isNeedsKnowledgeBaseStaticVariable()) {
-         w.writeStatement("private static KnowledgeBase kb");
+         w.writeStatement("private static KB kb");
       }
 
       if (w.isNeedsCalculatablesStaticVariable()) {
@@ -116,7 +114,7 @@ final class CompiledPredicateSourceGenerator {
    }
 
    private void outputDebugMemberVariables() {
-      w.writeStatement("private static SpyPoints.SpyPoint " + SPYPOINT);
+      w.writeStatement("private static org.projog.core.SpyPoints.SpyPoint " + SPYPOINT);
       if (factMetaData().isSingleResultPredicate() == false) {
          w.writeStatement("private final boolean " + DEBUG_ENABLED);
       }
@@ -125,7 +123,7 @@ final class CompiledPredicateSourceGenerator {
    private void outputTailRecursiveMemberVariables() {
       for (int i = 0; i < factMetaData().getNumberArguments(); i++) {
          if (factMetaData().isTailRecursiveArgument(i)) {
-            w.writeStatement("private List " + PLACEHOLDER_PREFIX + i);
+            w.writeStatement("private PList " + PLACEHOLDER_PREFIX + i);
          }
       }
 
@@ -157,7 +155,7 @@ final class CompiledPredicateSourceGenerator {
       w.writeStatement("private int conjunctionCtr");
 
       for (int i = 0; i < factMetaData().getNumberArguments(); i++) {
-         w.writeStatement("private Term " + ARGUMENT_PREFIX + i);
+         w.writeStatement("private PTerm " + ARGUMENT_PREFIX + i);
       }
 
       for (CompiledPredicateVariables.MemberVariable v : classVariables().getVariablesToDeclare()) {
@@ -179,7 +177,7 @@ final class CompiledPredicateSourceGenerator {
     * implementation of {@link CompiledPredicate}.
     */
    private void outputPublicConstructor() {
-      w.beginMethod("public " + className() + "(final KnowledgeBase _kb)");
+      w.beginMethod("public " + className() + "(final KB _kb)");
       if (w.isNeedsKnowledgeBaseStaticVariable()) {
          w.assign("kb", "_kb");
       }
@@ -215,7 +213,7 @@ final class CompiledPredicateSourceGenerator {
          if (i != 0) {
             args.append(", ");
          }
-         args.append("final Term in" + i);
+         args.append("final PTerm in" + i);
       }
 
       w.beginMethod(className() + "(" + args + ")");
@@ -235,7 +233,7 @@ final class CompiledPredicateSourceGenerator {
       }
 
       for (int i = 0; i < factMetaData().getNumberArguments(); i++) {
-         w.assign(ARGUMENT_PREFIX + i, "in" + i + ".getTerm()");
+         w.assign(ARGUMENT_PREFIX + i, "in" + i + ".get()");
       }
 
       if (isSpyPointsEnabled() && factMetaData().isSingleResultPredicate() == false) {
@@ -286,7 +284,7 @@ final class CompiledPredicateSourceGenerator {
     * {@link org.projog.core.PredicateFactory#setKB(KB)}.
     */
    private void outputSetKnowledgeBaseMethod() {
-      w.beginMethod("public final void setKnowledgeBase(KnowledgeBase kb)");
+      w.beginMethod("public final void setKB(KB kb)");
       w.writeStatement("throw new RuntimeException()");
       w.endBlock();
    }
@@ -376,7 +374,7 @@ final class CompiledPredicateSourceGenerator {
 
    /** Constructs an implementation of {@link org.projog.core.PredicateFactory#getPredicate(PTerm...)}. */
    private void outputGetPredicateMethod() {
-      w.beginMethod("public final Predicate getPredicate(final Term... termArgs)");
+      w.beginMethod("public final Predicate getPredicate(final PTerm[] termArgs)");
       if (factMetaData().isSingleResultPredicate()) {
          w.returnThis();
       } else {
@@ -398,7 +396,7 @@ final class CompiledPredicateSourceGenerator {
                   } else {
                      matched = true;
                   }
-                  args.append("termArgs[" + i + "].isImmutable()");
+                  args.append("termArgs[" + i + "].constant()");
                }
             }
             args.append(")");
@@ -422,7 +420,7 @@ final class CompiledPredicateSourceGenerator {
     * {@link CompiledPredicate} that only ever returns at most a single result per unique query.
     */
    private void outputSingleResultEvaluateMethod() {
-      w.beginMethod("public final boolean evaluate(final Term... args)");
+      w.beginMethod("public final boolean evaluate(final PTerm[] args)");
       w.writeStatement("return staticEvaluate(" + getArgsFromArrayCall() + ")");
       w.endBlock();
 
@@ -440,7 +438,7 @@ final class CompiledPredicateSourceGenerator {
     * {@link CompiledPredicate} that may return multiple results per unique query.
     */
    private void outputMultiResultEvaluateMethod(ClauseMetaData[] clauses) {
-      w.beginMethod("public final boolean evaluate(final Term... args)");
+      w.beginMethod("public final boolean evaluate(final PTerm[] args)");
 
       if (isSpyPointsEnabled()) {
          w.beginIf(DEBUG_ENABLED);
@@ -549,7 +547,7 @@ final class CompiledPredicateSourceGenerator {
       StringBuilder ph = new StringBuilder();
       for (int i = 0; i < factMetaData().getNumberArguments(); i++) {
          if (factMetaData().isTailRecursiveArgument(i)) {
-            ph.append(", final List " + PLACEHOLDER_PREFIX);
+            ph.append(", final PList " + PLACEHOLDER_PREFIX);
             ph.append(i);
          }
       }
@@ -571,7 +569,7 @@ final class CompiledPredicateSourceGenerator {
       for (int i = 0; i < factMetaData().getNumberArguments(); i++) {
          if (factMetaData().isTailRecursiveArgument(i)) {
             ph += ", " + PLACEHOLDER_PREFIX + i;
-            w.assign("List " + PLACEHOLDER_PREFIX + i, "null");
+            w.assign("PList " + PLACEHOLDER_PREFIX + i, "null");
          }
       }
       w.addLine("do {");
@@ -673,7 +671,7 @@ final class CompiledPredicateSourceGenerator {
                   }
                }
                String tmpId = getNewTempoaryVariableName();
-               w.assign("final List " + tmpId, placeholderList);
+               w.assign("final PList " + tmpId, placeholderList);
                w.writeStatement(placeholderVariableId + ".setTail(" + tmpId + ")");
                w.assign(placeholderVariableId, tmpId);
                assignNullToVariableIfRequired(argument.term(1), newlyDeclaredVariables);
@@ -682,7 +680,7 @@ final class CompiledPredicateSourceGenerator {
                w.addLine("else");
             }
 
-            w.beginIf(variableNameToCompareTo + ".getType()==TermType.NAMED_VARIABLE");
+            w.beginIf(variableNameToCompareTo + ".type()==PrologOperator.NAMED_VARIABLE");
             if (newlyDeclaredVariables.contains(argument.term(0))) {
                w.assign(w.getVariableId(argument.term(0)), getNewVariableSyntax(argument.term(0)));
             }
@@ -690,9 +688,9 @@ final class CompiledPredicateSourceGenerator {
             writeIfConsequentArgumentUnificationFailsReturnFalse(placeholderVariableId, variableNameToCompareTo);
             assignNullToVariableIfRequired(argument.term(1), newlyDeclaredVariables);
 
-            w.elseIf(variableNameToCompareTo + ".getType()==TermType.LIST");
+            w.elseIf(variableNameToCompareTo + ".type()==PrologOperator.LIST");
          } else {
-            w.beginIf(variableNameToCompareTo + ".getType()==TermType.LIST");
+            w.beginIf(variableNameToCompareTo + ".type()==PrologOperator.LIST");
          }
          for (PVar v : newlyDeclaredVariables) {
             if (argument.term(0) != v && argument.term(1) != v) {
@@ -710,7 +708,7 @@ final class CompiledPredicateSourceGenerator {
          assignArgument(argument, variableNameToCompareTo, newlyDeclaredVariables, 1);
 
          if (!isTailRecursivePredicate) {
-            w.elseIf(variableNameToCompareTo + ".getType()==TermType.NAMED_VARIABLE");
+            w.elseIf(variableNameToCompareTo + ".type()==PrologOperator.NAMED_VARIABLE");
             // variable will of been declared above in if (out of scope of this else)
             for (PVar v : newlyDeclaredVariables) {
                classVariables().addAssignedVariable(w.getVariableId(v));
@@ -739,14 +737,14 @@ final class CompiledPredicateSourceGenerator {
    }
 
    private void assignArgument(PTerm argument, String variableNameToCompareTo, Set<PVar> newlyDeclaredVariables, int argumentIdx) {
-      final String getArgumentMethod = ".getArgument(" + argumentIdx + ")";
+      final String getArgumentMethod = ".term(" + argumentIdx + ")";
       if (newlyDeclaredVariables.contains(argument.term(argumentIdx))) {
          classVariables().addAssignedVariable(w.getVariableId(argument.term(argumentIdx)));
          w.assign(w.getVariableId(argument.term(argumentIdx)), variableNameToCompareTo + getArgumentMethod);
       } else {
          String tmpId = getNewTempoaryVariableName();
          w.classVariables().addAssignedVariable(tmpId);
-         w.assign("final Term " + tmpId, variableNameToCompareTo + getArgumentMethod);
+         w.assign("final PTerm " + tmpId, variableNameToCompareTo + getArgumentMethod);
          outputMatchConsequentArgument(argument.term(argumentIdx), tmpId, -1);
       }
    }
@@ -802,7 +800,6 @@ final class CompiledPredicateSourceGenerator {
       currentClause().clearVariablesToBackTrack();
       w.beginMethod("private final boolean " + getRuleRetryMethodName());
       w.addLine("do {");
-      w.addLine(MAIN_LOOP_LABEL + ":");
       w.beginSwitch("conjunctionCtr");
 
       int conjunctionCtr = 0;
@@ -893,7 +890,7 @@ final class CompiledPredicateSourceGenerator {
          w.beginIf(DEBUG_ENABLED);
          String source = factMetaData().isSingleResultPredicate() || w.isInStaticRecursiveMethodBlock() ? className() + ".class" : "this";
          if (factMetaData().getNumberArguments() > 0) {
-            source += ", new Term[]{" + getArgsCall() + "}";
+            source += ", new PTerm[]{" + getArgsCall() + "}";
          } else {
             source += ", TermUtils.EMPTY_ARRAY";
          }
@@ -903,11 +900,11 @@ final class CompiledPredicateSourceGenerator {
    }
 
    private StringBuilder getArgsDeclaration() {
-      return getArgsCsv("final Term " + ARGUMENT_PREFIX, null);
+      return getArgsCsv("final PTerm " + ARGUMENT_PREFIX, null);
    }
 
    private StringBuilder getArgsDeclarationNotFinal() {
-      return getArgsCsv("Term " + ARGUMENT_PREFIX, null);
+      return getArgsCsv("PTerm " + ARGUMENT_PREFIX, null);
    }
 
    private StringBuilder getArgsFromArrayCall() {
@@ -26,7 +26,7 @@ final class CompiledPredicateSourceGeneratorUtils {
    }
 
    static String encodeName(String s) {
-      return "\"" + s.replace("\\", "\\\\") + "\"";
+      return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t") + "\"";
    }
 
    static String getKeyGeneration(PredicateKey key) {
@@ -46,7 +46,7 @@ final class CompiledPredicateSourceGeneratorUtils {
    }
 
    static String getNewVariableSyntax(PTerm variable) {
-      return "new Variable(\"" + ((PVar) variable).getId() + "\")";
+      return "new PVar(\"" + ((PVar) variable).getId() + "\")";
    }
 
    static String getNewListSyntax(String head, String tail) {
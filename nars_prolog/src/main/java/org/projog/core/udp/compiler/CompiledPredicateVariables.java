@@ -228,13 +228,13 @@ final class CompiledPredicateVariables {
          result.add(new MemberVariable(e.getValue(), e.getKey()));
       }
       for (String v : memberVariables) {
-         result.add(new MemberVariable("Term", v));
+         result.add(new MemberVariable("PTerm", v));
       }
       for (String v : memberTerms) {
-         result.add(new MemberVariable("Term", v));
+         result.add(new MemberVariable("PTerm", v));
       }
       for (int i = 0; i < tempTermCtr; i++) {
-         result.add(new MemberVariable("Term", TEMP_PREFIX + i));
+         result.add(new MemberVariable("PTerm", TEMP_PREFIX + i));
       }
       for (int i = 0; i < booleanCtr; i++) {
          result.add(new MemberVariable("boolean", BOOLEAN_PREFIX + i));
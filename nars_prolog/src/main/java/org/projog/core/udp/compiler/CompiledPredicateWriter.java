@@ -35,7 +35,6 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
    // and the system tests (which check actual behaviour) should give confidence when refactoring. 
 
    static final String EMPTY_LIST_SYNTAX = "EmptyList.EMPTY_LIST";
-   static final String MAIN_LOOP_LABEL = "mainloop";
 
    private static final AtomicInteger ctr = new AtomicInteger();
 
@@ -47,6 +46,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
    private boolean inStaticRecursiveMethodBlock;
    private boolean needsKnowledgeBaseStaticVariable;
    private boolean needsCalculatablesStaticVariable;
+   private String inlinedLoopExitFlag;
 
    CompiledPredicateWriter(KB kb, List<ClauseModel> copyImplications) {
       this.kb = kb;
@@ -117,9 +117,9 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          declareVariableIfNotAlready(t, reuseImmutableTerms);
          return getVariableId(t);
       } else if (t.type() == PrologOperator.STRUCTURE) {
-         StringBuilder sb = new StringBuilder("Structure.createStructure(");
+         StringBuilder sb = new StringBuilder("PStruct.make(");
          sb.append(encodeName(t));
-         sb.append(", new Term[]{");
+         sb.append(", new PTerm[]{");
          boolean first = true;
          for (PTerm arg : t.terms()) {
             if (first) {
@@ -129,7 +129,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
             }
             sb.append(outputCreateTermStatement(arg, reuseImmutableTerms));
             if (arg.constant() == false) {
-               sb.append(".getTerm()");
+               sb.append(".get()");
             }
          }
          sb.append("})");
@@ -138,16 +138,16 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          PTerm head = t.term(0);
          String headSyntax = outputCreateTermStatement(head, reuseImmutableTerms);
          if (head.constant() == false) {
-            headSyntax += ".getTerm()";
+            headSyntax += ".get()";
          }
          PTerm tail = t.term(1);
          String tailSyntax = outputCreateTermStatement(tail, reuseImmutableTerms);
          if (tail.constant() == false) {
-            tailSyntax += ".getTerm()";
+            tailSyntax += ".get()";
          }
          return getNewListSyntax(headSyntax, tailSyntax);
       } else if (t.type() == PrologOperator.ATOM) {
-         return "new Atom(" + encodeName(t) + ")";
+         return "new PAtom(" + encodeName(t) + ")";
       } else if (t.type() == PrologOperator.INTEGER) {
          return "new IntegerNumber(" + t.getName() + "L)";
       } else if (t.type() == PrologOperator.FRACTION) {
@@ -171,10 +171,10 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          } else {
             if (assign) {
                if (classVariables.addAssignedVariable(variableId)) {
-                  assign("final Term " + variableId, getNewVariableSyntax(variable));
+                  assign("final PTerm " + variableId, getNewVariableSyntax(variable));
                }
             } else {
-               writeStatement("final Term " + variableId);
+               writeStatement("final PTerm " + variableId);
             }
          }
          return true;
@@ -247,12 +247,42 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
             // only set conjunctionCtr if required
             assign("conjunctionCtr", currentClause.getLastBacktrackPoint());
          }
-         writeStatement("break " + MAIN_LOOP_LABEL);
+         if (inlinedLoopExitFlag != null) {
+            assignTrue(inlinedLoopExitFlag);
+         }
+         writeStatement("break");
       } else {
          exitCodeBlock();
       }
    }
 
+   /**
+    * Begins a loop over the clauses of an inlined predicate.
+    * <p>
+    * A retry method stops evaluating a clause by breaking out of its {@code switch} statement. As labelled breaks are
+    * not used, stopping from inside the loop sets a flag and breaks out of the loop, and the flag is checked once the
+    * loop has ended.
+    * 
+    * @see #endInlinedLoop()
+    */
+   final void beginInlinedLoop(String ctrVarName) {
+      if (currentClause.isInRetryMethod()) {
+         inlinedLoopExitFlag = ctrVarName + "Failed";
+         writeStatement("boolean " + inlinedLoopExitFlag + " = false");
+      }
+      addLine("do {");
+   }
+
+   final void endInlinedLoop() {
+      addLine("} while (true);");
+      if (inlinedLoopExitFlag != null) {
+         beginIf(inlinedLoopExitFlag);
+         writeStatement("break");
+         endBlock();
+         inlinedLoopExitFlag = null;
+      }
+   }
+
    final void exitCodeBlock() {
       if (inStaticRecursiveMethodBlock) {
          writeStatement("break");
@@ -289,7 +319,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
                         sb.append(" || ");
                      }
                      sb.append(getVariableId(arg));
-                     sb.append(".isImmutable()");
+                     sb.append(".constant()");
                   }
                }
             }
@@ -325,7 +355,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          elseStatement();
          Map<String, String> variablesToKeepTempVersionOf = assignTempVariablesBackToTerm();
          endBlock();
-         beginIf("!" + compiledPredicateVariableName + ".evaluate((Term[])null)");
+         beginIf("!" + compiledPredicateVariableName + ".evaluate((PTerm[])null)");
          if (firstInMethod == false) {
             assign(compiledPredicateVariableName, null);
             outputBacktrack();
@@ -383,11 +413,11 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          }
 
          String arg1 = outputCreateTermStatement(t1, true);
-         beginIf(arg1 + ".getType()==TermType.LIST");
+         beginIf(arg1 + ".type()==PrologOperator.LIST");
          outputAssignOfUnifyListElement(t2, arg1, 0, onBreakCallback);
          outputAssignOfUnifyListElement(t2, arg1, 1, onBreakCallback);
 
-         elseIf(arg1 + ".getType()==TermType.NAMED_VARIABLE");
+         elseIf(arg1 + ".type()==PrologOperator.NAMED_VARIABLE");
          String arg2 = outputCreateTermStatement(t2, true);
          beginIf("!" + getUnifyStatement(arg1, arg2));
          onBreakCallback.run();
@@ -416,7 +446,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
 
    private void outputAssignOfUnifyListElement(PTerm list, String listId, int elementId, Runnable onBreakCallback) {
       String variableId = getVariableId(list.term(elementId));
-      String element = listId + ".getArgument(" + elementId + ").getTerm()";
+      String element = listId + ".term(" + elementId + ").get()";
       if (isAssigned(variableId)) {
          beginIf("!" + getUnifyStatement(variableId, element));
          onBreakCallback.run();
@@ -447,7 +477,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
          String tmpVariableName = e.getKey();
          String variableId = e.getValue();
          assign(tmpVariableName, variableId);
-         assign(variableId, variableId + ".getTerm()");
+         assign(variableId, variableId + ".get()");
       }
    }
 
@@ -562,7 +592,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
       for (Map.Entry<PTerm, String> e : termsThatRequireBacktrack.entrySet()) {
          if (e.getKey().constant() == false) {
             String createTermStatement = outputCreateTermStatement(e.getKey(), true);
-            assign(e.getValue(), createTermStatement + ".getTerm()");
+            assign(e.getValue(), createTermStatement + ".get()");
          }
       }
 
@@ -608,7 +638,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
       if (arguments.length == 0) {
          sb.append(", TermUtils.EMPTY_ARRAY");
       } else {
-         sb.append(", new Term[]{");
+         sb.append(", new PTerm[]{");
          for (int i = 0; i < arguments.length; i++) {
             if (i != 0) {
                sb.append(", ");
@@ -628,7 +658,7 @@ final class CompiledPredicateWriter extends JavaSourceWriter {
       if (arg.type() == PrologOperator.NAMED_VARIABLE) {
          String variableId = getVariableId(arg);
          if (classVariables.isMemberVariable(variableId) == false && classVariables.isAssignedVariable(variableId) == false) {
-            return "new Variable(\"_\")";
+            return "new PVar(\"_\")";
          } else if (classVariables.isAssignedVariable(variableId) == false) {
             return variableId;
          } else {
@@ -33,32 +33,30 @@ final class DefaultPredicateInvocationGenerator implements PredicateInvocationGe
          Set<PVar> variablesInCurrentFunction = g.currentClause().getVariablesInCurrentFunction();
 
          // only has to be unique per clause as can be reused
-         String PredicateVariableName = g.classVariables().getNewMemberPredicateName(g.currentClause(), getPredicateReturnType(ef, numberOfArguments));
+         Class<?> predicateType = getPredicateReturnType(ef, numberOfArguments);
+         String PredicateVariableName = g.classVariables().getNewMemberPredicateName(g.currentClause(), predicateType.getName());
 
          String functionVariableName = g.classVariables().getPredicateFactoryVariableName(function, g.knowledgeBase());
          g.beginIf(PredicateVariableName + "==null");
-         StringBuilder methodArgs = new StringBuilder();
+         String[] methodArgs = new String[numberOfArguments];
          for (int i = 0; i < numberOfArguments; i++) {
-            if (i != 0) {
-               methodArgs.append(", ");
-            }
             PTerm arg = function.term(i);
             String argValue = g.outputCreateTermStatement(arg, true);
             if (arg.constant()) {
-               methodArgs.append(argValue);
+               methodArgs[i] = argValue;
             } else {
                String argVariable = g.classVariables().getNewTermVariable(g.currentClause());
-               g.assign(argVariable, argValue + ".getTerm()");
-               methodArgs.append(argVariable);
+               g.assign(argVariable, argValue + ".get()");
+               methodArgs[i] = argVariable;
             }
          }
-         g.assign(PredicateVariableName, functionVariableName + ".getPredicate(" + methodArgs + ")");
+         g.assign(PredicateVariableName, functionVariableName + ".getPredicate(" + getMethodArgs(ef.getClass(), "getPredicate", methodArgs) + ")");
          g.elseStatement();
          g.outputIfTrueThenBreak(PredicateVariableName + ".isRetryable()==false");
          Map<String, String> variablesToKeepTempVersionOf = g.assignTempVariablesBackToTerm();
          g.endBlock();
 
-         g.beginIf("!" + PredicateVariableName + ".evaluate(" + methodArgs + ")");
+         g.beginIf("!" + PredicateVariableName + ".evaluate(" + getMethodArgs(predicateType, "evaluate", methodArgs) + ")");
          if (firstInMethod == false) {
             g.currentClause().addVariablesToBackTrack(variablesInCurrentFunction);
             g.outputBacktrack();
@@ -72,26 +70,58 @@ final class DefaultPredicateInvocationGenerator implements PredicateInvocationGe
       } else {
          Set<PVar> variables = g.currentClause().getVariablesInCurrentFunction();
          g.currentClause().addVariablesToBackTrack(variables);
-         StringBuilder methodArgs = new StringBuilder();
+         String[] methodArgs = new String[numberOfArguments];
          for (int i = 0; i < numberOfArguments; i++) {
-            if (i != 0) {
-               methodArgs.append(", ");
-            }
-            methodArgs.append(g.outputCreateTermStatement(function.term(i), true) + ".getTerm()");
+            methodArgs[i] = g.outputCreateTermStatement(function.term(i), true) + ".get()";
          }
          String functionVariableName = g.classVariables().getPredicateFactoryVariableName(function, g.knowledgeBase());
          final String eval;
          if (ef instanceof AbstractSingletonPredicate) {
             // note: no need to getPredicate as know it will "return this;"
-            eval = "!" + functionVariableName + ".evaluate(" + methodArgs + ")";
+            eval = "!" + functionVariableName + ".evaluate(" + getMethodArgs(ef.getClass(), "evaluate", methodArgs) + ")";
          } else {
-            eval = "!" + functionVariableName + ".getPredicate(" + methodArgs + ").evaluate(" + methodArgs + ")";
+            Class<?> predicateType = getPredicateReturnType(ef, numberOfArguments);
+            String predicate = functionVariableName + ".getPredicate(" + getMethodArgs(ef.getClass(), "getPredicate", methodArgs) + ")";
+            eval = "!" + predicate + ".evaluate(" + getMethodArgs(predicateType, "evaluate", methodArgs) + ")";
          }
          g.outputIfTrueThenBreak(eval);
       }
    }
 
-   private String getPredicateReturnType(PredicateFactory ef, int numberOfArguments) {
+   /**
+    * Returns the arguments of a call to the specified method of {@code type}.
+    * <p>
+    * The arguments are passed individually if {@code type} has an overloaded version of the method with the exact number
+    * of arguments, else as an array - as the generated source is compiled by javassist, which does not create the array
+    * of a varargs call.
+    */
+   private static String getMethodArgs(Class<?> type, String methodName, String[] args) {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < args.length; i++) {
+         if (i != 0) {
+            sb.append(", ");
+         }
+         sb.append(args[i]);
+      }
+      if (hasExactNumberOfArguments(type, methodName, args.length)) {
+         return sb.toString();
+      } else if (args.length == 0) {
+         return "TermUtils.EMPTY_ARRAY";
+      } else {
+         return "new PTerm[]{" + sb + "}";
+      }
+   }
+
+   private static boolean hasExactNumberOfArguments(Class<?> type, String methodName, int numberOfArguments) {
+      try {
+         type.getMethod(methodName, getMethodParameters(numberOfArguments));
+         return true;
+      } catch (NoSuchMethodException e) {
+         return false;
+      }
+   }
+
+   private static Class<?> getPredicateReturnType(PredicateFactory ef, int numberOfArguments) {
       Class<? extends PredicateFactory> predicateFactoryClass = ef.getClass();
       Method m;
       try {
@@ -105,11 +135,10 @@ final class DefaultPredicateInvocationGenerator implements PredicateInvocationGe
             throw new RuntimeException("No getPredicate(Term[]) method declared for: " + predicateFactoryClass, e2);
          }
       }
-      return m.getReturnType().getName();
+      return m.getReturnType();
    }
 
-   @SuppressWarnings("rawtypes")
-   private Class<?>[] getMethodParameters(int numberOfArguments) {
+   private static Class<?>[] getMethodParameters(int numberOfArguments) {
       Class<?>[] args = new Class[numberOfArguments];
       for (int i = 0; i < numberOfArguments; i++) {
          args[i] = PTerm.class;
@@ -82,7 +82,7 @@ final class IsPredicateInvocationGenerator implements PredicateInvocationGenerat
             if (arg1.type().isNumeric() == false) {
                arg1TempNumericPlaceholder = g.classVariables().getNewTempNumericName();
                g.writeStatement("final Numeric " + arg1TempNumericPlaceholder);
-               s.append("(" + arg1TempNumericPlaceholder + "=" + getNumeric(string1, g) + ").getType()==TermType.INTEGER");
+               s.append("(" + arg1TempNumericPlaceholder + "=" + getNumeric(string1, g) + ").type()==PrologOperator.INTEGER");
             }
             if (arg1.type().isNumeric() == false && arg2.type().isNumeric() == false) {
                s.append(" & ");
@@ -90,7 +90,7 @@ final class IsPredicateInvocationGenerator implements PredicateInvocationGenerat
             if (arg2.type().isNumeric() == false) {
                arg2TempNumericPlaceholder = g.classVariables().getNewTempNumericName();
                g.writeStatement("final Numeric " + arg2TempNumericPlaceholder);
-               s.append("(" + arg2TempNumericPlaceholder + "=" + getNumeric(string2, g) + ").getType()==TermType.INTEGER");
+               s.append("(" + arg2TempNumericPlaceholder + "=" + getNumeric(string2, g) + ").type()==PrologOperator.INTEGER");
             }
             s.append(")?");
             s.append("new IntegerNumber(");
@@ -31,7 +31,7 @@ final class MultipleRulesWithMultipleImmutableArgumentPredicateInvocationGenerat
       if (termsThatAreNotYetAssignedButReusedLater.size() == function.length()) {
          g.logMultipleRulesWithImmutableArgumentsPredicateCall(functionVariableName, ctrVarName, function.terms());
          g.outputIfTrueThenBreak(ctrVarName + ">" + (mrwmia.data.length - 1), r);
-         g.assign("final Term[] data" + ctrVarName, functionVariableName + ".data[" + ctrVarName + "++]");
+         g.assign("final PTerm[] data" + ctrVarName, functionVariableName + ".data[" + ctrVarName + "++]");
          for (int i = 0; i < function.length(); i++) {
             PTerm arg = function.term(i);
             String variableId = g.getVariableId(arg);
@@ -43,9 +43,9 @@ final class MultipleRulesWithMultipleImmutableArgumentPredicateInvocationGenerat
          Map<PTerm, String> tmpVars = g.getTermsThatRequireBacktrack(function);
          Map<String, String> variablesToKeepTempVersionOf = g.outputBacktrackTermArguments(tmpVars);
          g.logMultipleRulesWithImmutableArgumentsPredicateCall(functionVariableName, ctrVarName, function.terms());
-         g.addLine("do {");
+         g.beginInlinedLoop(ctrVarName);
          g.outputIfTrueThenBreak(ctrVarName + ">" + (mrwmia.data.length - 1), r);
-         g.assign("final Term[] data" + ctrVarName, functionVariableName + ".data[" + ctrVarName + "++]");
+         g.assign("final PTerm[] data" + ctrVarName, functionVariableName + ".data[" + ctrVarName + "++]");
          // LinkedHashSet so predictable order (makes unit tests easier)
          Set<String> varsToBacktrack = new LinkedHashSet<>();
          for (int i = 0; i < function.length(); i++) {
@@ -78,7 +78,7 @@ final class MultipleRulesWithMultipleImmutableArgumentPredicateInvocationGenerat
          g.logInlinedPredicatePredicate("Exit", functionVariableName, function);
          g.writeStatement("break");
          g.endBlock();
-         g.addLine("} while (true);");
+         g.endInlinedLoop();
          g.assignTermToTempVariable(variablesToKeepTempVersionOf);
       }
 
@@ -39,7 +39,7 @@ final class MultipleRulesWithSingleImmutableArgumentPredicateInvocationGenerator
          Map<String, String> variablesToKeepTempVersionOf = g.outputBacktrackTermArguments(tmpVars);
          String termId = tmpVars.get(arg);
          g.logMultipleRulesWithImmutableArgumentsPredicateCall(functionVariableName, ctrVarName, arg);
-         g.addLine("do {");
+         g.beginInlinedLoop(ctrVarName);
          g.outputIfTrueThenBreak(ctrVarName + ">" + (mrwsia.data.length - 1), r);
          g.beginIf(getUnifyStatement(termId, functionVariableName + ".data[" + ctrVarName + "++]"));
          g.logInlinedPredicatePredicate("Exit", functionVariableName, function);
@@ -49,7 +49,7 @@ final class MultipleRulesWithSingleImmutableArgumentPredicateInvocationGenerator
             g.outputBacktrack(termId);
          }
          g.endBlock();
-         g.addLine("} while (true);");
+         g.endInlinedLoop();
          g.assignTermToTempVariable(variablesToKeepTempVersionOf);
       }
 
@@ -10,7 +10,7 @@ abstract class NumericComparisonPredicateInvocationGenerator implements Predicat
       PTerm function = g.currentClause().getCurrentFunction();
       String args = g.outputCreateTermStatement(function.term(0), true) + ", " + g.outputCreateTermStatement(function.term(1), true);
       g.setNeedsCalculatablesStaticVariable(true);
-      String eval = "NUMERIC_TERM_COMPARATOR.compare(" + args + ", c)" + logic;
+      String eval = "NumericTermComparator.NUMERIC_TERM_COMPARATOR.compare(" + args + ", c)" + logic;
       // NOTE: no need to backtrack args in numeric term comparator evaluation (as no assignments made)
       // (so no need to to update currentClause.variablesToBackTrack)
       g.outputIfTrueThenBreak(eval);
@@ -15,9 +15,9 @@ final class RecursivePredicateInvocationGenerator implements PredicateInvocation
             PTerm tailRecursiveArgument = function.term(i);
             String tailRecursiveArgumentSyntax = g.outputCreateTermStatement(tailRecursiveArgument, true);
             if (g.factMetaData().isTailRecursiveArgument(i)) {
-               g.assign(ARGUMENT_PREFIX + i, tailRecursiveArgumentSyntax + "==null?" + PLACEHOLDER_PREFIX + i + ":" + tailRecursiveArgumentSyntax + ".getTerm()");
+               g.assign(ARGUMENT_PREFIX + i, tailRecursiveArgumentSyntax + "==null?" + PLACEHOLDER_PREFIX + i + ":" + tailRecursiveArgumentSyntax + ".get()");
             } else {
-               g.assign(ARGUMENT_PREFIX + i, tailRecursiveArgumentSyntax + ".getTerm()");
+               g.assign(ARGUMENT_PREFIX + i, tailRecursiveArgumentSyntax + ".get()");
             }
          }
       } else {
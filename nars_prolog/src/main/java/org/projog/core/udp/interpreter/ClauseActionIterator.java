@@ -0,0 +1,15 @@
+package org.projog.core.udp.interpreter;
+
+import java.util.Iterator;
+
+/**
+ * Iterates over the clauses of a user defined predicate that could match a call.
+ * <p>
+ * As clauses that can not match are skipped, the iterator is what knows the position of a clause in the predicate.
+ */
+public interface ClauseActionIterator extends Iterator<ClauseAction> {
+   /**
+    * Returns the position, in the predicate's list of clauses, of the clause last returned by {@link #next()}.
+    */
+   int getClauseIndex();
+}
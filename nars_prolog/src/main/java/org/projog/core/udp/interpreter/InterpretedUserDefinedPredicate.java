@@ -125,6 +125,9 @@ public final class InterpretedUserDefinedPredicate implements Predicate {
    }
 
    public int getCurrentClauseIdx() {
+      if (clauseActions instanceof ClauseActionIterator) {
+         return ((ClauseActionIterator) clauseActions).getClauseIndex();
+      }
       return currentClauseIdx - 1;
    }
 }
\ No newline at end of file
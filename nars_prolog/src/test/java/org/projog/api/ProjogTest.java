@@ -1,10 +1,8 @@
 package org.projog.api;
 
-import org.junit.Ignore;
 import org.junit.Test;
 import org.projog.TestUtils;
 import org.projog.core.ProjogException;
-import org.projog.core.ProjogProperties;
 import org.projog.core.parser.ParserException;
 import org.projog.core.term.PAtom;
 import org.projog.core.term.PTerm;
@@ -172,11 +170,9 @@ public class ProjogTest {
    /**
     * Attempts to open a file that doesn't exist to see how non-ProjogException exceptions are dealt with.
     * <p>
-    * NOTE: as this test actually compiles the Prolog syntax into Java bytecode at runtime, you will need the directory
-    * specified by the {@link ProjogProperties#getRuntimeCompilationOutputDirectory} method implemented by
-    * {@link TestUtils#COMPILATION_ENABLED_PROPERTIES} on the classpath for this test to work.
+    * NOTE: this test actually compiles the Prolog syntax into Java bytecode at runtime.
     */
-   @Test @Ignore
+   @Test
    public void testIOExceptionWhileEvaluatingQueries() {
       Projog p = new Projog(COMPILATION_ENABLED_PROPERTIES);
       StringBuilder inputSource = new StringBuilder();
@@ -254,10 +250,9 @@ public class ProjogTest {
    /** Returns a new {@link Projog} instance that has been populated with rules from {@link #createTestScript()}. */
    private Projog createProjog() {
       //File f = createTestScript();
-      // Note: using COMPILATION_DISABLED_PROPERTIES as else 
-      // code will try to generate Java bytecode at runtime as part of completing
-      // tests and that will fail unless classpath contains classes output directory -
-      // so disable it as we are not interested in compilation as part of these tests.
+      // Note: using COMPILATION_DISABLED_PROPERTIES as else
+      // code will generate Java bytecode at runtime as part of completing
+      // tests - so disable it as we are not interested in compilation as part of these tests.
       Projog p = new Projog(COMPILATION_DISABLED_PROPERTIES);
       //p.consultFile(f);
       StringReader s = newTestScript();
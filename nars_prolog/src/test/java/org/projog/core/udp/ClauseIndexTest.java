@@ -0,0 +1,72 @@
+package org.projog.core.udp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.projog.TestUtils.atom;
+import static org.projog.TestUtils.decimalFraction;
+import static org.projog.TestUtils.integerNumber;
+import static org.projog.TestUtils.list;
+import static org.projog.TestUtils.structure;
+import static org.projog.TestUtils.variable;
+
+import org.junit.Test;
+import org.projog.core.term.EmptyList;
+import org.projog.core.term.PTerm;
+import org.projog.core.term.PVar;
+
+public class ClauseIndexTest {
+   @Test
+   public void testKey() {
+      assertEquals(ClauseIndex.key(atom("a")), ClauseIndex.key(atom("a")));
+      assertNotEquals(ClauseIndex.key(atom("a")), ClauseIndex.key(atom("b")));
+      assertEquals(ClauseIndex.key(integerNumber(7)), ClauseIndex.key(integerNumber(7)));
+      assertNotEquals(ClauseIndex.key(integerNumber(7)), ClauseIndex.key(decimalFraction(7)));
+      assertEquals(ClauseIndex.key(decimalFraction(0.0)), ClauseIndex.key(decimalFraction(-0.0)));
+      assertEquals(ClauseIndex.key(structure("p", atom("a"))), ClauseIndex.key(structure("p", variable())));
+      assertNotEquals(ClauseIndex.key(structure("p", atom("a"))), ClauseIndex.key(structure("p", atom("a"), atom("b"))));
+      assertEquals(ClauseIndex.key(list(atom("a"))), ClauseIndex.key(list(variable(), atom("b"))));
+      assertEquals(ClauseIndex.key(EmptyList.EMPTY_LIST), ClauseIndex.key(EmptyList.EMPTY_LIST));
+      assertNull(ClauseIndex.key(variable()));
+   }
+
+   @Test
+   public void testKeyOfAssignedVariable() {
+      PVar v = variable();
+      v.unify(atom("a"));
+      assertEquals(ClauseIndex.key(atom("a")), ClauseIndex.key(v));
+   }
+
+   @Test
+   public void testCandidates() {
+      ClauseIndex index = new ClauseIndex(new PTerm[][] {
+                  {atom("a"), integerNumber(1)},
+                  {variable(), integerNumber(2)},
+                  {atom("b"), integerNumber(1)},
+                  {atom("a"), variable()},
+                  {atom("c"), integerNumber(2)}});
+
+      assertNull(index.candidates(new PTerm[] {variable(), variable()}));
+      assertArrayEquals(new int[] {0, 1, 3}, index.candidates(new PTerm[] {atom("a"), variable()}));
+      assertArrayEquals(new int[] {1, 2}, index.candidates(new PTerm[] {atom("b"), variable()}));
+      assertArrayEquals(new int[] {1}, index.candidates(new PTerm[] {atom("z"), variable()}));
+      assertArrayEquals(new int[] {1, 3, 4}, index.candidates(new PTerm[] {variable(), integerNumber(2)}));
+      assertArrayEquals(new int[] {3}, index.candidates(new PTerm[] {variable(), integerNumber(3)}));
+      // uses the argument with the fewest candidates
+      assertArrayEquals(new int[] {1, 2}, index.candidates(new PTerm[] {atom("b"), integerNumber(2)}));
+      assertArrayEquals(new int[] {3}, index.candidates(new PTerm[] {atom("a"), integerNumber(3)}));
+   }
+
+   @Test
+   public void testCandidatesWhenEveryClauseHasVariable() {
+      ClauseIndex index = new ClauseIndex(new PTerm[][] {{variable()}, {variable()}});
+      assertNull(index.candidates(new PTerm[] {atom("a")}));
+   }
+
+   @Test
+   public void testNoClauses() {
+      ClauseIndex index = new ClauseIndex(new PTerm[0][]);
+      assertNull(index.candidates(new PTerm[] {atom("a")}));
+   }
+}
@@ -193,6 +193,48 @@ public class DynamicUserDefinedPredicateFactoryTest {
       assertSame(inputArg, args[0].get());
    }
 
+   @Test
+   public void testGetPredicateIndexedByFirstArgument() {
+      KB kb = TestUtils.createKnowledgeBase();
+      DynamicUserDefinedPredicateFactory dp = new DynamicUserDefinedPredicateFactory(kb, new PredicateKey(TEST_PREDICATE_NAME, 2));
+      dp.addLast(TestUtils.createClauseModel("test(a, 1)."));
+      dp.addLast(TestUtils.createClauseModel("test(X, 2)."));
+      dp.addLast(TestUtils.createClauseModel("test(b, 3)."));
+      dp.addLast(TestUtils.createClauseModel("test(a, 4)."));
+      dp.addFirst(TestUtils.createClauseModel("test(a, 0)."));
+      dp.addFirst(TestUtils.createClauseModel("test(c, 5)."));
+
+      assertSecondArguments(dp, atom("a"), 0, 1, 2, 4);
+      assertSecondArguments(dp, atom("b"), 2, 3);
+      assertSecondArguments(dp, atom("d"), 2);
+      assertSecondArguments(dp, variable(), 5, 0, 1, 2, 3, 4);
+
+      // remove "test(a, 1)" and "test(X, 2)"
+      Iterator<ClauseModel> itr = dp.getImplications();
+      itr.next();
+      itr.next();
+      itr.next();
+      itr.remove();
+      itr.next();
+      itr.remove();
+
+      assertSecondArguments(dp, atom("a"), 0, 4);
+      assertSecondArguments(dp, atom("b"), 3);
+      assertSecondArguments(dp, atom("d"));
+   }
+
+   private void assertSecondArguments(DynamicUserDefinedPredicateFactory dp, PTerm firstArgument, int... expected) {
+      PTerm secondArgument = variable();
+      PTerm[] args = new PTerm[] {firstArgument, secondArgument};
+      Predicate e = dp.getPredicate(args);
+      for (int i : expected) {
+         assertTrue(e.evaluate(args));
+         assertEquals(Integer.toString(i), TestUtils.write(args[1]));
+      }
+      assertFalse(e.evaluate(args));
+      assertSame(secondArgument, args[1].get());
+   }
+
    private DynamicUserDefinedPredicateFactory createDynamicPredicate() {
       KB kb = TestUtils.createKnowledgeBase();
       PredicateKey key = new PredicateKey(TEST_PREDICATE_NAME, 1);
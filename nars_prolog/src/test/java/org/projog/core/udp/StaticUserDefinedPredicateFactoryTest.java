@@ -20,8 +20,7 @@ import org.projog.core.udp.interpreter.InterpretedUserDefinedPredicate;
 /**
  * Tests {@link StaticUserDefinedPredicateFactory}.
  * <p>
- * NOTE: For these tests to work you need to have "projogGeneratedClasses" in the classpath as that will be the output
- * directory for bytecode generated at runtime.
+ * NOTE: The source and class files generated at runtime are stored in the "projogGeneratedClasses" directory.
  * 
  * @see org.projog.TestUtils#COMPILATION_ENABLED_PROPERTIES
  */
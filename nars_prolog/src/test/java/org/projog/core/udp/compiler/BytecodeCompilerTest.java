@@ -0,0 +1,95 @@
+package org.projog.core.udp.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.projog.core.ProjogException;
+import org.projog.core.term.PAtom;
+import org.projog.core.term.PTerm;
+
+public class BytecodeCompilerTest {
+   private static final String PACKAGE_NAME = "org.projog.content_generated_at_runtime";
+
+   @Test
+   public void testCompileClass() throws Exception {
+      String className = "BytecodeCompilerTest1";
+      StringBuilder src = new StringBuilder();
+      src.append("package " + PACKAGE_NAME + ";\n");
+      src.append("import org.projog.core.term.*;\n");
+      src.append("// a comment containing an unmatched {\n");
+      src.append("public final class " + className + " {\n");
+      src.append("   public " + className + "(final PTerm t) {\n");
+      src.append("      this(t, \"}{\");\n");
+      src.append("   }\n");
+      src.append("   " + className + "(final PTerm t, String s) {\n");
+      src.append("      this.t = t;\n");
+      src.append("      this.s = s;\n");
+      src.append("   }\n");
+      src.append("   public final String describe(final int n) {\n");
+      src.append("      if (n > 0) {\n");
+      src.append("         return s + count(n - 1);\n");
+      src.append("      } else {\n");
+      src.append("         return s;\n");
+      src.append("      }\n");
+      src.append("   }\n");
+      src.append("   public final PTerm term() {\n");
+      src.append("      return t;\n");
+      src.append("   }\n");
+      src.append("   private static final int count(int n) {\n");
+      src.append("      return n * FACTOR;\n");
+      src.append("   }\n");
+      src.append("   private final PTerm t;\n");
+      src.append("   private final String s;\n");
+      src.append("   private static final int FACTOR = 2;\n");
+      src.append("}\n");
+
+      Class<?> c = BytecodeCompiler.compileClass(PACKAGE_NAME + "." + className, src.toString(), null);
+
+      Constructor<?> constructor = c.getConstructor(PTerm.class);
+      PAtom atom = new PAtom("test");
+      Object o = constructor.newInstance(atom);
+      Method describe = c.getMethod("describe", int.class);
+      assertEquals("}{", describe.invoke(o, 0));
+      assertEquals("}{6", describe.invoke(o, 4));
+      assertSame(atom, c.getMethod("term").invoke(o));
+   }
+
+   @Test
+   public void testClassesCanReferToPreviouslyCompiledClasses() throws Exception {
+      String first = "BytecodeCompilerTest2";
+      String second = "BytecodeCompilerTest3";
+      BytecodeCompiler.compileClass(PACKAGE_NAME + "." + first, "package " + PACKAGE_NAME + ";\npublic final class " + first + " {\nstatic final int value() {\nreturn 42;\n}\n}\n", null);
+      Class<?> c = BytecodeCompiler.compileClass(PACKAGE_NAME + "." + second, "package " + PACKAGE_NAME + ";\npublic final class " + second + " {\npublic static final int value() {\nreturn " + first + ".value() + 1;\n}\n}\n", null);
+      assertEquals(43, c.getMethod("value").invoke(null));
+   }
+
+   @Test
+   public void testImportsAreNotShared() throws Exception {
+      String first = "BytecodeCompilerTest5";
+      String second = "BytecodeCompilerTest6";
+      Class<?> c = BytecodeCompiler.compileClass(PACKAGE_NAME + "." + first, "package " + PACKAGE_NAME + ";\nimport java.util.*;\npublic final class " + first + " {\npublic static final int value() {\nreturn new ArrayList().size();\n}\n}\n", null);
+      assertEquals(0, c.getMethod("value").invoke(null));
+      try {
+         BytecodeCompiler.compileClass(PACKAGE_NAME + "." + second, "package " + PACKAGE_NAME + ";\npublic final class " + second + " {\npublic static final int value() {\nreturn new ArrayList().size();\n}\n}\n", null);
+         fail();
+      } catch (ProjogException e) {
+         // java.util was only imported by the first class
+      }
+   }
+
+   @Test
+   public void testInvalidSource() {
+      String className = PACKAGE_NAME + ".BytecodeCompilerTest4";
+      try {
+         BytecodeCompiler.compileClass(className, "package " + PACKAGE_NAME + ";\npublic final class BytecodeCompilerTest4 {\npublic int value() {\nreturn unknownField;\n}\n}\n", null);
+         fail();
+      } catch (ProjogException e) {
+         assertEquals("Cannot compile: " + className, e.getMessage().substring(0, ("Cannot compile: " + className).length()));
+      }
+   }
+}
@@ -41,8 +41,7 @@ import org.projog.core.udp.StaticUserDefinedPredicateFactory;
  * Compares the Java source generated as a result of processing CompiledPredicateSourceGeneratorTest.pl against the
  * expected java source contained in the scripts directory.
  * <p>
- * NOTE: For these tests to work you need to have "projogGeneratedClasses" in the classpath as that will be the output
- * directory for bytecode generated at runtime.
+ * NOTE: The source and class files generated at runtime are stored in the "projogGeneratedClasses" directory.
  * 
  * @see org.projog.TestUtils#COMPILATION_ENABLED_PROPERTIES
  */
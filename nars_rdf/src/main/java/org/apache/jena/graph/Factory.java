@@ -20,6 +20,7 @@ package org.apache.jena.graph;
 
 import org.apache.jena.graph.impl.GraphBase ;
 import org.apache.jena.mem.GraphMem ;
+import org.apache.jena.mem.GraphMemEncoded ;
 import org.apache.jena.util.iterator.ExtendedIterator ;
 import org.apache.jena.util.iterator.NullIterator ;
 
@@ -42,6 +43,13 @@ public class Factory
     public static Graph createGraphMem()
         { return new GraphMem(); }
 
+    /**
+        Answer a memory-based Graph holding its triples as dictionary-encoded
+        ints in sorted indexes; compact, and suited to large, mostly-read graphs.
+    */
+    public static Graph createGraphMemEncoded()
+        { return new GraphMemEncoded(); }
+
     public static Graph createGraphMemWithTransactionHandler( final TransactionHandler th )
         {
         Graph g = new GraphMem() 
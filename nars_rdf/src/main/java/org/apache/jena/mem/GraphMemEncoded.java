@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jena.mem;
+
+import org.apache.jena.graph.* ;
+import org.apache.jena.graph.impl.TripleStore ;
+import org.apache.jena.util.iterator.ExtendedIterator ;
+
+/**
+    GraphMemEncoded - an in-memory graph like GraphMem, whose triples are held
+    as dictionary-encoded ints in sorted indexes (see GraphTripleStoreEncoded)
+    rather than as hashed bunches of Triple objects. It takes a fraction of the
+    memory of a GraphMem and answers exact statistics for any pattern, at the
+    cost of a sort the first time it is read after a batch of additions.
+*/
+public class GraphMemEncoded extends GraphMemBase
+{
+    public GraphMemEncoded()
+    { super(  ); }
+
+    @Override protected TripleStore createTripleStore()
+    { return new GraphTripleStoreEncoded( this ); }
+
+    @Override protected void destroy()
+    { store.close(); }
+
+    @Override public void performAdd( Triple t )
+    { store.add( t ); }
+
+    @Override public void performDelete( Triple t )
+    { store.delete( t ); }
+
+    @Override public int graphBaseSize()
+    { return store.size(); }
+
+    @Override protected GraphStatisticsHandler createStatisticsHandler()
+    { return new GraphMemEncodedStatisticsHandler( (GraphTripleStoreEncoded) store ); }
+
+    /**
+        The GraphMemEncodedStatisticsHandler answers the exact number of triples
+        matching any pattern, counted by binary searches of the store's indexes.
+     */
+    protected static class GraphMemEncodedStatisticsHandler implements GraphStatisticsHandler
+    {
+        protected final GraphTripleStoreEncoded store;
+
+        public GraphMemEncodedStatisticsHandler( GraphTripleStoreEncoded store )
+        { this.store = store; }
+
+        @Override
+        public long getStatistic( Node S, Node P, Node O )
+        { return store.countMatches( S, P, O ); }
+    }
+
+    /**
+         Answer an ExtendedIterator over all the triples in this graph that match the
+         triple-pattern <code>m</code>. Delegated to the store.
+     */
+    @Override public ExtendedIterator<Triple> graphBaseFind( Triple m )
+    { return store.find( m ); }
+
+    /**
+         Answer true iff this graph contains <code>t</code>. If <code>t</code>
+         happens to be concrete, then we hand responsibility over to the store.
+         Otherwise we use the default implementation.
+     */
+    @Override public boolean graphBaseContains( Triple t )
+    { return t.isConcrete() ? store.contains( t ) : super.graphBaseContains( t ); }
+
+    /**
+        Clear this graph, ie remove all its triples (delegated to the store).
+     */
+    @Override public void clear()
+    {
+        store.clear();
+        getEventManager().notifyEvent( this, GraphEvents.removeAll ) ;
+    }
+}
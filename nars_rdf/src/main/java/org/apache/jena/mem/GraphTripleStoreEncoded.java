@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jena.mem;
+
+import java.util.BitSet ;
+import java.util.NoSuchElementException ;
+
+import org.apache.jena.graph.Graph ;
+import org.apache.jena.graph.Node ;
+import org.apache.jena.graph.Triple ;
+import org.apache.jena.graph.impl.TripleStore ;
+import org.apache.jena.util.iterator.* ;
+
+/**
+    GraphTripleStoreEncoded - a triple store which encodes each node as an int
+    (see <code>NodeDictionary</code>) and keeps three sorted indexes of the
+    encoded triples, in SPO, POS and OSP order (see <code>TripleIndex</code>).
+    Any pattern with one or two concrete fields is a prefix of one of them, so
+    every find is a binary search followed by a scan of the matching triples,
+    with no per-triple objects other than the Triples it answers.
+    <p>
+    A concrete literal of a pattern matches every literal with the same value,
+    so it is looked up as each of the nodes with its indexing value.
+*/
+public class GraphTripleStoreEncoded implements TripleStore
+    {
+    /** the orders of the indexes, ie which fields of a triple are their first, second and third */
+    static final int SPO = 0, POS = 1, OSP = 2;
+
+    protected final Graph parent;
+    protected final NodeDictionary nodes = new NodeDictionary();
+    protected final TripleIndex spo = new TripleIndex(), pos = new TripleIndex(), osp = new TripleIndex();
+
+    public GraphTripleStoreEncoded( Graph parent )
+        { this.parent = parent; }
+
+    /**
+        Destroy this triple store - discard the indexes and the nodes.
+    */
+    @Override public void close()
+        { clear(); }
+
+    @Override public void add( Triple t )
+        {
+        int s = nodes.encode( t.getSubject() ), p = nodes.encode( t.getPredicate() ), o = nodes.encode( t.getObject() );
+        spo.add( s, p, o );
+        pos.add( p, o, s );
+        osp.add( o, s, p );
+        }
+
+    @Override public void delete( Triple t )
+        {
+        int s = nodes.lookup( t.getSubject() ), p = nodes.lookup( t.getPredicate() ), o = nodes.lookup( t.getObject() );
+        if (s >= 0 && p >= 0 && o >= 0 && spo.remove( s, p, o ))
+            {
+            pos.remove( p, o, s );
+            osp.remove( o, s, p );
+            }
+        }
+
+    @Override public int size()
+        { return spo.size(); }
+
+    @Override public boolean isEmpty()
+        { return size() == 0; }
+
+    /**
+        Answer true iff this store contains a triple with the same values as the
+        concrete triple <code>t</code>.
+    */
+    @Override public boolean contains( Triple t )
+        {
+        for (int s = nodes.first( t.getSubject() ); s >= 0; s = nodes.next( s ))
+            for (int p = nodes.first( t.getPredicate() ); p >= 0; p = nodes.next( p ))
+                for (int o = nodes.first( t.getObject() ); o >= 0; o = nodes.next( o ))
+                    if (spo.contains( s, p, o )) return true;
+        return false;
+        }
+
+    @Override public ExtendedIterator<Node> listSubjects()
+        { return listFirstFields( spo ); }
+
+    @Override public ExtendedIterator<Node> listPredicates()
+        { return listFirstFields( pos ); }
+
+    @Override public ExtendedIterator<Node> listObjects()
+        { return listFirstFields( osp ); }
+
+    /**
+        Answer the distinct nodes of the first field of the triples of <code>index</code>.
+    */
+    protected ExtendedIterator<Node> listFirstFields( TripleIndex index )
+        {
+        BitSet ids = new BitSet( nodes.size() );
+        TripleIndex.Cursor c = index.find( 0, 0, 0 );
+        while (c.next()) ids.set( c.a );
+        return WrappedIterator.createNoRemove( ids.stream().mapToObj( nodes::get ).iterator() );
+        }
+
+    /**
+        Answer an ExtendedIterator returning all the triples from this store that
+        match the pattern <code>m = (S, P, O)</code>. The index used is the one
+        whose order starts with the concrete fields of the pattern; when all three
+        are concrete, the objects found from the subject and predicate are
+        filtered.
+    */
+    @Override public ExtendedIterator<Triple> find( Triple m )
+        {
+        Node S = m.getMatchSubject(), P = m.getMatchPredicate(), O = m.getMatchObject();
+        int[] s = candidates( S ), p = candidates( P ), o = candidates( O );
+        if (s == NONE || p == NONE || o == NONE) return NullIterator.instance();
+        if (s != null)
+            {
+            if (p != null) return new EncodedTripleIterator( spo, SPO, s, p, o );
+            if (o != null) return new EncodedTripleIterator( osp, OSP, o, s, null );
+            return new EncodedTripleIterator( spo, SPO, s, null, null );
+            }
+        if (p != null) return new EncodedTripleIterator( pos, POS, p, o, null );
+        if (o != null) return new EncodedTripleIterator( osp, OSP, o, null, null );
+        return new EncodedTripleIterator( spo, SPO, null, null, null );
+        }
+
+    private static final int[] NONE = new int[0];
+
+    /**
+        Answer the ids of the nodes with the same value as <code>n</code>, NONE
+        if there are none, or null if <code>n</code> matches anything.
+    */
+    protected int[] candidates( Node n )
+        {
+        if (n == null || !n.isConcrete()) return null;
+        int first = nodes.first( n );
+        if (first < 0) return NONE;
+        if (nodes.next( first ) < 0) return new int[] { first };
+        int count = 0;
+        for (int id = first; id >= 0; id = nodes.next( id )) count += 1;
+        int[] result = new int[count];
+        for (int id = first, i = 0; id >= 0; id = nodes.next( id )) result[i++] = id;
+        return result;
+        }
+
+    /**
+        Answer the number of triples matching <code>(S, P, O)</code>, by counting
+        the matching triples of the index whose order starts with the concrete
+        fields.
+    */
+    public long countMatches( Node S, Node P, Node O )
+        {
+        int[] s = candidates( S ), p = candidates( P ), o = candidates( O );
+        if (s == NONE || p == NONE || o == NONE) return 0;
+        if (s != null && p != null && o != null) return contains( Triple.create( S, P, O ) ) ? 1 : 0;
+        if (s != null)
+            return p != null ? count( spo, s, p ) : o != null ? count( osp, o, s ) : count( spo, s, null );
+        if (p != null) return count( pos, p, o );
+        if (o != null) return count( osp, o, null );
+        return size();
+        }
+
+    private static long count( TripleIndex index, int[] as, int[] bs )
+        {
+        long count = 0;
+        for (int a : as)
+            if (bs == null) count += index.count( 1, a, 0 );
+            else for (int b : bs) count += index.count( 2, a, b );
+        return count;
+        }
+
+    /**
+        Clear this store, ie remove all its triples and forget all its nodes.
+    */
+    @Override public void clear()
+        {
+        nodes.clear();
+        spo.clear();
+        pos.clear();
+        osp.clear();
+        }
+
+    /**
+        An iterator over the triples of one index whose first field is one of
+        <code>as</code> and second field one of <code>bs</code> (each null if
+        any will do), and whose third field is one of <code>cs</code>. Removing a
+        triple through the iterator removes it from the store and notifies the
+        parent graph.
+    */
+    protected class EncodedTripleIterator extends NiceIterator<Triple>
+        {
+        private final TripleIndex index;
+        private final int order;
+        private final int[] as, bs, cs;
+        private int ai, bi;
+        private TripleIndex.Cursor cursor;
+        private Triple next, current;
+
+        EncodedTripleIterator( TripleIndex index, int order, int[] as, int[] bs, int[] cs )
+            {
+            this.index = index; this.order = order;
+            this.as = as; this.bs = bs; this.cs = cs;
+            }
+
+        @Override public boolean hasNext()
+            {
+            while (next == null)
+                {
+                if (cursor == null && (cursor = nextCursor()) == null) return false;
+                if (!cursor.next()) cursor = null;
+                else if (cs == null || isOneOf( cs, cursor.c )) next = decode( cursor.a, cursor.b, cursor.c );
+                }
+            return true;
+            }
+
+        @Override public Triple next()
+            {
+            if (!hasNext()) throw new NoSuchElementException();
+            current = next;
+            next = null;
+            return current;
+            }
+
+        @Override public void remove()
+            {
+            if (current == null) throw new IllegalStateException();
+            delete( current );
+            parent.getEventManager().notifyDeleteTriple( parent, current );
+            current = null;
+            }
+
+        /**
+            Answer the cursor for the next combination of first and second fields,
+            or null if there are no more.
+        */
+        private TripleIndex.Cursor nextCursor()
+            {
+            if (as == null)
+                return ai++ == 0 ? index.find( 0, 0, 0 ) : null;
+            if (bs != null && bi == bs.length)
+                {
+                ai += 1;
+                bi = 0;
+                }
+            if (ai == as.length) return null;
+            if (bs == null) return index.find( 1, as[ai++], 0 );
+            return index.find( 2, as[ai], bs[bi++] );
+            }
+
+        private Triple decode( int a, int b, int c )
+            {
+            switch (order)
+                {
+                case POS: return Triple.create( nodes.get( c ), nodes.get( a ), nodes.get( b ) );
+                case OSP: return Triple.create( nodes.get( b ), nodes.get( c ), nodes.get( a ) );
+                default: return Triple.create( nodes.get( a ), nodes.get( b ), nodes.get( c ) );
+                }
+            }
+        }
+
+    private static boolean isOneOf( int[] ids, int id )
+        {
+        for (int x : ids) if (x == id) return true;
+        return false;
+        }
+    }
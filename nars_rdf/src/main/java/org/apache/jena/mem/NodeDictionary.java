@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.jena.mem;
+
+import java.util.Arrays ;
+
+import org.apache.jena.graph.Node ;
+
+/**
+    NodeDictionary - encodes nodes as ints, numbered from 0 in the order they
+    are first seen. Nodes are never removed, except by <code>clear()</code>.
+    <p>
+    Nodes with the same indexing value (see <code>Node.getIndexingValue()</code>),
+    ie literals with the same value written differently, are kept in a chain so
+    that they can all be found from any of them. Other nodes are their own
+    indexing value, so their chain is just themselves.
+    <p>
+    The ids are found through an open-addressing hash table of ints, so the
+    dictionary costs little more than the array of the nodes themselves.
+*/
+final class NodeDictionary
+    {
+    private Node[] nodes = new Node[16];
+    /** the hash code of the indexing value of each node */
+    private int[] hashes = new int[16];
+    /** the next node with the same indexing value, or -1 */
+    private int[] sameValue = new int[16];
+    private int size;
+
+    /** the first node of each chain (plus one, so 0 is an empty slot), by the hash of its indexing value */
+    private int[] table = new int[32];
+
+    int size()
+        { return size; }
+
+    Node get( int id )
+        { return nodes[id]; }
+
+    /**
+        Answer the id of the node equal to <code>n</code>, or -1 if there is none.
+    */
+    int lookup( Node n )
+        {
+        for (int id = first( n ); id >= 0; id = sameValue[id])
+            if (nodes[id].equals( n )) return id;
+        return -1;
+        }
+
+    /**
+        Answer the id of the first node with the same indexing value as <code>n</code>,
+        or -1 if there is none; the others are found through <code>next()</code>.
+    */
+    int first( Node n )
+        {
+        Object v = n.getIndexingValue();
+        int h = v.hashCode();
+        for (int i = slot( h ); table[i] != 0; i = (i + 1) & (table.length - 1))
+            {
+            int id = table[i] - 1;
+            if (hashes[id] == h && nodes[id].getIndexingValue().equals( v )) return id;
+            }
+        return -1;
+        }
+
+    /**
+        Answer the id of the next node with the same indexing value as the node
+        <code>id</code>, or -1 if there is none.
+    */
+    int next( int id )
+        { return sameValue[id]; }
+
+    /**
+        Answer the id of <code>n</code>, giving it the next id if it is new.
+    */
+    int encode( Node n )
+        {
+        Object v = n.getIndexingValue();
+        int h = v.hashCode();
+        int i = slot( h );
+        for (; table[i] != 0; i = (i + 1) & (table.length - 1))
+            {
+            int id = table[i] - 1;
+            if (hashes[id] == h && nodes[id].getIndexingValue().equals( v ))
+                {
+                int last = id;
+                for (; id >= 0; last = id, id = sameValue[id])
+                    if (nodes[id].equals( n )) return id;
+                int added = append( n, h );
+                sameValue[last] = added;
+                return added;
+                }
+            }
+        table[i] = append( n, h ) + 1;
+        if (size * 2 > table.length) rehash();
+        return size - 1;
+        }
+
+    void clear()
+        {
+        nodes = new Node[16];
+        hashes = new int[16];
+        sameValue = new int[16];
+        size = 0;
+        table = new int[32];
+        }
+
+    private int append( Node n, int hash )
+        {
+        if (size == nodes.length)
+            {
+            nodes = Arrays.copyOf( nodes, size * 2 );
+            hashes = Arrays.copyOf( hashes, size * 2 );
+            sameValue = Arrays.copyOf( sameValue, size * 2 );
+            }
+        nodes[size] = n;
+        hashes[size] = hash;
+        sameValue[size] = -1;
+        return size++;
+        }
+
+    private int slot( int hash )
+        {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (table.length - 1);
+        }
+
+    private void rehash()
+        {
+        int[] old = table;
+        table = new int[old.length * 2];
+        for (int entry : old)
+            {
+            if (entry == 0) continue;
+            int i = slot( hashes[entry - 1] );
+            while (table[i] != 0) i = (i + 1) & (table.length - 1);
+            table[i] = entry;
+            }
+        }
+    }
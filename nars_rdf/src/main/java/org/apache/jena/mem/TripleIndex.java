@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.jena.mem;
+
+import java.util.Arrays ;
+import java.util.BitSet ;
+import java.util.ConcurrentModificationException ;
+
+/**
+    TripleIndex - an index of triples of dictionary-encoded nodes, in the order
+    of one permutation of their fields (eg subject, predicate, object for an SPO
+    index). Each triple is held as three ints in an array sorted on them, so the
+    triples whose first field, or first two fields, are given are found by
+    binary search.
+    <p>
+    Added triples are appended to an unsorted <i>pending</i> array, which is
+    only sorted when the index is next read, so loading a large graph costs a
+    single sort. Sorted triples are merged into a small <i>delta</i> array,
+    itself merged into the main array once it holds more than about the square
+    root of its size. Triples removed from the main array are only marked as
+    removed, and dropped at the next merge, so a removal never moves the triples
+    being iterated over.
+*/
+final class TripleIndex
+    {
+    static final int MIN_DELTA = 1024;
+
+    private int[] main = new int[0];
+    /** number of triples in main, including those marked as removed */
+    private int mainSize;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    private int[] delta = new int[0];
+    private int deltaSize;
+
+    /** triples added since the last read, unsorted and possibly already present */
+    private int[] pending = new int[3 * 16];
+    private int pendingSize;
+
+    /** incremented whenever triples are added, so iterators can detect concurrent modification */
+    private int changes;
+
+    /**
+        Add the triple (a, b, c), unless it is already present.
+    */
+    void add( int a, int b, int c )
+        {
+        if ((pendingSize + 1) * 3 > pending.length) pending = Arrays.copyOf( pending, pending.length * 2 );
+        pending[pendingSize * 3] = a;
+        pending[pendingSize * 3 + 1] = b;
+        pending[pendingSize * 3 + 2] = c;
+        pendingSize += 1;
+        changes += 1;
+        }
+
+    /**
+        Remove the triple (a, b, c); answer true iff it was present.
+    */
+    boolean remove( int a, int b, int c )
+        {
+        flush();
+        int i = search( main, mainSize, a, b, c );
+        if (i >= 0)
+            {
+            if (removed.get( i )) return false;
+            removed.set( i );
+            removedCount += 1;
+            return true;
+            }
+        int j = search( delta, deltaSize, a, b, c );
+        if (j < 0) return false;
+        deltaSize -= 1;
+        System.arraycopy( delta, (j + 1) * 3, delta, j * 3, (deltaSize - j) * 3 );
+        return true;
+        }
+
+    boolean contains( int a, int b, int c )
+        {
+        flush();
+        int i = search( main, mainSize, a, b, c );
+        return i >= 0 ? !removed.get( i ) : search( delta, deltaSize, a, b, c ) >= 0;
+        }
+
+    /**
+        Answer the number of triples in the index.
+    */
+    int size()
+        {
+        flush();
+        return mainSize - removedCount + deltaSize;
+        }
+
+    /**
+        Answer the number of triples whose first <code>fields</code> (0, 1 or 2)
+        fields are <code>a</code> and <code>b</code>.
+    */
+    int count( int fields, int a, int b )
+        {
+        flush();
+        int from = lower( main, mainSize, fields, a, b ), to = upper( main, mainSize, fields, a, b );
+        int count = to - from;
+        for (int i = removed.nextSetBit( from ); i >= 0 && i < to; i = removed.nextSetBit( i + 1 )) count -= 1;
+        return count + upper( delta, deltaSize, fields, a, b ) - lower( delta, deltaSize, fields, a, b );
+        }
+
+    void clear()
+        {
+        main = new int[0];
+        mainSize = 0;
+        removed.clear();
+        removedCount = 0;
+        delta = new int[0];
+        deltaSize = 0;
+        pending = new int[3 * 16];
+        pendingSize = 0;
+        changes += 1;
+        }
+
+    /**
+        Answer a cursor over the triples whose first <code>fields</code> (0, 1
+        or 2) fields are <code>a</code> and <code>b</code>.
+    */
+    Cursor find( int fields, int a, int b )
+        {
+        flush();
+        return new Cursor( fields, a, b );
+        }
+
+    /**
+        A cursor over a range of triples of the index: <code>next()</code> moves
+        it to the next triple, whose fields are then <code>a</code>, <code>b</code>
+        and <code>c</code>. Adding triples to the index once the cursor exists
+        makes it throw a ConcurrentModificationException; removed triples are
+        skipped.
+    */
+    final class Cursor
+        {
+        private int i;
+        private final int end;
+        /** the matching triples of the delta, copied as removals move them */
+        private final int[] fromDelta;
+        private int j;
+        private final int expectedChanges = changes;
+
+        int a, b, c;
+
+        Cursor( int fields, int a, int b )
+            {
+            i = lower( main, mainSize, fields, a, b );
+            end = upper( main, mainSize, fields, a, b );
+            int from = lower( delta, deltaSize, fields, a, b );
+            fromDelta = Arrays.copyOfRange( delta, from * 3, upper( delta, deltaSize, fields, a, b ) * 3 );
+            }
+
+        boolean next()
+            {
+            if (changes != expectedChanges) throw new ConcurrentModificationException();
+            while (i < end && removed.get( i )) i += 1;
+            if (i < end)
+                {
+                set( main, i );
+                i += 1;
+                return true;
+                }
+            if (j < fromDelta.length / 3)
+                {
+                set( fromDelta, j );
+                j += 1;
+                return true;
+                }
+            return false;
+            }
+
+        private void set( int[] triples, int k )
+            {
+            a = triples[k * 3];
+            b = triples[k * 3 + 1];
+            c = triples[k * 3 + 2];
+            }
+        }
+
+    /**
+        Sort the pending triples and merge them into the delta, or into the main
+        array if the delta would grow too large. Triples already present are
+        dropped, and those marked as removed from the main array are restored.
+    */
+    private void flush()
+        {
+        if (pendingSize == 0) return;
+        sort( pending, pendingSize );
+        int n = 0;
+        for (int k = 0; k < pendingSize; k += 1)
+            {
+            int a = pending[k * 3], b = pending[k * 3 + 1], c = pending[k * 3 + 2];
+            if (n > 0 && compare( pending, n - 1, a, b, c ) == 0) continue;
+            int i = search( main, mainSize, a, b, c );
+            if (i >= 0)
+                {
+                if (removed.get( i )) { removed.clear( i ); removedCount -= 1; }
+                continue;
+                }
+            if (search( delta, deltaSize, a, b, c ) >= 0) continue;
+            System.arraycopy( pending, k * 3, pending, n * 3, 3 );
+            n += 1;
+            }
+        if (deltaSize + n > Math.max( MIN_DELTA, 2 * (int) Math.sqrt( mainSize ) ) || removedCount > mainSize >> 2)
+            {
+            int[] d = merge( delta, 0, deltaSize, pending, n, null );
+            main = merge( main, removedCount, mainSize, d, deltaSize + n, removed );
+            mainSize = mainSize - removedCount + deltaSize + n;
+            removed.clear();
+            removedCount = 0;
+            delta = new int[0];
+            deltaSize = 0;
+            }
+        else
+            {
+            delta = merge( delta, 0, deltaSize, pending, n, null );
+            deltaSize += n;
+            }
+        if (pending.length > 3 * 1024) pending = new int[3 * 16];
+        pendingSize = 0;
+        }
+
+    /**
+        Answer the merge of the first <code>xSize</code> sorted triples of
+        <code>x</code>, except those whose positions are in <code>xRemoved</code>
+        (<code>xRemovedCount</code> of them), with the first <code>ySize</code>
+        sorted triples of <code>y</code>.
+    */
+    private static int[] merge( int[] x, int xRemovedCount, int xSize, int[] y, int ySize, BitSet xRemoved )
+        {
+        int[] merged = new int[(xSize - xRemovedCount + ySize) * 3];
+        int i = 0, j = 0, k = 0;
+        while (i < xSize || j < ySize)
+            {
+            if (i < xSize && xRemoved != null && xRemoved.get( i ))
+                i += 1;
+            else if (j == ySize || (i < xSize && compare( x, i, y[j * 3], y[j * 3 + 1], y[j * 3 + 2] ) < 0))
+                System.arraycopy( x, 3 * i++, merged, 3 * k++, 3 );
+            else
+                System.arraycopy( y, 3 * j++, merged, 3 * k++, 3 );
+            }
+        return merged;
+        }
+
+    /**
+        Sort the first <code>size</code> triples of <code>triples</code>, by a
+        bottom-up merge sort.
+    */
+    static void sort( int[] triples, int size )
+        {
+        int[] from = triples, to = new int[size * 3];
+        for (int width = 1; width < size; width *= 2)
+            {
+            for (int low = 0; low < size; low += 2 * width)
+                {
+                int mid = Math.min( low + width, size ), high = Math.min( low + 2 * width, size );
+                int i = low, j = mid, k = low;
+                while (i < mid || j < high)
+                    {
+                    if (j == high || (i < mid && compare( from, i, from[j * 3], from[j * 3 + 1], from[j * 3 + 2] ) <= 0))
+                        System.arraycopy( from, 3 * i++, to, 3 * k++, 3 );
+                    else
+                        System.arraycopy( from, 3 * j++, to, 3 * k++, 3 );
+                    }
+                }
+            int[] t = from; from = to; to = t;
+            }
+        if (from != triples) System.arraycopy( from, 0, triples, 0, size * 3 );
+        }
+
+    private static int compare( int[] triples, int k, int a, int b, int c )
+        {
+        int x = Integer.compare( triples[k * 3], a );
+        if (x != 0) return x;
+        x = Integer.compare( triples[k * 3 + 1], b );
+        return x != 0 ? x : Integer.compare( triples[k * 3 + 2], c );
+        }
+
+    /**
+        Answer the position of (a, b, c) in the first <code>size</code> triples
+        of <code>triples</code>, or (-(insertion point) - 1) if it is not there.
+    */
+    private static int search( int[] triples, int size, int a, int b, int c )
+        {
+        int low = 0, high = size - 1;
+        while (low <= high)
+            {
+            int mid = (low + high) >>> 1;
+            int x = compare( triples, mid, a, b, c );
+            if (x < 0) low = mid + 1;
+            else if (x > 0) high = mid - 1;
+            else return mid;
+            }
+        return -low - 1;
+        }
+
+    /**
+        Compare the first <code>fields</code> fields of the triple at position
+        <code>k</code> with <code>a</code> and <code>b</code>.
+    */
+    private static int comparePrefix( int[] triples, int k, int fields, int a, int b )
+        {
+        if (fields == 0) return 0;
+        int x = Integer.compare( triples[k * 3], a );
+        return x != 0 || fields == 1 ? x : Integer.compare( triples[k * 3 + 1], b );
+        }
+
+    /** Answer the position of the first triple whose prefix is not less than (a, b). */
+    private static int lower( int[] triples, int size, int fields, int a, int b )
+        {
+        int low = 0, high = size;
+        while (low < high)
+            {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix( triples, mid, fields, a, b ) < 0) low = mid + 1; else high = mid;
+            }
+        return low;
+        }
+
+    /** Answer the position of the first triple whose prefix is greater than (a, b). */
+    private static int upper( int[] triples, int size, int fields, int a, int b )
+        {
+        int low = 0, high = size;
+        while (low < high)
+            {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix( triples, mid, fields, a, b ) <= 0) low = mid + 1; else high = mid;
+            }
+        return low;
+        }
+    }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.jena.mem.test;
+
+import junit.framework.TestSuite;
+import org.apache.jena.graph.* ;
+import org.apache.jena.graph.test.* ;
+import org.apache.jena.mem.GraphMemEncoded ;
+import org.apache.jena.shared.* ;
+import org.apache.jena.util.iterator.ExtendedIterator ;
+
+public class TestGraphMemEncoded extends AbstractTestGraph
+    {
+    public TestGraphMemEncoded( String name )
+        { super( name ); }
+
+    public static TestSuite suite()
+        { return new TestSuite( TestGraphMemEncoded.class ); }
+
+    @Override public Graph getGraph()
+        { return new GraphMemEncoded(); }
+
+    public void testSizeAfterRemove()
+        {
+        Graph g = getGraphWith( "x p y" );
+        ExtendedIterator<Triple> it = g.find( triple( "x ?? ??" ) );
+        it.removeNext();
+        assertEquals( 0, g.size() );
+        }
+
+    public void testContainsConcreteDoesntUseFind()
+        {
+        Graph g = new GraphMemEncodedWithoutFind();
+        graphAdd( g, "x P y; a Q b" );
+        assertTrue( g.contains( triple( "x P y" ) ) );
+        assertTrue( g.contains( triple( "a Q b" ) ) );
+        assertFalse( g.contains( triple( "a P y" ) ) );
+        assertFalse( g.contains( triple( "y R b" ) ) );
+        }
+
+    public void testDuplicateAddsAreIgnored()
+        {
+        Graph g = getGraphWith( "a P b; a P b; a Q b" );
+        graphAdd( g, "a P b" );
+        assertEquals( 2, g.size() );
+        }
+
+    public void testExactStatistics()
+        {
+        Graph g = getGraphWith( "a P b; a P c; a Q b; x S y" );
+        GraphStatisticsHandler h = g.getStatisticsHandler();
+        assertEquals( 2L, h.getStatistic( node( "a" ), node( "P" ), Node.ANY ) );
+        assertEquals( 1L, h.getStatistic( Node.ANY, node( "P" ), node( "b"  ) ) );
+        assertEquals( 2L, h.getStatistic( node( "a" ), Node.ANY, node( "b" ) ) );
+        assertEquals( 1L, h.getStatistic( node( "a" ), node( "Q" ), node( "b" ) ) );
+        assertEquals( 0L, h.getStatistic( node( "a" ), node( "Q" ), node( "c" ) ) );
+        assertEquals( 0L, h.getStatistic( node( "no" ), node( "P" ), Node.ANY ) );
+        }
+
+    public void testFindByEachIndex()
+        {
+        Graph g = getGraphWith( "a P b; a P c; a Q b; x P b" );
+        assertEquals( tripleSet( "a P b; a P c" ), g.find( triple( "a P ??" ) ).toSet() );
+        assertEquals( tripleSet( "a P b; a Q b" ), g.find( triple( "a ?? b" ) ).toSet() );
+        assertEquals( tripleSet( "a P b; x P b" ), g.find( triple( "?? P b" ) ).toSet() );
+        assertEquals( tripleSet( "a P b; a Q b; x P b" ), g.find( triple( "?? ?? b" ) ).toSet() );
+        assertEquals( tripleSet( "a P b" ), g.find( triple( "a P b" ) ).toSet() );
+        assertEquals( tripleSet( "" ), g.find( triple( "a Q c" ) ).toSet() );
+        }
+
+    /**
+        Enough triples are added, removed and added again to merge the pending
+        triples into the delta and the delta into the main index several times.
+    */
+    public void testManyAddsAndRemoves()
+        {
+        Graph g = getGraph();
+        int n = 5000;
+        for (int i = 0; i < n; i += 1) g.add( triple( "s" + i % 50 + " P o" + i ) );
+        assertEquals( n, g.size() );
+        for (int i = 0; i < n; i += 2) g.delete( triple( "s" + i % 50 + " P o" + i ) );
+        assertEquals( n / 2, g.size() );
+        assertEquals( n / 100, g.find( triple( "s1 ?? ??" ) ).toList().size() );
+        assertEquals( 0, g.find( triple( "s2 ?? ??" ) ).toList().size() );
+        for (int i = 0; i < n; i += 4) g.add( triple( "s" + i % 50 + " P o" + i ) );
+        assertEquals( n / 2 + n / 4, g.size() );
+        assertTrue( g.contains( triple( "s4 P o4" ) ) );
+        assertFalse( g.contains( triple( "s2 P o2" ) ) );
+        assertEquals( n / 2 + n / 4, g.find( triple( "?? P ??" ) ).toList().size() );
+        }
+
+    public void testRemoveThroughIterator()
+        {
+        Graph g = getGraphWith( "a P b; a P c; a Q b; x P b" );
+        ExtendedIterator<Triple> it = g.find( triple( "?? P ??" ) );
+        while (it.hasNext())
+            if (it.next().getSubject().equals( node( "a" ) )) it.remove();
+        assertEquals( tripleSet( "a Q b; x P b" ), g.find( Triple.ANY ).toSet() );
+        }
+
+    protected final class GraphMemEncodedWithoutFind extends GraphMemEncoded
+        {
+        @Override public ExtendedIterator<Triple> graphBaseFind( Triple t )
+            { throw new JenaException( "find is Not Allowed" ); }
+        }
+    }
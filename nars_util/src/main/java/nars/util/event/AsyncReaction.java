@@ -0,0 +1,242 @@
+package nars.util.event;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Calls a Reaction from its own thread instead of the emitting thread.
+ * Events are copied into a bounded ring buffer (channel and arguments, with no
+ * per-event allocation) and delivered in batches of up to batchSize, so a slow
+ * subscriber, ex: a GUI or a log writer, does not slow down the reasoner.
+ *
+ * When the buffer is full, the Overflow policy decides whether the emitting
+ * thread waits or events are lost.  Events are delivered in the order they
+ * were emitted, except for the ones replaced by Coalesce.
+ */
+public class AsyncReaction<K> implements Reaction<K> {
+
+    public enum Overflow {
+        /** the emitting thread waits for space (backpressure) */
+        Block,
+        /** the new event is discarded */
+        DropNewest,
+        /** the oldest pending event is discarded */
+        DropOldest,
+        /** a new event replaces the pending event of the same channel, if any, in its
+         *  position; when full, the oldest pending event is discarded */
+        Coalesce
+    }
+
+    public final Reaction<K> reaction;
+    public final Overflow overflow;
+    public final int capacity, batchSize;
+
+    private final Object[] channels;
+    private final Object[][] args;
+    /** sequence numbers of the next event to be taken out of the buffer, and of the next to be put in */
+    private long head = 0, tail = 0;
+    /** for Coalesce: sequence number of the pending event of each channel */
+    private final Map<K, Long> pending;
+    /** whether the thread is delivering a batch */
+    private boolean busy = false;
+    private boolean running = true;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition(), notFull = lock.newCondition(), idle = lock.newCondition();
+
+    private final Thread thread;
+
+    private final LongAdder delivered = new LongAdder(), dropped = new LongAdder(),
+            coalesced = new LongAdder(), errors = new LongAdder();
+
+
+    public AsyncReaction(Reaction<K> reaction, int capacity, Overflow overflow) {
+        this(reaction, capacity, 64, overflow);
+    }
+
+    public AsyncReaction(Reaction<K> reaction, int capacity, int batchSize, Overflow overflow) {
+        this.reaction = reaction;
+        this.capacity = capacity;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.overflow = overflow;
+
+        this.channels = new Object[capacity];
+        this.args = new Object[capacity][];
+        this.pending = (overflow == Overflow.Coalesce) ? new HashMap<>(capacity) : null;
+
+        this.thread = new Thread(this::run, "event: " + reaction);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private int index(final long seq) {
+        return (int) (seq % capacity);
+    }
+
+    @Override
+    public void event(final K channel, final Object... a) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (!running) return;
+
+            if (pending != null) {
+                final Long s = pending.get(channel);
+                if (s != null) {
+                    args[index(s)] = a;
+                    coalesced.increment();
+                    return;
+                }
+            }
+
+            while (tail - head == capacity) {
+                switch (overflow) {
+                    case Block:
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            dropped.increment();
+                            return;
+                        }
+                        if (!running) return;
+                        break;
+                    case DropNewest:
+                        dropped.increment();
+                        return;
+                    default:
+                        take(head++);
+                        dropped.increment();
+                        break;
+                }
+            }
+
+            final int i = index(tail);
+            channels[i] = channel;
+            args[i] = a;
+            if (pending != null)
+                pending.put(channel, tail);
+            tail++;
+
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** clears a slot which is taken out of the buffer, returning its channel */
+    private Object take(final long seq) {
+        final int i = index(seq);
+        final Object c = channels[i];
+        channels[i] = null;
+        args[i] = null;
+        if (pending != null)
+            pending.remove(c, seq);
+        return c;
+    }
+
+    private void run() {
+        final Object[] c = new Object[batchSize];
+        final Object[][] a = new Object[batchSize][];
+
+        while (true) {
+            int n;
+
+            lock.lock();
+            try {
+                busy = false;
+                idle.signalAll();
+                while (head == tail) {
+                    if (!running) return;
+                    notEmpty.await();
+                }
+
+                n = (int) Math.min(batchSize, tail - head);
+                for (int i = 0; i < n; i++) {
+                    a[i] = args[index(head)];
+                    c[i] = take(head++);
+                }
+                busy = true;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            for (int i = 0; i < n; i++) {
+                try {
+                    reaction.event((K) c[i], a[i]);
+                } catch (Throwable t) {
+                    errors.increment();
+                    t.printStackTrace();
+                }
+                c[i] = null;
+                a[i] = null;
+            }
+            delivered.add(n);
+        }
+    }
+
+    /** waits until every event emitted before this call has been delivered or dropped */
+    public void flush() throws InterruptedException {
+        lock.lock();
+        try {
+            final long target = tail;
+            while (running && ((head < target) || busy))
+                idle.await();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** stops the thread; pending events are discarded */
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            while (head < tail)
+                take(head++);
+            notEmpty.signalAll();
+            notFull.signalAll();
+            idle.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** number of events waiting in the buffer */
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long delivered() {
+        return delivered.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /** number of exceptions thrown by the reaction */
+    public long errors() {
+        return errors.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + reaction + ", " + overflow + ")";
+    }
+}
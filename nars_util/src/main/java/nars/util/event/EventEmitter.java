@@ -4,11 +4,13 @@ package nars.util.event;
 import nars.util.data.DirectCopyOnWriteArrayList;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * TODO separate this into a single-thread and multithread implementation
@@ -164,10 +166,10 @@ abstract public class EventEmitter<K>  {
      * */
     public static class DefaultEventEmitter<K,L extends List<Reaction<K>>> extends EventEmitter<K> {
 
-        final Map<K,L> reactions = new HashMap(64);
+        final Map<K,L> reactions = new ConcurrentHashMap(64);
 
 
-        public class DefaultEventRegistration<K> implements EventRegistration {
+        public class DefaultEventRegistration implements EventRegistration {
 
             final K key;
             final Reaction reaction;
@@ -179,7 +181,12 @@ abstract public class EventEmitter<K>  {
 
             @Override
             public void off() {
-                reactions.get(key).remove(reaction);
+                //a channel without reactions is removed, so that isActive() remains exact
+                reactions.computeIfPresent(key, (k, l) -> {
+                    l.remove(reaction);
+                    return l.isEmpty() ? null : l;
+                });
+                changed(key);
             }
         }
 
@@ -205,13 +212,13 @@ abstract public class EventEmitter<K>  {
         @Override
         public EventRegistration on(K channel, Reaction o) {
             DefaultEventRegistration d = new DefaultEventRegistration(channel, o);
-            List<Reaction<K>> cl = all(channel);
-            if (cl == null)
-                reactions.put(channel,
-                        (L) (cl = newChannelList()));
-
-            //PROBLEM IS HERE
-            cl.add(o);
+            reactions.compute(channel, (k, l) -> {
+                if (l == null)
+                    l = (L) newChannelList();
+                l.add(o);
+                return l;
+            });
+            changed(channel);
             return d;
         }
 
@@ -222,10 +229,12 @@ abstract public class EventEmitter<K>  {
         @Override
         public void delete() {
             reactions.clear();
+            for (Topic t : topics.values())
+                t.update();
         }
 
         @Override
-        public boolean isActive(Class event) {
+        public boolean isActive(Object event) {
             return reactions.containsKey(event);
         }
     }
@@ -264,9 +273,61 @@ abstract public class EventEmitter<K>  {
 
     abstract void notify(K channel, Object[] arg);
 
+    /** the buffer of each thread which defers its events, see deferTo() */
+    private final ThreadLocal<List<Runnable>> deferred = new ThreadLocal();
+    /** number of threads deferring, so that otherwise emitting needs no ThreadLocal lookup */
+    private final AtomicInteger deferring = new AtomicInteger();
+
+    /**
+     * while 'buffer' is not null, the events the calling thread emits, and the
+     * actions it passes to defer(Runnable), are appended to it instead of run,
+     * to be run later by whoever owns the buffer, ex: in a repeatable order
+     * after concurrent work.  call again with null to stop.
+     */
+    public void deferTo(final List<Runnable> buffer) {
+        final List<Runnable> previous = deferred.get();
+        if (buffer != null) {
+            deferred.set(buffer);
+            if (previous == null) deferring.incrementAndGet();
+        }
+        else if (previous != null) {
+            deferred.remove();
+            deferring.decrementAndGet();
+        }
+    }
+
+    /** the calling thread's buffer, or null if it does not defer */
+    final List<Runnable> deferred() {
+        return (deferring.get() == 0) ? null : deferred.get();
+    }
+
+    /** runs an action, or appends it to the calling thread's buffer if it defers (see deferTo) */
+    public void defer(final Runnable action) {
+        final List<Runnable> d = deferred();
+        if (d != null)
+            d.add(action);
+        else
+            action.run();
+    }
+
     abstract public EventRegistration on(K k, Reaction o);
 
-    abstract public boolean isActive(final Class event);
+    abstract public boolean isActive(final Object event);
+
+    /** typed channels, by key */
+    final Map<K, Topic> topics = new ConcurrentHashMap();
+
+    /** the typed channel of a key, which is created the first time with a supplier of its records */
+    public <E extends EventRecord> Topic<K, E> topic(final K channel, final Supplier<E> newRecord) {
+        return topics.computeIfAbsent(channel, c -> new Topic(this, c, newRecord));
+    }
+
+    /** called when the Reactions of a channel change */
+    protected void changed(final K channel) {
+        final Topic t = topics.get(channel);
+        if (t != null)
+            t.update();
+    }
 
 
     /** for enabling many events at the same time */
@@ -318,6 +379,16 @@ abstract public class EventEmitter<K>  {
         return r;
     }
 
+    /** registers a reaction which is called from its own thread, through a
+     *  bounded buffer, rather than from the emitting thread.  turning off the
+     *  returned registrations also stops the thread. */
+    public Registrations onAsync(final Reaction<K> o, final int capacity, final AsyncReaction.Overflow overflow, final K... events) {
+        final AsyncReaction<K> a = new AsyncReaction(o, capacity, overflow);
+        Registrations r = on(a, events);
+        r.add(a::close);
+        return r;
+    }
+
 //
 //    @Override
 //    @Deprecated public void emit(Class channel, Object arg) {
@@ -330,7 +401,7 @@ abstract public class EventEmitter<K>  {
 
 
     public void emit(final K channel) {
-        notify(channel, null);
+        emit(channel, (Object[]) null);
     }
 
     public void emit(final K channel, final Object... args) {
@@ -339,6 +410,10 @@ abstract public class EventEmitter<K>  {
 //            throw new RuntimeException("event to " + channel + " with zero arguments");
 //        }
 //        else
+        final List<Runnable> d = deferred();
+        if (d != null)
+            d.add(() -> notify(channel, args));
+        else
             notify(channel, args);
     }
 
@@ -0,0 +1,64 @@
+package nars.util.event;
+
+/**
+ * Arguments of an event held in fields, so that a record can be reused for
+ * every emission of a thread and emitting allocates nothing.  Subscribers must
+ * not keep a record beyond the call; Reactions receive a copy of its arguments.
+ */
+abstract public class EventRecord {
+
+    /** whether the record is being emitted; a nested emission uses another record */
+    boolean busy;
+
+    /** the arguments, as they are passed to Reaction.event */
+    abstract public Object[] args();
+
+
+    public static final class One<A> extends EventRecord {
+        public A a;
+
+        public One<A> set(final A a) {
+            this.a = a;
+            return this;
+        }
+
+        @Override
+        public Object[] args() {
+            return new Object[] { a };
+        }
+    }
+
+    public static final class Two<A, B> extends EventRecord {
+        public A a;
+        public B b;
+
+        public Two<A, B> set(final A a, final B b) {
+            this.a = a;
+            this.b = b;
+            return this;
+        }
+
+        @Override
+        public Object[] args() {
+            return new Object[] { a, b };
+        }
+    }
+
+    public static final class Three<A, B, C> extends EventRecord {
+        public A a;
+        public B b;
+        public C c;
+
+        public Three<A, B, C> set(final A a, final B b, final C c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            return this;
+        }
+
+        @Override
+        public Object[] args() {
+            return new Object[] { a, b, c };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package nars.util.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Typed channel of an EventEmitter.  Its events are records which each thread
+ * reuses, delivered directly to typed subscribers, and as Object[] to the
+ * Reactions registered on the same channel.  isActive() is a single field read,
+ * so an emitter can skip filling the record when nobody listens:
+ *
+ *     if (t.isActive()) t.emit(t.record().set(x, y));
+ */
+public final class Topic<K, E extends EventRecord> {
+
+    public final K channel;
+    private final EventEmitter<K> emitter;
+    private final Supplier<E> newRecord;
+    private final ThreadLocal<E> records;
+
+    private volatile Consumer<E>[] subscribers = new Consumer[0];
+    private volatile boolean reactions, active;
+
+
+    Topic(final EventEmitter<K> emitter, final K channel, final Supplier<E> newRecord) {
+        this.emitter = emitter;
+        this.channel = channel;
+        this.newRecord = newRecord;
+        this.records = ThreadLocal.withInitial(newRecord);
+        update();
+    }
+
+    /** whether there are typed subscribers or Reactions */
+    public boolean isActive() {
+        return active;
+    }
+
+    /** the calling thread's record, to be filled and emitted */
+    public E record() {
+        final E e = records.get();
+        return e.busy ? newRecord.get() : e;
+    }
+
+    public void emit(final E e) {
+        e.busy = true;
+
+        final List<Runnable> d = emitter.deferred();
+        if (d != null) {
+            //the record stays busy, so that the thread fills another, until it is delivered
+            d.add(() -> deliver(e));
+            return;
+        }
+        deliver(e);
+    }
+
+    private void deliver(final E e) {
+        try {
+            for (final Consumer<E> s : subscribers)
+                s.accept(e);
+            if (reactions)
+                emitter.notify(channel, e.args());
+        } finally {
+            e.busy = false;
+        }
+    }
+
+    public synchronized EventEmitter.EventRegistration on(final Consumer<E> subscriber) {
+        final Consumer<E>[] s = Arrays.copyOf(subscribers, subscribers.length + 1);
+        s[s.length - 1] = subscriber;
+        subscribers = s;
+        update();
+        return () -> off(subscriber);
+    }
+
+    private synchronized void off(final Consumer<E> subscriber) {
+        final Consumer<E>[] s = subscribers;
+        for (int i = 0; i < s.length; i++) {
+            if (s[i] == subscriber) {
+                final Consumer<E>[] t = Arrays.copyOf(s, s.length - 1);
+                System.arraycopy(s, i + 1, t, i, s.length - i - 1);
+                subscribers = t;
+                break;
+            }
+        }
+        update();
+    }
+
+    /** called when the Reactions of the channel change */
+    synchronized void update() {
+        reactions = emitter.isActive(channel);
+        active = reactions || (subscribers.length > 0);
+    }
+
+    @Override
+    public String toString() {
+        return "Topic(" + channel + ", " + subscribers.length + " typed" + (reactions ? ", reactions" : "") + ')';
+    }
+}
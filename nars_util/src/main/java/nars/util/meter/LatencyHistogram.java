@@ -0,0 +1,92 @@
+package nars.util.meter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations (or any non-negative long values) with a bounded
+ * relative error, in the manner of HdrHistogram: values are counted in buckets
+ * of powers of two, each divided into SUB linear sub-buckets, so a value is
+ * reported within 1/SUB of what was recorded.  Recording is a few shifts and an
+ * atomic increment, with no allocation, and may be done from several threads.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BITS = 5;
+    static final int SUB = 1 << SUB_BITS;
+    static final int BUCKETS = (64 - SUB_BITS + 1) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder(), sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+
+    static int index(final long v) {
+        if (v < SUB) return (int) v;
+        final int e = 63 - Long.numberOfLeadingZeros(v);
+        final int sub = (int) (v >>> (e - SUB_BITS)) & (SUB - 1);
+        return (e - SUB_BITS + 1) * SUB + sub;
+    }
+
+    /** the highest value counted in a bucket */
+    static long highest(final int i) {
+        if (i < SUB) return i;
+        final int shift = i / SUB - 1;
+        final long lowest = ((long) (SUB | (i % SUB))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public void record(long v) {
+        if (v < 0) v = 0;
+        counts.incrementAndGet(index(v));
+        count.increment();
+        sum.add(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        final long n = count();
+        return (n == 0) ? 0 : ((double) sum()) / n;
+    }
+
+    /** the value under which a fraction q (0..1) of the recorded values are, or 0 if none were recorded */
+    public long percentile(final double q) {
+        final long n = count();
+        if (n == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(q * n));
+        long c = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            c += counts.get(i);
+            if (c >= rank)
+                return Math.min(highest(i), max());
+        }
+        return max();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "n=" + count() + " mean=" + (long) mean() + " p50=" + percentile(0.5) + " p99=" + percentile(0.99) + " max=" + max();
+    }
+}